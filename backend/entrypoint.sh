@@ -0,0 +1,25 @@
+#!/bin/sh
+# バックエンドコンテナの起動スクリプト
+#   SPRING_AOT_ENABLED     … Spring AOT で事前生成した Bean 定義を使う（既定 true）。
+#                            AOT はビルド時の設定で条件付きの Bean を確定するため、ビルド時と条件が変わる
+#                            トレースの送信（TRACING_EXPORT_ENABLED=true）の場合は既定で false にする
+#   JVM_AOT_CACHE_ENABLED  … イメージのビルド時の学習実行で作った AOT キャッシュ（app.aot）を使う（既定 true）
+#   JAVA_OPTS              … 追加の JVM オプション（GC の変更などでキャッシュと合わない場合、JVM は警告を出してキャッシュを使わない）
+set -eu
+
+if [ -z "${SPRING_AOT_ENABLED:-}" ]; then
+  if [ "${TRACING_EXPORT_ENABLED:-false}" = "true" ]; then
+    SPRING_AOT_ENABLED=false
+  else
+    SPRING_AOT_ENABLED=true
+  fi
+fi
+
+set -- "-Dspring.aot.enabled=${SPRING_AOT_ENABLED}"
+if [ "${JVM_AOT_CACHE_ENABLED:-true}" = "true" ] && [ -f app.aot ]; then
+  set -- "$@" -XX:AOTCache=app.aot
+fi
+
+# JAVA_OPTS は空白区切りで複数指定できるようにクォートしない
+# shellcheck disable=SC2086
+exec java "$@" ${JAVA_OPTS:-} -jar app.jar
@@ -2,16 +2,23 @@ package com.smarthouseholdaccountbook.backend.application.mapper;
 
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
 import com.smarthouseholdaccountbook.backend.entity.MonthlyReport;
 import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.application.service.CsvExpenseService;
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseBatchImportService;
+import com.smarthouseholdaccountbook.backend.application.service.batch.model.ExpenseBatchError;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseError;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDtoErrorsInner;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBatchResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBatchResultDtoErrorsInner;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ImportBatchDto;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlyReportResponse;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
 import com.smarthouseholdaccountbook.backend.valueobject.CategorySummary;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
@@ -34,10 +41,13 @@ import java.util.stream.Collectors;
  *
  * 主な変換:
  * - エンティティ（Expense）からレスポンス DTO（ExpenseDto）への変換
+ * - 一覧表示用プロジェクション（ExpenseListItem）からレスポンス DTO（ExpenseDto）への変換
  * - リクエスト DTO（ExpenseRequestDto）から更新/作成用の値オブジェクト（ExpenseUpdate）への変換
  * - 値オブジェクト（MonthlySummary）から DTO への変換
  * - サービス結果（CsvUploadResult）から DTO への変換
+ * - サービス結果（ExpenseBatchImportResult）から DTO への変換
  * - 月次レポート（MonthlyReport）から MonthlyReportResponse への変換
+ * - 取り込みバッチ（ImportBatch）から DTO への変換
  */
 @Component
 public class ExpenseMapper {
@@ -73,6 +83,28 @@ public class ExpenseMapper {
         return dto;
     }
 
+    /**
+     * 一覧表示用プロジェクションからDTOへ変換
+     * 
+     * @param item 支出一覧のプロジェクション
+     * @return 支出DTO（itemがnullの場合はnull）
+     */
+    public ExpenseDto toDto(ExpenseListItem item) {
+        if (item == null) {
+            return null;
+        }
+
+        ExpenseDto dto = new ExpenseDto();
+        dto.setId(item.id());
+        dto.setDescription(item.description());
+        dto.setAmount(item.amount());
+        dto.setDate(item.date());
+        // CategoryTypeから表示名へ変換
+        dto.setCategory(item.category().getDisplayName());
+
+        return dto;
+    }
+
     /**
      * DTOからエンティティへ変換
      * 
@@ -190,11 +222,14 @@ public class ExpenseMapper {
 
         // CSVアップロード結果DTOを作成
         // 成功件数、スキップ件数、エラー件数、エラー詳細のリストを設定します
-        return new CsvUploadResponseDto(
+        CsvUploadResponseDto dto = new CsvUploadResponseDto(
                 result.successCount(),
                 result.skippedCount(),
                 result.errorCount(),
                 errorDtos);
+        dto.setImportBatchId(result.importBatchId());
+        dto.setAlreadyImported(result.alreadyImported());
+        return dto;
     }
 
     /**
@@ -218,6 +253,38 @@ public class ExpenseMapper {
         return errorDto;
     }
 
+    /**
+     * 一括登録結果からDTOへ変換
+     *
+     * @param result 一括登録結果（成功件数、スキップ件数、エラー件数、エラー詳細を含む）
+     * @return 一括登録結果DTO（resultがnullの場合はnull）
+     */
+    public ExpenseBatchResultDto toDto(ExpenseBatchImportService.ExpenseBatchImportResult result) {
+        if (result == null) {
+            return null;
+        }
+
+        List<ExpenseBatchResultDtoErrorsInner> errorDtos = result.errors().stream()
+                .map(this::toErrorDto)
+                .collect(Collectors.toList());
+
+        return new ExpenseBatchResultDto(
+                result.successCount(),
+                result.skippedCount(),
+                result.errorCount(),
+                errorDtos);
+    }
+
+    /**
+     * 一括登録のエラーからDTOへ変換
+     *
+     * @param error 一括登録のエラー（要素番号、エラーメッセージを含む）
+     * @return エラー詳細DTO
+     */
+    private ExpenseBatchResultDtoErrorsInner toErrorDto(ExpenseBatchError error) {
+        return new ExpenseBatchResultDtoErrorsInner(error.index(), error.message());
+    }
+
     /**
      * 月次レポートEntityからAPIレスポンスDTOへ変換
      *
@@ -232,4 +299,28 @@ public class ExpenseMapper {
         response.setGeneratedAt(report.getGeneratedAt().atOffset(ZoneOffset.UTC));
         return response;
     }
+
+    /**
+     * 取り込みバッチからDTOへ変換
+     *
+     * @param importBatch 取り込みバッチ
+     * @return 取り込みバッチDTO（完了日時・取り消し日時は未設定ならnull）
+     */
+    public ImportBatchDto toDto(ImportBatch importBatch) {
+        ImportBatchDto dto = new ImportBatchDto();
+        dto.setId(importBatch.getId());
+        dto.setFileHash(importBatch.getFileHash());
+        dto.setCsvFormat(importBatch.getCsvFormat());
+        dto.setSuccessCount(importBatch.getSuccessCount());
+        dto.setSkippedCount(importBatch.getSkippedCount());
+        dto.setErrorCount(importBatch.getErrorCount());
+        dto.setStartedAt(importBatch.getStartedAt().atOffset(ZoneOffset.UTC));
+        if (importBatch.getCompletedAt() != null) {
+            dto.setCompletedAt(importBatch.getCompletedAt().atOffset(ZoneOffset.UTC));
+        }
+        if (importBatch.getRolledBackAt() != null) {
+            dto.setRolledBackAt(importBatch.getRolledBackAt().atOffset(ZoneOffset.UTC));
+        }
+        return dto;
+    }
 }
@@ -1,15 +1,20 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
 import com.smarthouseholdaccountbook.backend.application.service.openai.OpenAiClient;
+import com.smarthouseholdaccountbook.backend.config.jfr.AiCategoryChunkEvent;
 import com.smarthouseholdaccountbook.backend.exception.QuotaExceededException;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.exception.AiServiceException;
 import tools.jackson.core.type.TypeReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
 
 import java.util.HashMap;
 import java.util.List;
@@ -17,7 +22,6 @@ import java.util.Map;
 import java.util.ArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import java.util.concurrent.CompletionException;
 
 /**
@@ -27,24 +31,31 @@ import java.util.concurrent.CompletionException;
  * OpenAI APIを呼び出して、説明文の内容を分析し、最も適切なカテゴリーを推論します。
  */
 @Service
+@Observed(name = "application.service")
 public class AiCategoryService {
     private static final Logger logger = LoggerFactory.getLogger(AiCategoryService.class);
 
     private final OpenAiClient openAiClient;
     private final Executor executor;
+    private final ObservationRegistry observationRegistry;
     private static final int BATCH_SIZE = 10; // 1リクエストあたりの最大件数（トークン制限を考慮）
+    /** 1チャンク分の推論のスパン名 */
+    static final String CHUNK_OBSERVATION = "ai.category.chunk";
 
     /**
      * コンストラクタ
      * 
-     * @param openAiClient OpenAI API呼び出しを共通化したクライアント
-     * @param executor 並列バッチ処理に利用する実行基盤
+     * @param openAiClient OpenAI API呼び出しを共通化したクライアント（初回の呼び出しまで生成しない）
+     * @param executor 並列バッチ処理に利用する実行基盤（呼び出し元のトレースを引き継ぐ）
+     * @param observationRegistry チャンクごとのスパンの記録先
      */
     public AiCategoryService(
-            OpenAiClient openAiClient,
-            @Qualifier("aiCategoryTaskExecutor") Executor executor) {
+            @Lazy OpenAiClient openAiClient,
+            @Qualifier("aiCategoryTaskExecutor") Executor executor,
+            ObservationRegistry observationRegistry) {
         this.openAiClient = openAiClient;
         this.executor = executor;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -140,17 +151,16 @@ public class AiCategoryService {
         }
         // チャンクが1つの場合は並列処理のオーバヘッドを避ける
         if (chunks.size() == 1) {
-            return predictCategoriesBatchChunk(chunks.get(0));
+            return observeChunk(chunks.get(0), 0);
         }
 
         // 各チャンクを並列処理（SpringのTaskExecutorを使用）
-        List<CompletableFuture<Map<String, CategoryType>>> futures = chunks.stream()
-                .map(chunk -> CompletableFuture.supplyAsync(
-                        () -> {
-                            return predictCategoriesBatchChunk(chunk);
-                        },
-                        executor))
-                .collect(Collectors.toList());
+        List<CompletableFuture<Map<String, CategoryType>>> futures = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            List<String> chunk = chunks.get(i);
+            int chunkIndex = i;
+            futures.add(CompletableFuture.supplyAsync(() -> observeChunk(chunk, chunkIndex), executor));
+        }
 
         // すべてのチャンク処理の完了を待つ
         Map<String, CategoryType> resultMap = new HashMap<>();
@@ -166,6 +176,34 @@ public class AiCategoryService {
         return resultMap;
     }
 
+    /**
+     * 1チャンク分の推論をスパンと JFR イベント（{@link AiCategoryChunkEvent}）として記録しながら実行する
+     *
+     * @param descriptions 説明文のリスト（BATCH_SIZE以下）
+     * @param chunkIndex   0始まりのチャンク番号
+     * @return 説明文とカテゴリーのマッピング
+     */
+    private Map<String, CategoryType> observeChunk(List<String> descriptions, int chunkIndex) {
+        return Observation.createNotStarted(CHUNK_OBSERVATION, observationRegistry)
+                .contextualName("ai-category-chunk")
+                .highCardinalityKeyValue("chunk.index", String.valueOf(chunkIndex))
+                .highCardinalityKeyValue("chunk.size", String.valueOf(descriptions.size()))
+                .observe(() -> recordChunk(descriptions, chunkIndex));
+    }
+
+    private Map<String, CategoryType> recordChunk(List<String> descriptions, int chunkIndex) {
+        AiCategoryChunkEvent event = new AiCategoryChunkEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            Map<String, CategoryType> result = predictCategoriesBatchChunk(descriptions);
+            succeeded = true;
+            return result;
+        } finally {
+            event.complete(chunkIndex, descriptions.size(), succeeded);
+        }
+    }
+
     /**
      * 1チャンク分の説明文からカテゴリーを推論する
      * 
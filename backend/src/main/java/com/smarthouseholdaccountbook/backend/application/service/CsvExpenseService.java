@@ -1,38 +1,60 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvFormat;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvParserFactory;
+import com.smarthouseholdaccountbook.backend.application.service.csv.SizeLimitedInputStream;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseError;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParsedExpense;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseResult;
-import com.smarthouseholdaccountbook.backend.entity.Expense;
-import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.application.service.dedup.LongHashSet;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import com.smarthouseholdaccountbook.backend.config.jfr.CsvParseEvent;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
 import com.smarthouseholdaccountbook.backend.exception.AiServiceException;
 import com.smarthouseholdaccountbook.backend.exception.CsvUploadException;
 import com.smarthouseholdaccountbook.backend.exception.QuotaExceededException;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseJdbcRepository;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
+import com.smarthouseholdaccountbook.backend.util.Sha256;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 /**
  * CSV支出処理サービス
  * 
@@ -41,24 +63,44 @@ import java.util.stream.Collectors;
  * 
  */
 @Service
+@Observed(name = "application.service")
 @Transactional
 public class CsvExpenseService {
     private static final Logger logger = LoggerFactory.getLogger(CsvExpenseService.class);
 
+    /** ストリーミングアップロードで受け付ける本文の上限（バイト） */
+    public static final long MAX_STREAM_UPLOAD_BYTES = 20L * 1024 * 1024;
+
     private final ExpenseRepository expenseRepository;
+    private final ExpenseJdbcRepository expenseJdbcRepository;
+    private final ImportBatchRepository importBatchRepository;
     private final UserApplicationService userApplicationService;
     private final CsvParserFactory csvParserFactory;
     private final AiCategoryService aiCategoryService;
+    private final ExpenseSummaryCache expenseSummaryCache;
+    private final ExpenseVersionStore expenseVersionStore;
+    /** ストリーミングアップロードで、本文の受信・解析後の登録だけをトランザクションで実行する */
+    private final TransactionTemplate transactionTemplate;
 
     public CsvExpenseService(
             ExpenseRepository expenseRepository,
+            ExpenseJdbcRepository expenseJdbcRepository,
+            ImportBatchRepository importBatchRepository,
             UserApplicationService userApplicationService,
             CsvParserFactory csvParserFactory,
-            AiCategoryService aiCategoryService) {
+            AiCategoryService aiCategoryService,
+            ExpenseSummaryCache expenseSummaryCache,
+            ExpenseVersionStore expenseVersionStore,
+            PlatformTransactionManager transactionManager) {
         this.expenseRepository = expenseRepository;
+        this.expenseJdbcRepository = expenseJdbcRepository;
+        this.importBatchRepository = importBatchRepository;
         this.userApplicationService = userApplicationService;
         this.csvParserFactory = csvParserFactory;
         this.aiCategoryService = aiCategoryService;
+        this.expenseSummaryCache = expenseSummaryCache;
+        this.expenseVersionStore = expenseVersionStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -69,31 +111,148 @@ public class CsvExpenseService {
      * 部分成功をサポートし、一部の行でエラーが発生しても、正常な行は保存されます。
      * 
      * 処理フロー:
-     * 1. CSVファイルを解析（CsvParserFactoryで取得したパーサーを使用）
-     * 2. ユーザー情報を取得
-     * 3. 既存データ・同一CSV内との重複を除外
-     * 4. 新規行のみAIカテゴリ分類を適用してエンティティを作成
-     * 5. データベースに一括保存
-     * 6. 結果（成功件数、スキップ件数、エラー件数、エラー詳細）を返す
+     * 1. ファイル全体のSHA-256を求め、同じハッシュの取り込みバッチが取り消されずに残っていれば、
+     *    解析・登録を行わずに取り込み済みとして返す
+     * 2. CSVファイルを解析（CsvParserFactoryで取得したパーサーを使用）
+     * 3. 取り込みバッチ（ファイルハッシュ、CSV形式、開始日時）を記録
+     * 4. 既存データ・同一CSV内との重複を除外
+     * 5. 新規行のみAIカテゴリ分類を適用
+     * 6. 取り込みバッチIDを付けてデータベースに複数行INSERTで登録し、取り込んだ月のサマリーキャッシュ無効化と
+     *    ETag バージョン更新をコミット後に行う
+     *    （同じCSVが同時にアップロードされた場合、取り込み指紋の一意制約でスキップされた行はスキップ件数に数える）
+     * 7. 取り込みバッチに件数と完了日時を記録し、結果（成功件数、スキップ件数、エラー件数、エラー詳細）を返す
+     * 
+     * 有効な行が1件もないファイルは取り込みバッチを記録しない（修正して再アップロードできるようにするため）。
+     * ファイルの読み込み・解析はトランザクション外で行い、3〜7だけを1つのトランザクションで実行する
+     * （同じファイルが同時にアップロードされた場合の扱いは {@link #importInTransaction} を参照）。
      * 
      * @param file      CSVファイル
      * @param csvFormat CSV形式（MITSUISUMITOMO_OLD_FORMAT: 三井住友カード 確定月、
      *                  MITSUISUMITOMO_NEW_FORMAT: 三井住友カード 未確定月）
-     * @return CSVアップロード結果（成功件数、スキップ件数、エラー件数、エラー詳細）
+     * @return CSVアップロード結果（成功件数、スキップ件数、エラー件数、エラー詳細、取り込みバッチID）
      * @throws CsvUploadException ファイルの読み込みに失敗した場合、または処理中にエラーが発生した場合
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CsvUploadResult uploadCsvAndAddExpenses(MultipartFile file, CsvFormat csvFormat) {
+        String fileHash = computeFileHash(file);
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+
+        Optional<ImportBatch> importedBatch = findImportedBatch(principal.id(), fileHash);
+        if (importedBatch.isPresent()) {
+            return CsvUploadResult.alreadyImported(importedBatch.get().getId());
+        }
+
         CsvParseResult parseResult;
         try {
-            parseResult = csvParserFactory.getParser(csvFormat).parse(file.getInputStream());
+            parseResult = parseCsv(csvFormat, file.getInputStream(), file::getSize, principal.cognitoSub());
+        } catch (IOException e) {
+            throw fileReadFailed(e);
+        }
+        return importInTransaction(principal, fileHash, csvFormat, parseResult);
+    }
+
+    /**
+     * ストリーミングでアップロードされたCSVから支出を一括追加するユースケース
+     *
+     * リクエスト本文を一時ファイルやメモリに溜めず、受信しながら Shift_JIS で解析する。
+     * 読み込んだバイト数が {@value #MAX_STREAM_UPLOAD_BYTES} バイトを超えた時点で解析を打ち切り、
+     * 残りの本文は受信しない。ファイルのSHA-256は解析と同時に求めるため、同じファイルが取り込み済みかどうかは
+     * 解析後・登録前に判定する（取り込み済みの場合は解析エラーも含めて結果を返さない）。
+     * それ以降の処理は {@link #uploadCsvAndAddExpenses(MultipartFile, CsvFormat)} と同じ。
+     * <p>
+     * 本文の受信中に DB コネクションを保持しないよう、受信・解析はトランザクション外で行い、
+     * 取り込み済みの判定と登録だけを1つのトランザクションで実行する。
+     *
+     * @param body      リクエスト本文（CSVファイルの内容）
+     * @param csvFormat CSV形式（MITSUISUMITOMO_OLD_FORMAT: 三井住友カード 確定月、
+     *                  MITSUISUMITOMO_NEW_FORMAT: 三井住友カード 未確定月）
+     * @return CSVアップロード結果（成功件数、スキップ件数、エラー件数、エラー詳細、取り込みバッチID）
+     * @throws CsvUploadException 本文の読み込みに失敗した場合（400）、またはサイズの上限を超えた場合（413）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CsvUploadResult uploadCsvStreamAndAddExpenses(InputStream body, CsvFormat csvFormat) {
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+
+        MessageDigest digest = Sha256.newDigest();
+        CsvParseResult parseResult;
+        SizeLimitedInputStream limited = new SizeLimitedInputStream(body, MAX_STREAM_UPLOAD_BYTES);
+        try (InputStream in = new DigestInputStream(limited, digest)) {
+            parseResult = parseCsv(csvFormat, in, limited::getReadBytes, principal.cognitoSub());
         } catch (IOException e) {
-            logger.error("CSVファイルの読み込みに失敗しました", e);
-            throw new CsvUploadException(
-                    "ファイルの読み込みに失敗しました: " + e.getMessage(),
-                    e,
-                    HttpStatus.BAD_REQUEST);
+            throw fileReadFailed(e);
         }
+        String fileHash = HexFormat.of().formatHex(digest.digest());
+
+        return importInTransaction(principal, fileHash, csvFormat, parseResult);
+    }
 
+    /**
+     * 取り込み済みの判定と、解析結果の登録を1つのトランザクションで実行する
+     *
+     * 同じファイルが同時にアップロードされた場合、後から来た側の取り込みバッチの登録は、先のバッチのコミットを
+     * 待ってから (user_id, active_file_hash) の一意制約違反になる。そのトランザクションはロールバックし、
+     * 先に登録されたバッチを取り込み済みとして返す。
+     */
+    private CsvUploadResult importInTransaction(
+            UserPrincipal principal,
+            String fileHash,
+            CsvFormat csvFormat,
+            CsvParseResult parseResult) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<ImportBatch> importedBatch = findImportedBatch(principal.id(), fileHash);
+                if (importedBatch.isPresent()) {
+                    return CsvUploadResult.alreadyImported(importedBatch.get().getId());
+                }
+                return importParsedCsv(principal, fileHash, csvFormat, parseResult);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 取り込みバッチの一意制約違反でなければ（取り込み済みのバッチがなければ）そのまま投げ直す
+            Optional<ImportBatch> importedBatch =
+                    transactionTemplate.execute(status -> findImportedBatch(principal.id(), fileHash));
+            if (importedBatch == null || importedBatch.isEmpty()) {
+                throw e;
+            }
+            return CsvUploadResult.alreadyImported(importedBatch.get().getId());
+        }
+    }
+
+    /**
+     * CSVを解析し、解析1回分を JFR イベント（{@link CsvParseEvent}）として記録する
+     *
+     * @param readBytes 解析後に読み込んだバイト数を返す（JFR の記録中のみ呼び出す）
+     */
+    private CsvParseResult parseCsv(CsvFormat csvFormat, InputStream in, LongSupplier readBytes, String cognitoSub)
+            throws IOException {
+        CsvParseEvent event = new CsvParseEvent();
+        event.begin();
+        CsvParseResult parseResult = csvParserFactory.getParser(csvFormat).parse(in);
+        if (event.isEnabled()) {
+            event.complete(csvFormat.name(), parseResult.validExpenses().size(), parseResult.errors().size(),
+                    readBytes.getAsLong(), cognitoSub);
+        }
+        return parseResult;
+    }
+
+    /**
+     * 同じハッシュのファイルを取り込んだバッチのうち、取り消されていないものを探す
+     */
+    private Optional<ImportBatch> findImportedBatch(Long userId, String fileHash) {
+        Optional<ImportBatch> importedBatch = importBatchRepository
+                .findByUserIdAndActiveFileHash(userId, fileHash);
+        importedBatch.ifPresent(batch -> logger.info(
+                "CSV取り込み済み: 同じファイルのため取り込みをスキップしました。importBatchId={}", batch.getId()));
+        return importedBatch;
+    }
+
+    /**
+     * 解析結果を取り込みバッチとして登録する（処理フローの3〜7）
+     */
+    private CsvUploadResult importParsedCsv(
+            UserPrincipal principal,
+            String fileHash,
+            CsvFormat csvFormat,
+            CsvParseResult parseResult) {
         if (!parseResult.errors().isEmpty()) {
             logger.warn("CSV解析で{}件のエラーが発生しました", parseResult.errors().size());
         }
@@ -104,49 +263,100 @@ public class CsvExpenseService {
                     0,
                     parseResult.errors().size(),
                     0,
-                    parseResult.errors());
+                    parseResult.errors(),
+                    null,
+                    false);
         }
 
-        User user = userApplicationService.getUser();
+        ImportBatch importBatch = importBatchRepository.save(new ImportBatch(
+                userApplicationService.getUserReference(principal.id()), fileHash, csvFormat.name()));
 
-        FilterNewExpensesResult filterResult = filterNewExpenses(parseResult.validExpenses(), user);
+        FilterNewExpensesResult filterResult = filterNewExpenses(parseResult.validExpenses(), principal.id());
 
         if (filterResult.skippedCount() > 0) {
             logger.info("CSV重複除外: {}件をスキップしました", filterResult.skippedCount());
         }
 
         if (filterResult.newExpenses().isEmpty()) {
+            importBatch.complete(0, filterResult.skippedCount(), parseResult.errors().size());
             return new CsvUploadResult(
                     0,
                     parseResult.errors().size(),
                     filterResult.skippedCount(),
-                    parseResult.errors());
+                    parseResult.errors(),
+                    importBatch.getId(),
+                    false);
         }
 
-        // AIカテゴリ分類を適用してエンティティを作成（新規行のみ）
-        List<Expense> expenses = applyAiCategoryClassificationAndCreateEntities(
-                filterResult.newExpenses(),
-                user);
+        // AIカテゴリ分類を適用（新規行のみ）
+        List<ExpenseUpdate> expenses = applyAiCategoryClassification(filterResult.newExpenses());
+
+        // 一括登録。同時に取り込まれた同じ明細は一意制約によりDB側でスキップされる
+        int insertedCount = expenseJdbcRepository.insertIgnoringDuplicates(
+                principal.id(), importBatch.getId(), expenses);
+        int skippedCount = filterResult.skippedCount() + (expenses.size() - insertedCount);
+        if (insertedCount > 0) {
+            List<YearMonth> importedMonths = expenses.stream()
+                    .map(expense -> YearMonth.from(expense.date().getDate()))
+                    .distinct()
+                    .toList();
+            expenseSummaryCache.evictAfterCommit(principal.id(), importedMonths);
+            expenseVersionStore.bumpAfterCommit(principal.cognitoSub(), importedMonths);
+        }
 
-        // 一括保存
-        List<Expense> savedExpenses = expenseRepository.saveAll(expenses);
+        importBatch.complete(insertedCount, skippedCount, parseResult.errors().size());
 
         // 結果を返す
         return new CsvUploadResult(
-                savedExpenses.size(),
+                insertedCount,
                 parseResult.errors().size(),
-                filterResult.skippedCount(),
-                parseResult.errors());
+                skippedCount,
+                parseResult.errors(),
+                importBatch.getId(),
+                false);
+    }
+
+    /**
+     * アップロードされたファイル全体のSHA-256を16進数文字列で求める
+     *
+     * @param file CSVファイル
+     * @return SHA-256（16進数64文字）
+     * @throws CsvUploadException ファイルの読み込みに失敗した場合
+     */
+    private static String computeFileHash(MultipartFile file) {
+        MessageDigest digest = Sha256.newDigest();
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw fileReadFailed(e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static CsvUploadException fileReadFailed(IOException e) {
+        logger.error("CSVファイルの読み込みに失敗しました", e);
+        return new CsvUploadException(
+                "ファイルの読み込みに失敗しました: " + e.getMessage(),
+                e,
+                HttpStatus.BAD_REQUEST);
     }
 
     /**
      * 既存DBおよび同一CSV内の重複を除外し、新規行のみを返す
      *
+     * CSVの期間内の既存支出は、重複判定キーを1行ずつ64bit指紋に変換して {@link LongHashSet} に入れるだけで、
+     * エンティティや文字列は保持しない。指紋が一致した行だけ、その日付の既存キーを取得して厳密に比較する
+     * （指紋の衝突で新規行を誤ってスキップしないため）。
+     *
      * @param parsedExpenses CSVから解析された有効な支出データ
-     * @param user           ログインユーザー
+     * @param userId         ログインユーザーのID
      * @return 新規行のリストとスキップ件数
      */
-    private FilterNewExpensesResult filterNewExpenses(List<CsvParsedExpense> parsedExpenses, User user) {
+    private FilterNewExpensesResult filterNewExpenses(List<CsvParsedExpense> parsedExpenses, Long userId) {
         LocalDate minDate = parsedExpenses.stream()
                 .map(CsvParsedExpense::date)
                 .min(Comparator.naturalOrder())
@@ -156,22 +366,32 @@ public class CsvExpenseService {
                 .max(Comparator.naturalOrder())
                 .orElseThrow();
 
-        Set<ExpenseDuplicateKey> existingKeys = expenseRepository
-                .findByUserAndDateBetween(user, minDate, maxDate)
-                .stream()
+        LongHashSet existingFingerprints = new LongHashSet();
+        try (Stream<ExpenseDuplicateKey> existingKeys =
+                     expenseRepository.streamDuplicateKeysByUserIdAndDateBetween(userId, minDate, maxDate)) {
+            existingKeys.forEach(key -> existingFingerprints.add(key.fingerprint()));
+        }
+
+        // 指紋が一致した行の日付だけ、既存キーを厳密に比較する
+        List<ExpenseDuplicateKey> keys = parsedExpenses.stream()
                 .map(ExpenseDuplicateKey::from)
-                .collect(Collectors.toCollection(HashSet::new));
+                .toList();
+        Set<LocalDate> suspectedDates = keys.stream()
+                .filter(key -> existingFingerprints.contains(key.fingerprint()))
+                .map(ExpenseDuplicateKey::date)
+                .collect(Collectors.toSet());
+        Set<ExpenseDuplicateKey> existingKeys = suspectedDates.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(expenseRepository.findDuplicateKeysByUserIdAndDateIn(userId, suspectedDates));
 
         List<CsvParsedExpense> newExpenses = new ArrayList<>();
         int skippedCount = 0;
 
-        for (CsvParsedExpense parsed : parsedExpenses) {
-            ExpenseDuplicateKey key = ExpenseDuplicateKey.from(parsed);
-            if (existingKeys.contains(key)) {
-                skippedCount++;
+        for (int i = 0; i < parsedExpenses.size(); i++) {
+            if (existingKeys.add(keys.get(i))) {
+                newExpenses.add(parsedExpenses.get(i));
             } else {
-                existingKeys.add(key);
-                newExpenses.add(parsed);
+                skippedCount++;
             }
         }
 
@@ -179,24 +399,21 @@ public class CsvExpenseService {
     }
 
     /**
-     * AIカテゴリ分類を適用してエンティティを作成
+     * AIカテゴリ分類を適用して登録内容を作成
      * 
-     * CSVから解析された支出データに対して、AIカテゴリ分類を適用し、支出エンティティのリストを作成します。
+     * CSVから解析された支出データに対して、AIカテゴリ分類を適用し、支出の登録内容のリストを作成します。
      * AI分類が失敗した場合は、すべて「その他」カテゴリを設定してフォールバック処理を行います。
      * 
      * 処理フロー:
      * 1. 説明文を収集（nullや空文字列を除外）
      * 2. AIカテゴリ分類をバッチ処理で実行
-     * 3. 分類結果を使用してエンティティを作成
+     * 3. 分類結果を使用して登録内容を作成
      * 
      * @param parsedExpenses CSVから解析された支出データのリスト（nullまたは空リストは想定されていない）
-     * @param user           ユーザーエンティティ
-     * @return エンティティのリスト
+     * @return 登録内容のリスト
      * @throws IllegalArgumentException parsedExpensesがnullまたは空の場合
      */
-    private List<Expense> applyAiCategoryClassificationAndCreateEntities(
-            List<CsvParsedExpense> parsedExpenses,
-            User user) {
+    private List<ExpenseUpdate> applyAiCategoryClassification(List<CsvParsedExpense> parsedExpenses) {
         if (parsedExpenses.isEmpty()) {
             throw new IllegalArgumentException("解析された支出データのリストは空です");
         }
@@ -213,8 +430,8 @@ public class CsvExpenseService {
                 categoryMap = aiCategoryService.predictCategoriesBatch(descriptions);
             }
 
-            // エンティティを作成
-            return createExpenseEntities(parsedExpenses, user, categoryMap, false);
+            // 登録内容を作成
+            return createExpenseUpdates(parsedExpenses, categoryMap, false);
 
         } catch (QuotaExceededException | AiServiceException e) {
             // AI分類が失敗した場合、エラーログを出力してフォールバック処理に移行
@@ -222,14 +439,14 @@ public class CsvExpenseService {
                     parsedExpenses.size(), e);
 
             // フォールバック処理: すべて「その他」を設定
-            return createExpenseEntities(parsedExpenses, user, null, true);
+            return createExpenseUpdates(parsedExpenses, null, true);
         }
     }
 
     /**
-     * エンティティを作成する共通処理
+     * 登録内容を作成する共通処理
      * 
-     * 解析された支出データとカテゴリ分類結果から、支出エンティティのリストを作成します。
+     * 解析された支出データとカテゴリ分類結果から、支出の登録内容のリストを作成します。
      * カテゴリマップがnullの場合や、説明文がマップに存在しない場合は「その他」カテゴリを使用します。
      * 
      * 値オブジェクトの作成:
@@ -238,17 +455,15 @@ public class CsvExpenseService {
      * - Category: カテゴリを値オブジェクトとしてラップ（バリデーションを含む）
      * 
      * @param parsedExpenses 解析された支出データのリスト
-     * @param user           ユーザーエンティティ
      * @param categoryMap    AI分類結果のマップ（nullの場合は「その他」を使用）
      * @param isFallback     フォールバック処理かどうか
-     * @return エンティティのリスト
+     * @return 登録内容のリスト
      */
-    private List<Expense> createExpenseEntities(
+    private List<ExpenseUpdate> createExpenseUpdates(
             List<CsvParsedExpense> parsedExpenses,
-            User user,
             Map<String, CategoryType> categoryMap,
             boolean isFallback) {
-        List<Expense> expenses = new ArrayList<>();
+        List<ExpenseUpdate> expenses = new ArrayList<>();
 
         for (CsvParsedExpense parsed : parsedExpenses) {
             // 値オブジェクトを作成
@@ -265,14 +480,8 @@ public class CsvExpenseService {
                 category = categoryMap.getOrDefault(parsed.description(), CategoryType.OTHER);
             }
 
-            // エンティティを作成
-            Expense expense = new Expense(
-                    parsed.description(),
-                    amount,
-                    date,
-                    category,
-                    user);
-            expenses.add(expense);
+            // 登録内容を作成
+            expenses.add(new ExpenseUpdate(parsed.description(), amount, date, category));
         }
 
         return expenses;
@@ -295,15 +504,29 @@ public class CsvExpenseService {
      * CSVファイルのアップロード処理の結果を保持します。
      * 部分成功をサポートするため、成功件数とエラー件数を分けて管理します。
      * 
-     * @param successCount 成功件数（データベースに保存された支出の件数）
-     * @param errorCount   エラー件数（CSV解析でエラーが発生した行の件数）
-     * @param skippedCount スキップ件数（既存データまたは同一CSV内と重複した行の件数）
-     * @param errors       エラー詳細のリスト（行番号、行内容、エラーメッセージを含む）
+     * @param successCount    成功件数（データベースに保存された支出の件数）
+     * @param errorCount      エラー件数（CSV解析でエラーが発生した行の件数）
+     * @param skippedCount    スキップ件数（既存データまたは同一CSV内と重複した行、
+     *                        および同時に取り込まれて一意制約でスキップされた行の件数）
+     * @param errors          エラー詳細のリスト（行番号、行内容、エラーメッセージを含む）
+     * @param importBatchId   取り込みバッチID（有効な行がなくバッチを記録しなかった場合はnull）
+     * @param alreadyImported 同じファイルが取り込み済みのため、解析・登録を行わなかった場合はtrue
      */
     public record CsvUploadResult(
             int successCount,
             int errorCount,
             int skippedCount,
-            List<CsvParseError> errors) {
+            List<CsvParseError> errors,
+            Long importBatchId,
+            boolean alreadyImported) {
+
+        /**
+         * 同じファイルが取り込み済みの場合の結果（件数はすべて0）
+         *
+         * @param importBatchId 取り込み済みのバッチID
+         */
+        static CsvUploadResult alreadyImported(Long importBatchId) {
+            return new CsvUploadResult(0, 0, 0, List.of(), importBatchId, true);
+        }
     }
 }
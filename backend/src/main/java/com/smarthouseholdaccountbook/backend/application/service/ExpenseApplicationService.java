@@ -1,14 +1,24 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import com.smarthouseholdaccountbook.backend.config.jfr.MonthlySummaryEvent;
 import com.smarthouseholdaccountbook.backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.smarthouseholdaccountbook.backend.exception.ExpenseNotFoundException;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseCursor;
 import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
 
 import java.time.LocalDate;
@@ -16,32 +26,45 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 支出に関するアプリケーションサービス
  * このクラスは支出の追加、取得、更新、削除というユースケースを実装します。
  */
 @Service
+@Observed(name = "application.service")
 @Transactional
 public class ExpenseApplicationService {
     private static final String MONTH_FORMAT = "yyyy-MM";
+    /** 一括操作で1回に指定できるIDの上限（OpenAPI の maxItems と一致させる） */
+    public static final int MAX_BULK_IDS = 1000;
     private final ExpenseRepository expenseRepository;
     private final UserApplicationService userApplicationService;
+    private final ExpenseSummaryCache expenseSummaryCache;
+    private final ExpenseVersionStore expenseVersionStore;
 
     /**
      * コンストラクタ
      *
      * @param expenseRepository      支出リポジトリ
      * @param userApplicationService ユーザーアプリケーションサービス
+     * @param expenseSummaryCache    月別サマリー・利用可能月のキャッシュ
+     * @param expenseVersionStore    ETag 用の支出データバージョン
      */
     public ExpenseApplicationService(
             ExpenseRepository expenseRepository,
-            UserApplicationService userApplicationService) {
+            UserApplicationService userApplicationService,
+            ExpenseSummaryCache expenseSummaryCache,
+            ExpenseVersionStore expenseVersionStore) {
         this.expenseRepository = expenseRepository;
         this.userApplicationService = userApplicationService;
+        this.expenseSummaryCache = expenseSummaryCache;
+        this.expenseVersionStore = expenseVersionStore;
     }
 
     /**
@@ -60,19 +83,23 @@ public class ExpenseApplicationService {
      * 新しい支出を追加するユースケース
      *
      * 作成内容（ExpenseUpdate）と現在ユーザーからエンティティを生成し、保存して返します。
+     * ユーザーは参照（プロキシ）で関連付けるため、users テーブルは読みません。
      *
      * @param creation 支出の作成内容（説明・金額・日付・カテゴリ）
      * @return 保存後の支出エンティティ
      */
     public Expense addExpense(ExpenseUpdate creation) {
-        User user = userApplicationService.getUser();
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        User user = userApplicationService.getUserReference(principal.id());
         Expense expense = new Expense(
                 creation.description(),
                 creation.amount(),
                 creation.date(),
                 creation.category(),
                 user);
-        return expenseRepository.save(expense);
+        Expense saved = expenseRepository.save(expense);
+        onExpensesChanged(principal, List.of(monthOf(saved)));
+        return saved;
     }
 
     /**
@@ -83,10 +110,11 @@ public class ExpenseApplicationService {
      * @param id 支出ID
      */
     public void deleteExpense(Long id) {
-        User user = userApplicationService.getUser();
-        Expense existingExpense = expenseRepository.findByIdAndUser(id, user)
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        Expense existingExpense = expenseRepository.findByIdAndUserId(id, principal.id())
                 .orElseThrow(() -> new ExpenseNotFoundException(id));
         expenseRepository.delete(existingExpense);
+        onExpensesChanged(principal, List.of(monthOf(existingExpense)));
     }
 
     /**
@@ -99,67 +127,194 @@ public class ExpenseApplicationService {
      * @return 更新後の支出エンティティ
      */
     public Expense updateExpense(Long id, ExpenseUpdate update) {
-        User user = userApplicationService.getUser();
-        Expense existingExpense = expenseRepository.findByIdAndUser(id, user)
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        Expense existingExpense = expenseRepository.findByIdAndUserId(id, principal.id())
                 .orElseThrow(() -> new ExpenseNotFoundException(id));
+        // 日付変更で月をまたぐ場合に備え、更新前後の両方の月を無効化する
+        YearMonth oldMonth = monthOf(existingExpense);
         existingExpense.update(update);
-        return expenseRepository.save(existingExpense);
+        Expense saved = expenseRepository.save(existingExpense);
+        onExpensesChanged(principal, List.of(oldMonth, monthOf(saved)));
+        return saved;
+    }
+
+    /**
+     * 支出を一括削除するユースケース
+     *
+     * 指定したIDのうち現在ユーザーの支出だけを1回のDELETE文で削除します。
+     * 他ユーザーのIDや存在しないIDは無視し、例外にはしません。
+     * キャッシュと ETag の無効化は、削除対象の月に対して1回だけ行います。
+     *
+     * @param ids 支出IDのリスト（1件以上、{@value #MAX_BULK_IDS}件以下）
+     * @return 削除件数
+     * @throws IllegalArgumentException IDが空、または上限を超える場合（GlobalExceptionHandlerで400に変換される）
+     */
+    public int deleteExpenses(Collection<Long> ids) {
+        Set<Long> targetIds = validateBulkIds(ids);
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        List<YearMonth> months = findAffectedMonths(principal.id(), targetIds);
+        if (months.isEmpty()) {
+            return 0;
+        }
+        int deleted = expenseRepository.deleteByUserIdAndIdIn(principal.id(), targetIds);
+        onExpensesChanged(principal, months);
+        return deleted;
+    }
+
+    /**
+     * 支出のカテゴリを一括変更するユースケース
+     *
+     * 指定したIDのうち現在ユーザーの支出だけを1回のUPDATE文で変更します。
+     * 他ユーザーのIDや存在しないIDは無視し、例外にはしません。
+     * 月は変わらないが、月別サマリーのカテゴリ別集計が変わるため対象の月を無効化します。
+     *
+     * @param ids      支出IDのリスト（1件以上、{@value #MAX_BULK_IDS}件以下）
+     * @param category 変更後のカテゴリ
+     * @return 対象件数
+     * @throws IllegalArgumentException IDが空、または上限を超える場合（GlobalExceptionHandlerで400に変換される）
+     */
+    public int updateExpenseCategories(Collection<Long> ids, CategoryType category) {
+        Objects.requireNonNull(category, "カテゴリーはnullであってはなりません。");
+        Set<Long> targetIds = validateBulkIds(ids);
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        List<YearMonth> months = findAffectedMonths(principal.id(), targetIds);
+        if (months.isEmpty()) {
+            return 0;
+        }
+        int updated = expenseRepository.updateCategoryByUserIdAndIdIn(principal.id(), targetIds, category);
+        onExpensesChanged(principal, months);
+        return updated;
+    }
+
+    /**
+     * 一括操作のIDリストを検証し、重複を除いて返す。
+     */
+    private static Set<Long> validateBulkIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("IDを1件以上指定してください。");
+        }
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("IDにnullは指定できません。");
+        }
+        Set<Long> targetIds = new LinkedHashSet<>(ids);
+        if (targetIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("一度に指定できるIDは" + MAX_BULK_IDS + "件までです。");
+        }
+        return targetIds;
+    }
+
+    /**
+     * 一括操作の対象になる支出の月を求める（現在ユーザーの支出がなければ空）。
+     */
+    private List<YearMonth> findAffectedMonths(Long userId, Set<Long> ids) {
+        return expenseRepository.findDistinctExpenseMonthsByUserIdAndIdIn(userId, ids).stream()
+                .map(ExpenseApplicationService::toYearMonth)
+                .toList();
     }
 
     /**
      * 月別支出を取得するユースケース（ページネーション対応）
      *
-     * 指定された月の支出エンティティのページを返します。
+     * 指定された月の支出一覧のページを返します。
      * H2とMySQLの両方で動作するように、日付範囲を使用してクエリします。
+     * 一覧表示に必要な列だけを読み取り専用のプロジェクションで取得し、エンティティは生成しません。
      *
      * @param month    月（YYYY-MM形式）
      * @param pageable ページネーション情報
-     * @return 支出エンティティのページ
+     * @return 支出一覧のページ
      */
     @Transactional(readOnly = true)
-    public Page<Expense> getExpensesByMonth(String month, Pageable pageable) {
+    public Page<ExpenseListItem> getExpensesByMonth(String month, Pageable pageable) {
         YearMonth yearMonth = parseMonth(month);
-        User user = userApplicationService.getUser();
+        Long userId = userApplicationService.getCurrentUserId();
 
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        return expenseRepository.findByUserAndDateRange(user, startDate, endDate, pageable);
+        return expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate, pageable);
+    }
+
+    /**
+     * 月別支出をカーソル位置から取得するユースケース（キーセットページネーション）
+     *
+     * (date DESC, id DESC) の順で、カーソルより後ろの支出を最大 size 件返します。
+     * OFFSET を使わずインデックス上でシークするため、ページの深さに関係なく一定の速度で取得できます。
+     * 次ページの有無は1件多く取得して判定し、COUNTクエリは発行しません。
+     *
+     * @param month  月（YYYY-MM形式）
+     * @param cursor 前ページ最後の行のカーソル（先頭ページの場合はnull）
+     * @param size   1ページあたりの件数（1以上）
+     * @return 支出一覧のスライスと次ページのカーソル
+     */
+    @Transactional(readOnly = true)
+    public ExpenseSlice getExpensesByMonthAfter(String month, ExpenseCursor cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("件数は1以上でなければなりません。");
+        }
+        YearMonth yearMonth = parseMonth(month);
+        Long userId = userApplicationService.getCurrentUserId();
+
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+        Limit limit = Limit.of(size + 1);
+
+        List<ExpenseListItem> rows = cursor == null
+                ? expenseRepository.findFirstPageByUserIdAndDateRange(userId, startDate, endDate, limit)
+                : expenseRepository.findPageAfterCursorByUserIdAndDateRange(
+                        userId, startDate, endDate, cursor.date(), cursor.id(), limit);
+
+        if (rows.size() <= size) {
+            return new ExpenseSlice(rows, null);
+        }
+        List<ExpenseListItem> content = rows.subList(0, size);
+        return new ExpenseSlice(content, ExpenseCursor.of(content.get(size - 1)));
+    }
+
+    /**
+     * 月別の支出件数を取得するユースケース
+     *
+     * 月別サマリーのキャッシュから件数を返すため、キャッシュヒット時はCOUNTクエリを発行しません。
+     *
+     * @param month 月（YYYY-MM形式）
+     * @return 指定月の支出件数
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long countExpensesByMonth(String month) {
+        return getMonthlySummary(month).count();
     }
 
     /**
      * 月別サマリーを取得するユースケース
      * 
      * 指定された月の支出を集計し、MonthlySummary値オブジェクトを作成して返します。
+     * 集計結果は（ユーザー × 月）単位でキャッシュされ、支出の更新時に対象月だけ無効化されます。
+     * キャッシュのロードが古いスナップショットを読まないよう、トランザクション外で実行します。
      * 
      * @param month 月（YYYY-MM形式）
      * @return 月別サマリー値オブジェクト
      */
     // TODO 引数は文字列ではなく、YearMonthオブジェクトを使用するように修正する。
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MonthlySummary getMonthlySummary(String month) {
         YearMonth yearMonth = parseMonth(month);
 
-        User user = userApplicationService.getUser();
+        UserPrincipal principal = userApplicationService.getCurrentUser();
 
-        LocalDate startDate = yearMonth.atDay(1);
-        LocalDate endDate = yearMonth.atEndOfMonth();
-
-        List<Expense> expenses = expenseRepository.findByUserAndDateBetween(user, startDate, endDate);
-
-        return MonthlySummary.createMonthlySummaryFromExpenses(expenses, month);
+        return expenseSummaryCache.getMonthlySummary(principal.id(), yearMonth,
+                () -> loadMonthlySummary(principal, yearMonth));
     }
 
     /**
      * 範囲指定で月別サマリーを取得するユースケース
      * 
      * 指定された範囲の各月の支出を集計し、MonthlySummary値オブジェクトのリストを作成して返します。
+     * 各月のサマリーはキャッシュから組み立て、キャッシュにない月だけDBから集計します。
      * 
      * @param startMonth 開始月（YYYY-MM形式）
      * @param endMonth   終了月（YYYY-MM形式）
      * @return 月別サマリー値オブジェクトのリスト
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<MonthlySummary> getMonthlySummaryRange(String startMonth, String endMonth) {
         YearMonth start = parseMonth(startMonth);
         YearMonth end = parseMonth(endMonth);
@@ -168,18 +323,14 @@ public class ExpenseApplicationService {
             throw new IllegalArgumentException("開始月は終了月以前でなければなりません。");
         }
 
-        User user = userApplicationService.getUser();
+        UserPrincipal principal = userApplicationService.getCurrentUser();
 
         List<MonthlySummary> summaries = new ArrayList<>();
         YearMonth current = start;
         while (!current.isAfter(end)) {
-            LocalDate monthStart = current.atDay(1);
-            LocalDate monthEnd = current.atEndOfMonth();
-
-            List<Expense> expenses = expenseRepository.findByUserAndDateBetween(user, monthStart, monthEnd);
-
-            MonthlySummary summary = MonthlySummary.createMonthlySummaryFromExpenses(expenses, current.format(DateTimeFormatter.ofPattern(MONTH_FORMAT)));
-            summaries.add(summary);
+            YearMonth month = current;
+            summaries.add(expenseSummaryCache.getMonthlySummary(principal.id(), month,
+                    () -> loadMonthlySummary(principal, month)));
 
             current = current.plusMonths(1);
         }
@@ -191,20 +342,83 @@ public class ExpenseApplicationService {
      * 利用可能な月のリストを取得するユースケース
      * 
      * 現在のユーザーが支出データを持つ月のリストを取得します。
-     * H2とMySQLの両方で動作するように、Javaコードで月をフォーマットします。
+     * 支出月（expense_month）列で月単位に DISTINCT するため、H2とMySQLの両方で動作し、
+     * 取得量は日数ではなく月数に比例します。
+     * 結果はユーザー単位でキャッシュされ、支出の更新時に無効化されます。
      * 
      * @return 利用可能な月のリスト（YYYY-MM形式、降順でソート済み）
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> getAvailableMonths() {
-        User user = userApplicationService.getUser();
+        Long userId = userApplicationService.getCurrentUserId();
+
+        return expenseSummaryCache.getAvailableMonths(userId, () -> loadAvailableMonths(userId));
+    }
+
+    /**
+     * 指定月の支出をDBから取得して集計する（キャッシュミス時のロード処理）
+     * 取得と集計を JFR イベント（{@link MonthlySummaryEvent}）として記録する。
+     */
+    private MonthlySummary loadMonthlySummary(UserPrincipal principal, YearMonth yearMonth) {
+        MonthlySummaryEvent event = new MonthlySummaryEvent();
+        event.begin();
+        LocalDate startDate = yearMonth.atDay(1);
+        LocalDate endDate = yearMonth.atEndOfMonth();
+
+        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(principal.id(), startDate, endDate);
 
-        List<LocalDate> distinctDates = expenseRepository.findDistinctDatesByUser(user);
+        String month = yearMonth.format(DateTimeFormatter.ofPattern(MONTH_FORMAT));
+        MonthlySummary summary = MonthlySummary.createMonthlySummaryFromExpenses(expenses, month);
+        event.complete(month, expenses.size(), principal.cognitoSub());
+        return summary;
+    }
+
+    /**
+     * 利用可能な月をDBから取得する（キャッシュミス時のロード処理）
+     * 月単位で DISTINCT 済み・降順の支出月を、yyyy-MM 形式に整形するだけ。
+     */
+    private List<String> loadAvailableMonths(Long userId) {
+        return expenseRepository.findDistinctExpenseMonthsByUserId(userId).stream()
+                .map(expenseMonth -> toYearMonth(expenseMonth).format(DateTimeFormatter.ofPattern(MONTH_FORMAT)))
+                .toList();
+    }
+
+    /**
+     * 支出の変更をキャッシュと ETag バージョンに反映する（いずれもコミット後に実行される）。
+     * 古いサマリーが新しい ETag で返らないよう、キャッシュの無効化をバージョン更新より先に登録する。
+     */
+    private void onExpensesChanged(UserPrincipal principal, List<YearMonth> months) {
+        expenseSummaryCache.evictAfterCommit(principal.id(), months);
+        expenseVersionStore.bumpAfterCommit(principal.cognitoSub(), months);
+    }
+
+    private static YearMonth monthOf(Expense expense) {
+        return YearMonth.from(expense.getDate().getDate());
+    }
 
-        return distinctDates.stream()
-                .map(date -> YearMonth.from(date).format(DateTimeFormatter.ofPattern(MONTH_FORMAT)))
-                .distinct()
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
+    /**
+     * 支出月（yyyyMM形式の整数）を YearMonth に変換する
+     */
+    private static YearMonth toYearMonth(int expenseMonth) {
+        return YearMonth.of(expenseMonth / 100, expenseMonth % 100);
+    }
+
+    /**
+     * キーセットページネーションの取得結果
+     *
+     * @param content    当該ページの支出（日付の降順、同日はIDの降順）
+     * @param nextCursor 次ページのカーソル（次ページがない場合はnull）
+     */
+    public record ExpenseSlice(List<ExpenseListItem> content, ExpenseCursor nextCursor) {
+        public ExpenseSlice {
+            content = List.copyOf(content);
+        }
+
+        /**
+         * 次のページがあるか
+         */
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
     }
 }
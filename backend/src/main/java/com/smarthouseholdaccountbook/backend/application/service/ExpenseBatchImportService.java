@@ -0,0 +1,211 @@
+package com.smarthouseholdaccountbook.backend.application.service;
+
+import com.smarthouseholdaccountbook.backend.application.service.batch.ExpenseBatchReader;
+import com.smarthouseholdaccountbook.backend.application.service.batch.model.ExpenseBatchError;
+import com.smarthouseholdaccountbook.backend.application.service.batch.model.ExpenseBatchRow;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseJdbcRepository;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 支出の一括登録サービス
+ *
+ * JSON配列または NDJSON で送られた支出を、一定件数（チャンク）ごとに重複チェックして複数行INSERTで登録します。
+ * 読み取り・重複チェック・INSERT をチャンク単位で繰り返すため、メモリ使用量は行数によらずほぼ一定です。
+ * <p>
+ * 本文の受信中に DB コネクションを保持しないよう、本文の読み取りはトランザクション外で行い、
+ * チャンクごとの重複チェックとINSERTだけをそれぞれ1つのトランザクションで実行します。
+ * <p>
+ * 重複判定は CSV インポートと同じ {@link ExpenseDuplicateKey}（日付・金額・説明）で行います。
+ * 既存データとの比較はチャンク内の日付だけを対象にし、コミット済みの前のチャンクも DB 側で見えるため、
+ * リクエスト内の重複もまとめて除外されます。
+ * 同じ内容の一括登録が同時に実行された場合も、取り込み指紋の一意制約により一方の行だけが登録され、
+ * もう一方ではスキップ件数に数えます。
+ * 検証エラーの要素は取り込まずに結果へ含めます。JSONとして読めない場合は400とし、読み取り中のチャンクは
+ * 登録しません（それより前のチャンクはコミット済み。同じ本文を修正して再送すると、登録済みの要素は重複として
+ * スキップされます）。
+ */
+@Service
+@Observed(name = "application.service")
+@Transactional
+public class ExpenseBatchImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseBatchImportService.class);
+
+    /** 1リクエストで受け付ける要素数の上限 */
+    public static final int MAX_ROWS = 100_000;
+    /** 重複チェックとINSERTをまとめて行う件数 */
+    static final int CHUNK_SIZE = 500;
+    /** 結果に含めるエラー詳細の上限（errorCount は全件を数える） */
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ExpenseRepository expenseRepository;
+    private final ExpenseJdbcRepository expenseJdbcRepository;
+    private final ExpenseBatchReader expenseBatchReader;
+    private final UserApplicationService userApplicationService;
+    private final ExpenseSummaryCache expenseSummaryCache;
+    private final ExpenseVersionStore expenseVersionStore;
+    /** チャンクごとの重複チェックとINSERTを1つのトランザクションで実行する */
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpenseBatchImportService(
+            ExpenseRepository expenseRepository,
+            ExpenseJdbcRepository expenseJdbcRepository,
+            ExpenseBatchReader expenseBatchReader,
+            UserApplicationService userApplicationService,
+            ExpenseSummaryCache expenseSummaryCache,
+            ExpenseVersionStore expenseVersionStore,
+            PlatformTransactionManager transactionManager) {
+        this.expenseRepository = expenseRepository;
+        this.expenseJdbcRepository = expenseJdbcRepository;
+        this.expenseBatchReader = expenseBatchReader;
+        this.userApplicationService = userApplicationService;
+        this.expenseSummaryCache = expenseSummaryCache;
+        this.expenseVersionStore = expenseVersionStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * リクエスト本文の支出を一括登録するユースケース
+     *
+     * @param body リクエスト本文（JSON配列または NDJSON）
+     * @return 一括登録結果（成功件数、スキップ件数、エラー件数、エラー詳細）
+     * @throws IllegalArgumentException JSONとして読めない場合、または要素数が上限を超える場合
+     *                                  （GlobalExceptionHandlerで400に変換される）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExpenseBatchImportResult importExpenses(InputStream body) {
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        ChunkedImport chunkedImport = new ChunkedImport(principal);
+
+        expenseBatchReader.read(body, chunkedImport::accept);
+        chunkedImport.flush();
+
+        logger.info("一括登録: 要素数={}, 成功={}, スキップ={}, エラー={}",
+                chunkedImport.rowCount, chunkedImport.successCount, chunkedImport.skippedCount,
+                chunkedImport.errorCount);
+
+        return new ExpenseBatchImportResult(
+                chunkedImport.successCount,
+                chunkedImport.skippedCount,
+                chunkedImport.errorCount,
+                chunkedImport.errors);
+    }
+
+    /**
+     * 1リクエスト分の取り込み状態。要素を溜めて CHUNK_SIZE ごとに重複チェックとINSERTを行う。
+     */
+    private final class ChunkedImport {
+        private final UserPrincipal principal;
+        private final List<ExpenseUpdate> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<ExpenseBatchError> errors = new ArrayList<>();
+        private int rowCount;
+        private int successCount;
+        private int skippedCount;
+        private int errorCount;
+
+        private ChunkedImport(UserPrincipal principal) {
+            this.principal = principal;
+        }
+
+        private void accept(ExpenseBatchRow row) {
+            if (++rowCount > MAX_ROWS) {
+                throw new IllegalArgumentException("一度に登録できるのは" + MAX_ROWS + "件までです。");
+            }
+            if (!row.isValid()) {
+                errorCount++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ExpenseBatchError(row.index(), row.error()));
+                }
+                return;
+            }
+            chunk.add(row.expense());
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * 溜まった要素を1つのトランザクションで登録する
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> importChunk());
+            chunk.clear();
+        }
+
+        /**
+         * 溜まった要素から既存データ・チャンク内の重複を除き、複数行INSERTで登録する。
+         * 登録した月のサマリーキャッシュ無効化と ETag バージョン更新はコミット後に行う。
+         */
+        private void importChunk() {
+            Long userId = principal.id();
+            List<LocalDate> dates = chunk.stream()
+                    .map(expense -> expense.date().getDate())
+                    .distinct()
+                    .toList();
+            Set<ExpenseDuplicateKey> knownKeys =
+                    new HashSet<>(expenseRepository.findDuplicateKeysByUserIdAndDateIn(userId, dates));
+
+            List<ExpenseUpdate> newExpenses = new ArrayList<>(chunk.size());
+            Set<YearMonth> importedMonths = new HashSet<>();
+            for (ExpenseUpdate expense : chunk) {
+                if (knownKeys.add(ExpenseDuplicateKey.from(expense))) {
+                    newExpenses.add(expense);
+                    importedMonths.add(YearMonth.from(expense.date().getDate()));
+                } else {
+                    skippedCount++;
+                }
+            }
+
+            // 同時に取り込まれた同じ明細は一意制約によりDB側でスキップされる
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(userId, null, newExpenses);
+            successCount += inserted;
+            skippedCount += newExpenses.size() - inserted;
+            if (inserted > 0) {
+                expenseSummaryCache.evictAfterCommit(userId, importedMonths);
+                expenseVersionStore.bumpAfterCommit(principal.cognitoSub(), importedMonths);
+            }
+        }
+    }
+
+    /**
+     * 一括登録結果を保持するレコード
+     *
+     * @param successCount 成功件数（データベースに保存された支出の件数）
+     * @param skippedCount スキップ件数（既存データまたは同一リクエスト内と重複した要素の件数）
+     * @param errorCount   エラー件数（検証エラーで取り込めなかった要素の件数）
+     * @param errors       エラー詳細のリスト（先頭から最大100件）
+     */
+    public record ExpenseBatchImportResult(
+            int successCount,
+            int skippedCount,
+            int errorCount,
+            List<ExpenseBatchError> errors) {
+        public ExpenseBatchImportResult {
+            errors = List.copyOf(errors);
+        }
+    }
+}
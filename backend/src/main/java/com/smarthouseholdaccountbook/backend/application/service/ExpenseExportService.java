@@ -0,0 +1,92 @@
+package com.smarthouseholdaccountbook.backend.application.service;
+
+import com.smarthouseholdaccountbook.backend.application.service.export.CsvExpenseRowWriter;
+import com.smarthouseholdaccountbook.backend.application.service.export.ExpenseExportRequest;
+import com.smarthouseholdaccountbook.backend.application.service.export.ExpenseRowWriter;
+import com.smarthouseholdaccountbook.backend.application.service.export.NdjsonExpenseRowWriter;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 支出のエクスポートサービス
+ *
+ * 読み取り専用トランザクション内で支出をDBから1行ずつ読み、出力先へ直接書き込みます。
+ * リストに溜め込まないため、メモリ使用量は件数によらずほぼ一定です。
+ */
+@Service
+@Observed(name = "application.service")
+@Transactional(readOnly = true)
+public class ExpenseExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseExportService.class);
+
+    /** 開始日を省略したときの下限（MySQL の DATE 型の最小値） */
+    static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    /** 終了日を省略したときの上限（MySQL の DATE 型の最大値） */
+    static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final ExpenseRepository expenseRepository;
+    private final UserApplicationService userApplicationService;
+    private final JsonMapper jsonMapper;
+
+    public ExpenseExportService(
+            ExpenseRepository expenseRepository,
+            UserApplicationService userApplicationService,
+            JsonMapper jsonMapper) {
+        this.expenseRepository = expenseRepository;
+        this.userApplicationService = userApplicationService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * ログインユーザーの支出を出力先へ書き込むユースケース
+     *
+     * 出力先のクローズ（gzip の終端の書き込みを含む）は呼び出し元が行います。
+     *
+     * @param request エクスポート条件
+     * @param out     出力先（レスポンスの本文など）
+     * @return 書き込んだ件数
+     * @throws IOException 出力先への書き込みに失敗した場合（クライアントの切断など）
+     */
+    public long export(ExpenseExportRequest request, OutputStream out) throws IOException {
+        Long userId = userApplicationService.getCurrentUserId();
+        LocalDate startDate = request.startDate() != null ? request.startDate() : MIN_DATE;
+        LocalDate endDate = request.endDate() != null ? request.endDate() : MAX_DATE;
+        ExpenseRowWriter writer = createWriter(request, out);
+
+        long count = 0;
+        writer.writeHeader();
+        try (Stream<ExpenseListItem> items = expenseRepository.streamByUserIdAndDateRange(userId, startDate, endDate)) {
+            Iterator<ExpenseListItem> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                count++;
+            }
+        }
+        writer.flush();
+
+        logger.info("エクスポート: 形式={}, 期間={}〜{}, gzip={}, 件数={}",
+                request.format(), request.startDate(), request.endDate(), request.gzip(), count);
+        return count;
+    }
+
+    private ExpenseRowWriter createWriter(ExpenseExportRequest request, OutputStream out) {
+        return switch (request.format()) {
+            case CSV -> new CsvExpenseRowWriter(out);
+            case NDJSON -> new NdjsonExpenseRowWriter(out, jsonMapper);
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.smarthouseholdaccountbook.backend.application.service;
+
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
+import com.smarthouseholdaccountbook.backend.exception.ImportBatchNotFoundException;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 取り込みバッチサービス
+ *
+ * CSVアップロードで記録した取り込みバッチの一覧取得と、バッチ単位の取り消しを担当します。
+ * 取り消しはバッチで取り込んだ支出を import_batch_id のインデックスを使った1回のDELETE文で削除し、
+ * バッチの行は取り消し日時を設定して残します（同じファイルを再アップロードすると再び取り込まれる）。
+ */
+@Service
+@Observed(name = "application.service")
+@Transactional
+public class ImportBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(ImportBatchService.class);
+
+    /** 一覧で返す取り込みバッチの上限 */
+    static final int MAX_RECENT_BATCHES = 50;
+
+    private final ImportBatchRepository importBatchRepository;
+    private final ExpenseRepository expenseRepository;
+    private final UserApplicationService userApplicationService;
+    private final ExpenseSummaryCache expenseSummaryCache;
+    private final ExpenseVersionStore expenseVersionStore;
+
+    public ImportBatchService(
+            ImportBatchRepository importBatchRepository,
+            ExpenseRepository expenseRepository,
+            UserApplicationService userApplicationService,
+            ExpenseSummaryCache expenseSummaryCache,
+            ExpenseVersionStore expenseVersionStore) {
+        this.importBatchRepository = importBatchRepository;
+        this.expenseRepository = expenseRepository;
+        this.userApplicationService = userApplicationService;
+        this.expenseSummaryCache = expenseSummaryCache;
+        this.expenseVersionStore = expenseVersionStore;
+    }
+
+    /**
+     * 現在ユーザーの取り込みバッチを新しい順に取得するユースケース
+     *
+     * @return 取り込みバッチのリスト（新しい順、最大{@value #MAX_RECENT_BATCHES}件。取り消し済みも含む）
+     */
+    @Transactional(readOnly = true)
+    public List<ImportBatch> getRecentImportBatches() {
+        Long userId = userApplicationService.getCurrentUserId();
+        return importBatchRepository.findByUserIdOrderByIdDesc(userId, Limit.of(MAX_RECENT_BATCHES));
+    }
+
+    /**
+     * 取り込みバッチを取り消すユースケース
+     *
+     * バッチで取り込んだ支出を、取り込み後に編集したものも含めて1回のDELETE文で削除します。
+     * キャッシュと ETag の無効化は、削除対象の月に対して1回だけ行います。
+     * 取り消し済みのバッチを再度指定した場合は何もせず0を返します。
+     *
+     * @param importBatchId 取り込みバッチID
+     * @return 削除件数
+     * @throws ImportBatchNotFoundException 現在ユーザーの取り込みバッチが存在しない場合（GlobalExceptionHandlerで404に変換される）
+     */
+    public int rollbackImportBatch(Long importBatchId) {
+        UserPrincipal principal = userApplicationService.getCurrentUser();
+        ImportBatch importBatch = importBatchRepository.findByIdAndUserId(importBatchId, principal.id())
+                .orElseThrow(() -> new ImportBatchNotFoundException(importBatchId));
+        if (importBatch.isRolledBack()) {
+            return 0;
+        }
+
+        List<YearMonth> months = expenseRepository
+                .findDistinctExpenseMonthsByUserIdAndImportBatchId(principal.id(), importBatchId).stream()
+                .map(expenseMonth -> YearMonth.of(expenseMonth / 100, expenseMonth % 100))
+                .toList();
+
+        // DELETE文の前のフラッシュで取り消し日時も書き込まれる（削除後は永続化コンテキストがクリアされる）
+        importBatch.markRolledBack();
+        int deleted = expenseRepository.deleteByUserIdAndImportBatchId(principal.id(), importBatchId);
+
+        if (!months.isEmpty()) {
+            expenseSummaryCache.evictAfterCommit(principal.id(), months);
+            expenseVersionStore.bumpAfterCommit(principal.cognitoSub(), months);
+        }
+        logger.info("取り込みバッチ取り消し: importBatchId={}, 削除={}", importBatchId, deleted);
+        return deleted;
+    }
+}
@@ -2,7 +2,6 @@ package com.smarthouseholdaccountbook.backend.application.service;
 
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.MonthlyReport;
-import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.application.service.openai.OpenAiClient;
 import com.smarthouseholdaccountbook.backend.exception.AiServiceException;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
@@ -11,6 +10,8 @@ import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
 
 import tools.jackson.core.type.TypeReference;
 
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +29,7 @@ import java.util.stream.Collectors;
  * 生成済みレポートはDBに永続化し、再リクエスト時はキャッシュから返します。
  */
 @Service
+@Observed(name = "application.service")
 public class MonthlyReportService {
     private static final String MONTH_FORMAT = "yyyy-MM";
     private static final int TOP_ITEMS_PER_CATEGORY = 3;
@@ -43,7 +45,7 @@ public class MonthlyReportService {
             ExpenseRepository expenseRepository,
             MonthlyReportRepository monthlyReportRepository,
             UserApplicationService userApplicationService,
-            OpenAiClient openAiClient) {
+            @Lazy OpenAiClient openAiClient) {
         this.expenseRepository = expenseRepository;
         this.monthlyReportRepository = monthlyReportRepository;
         this.userApplicationService = userApplicationService;
@@ -60,8 +62,8 @@ public class MonthlyReportService {
      */
     @Transactional
     public Optional<MonthlyReport> generateReport(String month, boolean generate) {
-        User user = userApplicationService.getUser();
-        Optional<MonthlyReport> existing = monthlyReportRepository.findByUserAndReportMonth(user, month);
+        Long userId = userApplicationService.getCurrentUserId();
+        Optional<MonthlyReport> existing = monthlyReportRepository.findByUserIdAndReportMonth(userId, month);
 
         if (!generate) {
             return existing;
@@ -71,7 +73,7 @@ public class MonthlyReportService {
         LocalDate startDate = yearMonth.atDay(1);
         LocalDate endDate = yearMonth.atEndOfMonth();
 
-        List<Expense> expenses = expenseRepository.findByUserAndDateBetween(user, startDate, endDate);
+        List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(userId, startDate, endDate);
 
         if (expenses.isEmpty()) {
             throw new IllegalArgumentException(
@@ -87,7 +89,8 @@ public class MonthlyReportService {
             return Optional.of(entity);
         }
         return Optional.of(monthlyReportRepository.save(
-                new MonthlyReport(user, month, parsed.summary(), parsed.suggestions())));
+                new MonthlyReport(userApplicationService.getUserReference(userId), month,
+                        parsed.summary(), parsed.suggestions())));
     }
 
     private String buildPrompt(MonthlySummary summary) {
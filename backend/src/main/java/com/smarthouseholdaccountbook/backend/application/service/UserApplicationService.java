@@ -1,6 +1,7 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
 import com.smarthouseholdaccountbook.backend.auth.provider.CurrentAuthProvider;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
 import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.exception.UserNotFoundException;
 import com.smarthouseholdaccountbook.backend.repository.UserRepository;
@@ -12,18 +13,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.Cacheable;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * ユーザーに関するアプリケーションサービス。
- * ユーザーの取得と、認証済みユーザーのDB登録（UserRegistrationFilterから利用）を担当する。
+ * ユーザーの取得と、認証済みユーザーのDB登録・解決（UserRegistrationFilterから利用）を担当する。
  */
 @Service
+@Observed(name = "application.service")
 public class UserApplicationService {
-    /** 「該当 sub のユーザーは DB に存在する」ことを記録する軽量キャッシュ名 */
-    private static final String ENSURED_CACHE = "userEnsured";
+    /**
+     * sub → {@link UserPrincipal}（DB登録済みのユーザーIDと sub）のキャッシュ名。
+     * エンティティではなく不変の小さな値を保持する。
+     */
+    public static final String PRINCIPAL_CACHE = "users";
 
     private static final Logger logger = LoggerFactory.getLogger(UserApplicationService.class);
     private final UserRepository userRepository;
@@ -48,31 +54,36 @@ public class UserApplicationService {
     }
 
     /**
-     * 現在の認証ユーザーがDBに存在することを保証する。
-     * 存在しなければ新規作成する。UserRegistrationFilter から呼ばれる。
+     * 現在の認証ユーザーを {@link UserPrincipal} に解決する。DBに存在しなければ新規作成する。
+     * UserRegistrationFilter からリクエストごとに1回だけ呼ばれ、結果はリクエスト属性に保持される。
      * <p>
      * パフォーマンスとログノイズの観点から次の2段構造で守っている：
      * <ol>
-     *   <li>キャッシュ {@value #ENSURED_CACHE} に「確認済み」が載っていれば即 return（DB ヒットなし）</li>
+     *   <li>キャッシュ {@value #PRINCIPAL_CACHE} に解決済みの値があれば即 return（DB ヒットなし）</li>
      *   <li>{@code sub} 単位のロックで並行登録を直列化（初回ログイン時の同時リクエストでも INSERT は1回だけ）</li>
      * </ol>
+     *
+     * @return 現在の認証ユーザー
      */
-    public void ensureUserExists() {
+    public UserPrincipal resolveCurrentUser() {
         String sub = currentAuthProvider.getCurrentSub();
-        // 1段目: キャッシュに「確認済み」が載っていれば DB アクセスなしで抜ける
-        if (isEnsured(sub)) {
-            return;
+        // 1段目: キャッシュに解決済みの値があれば DB アクセスなしで抜ける
+        UserPrincipal cached = getCachedPrincipal(sub);
+        if (cached != null) {
+            return cached;
         }
         // 2段目: sub 単位のロックで直列化。別ユーザーは互いにブロックしない
         Object lock = ensureLocks.computeIfAbsent(sub, k -> new Object());
         try {
             synchronized (lock) {
                 // ロック取得後にもう一度確認（ダブルチェック）。
-                if (isEnsured(sub)) {
-                    return;
+                cached = getCachedPrincipal(sub);
+                if (cached != null) {
+                    return cached;
                 }
-                ensureUserExistsInternal(sub);
-                markEnsured(sub);
+                UserPrincipal principal = ensureUserExistsInternal(sub);
+                cachePrincipal(principal);
+                return principal;
             }
         } finally {
             ensureLocks.remove(sub, lock);
@@ -82,39 +93,72 @@ public class UserApplicationService {
     /**
      * DB 上の存在確認と、未登録なら INSERT を行う。並行呼び出しはロック済みである前提。
      */
-    private void ensureUserExistsInternal(String sub) {
-        if (userRepository.findByCognitoSub(sub).isPresent()) {
-            return;
-        }
-        logger.info("ユーザが見つからないため新規作成します");
-        String email = currentAuthProvider.getCurrentEmail();
-        userRepository.save(new User(sub, email));
+    private UserPrincipal ensureUserExistsInternal(String sub) {
+        User user = userRepository.findByCognitoSub(sub).orElseGet(() -> {
+            logger.info("ユーザが見つからないため新規作成します");
+            String email = currentAuthProvider.getCurrentEmail();
+            return userRepository.save(new User(sub, email));
+        });
+        return new UserPrincipal(user.getId(), sub);
     }
 
-    private boolean isEnsured(String sub) {
-        Cache cache = cacheManager.getCache(ENSURED_CACHE);
-        return cache != null && cache.get(sub) != null;
+    private UserPrincipal getCachedPrincipal(String sub) {
+        Cache cache = cacheManager.getCache(PRINCIPAL_CACHE);
+        return cache == null ? null : cache.get(sub, UserPrincipal.class);
     }
 
-    private void markEnsured(String sub) {
-        Cache cache = cacheManager.getCache(ENSURED_CACHE);
+    private void cachePrincipal(UserPrincipal principal) {
+        Cache cache = cacheManager.getCache(PRINCIPAL_CACHE);
         if (cache != null) {
-            cache.put(sub, Boolean.TRUE);
+            cache.put(principal.cognitoSub(), principal);
         }
     }
 
     /**
-     * 現在の認証情報に紐づくユーザーを取得する。
-     * UserRegistrationFilter により事前にDBに登録されている前提。
+     * 現在のリクエストで解決済みの認証ユーザーを取得する。
+     * 通常は UserRegistrationFilter がリクエスト属性に保持した値を返すため、キャッシュもDBも参照しない。
+     * リクエスト外（非同期処理など）やフィルターを通らない呼び出しでは、キャッシュまたはDBから解決する。
      *
-     * @return ユーザーエンティティ
+     * @return 現在の認証ユーザー
      * @throws UserNotFoundException ユーザーが存在しない場合（通常はフィルター未実行時）
      */
-    @Cacheable(value = "users", key = "@currentAuthProvider.getCurrentSub()")
-    @Transactional(readOnly = true)
-    public User getUser() {
+    public UserPrincipal getCurrentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(UserPrincipal.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof UserPrincipal principal) {
+            return principal;
+        }
         String sub = currentAuthProvider.getCurrentSub();
-        return userRepository.findByCognitoSub(sub)
+        UserPrincipal cached = getCachedPrincipal(sub);
+        if (cached != null) {
+            return cached;
+        }
+        UserPrincipal principal = userRepository.findByCognitoSub(sub)
+                .map(user -> new UserPrincipal(user.getId(), sub))
                 .orElseThrow(UserNotFoundException::new);
+        cachePrincipal(principal);
+        return principal;
+    }
+
+    /**
+     * 現在の認証ユーザーのID（users.id）を取得する。リポジトリのクエリはこのIDで絞り込む。
+     *
+     * @return 現在の認証ユーザーのID
+     * @throws UserNotFoundException ユーザーが存在しない場合（通常はフィルター未実行時）
+     */
+    public Long getCurrentUserId() {
+        return getCurrentUser().id();
+    }
+
+    /**
+     * ユーザーへの参照（JPAのプロキシ）を取得する。
+     * 支出などを関連付けるときに使い、users テーブルは読まない（呼び出し元のトランザクション内で使うこと）。
+     *
+     * @param userId ユーザーID（{@link #getCurrentUserId()} で取得したもの）
+     * @return ユーザーエンティティの参照
+     */
+    public User getUserReference(Long userId) {
+        return userRepository.getReferenceById(userId);
     }
 }
@@ -0,0 +1,103 @@
+package com.smarthouseholdaccountbook.backend.application.service.batch;
+
+import com.smarthouseholdaccountbook.backend.application.service.batch.model.ExpenseBatchRow;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * 支出の一括登録リクエスト本文を1件ずつ読み取るリーダー
+ *
+ * JSON配列（{@code [{...}, {...}]}）と NDJSON（1行に1つのJSONオブジェクト）の両方を受け付ける。
+ * Jackson の {@link MappingIterator} で1要素ずつ読み進めるため、本文全体をメモリに載せない。
+ * <p>
+ * 要素ごとの検証エラー（日付・金額・カテゴリの不正など）はその要素のエラーとして返し、読み取りは続ける。
+ * JSONとして読めない場合は以降の要素の区切りが分からないため、全体を不正として扱う。
+ */
+@Component
+public class ExpenseBatchReader {
+    /** DBの description 列（VARCHAR(255)）の長さ */
+    static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    private final ObjectReader itemReader;
+
+    public ExpenseBatchReader(JsonMapper jsonMapper) {
+        this.itemReader = jsonMapper.readerFor(BatchItem.class);
+    }
+
+    /**
+     * リクエスト本文を先頭から読み、要素ごとに action を呼び出す。
+     *
+     * @param body   リクエスト本文（JSON配列またはNDJSON）
+     * @param action 要素ごとの読み取り結果を受け取る処理
+     * @throws IllegalArgumentException JSONとして読めない場合（GlobalExceptionHandlerで400に変換される）
+     */
+    public void read(InputStream body, Consumer<ExpenseBatchRow> action) {
+        int index = 0;
+        try {
+            // 先頭が配列ならその要素を、そうでなければルートの値の並び（NDJSON）を順に読む
+            MappingIterator<BatchItem> items = itemReader.readValues(body);
+            while (items.hasNextValue()) {
+                BatchItem item = items.nextValue();
+                index++;
+                action.accept(toRow(index, item));
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException(
+                    "JSONの形式が不正です（" + (index + 1) + "件目）: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * 1要素を検証し、支出の内容またはエラーに変換する
+     */
+    private static ExpenseBatchRow toRow(int index, BatchItem item) {
+        if (item == null) {
+            return ExpenseBatchRow.invalid(index, "要素がnullです。");
+        }
+        try {
+            if (item.description() != null && item.description().length() > MAX_DESCRIPTION_LENGTH) {
+                throw new IllegalArgumentException("説明は" + MAX_DESCRIPTION_LENGTH + "文字以内で指定してください。");
+            }
+            ExpenseUpdate expense = new ExpenseUpdate(
+                    item.description(),
+                    new ExpenseAmount(item.amount()),
+                    new ExpenseDate(parseDate(item.date())),
+                    CategoryType.fromDisplayName(item.category()));
+            return ExpenseBatchRow.valid(index, expense);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ExpenseBatchRow.invalid(index, e.getMessage());
+        }
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            throw new IllegalArgumentException("日付は必須です。");
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("日付の形式が不正です。yyyy-MM-dd で指定してください: " + date, e);
+        }
+    }
+
+    /**
+     * 一括登録の1要素（OpenAPI の ExpenseRequestDto と同じ形）
+     *
+     * 日付は要素単位のエラーにするため文字列のまま受け取る。
+     */
+    record BatchItem(String date, String category, Integer amount, String description) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.smarthouseholdaccountbook.backend.application.service.batch.model;
+
+/**
+ * 一括登録で取り込めなかった要素のエラーを保持するレコード
+ *
+ * @param index   要素番号（1始まり）
+ * @param message エラーメッセージ
+ */
+public record ExpenseBatchError(
+        int index,
+        String message) {
+}
@@ -0,0 +1,33 @@
+package com.smarthouseholdaccountbook.backend.application.service.batch.model;
+
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+
+/**
+ * 一括登録リクエストの1件分の読み取り結果を保持するレコード
+ *
+ * 検証に成功した場合は expense、失敗した場合は error のどちらか一方だけを持つ。
+ *
+ * @param index   要素番号（1始まり。JSON配列の要素順、NDJSONの値の順）
+ * @param expense 検証済みの支出の内容（検証に失敗した場合はnull）
+ * @param error   エラーメッセージ（検証に成功した場合はnull）
+ */
+public record ExpenseBatchRow(
+        int index,
+        ExpenseUpdate expense,
+        String error) {
+
+    public static ExpenseBatchRow valid(int index, ExpenseUpdate expense) {
+        return new ExpenseBatchRow(index, expense, null);
+    }
+
+    public static ExpenseBatchRow invalid(int index, String error) {
+        return new ExpenseBatchRow(index, null, error);
+    }
+
+    /**
+     * 検証に成功したか
+     */
+    public boolean isValid() {
+        return expense != null;
+    }
+}
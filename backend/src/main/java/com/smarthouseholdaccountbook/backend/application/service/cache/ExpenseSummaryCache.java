@@ -0,0 +1,108 @@
+package com.smarthouseholdaccountbook.backend.application.service.cache;
+
+import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 月別サマリーと利用可能月リストの読み取りキャッシュ
+ *
+ * サマリーは（ユーザーID × 対象月）単位、利用可能月リストはユーザーID単位でキャッシュする。
+ * 支出の追加・更新・削除・CSV取込ではコミット後に影響を受けた月だけを無効化する（write-through invalidation）。
+ * <p>
+ * 整合性は次の2点で保証する：
+ * <ol>
+ *   <li>ロードは Caffeine のキー単位の原子的計算（{@link Cache#get(Object, java.util.concurrent.Callable)}）で行い、
+ *       計算中の同一キーへの無効化は計算完了まで待たされる。</li>
+ *   <li>無効化はトランザクションのコミット後に行う。コミット前の古いデータでロードされた値は必ず後から無効化される。</li>
+ * </ol>
+ * ロード側は長いトランザクションのスナップショットを使わないよう、呼び出し元でトランザクション外から呼ぶこと。
+ */
+@Component
+public class ExpenseSummaryCache {
+    /** 月別サマリーのキャッシュ名（キー: {@link SummaryKey}） */
+    public static final String SUMMARY_CACHE = "monthlySummary";
+    /** 利用可能な月リストのキャッシュ名（キー: ユーザーID） */
+    public static final String MONTHS_CACHE = "availableMonths";
+
+    private final Cache summaryCache;
+    private final Cache monthsCache;
+
+    public ExpenseSummaryCache(CacheManager cacheManager) {
+        this.summaryCache = Objects.requireNonNull(cacheManager.getCache(SUMMARY_CACHE),
+                SUMMARY_CACHE + " キャッシュが定義されていません。");
+        this.monthsCache = Objects.requireNonNull(cacheManager.getCache(MONTHS_CACHE),
+                MONTHS_CACHE + " キャッシュが定義されていません。");
+    }
+
+    /**
+     * 月別サマリーをキャッシュから取得する。なければ loader で計算してキャッシュする。
+     *
+     * @param userId ユーザーID
+     * @param month  対象月
+     * @param loader キャッシュミス時にDBから集計する処理
+     * @return 月別サマリー
+     */
+    public MonthlySummary getMonthlySummary(Long userId, YearMonth month, Supplier<MonthlySummary> loader) {
+        return summaryCache.get(new SummaryKey(userId, month), loader::get);
+    }
+
+    /**
+     * 利用可能な月リストをキャッシュから取得する。なければ loader で取得してキャッシュする。
+     *
+     * @param userId ユーザーID
+     * @param loader キャッシュミス時にDBから取得する処理（不変リストを返すこと）
+     * @return 利用可能な月のリスト
+     */
+    public List<String> getAvailableMonths(Long userId, Supplier<List<String>> loader) {
+        return monthsCache.get(userId, loader::get);
+    }
+
+    /**
+     * 指定ユーザーの指定月のサマリーと、利用可能月リストを無効化する。
+     * トランザクション中であればコミット後に、そうでなければ即座に無効化する（ロールバック時は何もしない）。
+     *
+     * @param userId ユーザーID
+     * @param months 変更があった月（重複可）
+     */
+    public void evictAfterCommit(Long userId, Collection<YearMonth> months) {
+        Set<YearMonth> affected = Set.copyOf(months);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId, affected);
+                }
+            });
+        } else {
+            evict(userId, affected);
+        }
+    }
+
+    private void evict(Long userId, Set<YearMonth> months) {
+        for (YearMonth month : months) {
+            summaryCache.evict(new SummaryKey(userId, month));
+        }
+        monthsCache.evict(userId);
+    }
+
+    /**
+     * 月別サマリーのキャッシュキー
+     *
+     * @param userId ユーザーID
+     * @param month  対象月
+     */
+    public record SummaryKey(Long userId, YearMonth month) {
+    }
+}
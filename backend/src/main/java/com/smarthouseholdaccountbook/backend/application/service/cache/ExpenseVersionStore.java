@@ -0,0 +1,104 @@
+package com.smarthouseholdaccountbook.backend.application.service.cache;
+
+import com.smarthouseholdaccountbook.backend.util.Sha256;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 支出データのバージョン管理（ETag の発行元）
+ *
+ * （ユーザー × 月）単位と、ユーザー単位のバージョンをメモリ上に保持する。
+ * 支出の追加・更新・削除・CSV取込のコミット後にバージョンを進め、読み取り系APIはこの値から ETag を作る。
+ * ETag の検証はマップ参照だけで完結し、SQL は発行しない。
+ * <p>
+ * バージョンは全体で単調増加する連番から採番するため、同じ値が別の内容に再利用されることはない。
+ * 再起動でマップが空になっても、起動ごとに変わるエポックを ETag に含めるので古い ETag とは一致しない。
+ * ETag にはユーザーごとのハッシュも含め、バージョンが同じ（未更新の 0 など）別ユーザーの ETag と一致しないようにする。
+ * アプリは単一インスタンスで動作する前提（複数インスタンスにする場合は共有ストアへの置き換えが必要）。
+ */
+@Component
+public class ExpenseVersionStore {
+    /** ETag に含めるユーザーのハッシュの長さ（16進数の文字数） */
+    private static final int USER_HASH_LENGTH = 12;
+    /** 起動ごとに異なる値。再起動前に発行した ETag を無効にする */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<MonthKey, Long> monthVersions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> userVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 指定月の支出データ（一覧・月別サマリー）の ETag を返す。
+     *
+     * @param cognitoSub ユーザーの Cognito sub
+     * @param month      対象月
+     * @return 強い ETag（ダブルクォート付き）
+     */
+    public String monthETag(String cognitoSub, YearMonth month) {
+        return toETag(cognitoSub, "m" + monthVersions.getOrDefault(new MonthKey(cognitoSub, month), 0L));
+    }
+
+    /**
+     * ユーザーの全支出データ（範囲サマリー・利用可能月）の ETag を返す。
+     *
+     * @param cognitoSub ユーザーの Cognito sub
+     * @return 強い ETag（ダブルクォート付き）
+     */
+    public String userETag(String cognitoSub) {
+        return toETag(cognitoSub, "u" + userVersions.getOrDefault(cognitoSub, 0L));
+    }
+
+    /**
+     * 指定月とユーザー全体のバージョンを進める。
+     * トランザクション中であればコミット後に、そうでなければ即座に進める（ロールバック時は何もしない）。
+     * コミット前に進めると、古いデータが新しい ETag 付きでクライアントに保存されてしまうため必ずコミット後に行う。
+     *
+     * @param cognitoSub ユーザーの Cognito sub
+     * @param months     変更があった月（重複可）
+     */
+    public void bumpAfterCommit(String cognitoSub, Collection<YearMonth> months) {
+        Set<YearMonth> affected = Set.copyOf(months);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(cognitoSub, affected);
+                }
+            });
+        } else {
+            bump(cognitoSub, affected);
+        }
+    }
+
+    private void bump(String cognitoSub, Set<YearMonth> months) {
+        long version = sequence.incrementAndGet();
+        for (YearMonth month : months) {
+            // 並行して進めた場合でも後退しないよう最大値を残す
+            monthVersions.merge(new MonthKey(cognitoSub, month), version, Math::max);
+        }
+        userVersions.merge(cognitoSub, version, Math::max);
+    }
+
+    private String toETag(String cognitoSub, String version) {
+        return "\"" + epoch + "-" + userHash(cognitoSub) + "-" + version + "\"";
+    }
+
+    /**
+     * ETag に含めるユーザーの識別子。sub をそのまま出さないよう、エポックと合わせたハッシュの先頭を使う。
+     */
+    private String userHash(String cognitoSub) {
+        return Sha256.saltedHexPrefix(epoch.getBytes(StandardCharsets.UTF_8), cognitoSub, USER_HASH_LENGTH);
+    }
+
+    private record MonthKey(String cognitoSub, YearMonth month) {
+    }
+}
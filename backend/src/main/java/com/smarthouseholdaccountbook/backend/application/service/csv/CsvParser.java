@@ -4,6 +4,7 @@ import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvPa
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * CSV解析のインターフェース
@@ -19,4 +20,14 @@ public interface CsvParser {
      * @return 解析結果（成功したデータとエラー情報を含む）
      */
     CsvParseResult parse(InputStream inputStream) throws IOException;
+
+    /**
+     * サーバー上のCSVファイルを解析してCsvParseResultに変換
+     *
+     * ファイルをメモリマップして読み込むため、大きなファイルもストリームを経由せずに解析できます。
+     *
+     * @param file CSVファイルのパス
+     * @return 解析結果（成功したデータとエラー情報を含む）
+     */
+    CsvParseResult parse(Path file) throws IOException;
 }
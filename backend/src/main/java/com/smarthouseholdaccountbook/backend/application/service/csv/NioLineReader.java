@@ -0,0 +1,195 @@
+package com.smarthouseholdaccountbook.backend.application.service.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * バイト単位で行を区切り、空白を除いた空でない行だけを文字列に変換する行リーダー
+ *
+ * {@code BufferedReader.readLine()} と {@code String.trim()} を組み合わせた読み込みと同じ行・同じ行番号を返しますが、
+ * 行の区切り（LF / CR / CRLF）と前後の空白（0x20 以下）の判定をデコード前のバイト列で行います。
+ * 読み込み用のバッファ・{@link CharsetDecoder}・{@link CharBuffer} は1回の読み込みの間で使い回し、
+ * 行はバッファ上の位置のままデコードします（空行はデコードしない）。
+ * <p>
+ * マルチバイト文字の2バイト目以降に 0x0A・0x0D・0x20 以下のバイトが現れない文字コード
+ * （Shift_JIS、UTF-8 など）でのみ使えます。スレッドセーフではないため、読み込みごとにインスタンスを作成してください。
+ */
+public class NioLineReader {
+    /** 読み込み用バッファの初期サイズ（これより長い行を読むと拡張する） */
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+    /** ファイルを一度にメモリマップするバイト数（2GBを超えるファイルは分割してマップする） */
+    static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+
+    private final CharsetDecoder decoder;
+    /** 読み込み用バッファ。position までが読み込み済みで、未完成の行は先頭に詰め直して読み進める */
+    private ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    /** デコード対象の行を指す、buffer と同じ配列のビュー */
+    private ByteBuffer lineView = buffer.duplicate();
+    private CharBuffer charBuffer = CharBuffer.allocate(READ_BUFFER_SIZE);
+    private int lineNumber;
+
+    /**
+     * 1行分の処理
+     */
+    @FunctionalInterface
+    public interface LineHandler {
+        /**
+         * @param line       前後の空白を除いた空でない行
+         * @param lineNumber 1始まりの行番号（空行も数える）
+         */
+        void handle(String line, int lineNumber);
+    }
+
+    /**
+     * 読み込み用バッファにバイト列を追加する読み込み元
+     */
+    @FunctionalInterface
+    private interface ByteSource {
+        /**
+         * @return 追加したバイト数。終端に達した場合は -1
+         */
+        int fill(ByteBuffer dst) throws IOException;
+    }
+
+    /**
+     * @param charset 行の文字コード。不正なバイト列は {@code InputStreamReader} と同じく置換文字に変換する
+     */
+    public NioLineReader(Charset charset) {
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * チャネルを最後まで読み込み、空でない行ごとに handler を呼び出す
+     *
+     * @param channel 読み込み元のチャネル（クローズは呼び出し元で行う）
+     * @param handler 行の処理
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public void read(ReadableByteChannel channel, LineHandler handler) throws IOException {
+        read(channel::read, handler);
+    }
+
+    /**
+     * ファイルをメモリマップして最後まで読み込み、空でない行ごとに handler を呼び出す
+     *
+     * read システムコールを使わず、マップした領域から読み込み用バッファへ一括コピーして読み進めます。
+     *
+     * @param file    読み込むファイル
+     * @param handler 行の処理
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public void read(Path file, LineHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] mapped = {null};
+            long[] mappedUntil = {0};
+            read(dst -> {
+                if (mapped[0] == null || !mapped[0].hasRemaining()) {
+                    if (mappedUntil[0] >= size) {
+                        return -1;
+                    }
+                    long length = Math.min(MAP_CHUNK_SIZE, size - mappedUntil[0]);
+                    mapped[0] = channel.map(FileChannel.MapMode.READ_ONLY, mappedUntil[0], length);
+                    mappedUntil[0] += length;
+                }
+                int length = Math.min(dst.remaining(), mapped[0].remaining());
+                dst.put(dst.position(), mapped[0], mapped[0].position(), length);
+                dst.position(dst.position() + length);
+                mapped[0].position(mapped[0].position() + length);
+                return length;
+            }, handler);
+        }
+    }
+
+    private void read(ByteSource source, LineHandler handler) throws IOException {
+        buffer.clear();
+        lineNumber = 0;
+        int lineStart = 0;
+        int scanned = 0;
+        // 直前のバイトが CR だった場合 true（続く LF は同じ改行として扱う）
+        boolean skipLf = false;
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                makeRoom(lineStart);
+                scanned -= lineStart;
+                lineStart = 0;
+            }
+            if (source.fill(buffer) == -1) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            int end = buffer.position();
+            for (; scanned < end; scanned++) {
+                byte b = bytes[scanned];
+                if (b != '\n' && b != '\r') {
+                    skipLf = false;
+                    continue;
+                }
+                if (b == '\n' && skipLf) {
+                    skipLf = false;
+                } else {
+                    skipLf = b == '\r';
+                    endLine(lineStart, scanned, handler);
+                }
+                lineStart = scanned + 1;
+            }
+        }
+        if (lineStart < buffer.position()) {
+            endLine(lineStart, buffer.position(), handler);
+        }
+    }
+
+    /**
+     * 未完成の行をバッファの先頭に詰め直す。バッファ全体が1行の場合はバッファを拡張する
+     */
+    private void makeRoom(int lineStart) {
+        if (lineStart == 0) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            buffer = grown.put(buffer);
+            lineView = buffer.duplicate();
+            return;
+        }
+        buffer.limit(buffer.position()).position(lineStart);
+        buffer.compact();
+    }
+
+    /**
+     * バッファ上の1行の前後の空白をバイト単位で除き、空でなければデコードして handler に渡す
+     */
+    private void endLine(int from, int to, LineHandler handler) {
+        lineNumber++;
+        byte[] bytes = buffer.array();
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return;
+        }
+
+        // デコード後の文字数はバイト数を超えないため、バイト数分の容量があれば溢れない
+        if (charBuffer.capacity() < to - from) {
+            charBuffer = CharBuffer.allocate(Math.max(charBuffer.capacity() * 2, to - from));
+        }
+        charBuffer.clear();
+        decoder.reset();
+        decoder.decode(lineView.clear().limit(to).position(from), charBuffer, true);
+        decoder.flush(charBuffer);
+        handler.handle(charBuffer.flip().toString(), lineNumber);
+    }
+}
@@ -0,0 +1,81 @@
+package com.smarthouseholdaccountbook.backend.application.service.csv;
+
+import com.smarthouseholdaccountbook.backend.exception.CsvUploadException;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 読み込んだバイト数が上限を超えた時点で失敗する入力ストリーム
+ *
+ * ストリーミングでアップロードされた本文を、全体を受け取る前に読み込みながらサイズ検証するために使います。
+ * 上限を超えた場合は {@link CsvUploadException}（413 Payload Too Large）を投げ、残りの本文は読み込みません。
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+    private final long maxBytes;
+    private long readBytes;
+
+    /**
+     * @param in       読み込み元のストリーム
+     * @param maxBytes 読み込みを許可する最大バイト数
+     */
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytesは0以上である必要があります");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    /**
+     * これまでに読み込んだバイト数
+     */
+    public long getReadBytes() {
+        return readBytes;
+    }
+
+    /**
+     * マークからの再読み込みで読み込み量を数え直せないため、マークには対応しない
+     */
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long n) {
+        readBytes += n;
+        if (readBytes > maxBytes) {
+            throw new CsvUploadException(
+                    "ファイルサイズが上限（" + maxBytes + "バイト）を超えています",
+                    HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package com.smarthouseholdaccountbook.backend.application.service.csv.mitsuisumitomo;
 
+import com.smarthouseholdaccountbook.backend.application.service.csv.NioLineReader;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseError;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseResult;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParsedExpense;
 import org.slf4j.Logger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -19,6 +21,8 @@ import java.util.Optional;
 
 /**
  * 三井住友カードCSVの解析で共通して使う処理をまとめたユーティリティ
+ *
+ * 行の読み込みは {@link NioLineReader} で行い、改行・前後の空白の判定とデコードをバイト単位で行います。
  */
 public final class MitsuiSumitomoCsvParseUtil {
 
@@ -38,6 +42,8 @@ public final class MitsuiSumitomoCsvParseUtil {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/M/d");
     private static final Charset CHARSET = Charset.forName("Shift_JIS");
     private static final int ILLEGAL_AMOUNT_COLUMN = -1;
+    /** 店名の最大文字数（expenses.description 列の長さ） */
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
 
     private MitsuiSumitomoCsvParseUtil() {
     }
@@ -49,39 +55,58 @@ public final class MitsuiSumitomoCsvParseUtil {
             InputStream inputStream,
             Config config,
             Logger logger) throws IOException {
-        List<CsvParsedExpense> validExpenses = new ArrayList<>();
-        List<CsvParseError> errors = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(inputStream, CHARSET))) {
-
-            String line;
-            int lineNumber = 0;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-
-                if (line.isEmpty()) {
-                    continue;
-                }
-                if (isCardInfoLine(line)) {
-                    continue;
-                }
-                if (config.checkTotalLine() && isTotalLine(line, config)) {
-                    continue;
-                }
-
-                try {
-                    validExpenses.add(parseLine(line, lineNumber, config, logger));
-                } catch (IllegalArgumentException e) {
-                    logger.warn("CSV行の解析に失敗: 行番号={}, エラー={}", lineNumber, e.getMessage());
-                    errors.add(new CsvParseError(lineNumber, line, e.getMessage()));
-                }
+        LineCollector collector = new LineCollector(config, logger);
+        try (ReadableByteChannel channel = Channels.newChannel(inputStream)) {
+            new NioLineReader(CHARSET).read(channel, collector::accept);
+        }
+        return collector.toResult();
+    }
+
+    /**
+     * ファイルをメモリマップして全体を解析し、有効な明細とエラー一覧を返す
+     */
+    public static CsvParseResult parse(
+            Path file,
+            Config config,
+            Logger logger) throws IOException {
+        LineCollector collector = new LineCollector(config, logger);
+        new NioLineReader(CHARSET).read(file, collector::accept);
+        return collector.toResult();
+    }
+
+    /**
+     * 前後の空白を除いた空でない行を受け取り、カード情報行・合計行を除いて明細またはエラーに振り分ける
+     */
+    private static final class LineCollector {
+        private final Config config;
+        private final Logger logger;
+        private final List<CsvParsedExpense> validExpenses = new ArrayList<>();
+        private final List<CsvParseError> errors = new ArrayList<>();
+
+        private LineCollector(Config config, Logger logger) {
+            this.config = config;
+            this.logger = logger;
+        }
+
+        private void accept(String line, int lineNumber) {
+            if (isCardInfoLine(line)) {
+                return;
+            }
+            if (config.checkTotalLine() && isTotalLine(line, config)) {
+                return;
+            }
+
+            try {
+                validExpenses.add(parseLine(line, lineNumber, config, logger));
+            } catch (IllegalArgumentException e) {
+                logger.warn("CSV行の解析に失敗: 行番号={}, エラー={}", lineNumber, e.getMessage());
+                errors.add(new CsvParseError(lineNumber, line, e.getMessage()));
             }
         }
 
-        return new CsvParseResult(validExpenses, errors);
+        private CsvParseResult toResult() {
+            return new CsvParseResult(validExpenses, errors);
+        }
     }
 
     /**
@@ -150,6 +175,9 @@ public final class MitsuiSumitomoCsvParseUtil {
         if (descriptionSb.length() == 0) {
             throw new IllegalArgumentException("店名が空です");
         }
+        if (descriptionSb.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("店名が長すぎます（" + MAX_DESCRIPTION_LENGTH + "文字以内）");
+        }
         String description = descriptionSb.toString();
 
         return new CsvParsedExpense(description, date, amount);
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * 三井住友カード 未確定月の明細CSVパーサー
@@ -34,4 +35,9 @@ public class MitsuiSumitomoNewCsvParser implements CsvParser {
     public CsvParseResult parse(InputStream inputStream) throws IOException {
         return MitsuiSumitomoCsvParseUtil.parse(inputStream, CONFIG, logger);
     }
+
+    @Override
+    public CsvParseResult parse(Path file) throws IOException {
+        return MitsuiSumitomoCsvParseUtil.parse(file, CONFIG, logger);
+    }
 }
@@ -0,0 +1,135 @@
+package com.smarthouseholdaccountbook.backend.application.service.dedup;
+
+/**
+ * プリミティブの long を格納するオープンアドレス法（線形探索）のハッシュセット
+ *
+ * 重複判定の指紋（{@link com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey#fingerprint()}）
+ * を、Long のボクシングやエントリオブジェクトを作らずに保持するために使います。
+ * 1要素あたり配列上の8〜16バイトで済み、HashSet&lt;ExpenseDuplicateKey&gt; のように文字列や日付を保持しません。
+ * 削除はサポートしません。スレッドセーフではありません。
+ */
+public final class LongHashSet {
+    private static final int MIN_CAPACITY = 16;
+    /** 格納数がこの割合を超えたら容量を2倍にする */
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    /** 0 は空きスロットを表すため、値 0 は別のフラグで管理する */
+    private long[] slots;
+    private boolean containsZero;
+    private int size;
+    private int resizeThreshold;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 格納予定の要素数（再ハッシュを避けるための目安）
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSizeは0以上でなければなりません: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * 値を追加する
+     *
+     * @return 新たに追加した場合は true、既に含まれていた場合は false
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        if (++size > resizeThreshold) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * 値が含まれているかを返す
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] old = slots;
+        allocate(newCapacity);
+        int mask = slots.length - 1;
+        for (long value : old) {
+            if (value != 0) {
+                int index = mix(value) & mask;
+                while (slots[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) Math.ceil(expectedSize / MAX_LOAD_FACTOR) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < required) {
+            if (capacity >= (1 << 30)) {
+                throw new IllegalArgumentException("expectedSizeが大きすぎます: " + expectedSize);
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 64bit 値を攪拌してスロット位置に使う下位ビットに偏りが出ないようにする（MurmurHash3 の最終化処理）
+     */
+    private static int mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,69 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 支出をCSV（UTF-8、RFC 4180 形式）で書き込むライター
+ *
+ * 列: 日付,カテゴリ,金額,説明。カンマ・ダブルクォート・改行を含む値はダブルクォートで囲む。
+ * 表計算ソフトで開いたときに数式として実行されないよう、{@code = + - @}・タブ・CR で始まる値は
+ * 先頭に {@code '} を付ける（CSVインジェクション対策）。
+ */
+public class CsvExpenseRowWriter implements ExpenseRowWriter {
+    private static final String HEADER = "日付,カテゴリ,金額,説明";
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+
+    public CsvExpenseRowWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void write(ExpenseListItem item) throws IOException {
+        writer.write(item.date().toString());
+        writer.write(',');
+        writer.write(escape(item.category().getDisplayName()));
+        writer.write(',');
+        writer.write(String.valueOf(item.amount()));
+        writer.write(',');
+        writer.write(escape(item.description()));
+        writer.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    static String escape(String value) {
+        if (startsWithFormulaTrigger(value)) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean startsWithFormulaTrigger(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
@@ -0,0 +1,49 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 支出エクスポートの出力形式
+ */
+public enum ExpenseExportFormat {
+    /** ヘッダー行付きのCSV（UTF-8） */
+    CSV("text/csv", "csv"),
+    /** 1行に1件のJSON（NDJSON） */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExpenseExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * クエリパラメータの値（csv / ndjson）から出力形式を取得する
+     *
+     * @param value クエリパラメータの値（大文字・小文字は区別しない）
+     * @return 出力形式
+     * @throws IllegalArgumentException 対応していない値の場合（GlobalExceptionHandlerで400に変換される）
+     */
+    public static ExpenseExportFormat fromValue(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("出力形式を指定してください。");
+        }
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> format.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "無効な出力形式です。csv または ndjson を指定してください: " + value));
+    }
+}
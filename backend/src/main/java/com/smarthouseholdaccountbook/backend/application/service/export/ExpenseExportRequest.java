@@ -0,0 +1,50 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 支出エクスポートの条件を表すレコード。
+ * レスポンスを書き始める前に作成し、条件の不正はこの時点で400にする。
+ *
+ * @param format    出力形式
+ * @param startDate 開始日（含む。nullの場合は制限なし）
+ * @param endDate   終了日（含む。nullの場合は制限なし）
+ * @param gzip      gzip 圧縮して出力するか
+ */
+public record ExpenseExportRequest(
+        ExpenseExportFormat format,
+        LocalDate startDate,
+        LocalDate endDate,
+        boolean gzip) {
+
+    public ExpenseExportRequest {
+        Objects.requireNonNull(format, "出力形式はnullであってはなりません。");
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("開始日は終了日以前でなければなりません。");
+        }
+    }
+
+    /**
+     * ダウンロード時のファイル名（例: expenses_2024-01-01_2024-12-31.csv.gz）
+     */
+    public String fileName() {
+        StringBuilder name = new StringBuilder("expenses");
+        if (startDate != null || endDate != null) {
+            name.append('_').append(startDate != null ? startDate : "")
+                    .append('_').append(endDate != null ? endDate : "");
+        }
+        name.append('.').append(format.getExtension());
+        if (gzip) {
+            name.append(".gz");
+        }
+        return name.toString();
+    }
+
+    /**
+     * レスポンスの Content-Type
+     */
+    public String contentType() {
+        return gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8";
+    }
+}
@@ -0,0 +1,28 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+
+import java.io.IOException;
+
+/**
+ * エクスポートの1行ずつの書き込み処理
+ *
+ * 行を溜め込まずに出力先へ書き、出力先のクローズは呼び出し元が行う。
+ */
+public interface ExpenseRowWriter {
+
+    /**
+     * 先頭の行（CSVのヘッダーなど）を書き込む
+     */
+    void writeHeader() throws IOException;
+
+    /**
+     * 支出1件を書き込む
+     */
+    void write(ExpenseListItem item) throws IOException;
+
+    /**
+     * バッファに残った内容を出力先に書き出す（出力先はクローズしない）
+     */
+    void flush() throws IOException;
+}
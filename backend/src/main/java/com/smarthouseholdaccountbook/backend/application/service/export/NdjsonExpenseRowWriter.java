@@ -0,0 +1,51 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * 支出を NDJSON（1行に1件のJSON）で書き込むライター
+ *
+ * 各行は一覧API（ExpenseDto）と同じ形のオブジェクトで、カテゴリは表示名で出力する。
+ */
+public class NdjsonExpenseRowWriter implements ExpenseRowWriter {
+    private static final int NEWLINE = '\n';
+
+    private final OutputStream out;
+    private final JsonMapper jsonMapper;
+
+    public NdjsonExpenseRowWriter(OutputStream out, JsonMapper jsonMapper) {
+        this.out = new BufferedOutputStream(out);
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON にはヘッダー行がない
+    }
+
+    @Override
+    public void write(ExpenseListItem item) throws IOException {
+        ExportRow row = new ExportRow(
+                item.id(), item.date(), item.category().getDisplayName(), item.amount(), item.description());
+        out.write(jsonMapper.writeValueAsBytes(row));
+        out.write(NEWLINE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * NDJSON の1行（ExpenseDto と同じ項目）
+     */
+    record ExportRow(Long id, LocalDate date, String category, Integer amount, String description) {
+    }
+}
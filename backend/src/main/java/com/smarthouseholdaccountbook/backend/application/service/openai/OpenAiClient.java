@@ -7,9 +7,11 @@ import tools.jackson.databind.json.JsonMapper;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
@@ -24,8 +26,14 @@ import java.util.Objects;
  * OpenAI APIの呼び出しを共通化するクライアント。
  *
  * 通信処理、共通エラーハンドリング、JSONパースの共通ロジックを提供します。
+ * OpenAI への呼び出し（リトライ時は試行ごと）を openai.client のスパンとして記録します。
+ * <p>
+ * 起動時間を短くするため、最初の呼び出しまで生成しません（{@link Lazy}。注入先でも {@code @Lazy} を付けて
+ * 遅延解決用のプロキシを注入する）。RestClient の組み立てと Resilience4j・Observation のプロキシの生成は初回の呼び出し時に行います。
  */
 @Component
+@Lazy
+@Observed(name = "openai.client")
 public class OpenAiClient {
     private static final Logger logger = LoggerFactory.getLogger(OpenAiClient.class);
     private static final String MODEL_NAME = "gpt-4o-mini";
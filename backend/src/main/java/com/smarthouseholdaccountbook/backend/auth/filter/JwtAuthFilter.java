@@ -3,7 +3,6 @@ package com.smarthouseholdaccountbook.backend.auth.filter;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.proc.*;
 import com.nimbusds.jwt.proc.*;
 import com.nimbusds.jwt.*;
@@ -11,16 +10,15 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URI;
 import java.text.ParseException;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.lang.IllegalStateException;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -28,10 +26,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.smarthouseholdaccountbook.backend.config.jfr.JwtVerificationEvent;
 import com.smarthouseholdaccountbook.backend.config.security.JwtProperties;
+import com.smarthouseholdaccountbook.backend.util.Sha256;
 
 /**
  * JWT認証フィルター
@@ -39,52 +41,62 @@ import com.smarthouseholdaccountbook.backend.config.security.JwtProperties;
  * このフィルターは、リクエストヘッダーからJWTトークンを取得し、
  * CognitoのJWKセットを使用して署名を検証します。
  * 検証が成功した場合、Spring Securityのセキュリティコンテキストに認証情報を設定します。
+ * <p>
+ * 同じIDトークンでの連続リクエストでRSA署名検証をやり直さないよう、検証済みの {@link Jwt} を
+ * トークンのSHA-256ハッシュをキーに、トークンの exp までキャッシュします（{@link #VERIFIED_JWT_CACHE}）。
+ * キーはトークン全体（署名部を含む）のハッシュのため、署名だけ差し替えたトークンがヒットすることはありません。
+ * <p>
+ * トークンの検証は {@link #JWT_OBSERVATION} のスパンとして記録します（後続の処理はスパンに含めない）。
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String COGNITO_ID_TOKEN_USE = "id";
+    /** 検証済みJWTのキャッシュ名（トークンハッシュ → Jwt、エントリはトークンの exp で失効） */
+    public static final String VERIFIED_JWT_CACHE = "verifiedJwt";
+    /** JWT検証のスパン名 */
+    static final String JWT_OBSERVATION = "auth.jwt";
     
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
     private final ConfigurableJWTProcessor<SecurityContext> jwtProcessor;
+    private final Cache verifiedJwtCache;
+    private final ObservationRegistry observationRegistry;
 
     @Autowired
-    public JwtAuthFilter(JwtProperties jwtProperties) {
-        try {
-            // JWKソース（公開鍵）を作成
-            JWKSource<SecurityContext> jwkSource = JWKSourceBuilder
-                    .create(URI.create(jwtProperties.getJwkSetUrl()).toURL())
-                    .retrying(true) // エラーが発生した場合、最大3回リトライする
-                    .build();
-
-            this.jwtProcessor = new DefaultJWTProcessor<>();
-            this.jwtProcessor.setJWSKeySelector(
-                    new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
-            
-            // iss / aud / token_use を検証し、sub と exp の存在を確認する
-            JWTClaimsSet exactMatchClaims = new JWTClaimsSet.Builder()
-                    .issuer(jwtProperties.getIssuerUrl())
-                    .claim("token_use", COGNITO_ID_TOKEN_USE)
-                    .build();
-            DefaultJWTClaimsVerifier<SecurityContext> claimsVerifier = new DefaultJWTClaimsVerifier<>(
-                jwtProperties.getClientId(),
-                exactMatchClaims,
-                Set.of("sub", "exp", "token_use")
-            );       
-            this.jwtProcessor.setJWTClaimsSetVerifier(claimsVerifier);
-
-            logger.info("JWT認証フィルターを初期化しました");
-        } catch (MalformedURLException e) {
-            logger.error("JWT認証フィルターの初期化に失敗しました（JWK URL の形式を確認してください）", e);
-            throw new IllegalStateException("JWT認証フィルターの初期化に失敗しました", e);
-        }
+    public JwtAuthFilter(
+            JwtProperties jwtProperties,
+            JWKSource<SecurityContext> jwkSource,
+            CacheManager cacheManager,
+            ObservationRegistry observationRegistry) {
+        this.verifiedJwtCache = cacheManager.getCache(VERIFIED_JWT_CACHE);
+        this.observationRegistry = observationRegistry;
+        // JWKソース（公開鍵）は JwksConfig で先読み・キャッシュ・障害耐性を設定したものを使う
+        this.jwtProcessor = new DefaultJWTProcessor<>();
+        this.jwtProcessor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        
+        // iss / aud / token_use を検証し、sub と exp の存在を確認する
+        JWTClaimsSet exactMatchClaims = new JWTClaimsSet.Builder()
+                .issuer(jwtProperties.getIssuerUrl())
+                .claim("token_use", COGNITO_ID_TOKEN_USE)
+                .build();
+        DefaultJWTClaimsVerifier<SecurityContext> claimsVerifier = new DefaultJWTClaimsVerifier<>(
+            jwtProperties.getClientId(),
+            exactMatchClaims,
+            Set.of("sub", "exp", "token_use")
+        );       
+        this.jwtProcessor.setJWTClaimsSetVerifier(claimsVerifier);
+
+        logger.info("JWT認証フィルターを初期化しました");
     }
 
     /**
      * テスト用コンストラクタ
      */
-    JwtAuthFilter(ConfigurableJWTProcessor<SecurityContext> jwtProcessor) {
+    JwtAuthFilter(ConfigurableJWTProcessor<SecurityContext> jwtProcessor, Cache verifiedJwtCache) {
         this.jwtProcessor = jwtProcessor;
+        this.verifiedJwtCache = verifiedJwtCache;
+        this.observationRegistry = ObservationRegistry.NOOP;
     }
 
     @Override
@@ -95,29 +107,73 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
         if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-            try {
-                authenticateJwtToken(authHeader.substring(BEARER_PREFIX.length()));//Bearer 以降のトークンを認証
-            } catch (ParseException e) {
-                logger.warn("JWTパースエラー: {}", e.getMessage());
-                throw new BadCredentialsException("JWTトークンの形式が不正です");
-            } catch (BadJOSEException e) {
-                logger.warn("JWTクレーム検証エラー: {}", e.getMessage());
-                throw new BadCredentialsException("JWTトークンのクレーム検証に失敗しました");
-            } catch (JOSEException e) {
-                logger.warn("JWT検証エラー: {}", e.getMessage());
-                throw new BadCredentialsException("JWTトークンの検証に失敗しました");
-            }
+            String jwtToken = authHeader.substring(BEARER_PREFIX.length());//Bearer 以降のトークンを認証
+            Observation.createNotStarted(JWT_OBSERVATION, observationRegistry)
+                    .contextualName("jwt-auth-filter")
+                    .observe(() -> authenticate(jwtToken));
         }
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(String jwtToken) {
+        try {
+            authenticateJwtToken(jwtToken);
+        } catch (ParseException e) {
+            logger.warn("JWTパースエラー: {}", e.getMessage());
+            throw new BadCredentialsException("JWTトークンの形式が不正です");
+        } catch (BadJOSEException e) {
+            logger.warn("JWTクレーム検証エラー: {}", e.getMessage());
+            throw new BadCredentialsException("JWTトークンのクレーム検証に失敗しました");
+        } catch (JOSEException e) {
+            logger.warn("JWT検証エラー: {}", e.getMessage());
+            throw new BadCredentialsException("JWTトークンの検証に失敗しました");
+        }
+    }
+
     private void authenticateJwtToken(String jwtToken) throws ParseException, JOSEException, BadJOSEException {
+        Jwt jwt = resolveJwt(jwtToken);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new JwtAuthenticationToken(jwt, Collections.emptyList()));
+    }
+
+    /**
+     * 検証済みのJwtを返す。キャッシュにあれば署名検証・クレーム検証・Jwtの組み立てをすべて省略する。
+     * キャッシュの参照から検証の終了（失敗を含む）までを JFR イベント（{@link JwtVerificationEvent}）として記録する。
+     */
+    Jwt resolveJwt(String jwtToken) throws ParseException, JOSEException, BadJOSEException {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String cacheKey = hashToken(jwtToken);
+        Jwt cached = verifiedJwtCache.get(cacheKey, Jwt.class);
+        if (cached != null) {
+            event.complete(true, cached.getSubject());
+            return cached;
+        }
+        Jwt jwt = null;
+        try {
+            jwt = verifyJwtToken(jwtToken);
+        } finally {
+            event.complete(false, jwt != null ? jwt.getSubject() : null);
+        }
+        // exp は必須クレームとして検証済み。念のため exp が無いものはキャッシュしない
+        if (jwt.getExpiresAt() != null) {
+            verifiedJwtCache.put(cacheKey, jwt);
+        }
+        return jwt;
+    }
+
+    private Jwt verifyJwtToken(String jwtToken) throws ParseException, JOSEException, BadJOSEException {
         SignedJWT signedJWT = SignedJWT.parse(jwtToken);//JWTトークンをパースして、ヘッダー、署名、クレームに分解
         JWTClaimsSet claimsSet = jwtProcessor.process(signedJWT, null);//署名の検証を行う
         Map<String, Object> headerMap = signedJWT.getHeader().toJSONObject();
-        Jwt jwt = buildJwtForSpringSecurity(jwtToken, headerMap, claimsSet);//Spring SecurityのJwtオブジェクトに変換
-        SecurityContextHolder.getContext()
-                .setAuthentication(new JwtAuthenticationToken(jwt, Collections.emptyList()));
+        return buildJwtForSpringSecurity(jwtToken, headerMap, claimsSet);//Spring SecurityのJwtオブジェクトに変換
+    }
+
+    /**
+     * キャッシュキー用にトークンをSHA-256でハッシュする（トークン本体をメモリ上のキーとして保持しない）
+     */
+    private static String hashToken(String jwtToken) {
+        return Sha256.hex(jwtToken);
     }
 
     private Jwt buildJwtForSpringSecurity(String jwtToken, Map<String, Object> headerMap, JWTClaimsSet claimsSet) {
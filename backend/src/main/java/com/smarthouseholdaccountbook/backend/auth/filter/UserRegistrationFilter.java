@@ -1,6 +1,9 @@
 package com.smarthouseholdaccountbook.backend.auth.filter;
 
 import com.smarthouseholdaccountbook.backend.application.service.UserApplicationService;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,16 +18,24 @@ import java.io.IOException;
 
 /**
  * 認証済みリクエストに対して、該当ユーザーがDBに存在しない場合は登録するフィルター。
+ * 解決したユーザー（{@link UserPrincipal}）はリクエスト属性に保持し、サービスはリクエスト中それを再利用する。
+ * ユーザーの解決は {@link #USER_REGISTRATION_OBSERVATION} のスパンとして記録する。
  */
 @Component
 public class UserRegistrationFilter extends OncePerRequestFilter {
 
     private static final String API_PATH_PREFIX = "/api/";
+    /** ユーザー解決（未登録なら登録）のスパン名 */
+    static final String USER_REGISTRATION_OBSERVATION = "auth.user.registration";
 
     private final UserApplicationService userApplicationService;
+    private final ObservationRegistry observationRegistry;
 
-    public UserRegistrationFilter(UserApplicationService userApplicationService) {
+    public UserRegistrationFilter(
+            UserApplicationService userApplicationService,
+            ObservationRegistry observationRegistry) {
         this.userApplicationService = userApplicationService;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -33,7 +44,10 @@ public class UserRegistrationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         if (isAuthenticatedApiRequest(request)) {
-            userApplicationService.ensureUserExists();
+            UserPrincipal principal = Observation.createNotStarted(USER_REGISTRATION_OBSERVATION, observationRegistry)
+                    .contextualName("user-registration-filter")
+                    .observe(userApplicationService::resolveCurrentUser);
+            request.setAttribute(UserPrincipal.REQUEST_ATTRIBUTE, principal);
         }
         filterChain.doFilter(request, response);
     }
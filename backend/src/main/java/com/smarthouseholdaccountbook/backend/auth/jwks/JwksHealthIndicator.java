@@ -0,0 +1,37 @@
+package com.smarthouseholdaccountbook.backend.auth.jwks;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * JWKセットを取得済みかを返すヘルスインジケーター（ヘルス名: jwks）
+ *
+ * readiness グループに含め、JWKセットを一度も取得できていない間はトラフィックを受けないようにします。
+ * 未取得の場合はチェックのたびに {@link JwksPreloader#load()} で取得を再試行します。
+ * 一度取得できた後は、Cognito の障害中でも古いJWKセットで検証を続けられるため UP のままにします。
+ */
+@Component
+public class JwksHealthIndicator implements HealthIndicator {
+    private final JwksResourceRetriever jwksResourceRetriever;
+    private final JwksPreloader jwksPreloader;
+
+    public JwksHealthIndicator(JwksResourceRetriever jwksResourceRetriever, JwksPreloader jwksPreloader) {
+        this.jwksResourceRetriever = jwksResourceRetriever;
+        this.jwksPreloader = jwksPreloader;
+    }
+
+    @Override
+    public Health health() {
+        Optional<Instant> lastFetch = jwksResourceRetriever.getLastSuccessfulFetch();
+        if (lastFetch.isEmpty() && jwksPreloader.load()) {
+            lastFetch = jwksResourceRetriever.getLastSuccessfulFetch();
+        }
+        return lastFetch
+                .map(fetchedAt -> Health.up().withDetail("lastFetchedAt", fetchedAt.toString()).build())
+                .orElseGet(() -> Health.down().withDetail("reason", "JWKセットを取得できていません").build());
+    }
+}
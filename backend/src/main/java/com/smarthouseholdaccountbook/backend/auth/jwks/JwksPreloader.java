@@ -0,0 +1,58 @@
+package com.smarthouseholdaccountbook.backend.auth.jwks;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.smarthouseholdaccountbook.backend.config.security.JwtProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWKセットを先読みしてキャッシュに載せるコンポーネント
+ *
+ * 起動直後の最初の認証付きリクエストが JWKS のリモート取得で待たされないよう、
+ * アプリケーション起動完了時に一度取得しておきます。
+ * 失敗しても起動は止めず、{@link JwksHealthIndicator} が readiness で DOWN を返している間に再試行されます。
+ */
+@Component
+public class JwksPreloader {
+    private static final Logger logger = LoggerFactory.getLogger(JwksPreloader.class);
+    /** すべての鍵にマッチするセレクター（取得してキャッシュに載せることが目的のため絞り込まない） */
+    private static final JWKSelector ALL_KEYS = new JWKSelector(new JWKMatcher.Builder().build());
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final JwtProperties jwtProperties;
+
+    public JwksPreloader(JWKSource<SecurityContext> jwkSource, JwtProperties jwtProperties) {
+        this.jwkSource = jwkSource;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadOnStartup() {
+        if (jwtProperties.isJwksPreload()) {
+            load();
+        }
+    }
+
+    /**
+     * JWKセットを取得してキャッシュに載せる（キャッシュが有効ならリモート取得は発生しない）
+     *
+     * @return 1つ以上の鍵を取得できた場合 true
+     */
+    public boolean load() {
+        try {
+            int keyCount = jwkSource.get(ALL_KEYS, null).size();
+            logger.info("JWKセットを読み込みました（鍵の数: {}）", keyCount);
+            return keyCount > 0;
+        } catch (KeySourceException e) {
+            logger.warn("JWKセットの読み込みに失敗しました: {}", e.getMessage());
+            return false;
+        }
+    }
+}
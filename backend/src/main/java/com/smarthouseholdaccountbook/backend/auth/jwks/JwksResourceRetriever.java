@@ -0,0 +1,92 @@
+package com.smarthouseholdaccountbook.backend.auth.jwks;
+
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWKセットを取得する ResourceRetriever
+ *
+ * HTTP(S) の取得は委譲先（Nimbus の DefaultResourceRetriever）に任せ、以下を追加します。
+ * - 取得時間のメトリクス（jwks.fetch、outcome=success|failure）
+ * - 最後に取得に成功してからの経過秒数のメトリクス（jwks.cache.age）
+ * - file: URL からの読み込み（ローカルのJWKSファイルで動作確認・テストするため）
+ */
+public class JwksResourceRetriever implements ResourceRetriever {
+    private static final String JWKS_CONTENT_TYPE = "application/json";
+
+    private final ResourceRetriever httpRetriever;
+    private final Clock clock;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final AtomicReference<Instant> lastSuccessfulFetch = new AtomicReference<>();
+
+    public JwksResourceRetriever(ResourceRetriever httpRetriever, MeterRegistry meterRegistry, Clock clock) {
+        this.httpRetriever = httpRetriever;
+        this.clock = clock;
+        this.successTimer = Timer.builder("jwks.fetch")
+                .description("JWKセットの取得時間")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failureTimer = Timer.builder("jwks.fetch")
+                .description("JWKセットの取得時間")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder("jwks.cache.age", this, JwksResourceRetriever::cacheAgeSeconds)
+                .description("最後にJWKセットの取得に成功してからの経過秒数（未取得の場合はNaN）")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Resource retrieveResource(URL url) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Resource resource = "file".equals(url.getProtocol())
+                    ? readFile(url)
+                    : httpRetriever.retrieveResource(url);
+            successTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            lastSuccessfulFetch.set(clock.instant());
+            return resource;
+        } catch (IOException | RuntimeException e) {
+            failureTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            throw e;
+        }
+    }
+
+    /**
+     * 最後にJWKセットの取得に成功した時刻（一度も成功していない場合は空）
+     */
+    public Optional<Instant> getLastSuccessfulFetch() {
+        return Optional.ofNullable(lastSuccessfulFetch.get());
+    }
+
+    private double cacheAgeSeconds() {
+        Instant last = lastSuccessfulFetch.get();
+        if (last == null) {
+            return Double.NaN;
+        }
+        return Duration.between(last, clock.instant()).toMillis() / 1000.0;
+    }
+
+    private static Resource readFile(URL url) throws IOException {
+        try {
+            return new Resource(Files.readString(Path.of(url.toURI())), JWKS_CONTENT_TYPE);
+        } catch (URISyntaxException e) {
+            throw new IOException("JWKセットのファイルURLが不正です: " + url, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.smarthouseholdaccountbook.backend.auth.provider;
+
+import java.util.Objects;
+
+/**
+ * 認証済みユーザーのアプリ内での識別情報
+ *
+ * リクエストごとに1回だけ Cognito の sub から解決し（UserRegistrationFilter）、
+ * リクエスト属性 {@link #REQUEST_ATTRIBUTE} に保持します。
+ * エンティティではない不変の小さな値なので、トランザクションをまたいでキャッシュしても安全です。
+ *
+ * @param id         アプリ内のユーザーID（users.id）
+ * @param cognitoSub CognitoのユーザーID（subクレーム）
+ */
+public record UserPrincipal(Long id, String cognitoSub) {
+    /** 解決済みの UserPrincipal を保持するリクエスト属性名 */
+    public static final String REQUEST_ATTRIBUTE = UserPrincipal.class.getName();
+
+    public UserPrincipal {
+        Objects.requireNonNull(id, "idはnullであってはなりません");
+        Objects.requireNonNull(cognitoSub, "cognitoSubはnullであってはなりません");
+    }
+}
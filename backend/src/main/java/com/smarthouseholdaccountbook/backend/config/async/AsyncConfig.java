@@ -1,6 +1,7 @@
 package com.smarthouseholdaccountbook.backend.config.async;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +14,9 @@ public class AsyncConfig {
 
     /**
      * AIカテゴリー推論のための非同期処理の設定
+     *
+     * 呼び出し元スレッドのトレース（Observation）をタスクに引き継ぎ、チャンクごとの推論のスパンを
+     * 呼び出し元のリクエストの子にする（ログのトレースIDも呼び出し元と同じになる）。
      * @return AIカテゴリー推論のための非同期処理のExecutor
      */
     @Bean(name = "aiCategoryTaskExecutor")
@@ -22,6 +26,7 @@ public class AsyncConfig {
         executor.setMaxPoolSize(3);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("ai-category");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
         executor.initialize();
         return executor;
     }
@@ -1,5 +1,9 @@
 package com.smarthouseholdaccountbook.backend.config.cache;
 
+import com.smarthouseholdaccountbook.backend.application.service.UserApplicationService;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.auth.filter.JwtAuthFilter;
+
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.cache.CacheManager;
@@ -8,10 +12,23 @@ import org.springframework.cache.support.SimpleCacheManager;
 
 import org.springframework.cache.caffeine.CaffeineCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.TimeUnit;
 import java.util.List;
 
+/**
+ * キャッシュの設定クラス
+ *
+ * すべてのキャッシュで統計を記録し、ヒット率・失効件数を cache.gets{result=hit|miss}・cache.evictions
+ * メトリクスとして公開する（Spring Boot が CacheManager 内のキャッシュをメトリクスに登録する）。
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
@@ -20,10 +37,15 @@ public class CacheConfig {
     public CacheManager cacheManager() {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         cacheManager.setCaches(List.of(
-                buildCache("users", 30, TimeUnit.MINUTES, 200),
                 buildCache("aiCategory", 60, TimeUnit.MINUTES, 500),
-                // 「該当 sub のユーザーは DB に存在する」ことを記録するキャッシュ。
-                buildCache("userEnsured", 30, TimeUnit.MINUTES, 1000)));
+                // sub → UserPrincipal（DB登録済みのユーザーIDと sub）。リクエストごとのユーザー解決で使う。
+                buildCache(UserApplicationService.PRINCIPAL_CACHE, 30, TimeUnit.MINUTES, 1000),
+                // 月別サマリー（ユーザーID × 対象月）。支出の更新系ユースケースで対象月だけ無効化する。
+                buildCache(ExpenseSummaryCache.SUMMARY_CACHE, 30, TimeUnit.MINUTES, 5000),
+                // 利用可能な月リスト（ユーザーID単位）。支出の更新系ユースケースで無効化する。
+                buildCache(ExpenseSummaryCache.MONTHS_CACHE, 30, TimeUnit.MINUTES, 1000),
+                // 検証済みJWT（トークンハッシュ単位）。エントリごとにトークンの exp で失効させる。
+                buildJwtCache(JwtAuthFilter.VERIFIED_JWT_CACHE, 2000)));
         return cacheManager;
     }
 
@@ -32,7 +54,58 @@ public class CacheConfig {
                 Caffeine.newBuilder()
                         .maximumSize(maxSize)
                         .expireAfterWrite(duration, unit)
+                        .recordStats()
+                        .build());
+    }
+
+    private CaffeineCache buildJwtCache(String name, long maxSize) {
+        Ticker ticker = Ticker.systemTicker();
+        return new CaffeineCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .ticker(ticker)
+                        .expireAfter(new JwtExpiry(Clock.systemUTC(), ticker))
+                        .recordStats()
                         .build());
     }
 
+    /**
+     * 値が {@link Jwt} のエントリを、そのトークンの exp の時点で失効させる。
+     * exp を過ぎたトークンをキャッシュから返すことはない（exp が無い・過ぎている値は即時失効）。
+     * <p>
+     * 残り時間は Caffeine が渡す currentTime（キャッシュの Ticker の値）から求める。
+     * 生成時に時計と Ticker の値を対応付けておき、currentTime をその差分で時刻に換算する。
+     * キャッシュと同じ Ticker を渡すこと（テストでは Ticker を進めて失効を確かめられる）。
+     */
+    static final class JwtExpiry implements Expiry<Object, Object> {
+        /** 基準時刻（{@link #anchorNanos} に対応する時計の時刻） */
+        private final Instant anchorInstant;
+        /** 基準時刻における Ticker の値 */
+        private final long anchorNanos;
+
+        JwtExpiry(Clock clock, Ticker ticker) {
+            this.anchorNanos = ticker.read();
+            this.anchorInstant = clock.instant();
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            if (value instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+                Instant now = anchorInstant.plusNanos(currentTime - anchorNanos);
+                return Math.max(0, Duration.between(now, jwt.getExpiresAt()).toNanos());
+            }
+            return 0;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.smarthouseholdaccountbook.backend.config.flyway;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 起動時のマイグレーションの設定
+ *
+ * 通常は起動時に {@link Flyway#migrate()} を実行します。
+ * Docker イメージのビルド時の学習実行（cds-training プロファイル）は DB に接続せずに Bean の生成までを行うため、
+ * {@code flyway.migrate-on-startup=false} でマイグレーションを行いません。
+ * Spring AOT ではプロパティによる条件（{@code spring.flyway.enabled} など）がビルド時に確定するため、
+ * 実行時のプロパティで切り替えられるようにこの Bean で判定します。
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            }
+        };
+    }
+}
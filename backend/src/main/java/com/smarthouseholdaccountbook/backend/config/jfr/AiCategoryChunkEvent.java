@@ -0,0 +1,53 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * AIカテゴリ分類の1チャンク分の OpenAI 呼び出しの JFR イベント
+ *
+ * チャンクは {@code aiCategoryTaskExecutor} のスレッドで並列に処理されるため、
+ * 呼び出し元のリクエストとはトレースIDで対応付けます。
+ */
+@Name(AiCategoryChunkEvent.NAME)
+@Label("AI Category Chunk")
+@Category({"Smart Household Account Book", "AI"})
+@Description("AIカテゴリ分類の1チャンク分の OpenAI 呼び出し")
+public class AiCategoryChunkEvent extends Event {
+    /** イベント名 */
+    public static final String NAME = "smarthouseholdaccountbook.AiCategoryChunk";
+
+    @Label("Chunk Index")
+    private int chunkIndex;
+
+    @Label("Chunk Size")
+    private int chunkSize;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    @Label("Trace ID")
+    private String traceId;
+
+    /**
+     * 呼び出しを終了し、記録対象であれば属性を設定してコミットする
+     *
+     * @param chunkIndex 0始まりのチャンク番号
+     * @param chunkSize  チャンク内の説明文の件数
+     * @param succeeded  分類結果を取得できた場合 true（例外で終了した場合 false）
+     */
+    public void complete(int chunkIndex, int chunkSize, boolean succeeded) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.chunkIndex = chunkIndex;
+        this.chunkSize = chunkSize;
+        this.succeeded = succeeded;
+        this.traceId = JfrEventAttributes.traceId();
+        commit();
+    }
+}
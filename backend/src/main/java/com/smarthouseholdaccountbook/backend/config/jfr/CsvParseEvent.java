@@ -0,0 +1,65 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * CSVアップロード1回分の解析の JFR イベント
+ *
+ * 解析の開始から終了までを1イベントとし、同じ時間帯の割り当て・GC・CPUのサンプルをアップロード単位に対応付けられるようにします。
+ * 属性は {@link #begin()} の後に {@link #complete} でまとめて設定します（記録中でなければ属性を作らない）。
+ */
+@Name(CsvParseEvent.NAME)
+@Label("CSV Parse")
+@Category({"Smart Household Account Book", "CSV"})
+@Description("CSVアップロード1回分の解析")
+public class CsvParseEvent extends Event {
+    /** イベント名 */
+    public static final String NAME = "smarthouseholdaccountbook.CsvParse";
+
+    @Label("Format")
+    private String format;
+
+    @Label("Valid Rows")
+    private int validRows;
+
+    @Label("Error Rows")
+    private int errorRows;
+
+    @Label("Bytes Read")
+    @DataAmount
+    private long bytesRead;
+
+    @Label("Subject Hash")
+    private String subjectHash;
+
+    @Label("Trace ID")
+    private String traceId;
+
+    /**
+     * 解析を終了し、記録対象であれば属性を設定してコミットする
+     *
+     * @param format    CSV形式
+     * @param validRows 正常に解析できた行数
+     * @param errorRows 解析エラーの行数
+     * @param bytesRead 読み込んだバイト数
+     * @param subject   ユーザーの Cognito の sub
+     */
+    public void complete(String format, int validRows, int errorRows, long bytesRead, String subject) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.format = format;
+        this.validRows = validRows;
+        this.errorRows = errorRows;
+        this.bytesRead = bytesRead;
+        this.subjectHash = JfrEventAttributes.hashSubject(subject);
+        this.traceId = JfrEventAttributes.traceId();
+        commit();
+    }
+}
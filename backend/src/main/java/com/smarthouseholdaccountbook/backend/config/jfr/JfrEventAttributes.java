@@ -0,0 +1,52 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import com.smarthouseholdaccountbook.backend.util.Sha256;
+
+import org.slf4j.MDC;
+
+import java.security.SecureRandom;
+
+/**
+ * JFR イベントに付ける共通の属性（ユーザーのハッシュ・トレースID）
+ *
+ * ユーザーは全てのイベントで Cognito の sub で識別します（JWT検証の時点ではユーザーIDが分からないため）。
+ * 記録ファイルは調査のために持ち出すことがあるため、sub はそのまま記録せず、
+ * プロセスごとの乱数のソルトを付けたSHA-256の先頭16桁にします。
+ * 同じプロセスの記録の中では、同じユーザーはどのイベントでも同じ値になります。
+ * トレースIDは、ログと同じく MDC の traceId（Micrometer Tracing が設定する）を使います。
+ */
+public final class JfrEventAttributes {
+    /** ハッシュの桁数（16進数） */
+    static final int HASH_LENGTH = 16;
+    private static final String TRACE_ID_KEY = "traceId";
+    private static final byte[] SALT = newSalt();
+
+    private JfrEventAttributes() {
+    }
+
+    private static byte[] newSalt() {
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * ユーザー（Cognito の sub）のハッシュ
+     *
+     * @param subject Cognito の sub（null の場合は null を返す）
+     * @return ソルト付きSHA-256の先頭16桁（16進数）
+     */
+    public static String hashSubject(String subject) {
+        if (subject == null) {
+            return null;
+        }
+        return Sha256.saltedHexPrefix(SALT, subject, HASH_LENGTH);
+    }
+
+    /**
+     * 現在のスレッドのトレースID（トレース中でない場合は null）
+     */
+    public static String traceId() {
+        return MDC.get(TRACE_ID_KEY);
+    }
+}
@@ -0,0 +1,277 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 本番環境の調査用に、時間を区切った Java Flight Recorder の記録を開始・ダウンロードする Actuator エンドポイント
+ *
+ * 管理ポートの {@code /actuator/jfr} で公開し、管理者（{@code actuator.security.admin-*}）のみ利用できます。
+ * <ul>
+ * <li>{@code POST /actuator/jfr}（{@code {"profile": "profile", "duration": "2m"}}）: 記録を開始する</li>
+ * <li>{@code GET /actuator/jfr}: 記録の一覧</li>
+ * <li>{@code GET /actuator/jfr/{id}}: 終了した記録の .jfr ファイルをダウンロードする</li>
+ * <li>{@code DELETE /actuator/jfr/{id}}: 記録中であれば終了し、終了済みであればファイルごと破棄する</li>
+ * </ul>
+ * 記録は同時に1つまでで、指定した時間が経つと自動で終了してファイルに書き出されます。
+ * プロファイルは JDK 標準の設定（{@code default}: 常時記録向けの低負荷、{@code profile}: メソッドのサンプリングと
+ * 割り当ての記録を増やした調査向け）から選びます。
+ * 記録にはアプリケーション独自のイベント（{@link CsvParseEvent} など）も含まれます。
+ */
+@Component
+@WebEndpoint(id = JfrRecordingEndpoint.ID)
+public class JfrRecordingEndpoint {
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    /** エンドポイントID */
+    public static final String ID = "jfr";
+    /** 記録中の記録がある場合・記録がまだ終了していない場合のステータス */
+    static final int STATUS_CONFLICT = 409;
+    /** 選択できるプロファイル（JDK 標準の設定名） */
+    static final Set<String> PROFILES = Set.of("default", "profile");
+    private static final String DEFAULT_PROFILE = "default";
+
+    private final JfrRecordingProperties properties;
+    /** 記録ID → 記録（開始順。保持数を超えた場合は古いものから破棄する） */
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+
+    public JfrRecordingEndpoint(JfrRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 記録を開始する
+     *
+     * @param profile  プロファイル（default / profile。省略時は default）
+     * @param duration 記録時間（省略時は diagnostics.jfr.default-duration、上限は diagnostics.jfr.max-duration）
+     * @return 開始した記録。記録中の記録がある場合は 409、JFR が使えない JVM の場合は 503
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingDescriptor> start(
+            @OptionalParameter String profile,
+            @OptionalParameter Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        if (recordings.values().stream().anyMatch(JfrRecordingEndpoint::isInProgress)) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        String profileName = profile != null ? profile : DEFAULT_PROFILE;
+        if (!PROFILES.contains(profileName)) {
+            throw new InvalidEndpointRequestException(
+                    "Unknown JFR profile: " + profileName, "profile は " + PROFILES + " のいずれかを指定してください");
+        }
+        Duration recordingDuration = duration != null ? duration : properties.getDefaultDuration();
+        if (recordingDuration.isNegative() || recordingDuration.isZero()
+                || recordingDuration.compareTo(properties.getMaxDuration()) > 0) {
+            throw new InvalidEndpointRequestException(
+                    "Invalid JFR duration: " + recordingDuration,
+                    "duration は " + properties.getMaxDuration() + " 以下の正の値を指定してください");
+        }
+
+        Recording recording = newRecording(profileName, recordingDuration);
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        logger.info("JFRの記録を開始しました。id={}, profile={}, duration={}",
+                recording.getId(), profileName, recordingDuration);
+        discardOldRecordings();
+        return new WebEndpointResponse<>(RecordingDescriptor.of(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * 記録の一覧（開始順）
+     */
+    @ReadOperation
+    public synchronized List<RecordingDescriptor> recordings() {
+        return recordings.values().stream().map(RecordingDescriptor::of).toList();
+    }
+
+    /**
+     * 終了した記録の .jfr ファイルをダウンロードする
+     *
+     * @param id 記録ID
+     * @return 記録ファイル。記録が無い場合は 404、記録中の場合は 409
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (isInProgress(recording)) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        Path file = recording.getDestination();
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * 記録中であれば記録を終了してファイルに書き出し、終了済みであれば記録をファイルごと破棄する
+     *
+     * @param id 記録ID
+     * @return 終了した記録（破棄した場合は 204、記録が無い場合は 404）
+     */
+    @DeleteOperation
+    public synchronized WebEndpointResponse<RecordingDescriptor> stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (isInProgress(recording)) {
+            // stop() で記録ファイルへの書き出しまで終わるため、自動終了した記録と同じく CLOSED にそろえる
+            recording.stop();
+            recording.close();
+            logger.info("JFRの記録を終了しました。id={}", id);
+            return new WebEndpointResponse<>(RecordingDescriptor.of(recording), WebEndpointResponse.STATUS_OK);
+        }
+        recordings.remove(id);
+        discard(recording);
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NO_CONTENT);
+    }
+
+    /**
+     * アプリケーションの終了時に、残っている記録をファイルごと破棄する
+     */
+    @PreDestroy
+    public synchronized void close() {
+        recordings.values().forEach(JfrRecordingEndpoint::discard);
+        recordings.clear();
+    }
+
+    private Recording newRecording(String profileName, Duration duration) {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profileName);
+            Files.createDirectories(properties.getDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("JFRの記録を準備できませんでした", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("JFRの設定を読み込めませんでした: " + profileName, e);
+        }
+        Recording recording = new Recording(configuration);
+        recording.setName(profileName);
+        recording.setToDisk(true);
+        recording.setDuration(duration);
+        try {
+            recording.setDestination(properties.getDirectory().resolve("recording-" + recording.getId() + ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException("JFRの記録ファイルを設定できませんでした", e);
+        }
+        return recording;
+    }
+
+    /**
+     * 保持数を超えた終了済みの記録を古いものから破棄する
+     */
+    private void discardOldRecordings() {
+        int excess = recordings.size() - Math.max(1, properties.getMaxRetained());
+        Iterator<Recording> iterator = new ArrayList<>(recordings.values()).iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            Recording recording = iterator.next();
+            if (!isInProgress(recording)) {
+                recordings.remove(recording.getId());
+                discard(recording);
+                excess--;
+            }
+        }
+    }
+
+    /**
+     * 記録ファイルの書き出しが終わっていない場合 true
+     *
+     * 記録時間が経って自動で終了する場合、STOPPED になった後にファイルへ書き出して CLOSED になるため、
+     * CLOSED になるまではダウンロードできない。
+     */
+    private static boolean isInProgress(Recording recording) {
+        return recording.getState() != RecordingState.CLOSED;
+    }
+
+    private static void discard(Recording recording) {
+        Path file = recording.getDestination();
+        recording.close();
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("JFRの記録ファイルを削除できませんでした: {}", file, e);
+        }
+    }
+
+    /**
+     * 記録の状態
+     *
+     * @param id        記録ID（ダウンロード・終了で指定する）
+     * @param profile   プロファイル
+     * @param state     状態（RUNNING: 記録中、CLOSED: 終了済みでダウンロード可能）
+     * @param startTime 開始日時
+     * @param duration  記録時間
+     * @param size      記録済みのサイズ（バイト。終了済みの場合は記録ファイルのサイズ）
+     */
+    public record RecordingDescriptor(
+            long id,
+            String profile,
+            RecordingState state,
+            Instant startTime,
+            Duration duration,
+            long size) {
+
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(
+                    recording.getId(),
+                    recording.getName(),
+                    recording.getState(),
+                    recording.getStartTime(),
+                    recording.getDuration(),
+                    size(recording));
+        }
+
+        private static long size(Recording recording) {
+            Path file = recording.getDestination();
+            if (isInProgress(recording) || file == null) {
+                return recording.getSize();
+            }
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * JFR の記録（{@link JfrRecordingEndpoint}）の設定を管理するプロパティクラス
+ * application.propertiesから設定値を読み込みます
+ */
+@Component
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+@Getter
+@Setter
+public class JfrRecordingProperties {
+
+    /**
+     * 記録時間を指定しなかった場合の記録時間
+     * デフォルト値: 60秒
+     */
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    /**
+     * 指定できる記録時間の上限（止め忘れで記録が続かないようにする）
+     * デフォルト値: 10分
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * 記録ファイル（.jfr）の出力先ディレクトリ
+     * デフォルト値: 一時ディレクトリの smart-household-jfr
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "smart-household-jfr");
+
+    /**
+     * 保持する記録の数（超えた場合は古い記録からファイルごと破棄する）
+     * デフォルト値: 3
+     */
+    private int maxRetained = 3;
+}
@@ -0,0 +1,53 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JWT検証（検証済みJWTのキャッシュの参照と、キャッシュミス時の署名・クレーム検証）の JFR イベント
+ *
+ * 全リクエストで発生するため、スタックトレースは記録しません。
+ */
+@Name(JwtVerificationEvent.NAME)
+@Label("JWT Verification")
+@Category({"Smart Household Account Book", "Auth"})
+@Description("JWT検証（キャッシュミス時は署名・クレーム検証を含む）")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+    /** イベント名 */
+    public static final String NAME = "smarthouseholdaccountbook.JwtVerification";
+
+    @Label("Cache Hit")
+    private boolean cacheHit;
+
+    @Label("Verified")
+    private boolean verified;
+
+    @Label("Subject Hash")
+    private String subjectHash;
+
+    @Label("Trace ID")
+    private String traceId;
+
+    /**
+     * 検証を終了し、記録対象であれば属性を設定してコミットする
+     *
+     * @param cacheHit 検証済みJWTのキャッシュから返した場合 true
+     * @param subject  検証できたJWTの sub（検証に失敗した場合は null）
+     */
+    public void complete(boolean cacheHit, String subject) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.cacheHit = cacheHit;
+        this.verified = subject != null;
+        this.subjectHash = JfrEventAttributes.hashSubject(subject);
+        this.traceId = JfrEventAttributes.traceId();
+        commit();
+    }
+}
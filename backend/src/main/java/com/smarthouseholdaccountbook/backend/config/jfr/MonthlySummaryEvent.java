@@ -0,0 +1,52 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 月別サマリーの集計（キャッシュミス時のDB読み込みと集計）の JFR イベント
+ *
+ * キャッシュから返した場合は記録しません。
+ */
+@Name(MonthlySummaryEvent.NAME)
+@Label("Monthly Summary")
+@Category({"Smart Household Account Book", "Summary"})
+@Description("月別サマリーの集計（キャッシュミス時）")
+public class MonthlySummaryEvent extends Event {
+    /** イベント名 */
+    public static final String NAME = "smarthouseholdaccountbook.MonthlySummary";
+
+    @Label("Month")
+    private String month;
+
+    @Label("Expense Count")
+    private int expenseCount;
+
+    @Label("Subject Hash")
+    private String subjectHash;
+
+    @Label("Trace ID")
+    private String traceId;
+
+    /**
+     * 集計を終了し、記録対象であれば属性を設定してコミットする
+     *
+     * @param month        集計した月（YYYY-MM形式）
+     * @param expenseCount 集計した支出の件数
+     * @param subject      ユーザーの Cognito の sub
+     */
+    public void complete(String month, int expenseCount, String subject) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.month = month;
+        this.expenseCount = expenseCount;
+        this.subjectHash = JfrEventAttributes.hashSubject(subject);
+        this.traceId = JfrEventAttributes.traceId();
+        commit();
+    }
+}
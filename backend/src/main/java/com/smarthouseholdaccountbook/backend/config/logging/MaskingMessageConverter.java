@@ -0,0 +1,118 @@
+package com.smarthouseholdaccountbook.backend.config.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * ログメッセージ中の Bearer トークンと OpenAI のAPIキー風文字列をマスクする Logback のコンバーター
+ *
+ * logback-spring.xml で %maskedMsg として使う。正規表現による置換（{@code %replace}）の2段重ねと同じ結果を、
+ * メッセージを1回走査するだけで求める。
+ * <ul>
+ *   <li>{@code Bearer} （大文字小文字を区別しない）＋空白＋空白以外の文字列 → {@code Bearer ***}</li>
+ *   <li>{@code sk-} ＋英数字・{@code _}・{@code -} の並び → {@code sk-***}</li>
+ * </ul>
+ * マスク対象が無いメッセージは元の文字列をそのまま返し、新しい文字列を作らない。
+ */
+public class MaskingMessageConverter extends ClassicConverter {
+    static final String BEARER_MASK = "Bearer ***";
+    static final String API_KEY_MASK = "sk-***";
+    private static final String BEARER = "bearer";
+    private static final String API_KEY_PREFIX = "sk-";
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return mask(event.getFormattedMessage());
+    }
+
+    /**
+     * メッセージ中の秘密情報をマスクする
+     *
+     * @param message ログメッセージ（null 可）
+     * @return マスクしたメッセージ。マスク対象が無ければ message そのもの
+     */
+    static String mask(String message) {
+        if (message == null) {
+            return null;
+        }
+        int length = message.length();
+        StringBuilder masked = null;
+        // message のうち masked に書き出し済みの位置
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            char c = message.charAt(i);
+            int end;
+            if ((c | 0x20) == 'b' && (end = bearerEnd(message, i)) > 0) {
+                masked = appendUntil(masked, message, copied, i).append(BEARER_MASK);
+                i = copied = end;
+            } else if (c == 's' && message.startsWith(API_KEY_PREFIX, i)
+                    && i + API_KEY_PREFIX.length() < length && isApiKeyChar(message.charAt(i + API_KEY_PREFIX.length()))) {
+                masked = appendUntil(masked, message, copied, i).append(API_KEY_MASK);
+                i = copied = apiKeyEnd(message, i + API_KEY_PREFIX.length(), masked);
+            } else {
+                i++;
+            }
+        }
+        if (masked == null) {
+            return message;
+        }
+        return masked.append(message, copied, length).toString();
+    }
+
+    /**
+     * from から始まるAPIキーの終端を返す
+     *
+     * 正規表現の2段置換では Bearer トークンを先にマスクするため、キーの途中から Bearer トークンが始まる場合は
+     * キーが「Bearer」までで終わり、続くトークンは「 ***」になる。その場合は「 ***」も masked に書き出す。
+     */
+    private static int apiKeyEnd(String message, int from, StringBuilder masked) {
+        int j = from;
+        while (j < message.length() && isApiKeyChar(message.charAt(j))) {
+            int bearerEnd;
+            if ((message.charAt(j) | 0x20) == 'b' && (bearerEnd = bearerEnd(message, j)) > 0) {
+                masked.append(BEARER_MASK, BEARER.length(), BEARER_MASK.length());
+                return bearerEnd;
+            }
+            j++;
+        }
+        return j;
+    }
+
+    /**
+     * i から「Bearer＋空白＋空白以外の文字列」が続く場合はその終端、続かない場合は -1 を返す
+     */
+    private static int bearerEnd(String message, int i) {
+        int length = message.length();
+        int k = i + BEARER.length();
+        if (k >= length || !message.regionMatches(true, i, BEARER, 0, BEARER.length()) || !isSpace(message.charAt(k))) {
+            return -1;
+        }
+        while (k < length && isSpace(message.charAt(k))) {
+            k++;
+        }
+        if (k == length) {
+            return -1;
+        }
+        while (k < length && !isSpace(message.charAt(k))) {
+            k++;
+        }
+        return k;
+    }
+
+    private static StringBuilder appendUntil(StringBuilder masked, String message, int from, int to) {
+        if (masked == null) {
+            masked = new StringBuilder(message.length() + 16);
+        }
+        return masked.append(message, from, to);
+    }
+
+    /** 正規表現の \s と同じ判定（ASCIIの空白文字のみ） */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isApiKeyChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+}
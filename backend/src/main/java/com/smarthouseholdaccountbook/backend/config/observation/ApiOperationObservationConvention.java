@@ -0,0 +1,44 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * HTTPリクエストのメトリクス（http.server.requests）に operation タグを追加する
+ *
+ * operation には処理したコントローラーのメソッド名（OpenAPI の operationId。例: apiExpensesMonthsGet）を入れ、
+ * URIテンプレートより読みやすい単位でAPIごとのレイテンシを集計できるようにする。
+ * コントローラーに到達しなかったリクエスト（404・認証エラーなど）は none になる。
+ */
+@Component
+public class ApiOperationObservationConvention extends DefaultServerRequestObservationConvention {
+    static final String OPERATION_KEY = "operation";
+    static final String OPERATION_NONE = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(operation(context));
+    }
+
+    private KeyValue operation(ServerRequestObservationContext context) {
+        return KeyValue.of(OPERATION_KEY, operationName(context.getCarrier()));
+    }
+
+    /**
+     * リクエストを処理したコントローラーのメソッド名。コントローラーに到達していなければ none
+     */
+    static String operationName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getMethod().getName();
+        }
+        return OPERATION_NONE;
+    }
+}
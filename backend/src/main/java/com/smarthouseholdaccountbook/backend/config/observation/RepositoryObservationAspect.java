@@ -0,0 +1,62 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * リポジトリの呼び出しを repository.query のスパンとして記録するアスペクト
+ *
+ * Spring Data のリポジトリ（JpaRepository の継承メソッドを含む）と {@code ExpenseJdbcRepository} が対象。
+ * スパン名は「リポジトリ名#メソッド名」（例: ExpenseRepository#findByUserIdAndExpenseMonth）とし、
+ * メトリクスには repository・method のタグを付ける。
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+    static final String REPOSITORY_OBSERVATION = "repository.query";
+    private static final String REPOSITORY_PACKAGE = "com.smarthouseholdaccountbook.backend.repository";
+
+    private final ObservationRegistry observationRegistry;
+
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || within(com.smarthouseholdaccountbook.backend.repository.ExpenseJdbcRepository)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint.getThis());
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(REPOSITORY_OBSERVATION, observationRegistry)
+                .contextualName(repository + "#" + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Spring Data のリポジトリはプロキシが実装しているこのアプリのインターフェース名、それ以外はクラス名
+     */
+    private static String repositoryName(Object proxy) {
+        for (Class<?> type : proxy.getClass().getInterfaces()) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return AopProxyUtils.ultimateTargetClass(proxy).getSimpleName();
+    }
+}
@@ -0,0 +1,65 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * HTTPリクエストごとに発行したSQLの件数とJDBCの実行時間を記録するフィルター
+ *
+ * 認証フィルター（ユーザー解決のSQL）も含めて数えるため、Spring Security のフィルターより外側で実行する。
+ * 結果は operation タグ（{@link ApiOperationObservationConvention}）付きのメトリクスとして記録し、
+ * 件数はリクエスト属性 {@link #STATEMENT_COUNT_ATTRIBUTE} にも保持する（テストでAPIごとのSQL件数の上限を検証するため）。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    /** リクエストで発行したSQLの件数（Integer）を保持するリクエスト属性 */
+    public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".statementCount";
+    static final String STATEMENTS_METRIC = "http.server.requests.sql.statements";
+    static final String JDBC_TIME_METRIC = "http.server.requests.sql.time";
+
+    private final Meter.MeterProvider<DistributionSummary> statements;
+    private final Meter.MeterProvider<Timer> jdbcTime;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry) {
+        this.statements = DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("1リクエストで発行したSQLの件数")
+                .baseUnit("statements")
+                .withRegistry(meterRegistry);
+        this.jdbcTime = Timer.builder(JDBC_TIME_METRIC)
+                .description("1リクエストでのJDBCの実行時間の合計")
+                .withRegistry(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Recording recording = SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recording.close();
+            request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, recording.getStatementCount());
+            Tags tags = Tags.of(ApiOperationObservationConvention.OPERATION_KEY,
+                    ApiOperationObservationConvention.operationName(request));
+            statements.withTags(tags).record(recording.getStatementCount());
+            jdbcTime.withTags(tags).record(recording.getJdbcTime());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * レスポンスに発行済みSQLの件数とJDBCの実行時間をヘッダーで付けるアドバイス（開発用）
+ *
+ * sql.statement-count.response-header=true（dev プロファイル）のときだけ有効。
+ * 本文を書き出す直前の値のため、本文の書き出し中（ストリーミング出力）のSQLは含まない。
+ * 本文の無いレスポンス（204 など）にはヘッダーを付けない。
+ */
+@ControllerAdvice
+public class SqlStatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+    static final String STATEMENT_COUNT_HEADER = "X-Sql-Statement-Count";
+    static final String JDBC_TIME_HEADER = "X-Sql-Jdbc-Time-Ms";
+
+    private final boolean enabled;
+
+    public SqlStatementCountHeaderAdvice(@Value("${sql.statement-count.response-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        SqlStatementCounter.Recording recording = SqlStatementCounter.current();
+        if (recording != null) {
+            response.getHeaders().set(STATEMENT_COUNT_HEADER, String.valueOf(recording.getStatementCount()));
+            response.getHeaders().set(JDBC_TIME_HEADER, String.valueOf(recording.getJdbcTime().toMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,92 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import java.time.Duration;
+
+/**
+ * 現在のスレッドで発行したSQLの件数とJDBCの実行時間を数えるカウンター
+ *
+ * {@link #start()} で計測を開始し、{@link Recording#close()} で終了する。計測は入れ子にでき、
+ * SQLは実行中のすべての計測に数えられる（HTTPリクエスト単位の計測の中で、テストがサービス呼び出しだけを計測するなど）。
+ * Hibernate を経由したSQL（{@link SqlStatementCountingInspector}・{@link SqlTimingSessionEventListener}）だけが対象で、
+ * JdbcTemplate のSQLや別スレッド（AIカテゴリー推論の Executor など）で発行したSQLは数えない。
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * 現在のスレッドでの計測を開始する
+     *
+     * @return 計測結果（try-with-resources で閉じること）
+     */
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * 現在のスレッドで最も内側の計測。計測中でなければ null
+     */
+    public static Recording current() {
+        return CURRENT.get();
+    }
+
+    static void statementPrepared() {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.statementCount++;
+        }
+    }
+
+    static void jdbcExecuted(long nanos) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.jdbcNanos += nanos;
+        }
+    }
+
+    /**
+     * 1回分の計測結果
+     */
+    public static final class Recording implements AutoCloseable {
+        private final Recording parent;
+        private int statementCount;
+        private long jdbcNanos;
+        private boolean closed;
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * 発行したSQLの件数（バッチ実行は1件）
+         */
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        /**
+         * JDBCでのSQLの実行時間の合計
+         */
+        public Duration getJdbcTime() {
+            return Duration.ofNanos(jdbcNanos);
+        }
+
+        /**
+         * 計測を終了する。内側の計測を閉じずに外側を閉じた場合も、外側の計測の外に戻す
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate が準備するSQLを {@link SqlStatementCounter} に数える StatementInspector
+ *
+ * application.properties の hibernate.session_factory.statement_inspector で登録する（Hibernate がインスタンスを作成する）。
+ * SQL自体は変更しない。
+ */
+public class SqlStatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,33 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate のセッションでのJDBCの実行時間を {@link SqlStatementCounter} に加算するリスナー
+ *
+ * application.properties の hibernate.session.events.auto で登録する（Hibernate がセッションごとにインスタンスを作成する）。
+ */
+public class SqlTimingSessionEventListener extends BaseSessionEventListener {
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.jdbcExecuted(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.jdbcExecuted(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,79 @@
+package com.smarthouseholdaccountbook.backend.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Actuator（管理ポート）の認証設定を管理するプロパティクラス
+ * application.propertiesから設定値を読み込みます
+ *
+ * health 以外のエンドポイント（prometheus・metrics）は、ユーザーのJWTではなくこの Basic 認証で保護します。
+ * 調査用のエンドポイント（jfr）は、メトリクス収集用とは別の管理者ユーザーのみ利用できます。
+ */
+@Component
+@ConfigurationProperties(prefix = "actuator.security")
+@Getter
+@Setter
+public class ActuatorSecurityProperties {
+
+    /**
+     * Basic 認証のユーザー名
+     * デフォルト値: prometheus
+     */
+    private String username = "prometheus";
+
+    /**
+     * Basic 認証のパスワード
+     * {bcrypt} などの接頭辞付きのハッシュも指定できる（接頭辞が無い場合は平文として扱う）。
+     * 未設定の場合は health 以外のエンドポイントへのアクセスをすべて拒否する。
+     */
+    private String password;
+
+    /**
+     * 管理者の Basic 認証のユーザー名
+     * デフォルト値: admin
+     */
+    private String adminUsername = "admin";
+
+    /**
+     * 管理者の Basic 認証のパスワード（password と同じ形式）
+     * 未設定の場合は jfr エンドポイントへのアクセスをすべて拒否する。
+     */
+    private String adminPassword;
+
+    /**
+     * Basic 認証が設定されているか
+     */
+    public boolean isConfigured() {
+        return StringUtils.hasText(username) && StringUtils.hasText(password);
+    }
+
+    /**
+     * 管理者の Basic 認証が設定されているか
+     */
+    public boolean isAdminConfigured() {
+        return StringUtils.hasText(adminUsername) && StringUtils.hasText(adminPassword);
+    }
+
+    /**
+     * PasswordEncoderFactories の形式（{id}ハッシュ）のパスワード
+     */
+    public String getEncodedPassword() {
+        return encode(password);
+    }
+
+    /**
+     * PasswordEncoderFactories の形式（{id}ハッシュ）の管理者のパスワード
+     */
+    public String getEncodedAdminPassword() {
+        return encode(adminPassword);
+    }
+
+    private static String encode(String password) {
+        return password.startsWith("{") ? password : "{noop}" + password;
+    }
+}
@@ -38,19 +38,20 @@ public class CorsProperties {
     /**
      * 許可するリクエストヘッダーのリスト
      * セキュリティのため、実際に使用するヘッダーのみを明示的に指定します
-     * デフォルト値: Authorization（JWT認証用）, Content-Type（JSON送信用）
+     * デフォルト値: Authorization（JWT認証用）, Content-Type（JSON送信用）, If-None-Match（ETagによる条件付きGET用）
      */
     @NotNull
     private List<String> allowedHeaders = List.of(
             "Authorization",
-            "Content-Type");
+            "Content-Type",
+            "If-None-Match");
 
     /**
      * フロントエンドで参照できるレスポンスヘッダーのリスト
-     * デフォルト値: Content-Type（JSONレスポンス用）
+     * デフォルト値: Content-Type（JSONレスポンス用）, ETag（条件付きGET用）
      */
     @NotNull
-    private List<String> exposedHeaders = List.of("Content-Type");
+    private List<String> exposedHeaders = List.of("Content-Type", "ETag");
 
     /**
      * 認証情報（Cookie、HTTP認証、TLSクライアント証明書）を送信可能にするか。
@@ -0,0 +1,53 @@
+package com.smarthouseholdaccountbook.backend.config.security;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.smarthouseholdaccountbook.backend.auth.jwks.JwksResourceRetriever;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Clock;
+
+/**
+ * CognitoのJWKセット（JWT署名検証用の公開鍵）の取得設定
+ *
+ * - キャッシュ: cognito.jwks.cache-ttl の間はリモート取得しない
+ * - 先行更新: 期限の cognito.jwks.refresh-ahead 前からバックグラウンドで再取得し、リクエストを待たせない
+ * - 障害耐性: 取得に失敗しても cognito.jwks.outage-tolerance の間は最後に取得したJWKセットを使う
+ * - リトライ: 一時的な取得エラーは1回だけ再試行する
+ */
+@Configuration
+public class JwksConfig {
+    /** JWKセットの最大サイズ（Cognito のJWKセットは数KB） */
+    private static final int JWKS_SIZE_LIMIT_BYTES = 50 * 1024;
+
+    @Bean
+    public JwksResourceRetriever jwksResourceRetriever(JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        DefaultResourceRetriever httpRetriever = new DefaultResourceRetriever(
+                (int) jwtProperties.getJwksConnectTimeout().toMillis(),
+                (int) jwtProperties.getJwksReadTimeout().toMillis(),
+                JWKS_SIZE_LIMIT_BYTES);
+        return new JwksResourceRetriever(httpRetriever, meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    public JWKSource<SecurityContext> jwkSource(JwtProperties jwtProperties, JwksResourceRetriever jwksResourceRetriever) {
+        try {
+            return JWKSourceBuilder
+                    .<SecurityContext>create(URI.create(jwtProperties.getJwkSetUrl()).toURL(), jwksResourceRetriever)
+                    .cache(jwtProperties.getJwksCacheTtl().toMillis(), jwtProperties.getJwksRefreshTimeout().toMillis())
+                    // scheduled=true: リクエストが無くても期限前に再取得する
+                    .refreshAheadCache(jwtProperties.getJwksRefreshAhead().toMillis(), true)
+                    .retrying(true)
+                    .outageTolerant(jwtProperties.getJwksOutageTolerance().toMillis())
+                    .build();
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            throw new IllegalStateException("JWKセットの取得設定に失敗しました（JWK URL の形式を確認してください）", e);
+        }
+    }
+}
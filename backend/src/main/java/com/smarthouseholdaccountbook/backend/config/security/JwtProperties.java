@@ -3,11 +3,14 @@ package com.smarthouseholdaccountbook.backend.config.security;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * JWT設定プロパティクラス
  * 
  * application.propertiesからJWT関連の設定値を読み込みます。
  * CognitoのJWKセットURL、Issuer URL、Client IDを管理します。
+ * JWKセットの取得・キャッシュの設定（cognito.jwks.*）は未指定なら既定値を使います。
  */
 @Component
 public class JwtProperties {
@@ -20,6 +23,27 @@ public class JwtProperties {
     @Value("${cognito.client-id}")
     private String clientId;
 
+    @Value("${cognito.jwks.cache-ttl:PT15M}")
+    private Duration jwksCacheTtl;
+
+    @Value("${cognito.jwks.refresh-ahead:PT1M}")
+    private Duration jwksRefreshAhead;
+
+    @Value("${cognito.jwks.refresh-timeout:PT15S}")
+    private Duration jwksRefreshTimeout;
+
+    @Value("${cognito.jwks.outage-tolerance:PT12H}")
+    private Duration jwksOutageTolerance;
+
+    @Value("${cognito.jwks.connect-timeout:PT2S}")
+    private Duration jwksConnectTimeout;
+
+    @Value("${cognito.jwks.read-timeout:PT2S}")
+    private Duration jwksReadTimeout;
+
+    @Value("${cognito.jwks.preload:true}")
+    private boolean jwksPreload;
+
     /**
      * CognitoのJWKセットURLを取得
      * 
@@ -43,5 +67,60 @@ public class JwtProperties {
     public String getClientId() {
         return clientId;
     }
-}
 
+    /**
+     * JWKセットのキャッシュ有効期間を取得
+     * @return キャッシュ有効期間
+     */
+    public Duration getJwksCacheTtl() {
+        return jwksCacheTtl;
+    }
+
+    /**
+     * キャッシュ期限のどれだけ前からバックグラウンドで再取得するかを取得
+     * @return 先行更新の時間
+     */
+    public Duration getJwksRefreshAhead() {
+        return jwksRefreshAhead;
+    }
+
+    /**
+     * JWKセット再取得を待つ最大時間を取得
+     * @return 再取得のタイムアウト
+     */
+    public Duration getJwksRefreshTimeout() {
+        return jwksRefreshTimeout;
+    }
+
+    /**
+     * JWKセットの取得に失敗し続けた場合に、最後に取得したJWKセットを使い続ける期間を取得
+     * @return 障害時に古いJWKセットを使う期間
+     */
+    public Duration getJwksOutageTolerance() {
+        return jwksOutageTolerance;
+    }
+
+    /**
+     * JWKセット取得の接続タイムアウトを取得
+     * @return 接続タイムアウト
+     */
+    public Duration getJwksConnectTimeout() {
+        return jwksConnectTimeout;
+    }
+
+    /**
+     * JWKセット取得の読み取りタイムアウトを取得
+     * @return 読み取りタイムアウト
+     */
+    public Duration getJwksReadTimeout() {
+        return jwksReadTimeout;
+    }
+
+    /**
+     * 起動時にJWKセットを先読みするかを取得
+     * @return 先読みする場合 true
+     */
+    public boolean isJwksPreload() {
+        return jwksPreload;
+    }
+}
@@ -3,8 +3,13 @@ package com.smarthouseholdaccountbook.backend.config.security;
 import org.springframework.boot.health.actuate.endpoint.HealthEndpoint;
 import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +20,10 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.smarthouseholdaccountbook.backend.auth.filter.JwtAuthFilter;
 import com.smarthouseholdaccountbook.backend.auth.filter.UserRegistrationFilter;
+import com.smarthouseholdaccountbook.backend.config.jfr.JfrRecordingEndpoint;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Spring Securityの設定クラス
@@ -25,6 +34,8 @@ import com.smarthouseholdaccountbook.backend.auth.filter.UserRegistrationFilter;
  * - セッション管理の設定（ステートレス）
  * - 認可ルールの設定（/api/** は認証必須）
  * - 認証フィルターの登録
+ * - Actuator の認証（health 以外は Basic 認証。ユーザーのJWTを使わずにメトリクスを収集できるようにする）
+ * - JFR の記録（jfr エンドポイント）は管理者のみ
  */
 @Configuration
 @Profile("!test") // test環境では無効化する
@@ -32,17 +43,77 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final UserRegistrationFilter userRegistrationFilter;
     private final CorsProperties corsProperties;
+    private final ActuatorSecurityProperties actuatorSecurityProperties;
+
+    /** Actuator の Basic 認証ユーザーに付けるロール */
+    static final String ACTUATOR_ROLE = "ACTUATOR";
+    /** Actuator の管理者に付けるロール（ACTUATOR_ROLE と併せて付ける） */
+    static final String ACTUATOR_ADMIN_ROLE = "ACTUATOR_ADMIN";
 
     public SecurityConfig(
             JwtAuthFilter jwtAuthFilter,
             UserRegistrationFilter userRegistrationFilter,
-            CorsProperties corsProperties) {
+            CorsProperties corsProperties,
+            ActuatorSecurityProperties actuatorSecurityProperties) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userRegistrationFilter = userRegistrationFilter;
         this.corsProperties = corsProperties;
+        this.actuatorSecurityProperties = actuatorSecurityProperties;
+    }
+
+    /**
+     * Actuator のエンドポイント（管理ポート）用のセキュリティ設定
+     *
+     * JWT認証のフィルターは通さず、health は認証不要、jfr は管理者のみ、それ以外は Basic 認証のユーザーのみ許可する。
+     * 管理者はメトリクス収集用のユーザーと同じエンドポイントも利用できる。
+     * パスワードが未設定のユーザーは登録せず、誰も利用できないエンドポイントはすべて拒否する。
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authz -> {
+                    authz.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll();
+                    if (actuatorSecurityProperties.isAdminConfigured()) {
+                        authz.requestMatchers(EndpointRequest.to(JfrRecordingEndpoint.ID)).hasRole(ACTUATOR_ADMIN_ROLE);
+                    } else {
+                        authz.requestMatchers(EndpointRequest.to(JfrRecordingEndpoint.ID)).denyAll();
+                    }
+                    if (actuatorSecurityProperties.isConfigured() || actuatorSecurityProperties.isAdminConfigured()) {
+                        authz.anyRequest().hasRole(ACTUATOR_ROLE);
+                    } else {
+                        authz.anyRequest().denyAll();
+                    }
+                });
+        List<UserDetails> users = new ArrayList<>();
+        if (actuatorSecurityProperties.isConfigured()) {
+            users.add(User
+                    .withUsername(actuatorSecurityProperties.getUsername())
+                    .password(actuatorSecurityProperties.getEncodedPassword())
+                    .roles(ACTUATOR_ROLE)
+                    .build());
+        }
+        if (actuatorSecurityProperties.isAdminConfigured()) {
+            users.add(User
+                    .withUsername(actuatorSecurityProperties.getAdminUsername())
+                    .password(actuatorSecurityProperties.getEncodedAdminPassword())
+                    .roles(ACTUATOR_ROLE, ACTUATOR_ADMIN_ROLE)
+                    .build());
+        }
+        if (!users.isEmpty()) {
+            http
+                    .httpBasic(Customizer.withDefaults())
+                    .userDetailsService(new InMemoryUserDetailsManager(users));
+        }
+
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 // CORS設定を有効化
@@ -59,7 +130,6 @@ public class SecurityConfig {
 
                 // 認可ルールの設定
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
                         .requestMatchers("/").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().denyAll())
@@ -0,0 +1,34 @@
+package com.smarthouseholdaccountbook.backend.config.web;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * リクエスト本文の {@link Resource} をストリームのまま渡すメッセージコンバーター
+ *
+ * 既定の {@link ResourceHttpMessageConverter} は、引数の型が {@link Resource} の場合に本文を
+ * すべて読み込んで ByteArrayResource を作るため、大きな本文はコントローラーに届く前にメモリへ溜まる。
+ * OpenAPI で {@code format: binary} の本文は {@link Resource} として生成されるので、
+ * その場合も受信中のストリームを包んだ {@link InputStreamResource} を返す。
+ * 本文は1回だけ読み込めるため、コントローラーは {@link Resource#getInputStream()} を1回だけ呼ぶこと。
+ */
+public class StreamingResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    public StreamingResourceHttpMessageConverter() {
+        super(true);
+    }
+
+    @Override
+    protected Resource readInternal(Class<? extends Resource> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        if (clazz == Resource.class) {
+            return new InputStreamResource(inputMessage.getBody());
+        }
+        return super.readInternal(clazz, inputMessage);
+    }
+}
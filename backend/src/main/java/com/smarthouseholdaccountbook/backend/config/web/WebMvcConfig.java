@@ -0,0 +1,43 @@
+package com.smarthouseholdaccountbook.backend.config.web;
+
+import com.smarthouseholdaccountbook.backend.controller.interceptor.ExpenseETagInterceptor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC の設定クラス
+ *
+ * 支出の読み取りAPIに ETag による条件付きGETのインターセプターを登録する。
+ * また、一括登録・CSVストリーミングアップロードの本文をメモリに溜めずに受け取るためのコンバーターを登録する。
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    private final ExpenseETagInterceptor expenseETagInterceptor;
+
+    public WebMvcConfig(ExpenseETagInterceptor expenseETagInterceptor) {
+        this.expenseETagInterceptor = expenseETagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(expenseETagInterceptor)
+                .addPathPatterns(
+                        ExpenseETagInterceptor.EXPENSES_PATH,
+                        ExpenseETagInterceptor.EXPENSES_SCROLL_PATH,
+                        ExpenseETagInterceptor.SUMMARY_PATH,
+                        ExpenseETagInterceptor.SUMMARY_RANGE_PATH,
+                        ExpenseETagInterceptor.MONTHS_PATH);
+    }
+
+    /**
+     * 一括登録（/api/expenses/batch）・CSV のストリーミングアップロードの本文を、メモリに溜めずに受け取るためのコンバーター。
+     * HttpMessageConverter の Bean は Spring Boot により既定のコンバーターより前に登録される
+     */
+    @Bean
+    public StreamingResourceHttpMessageConverter streamingResourceHttpMessageConverter() {
+        return new StreamingResourceHttpMessageConverter();
+    }
+}
@@ -2,30 +2,59 @@ package com.smarthouseholdaccountbook.backend.controller;
 
 import com.smarthouseholdaccountbook.backend.application.mapper.ExpenseMapper;
 import com.smarthouseholdaccountbook.backend.application.service.CsvExpenseService;
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseBatchImportService;
 import com.smarthouseholdaccountbook.backend.application.service.ExpenseApplicationService;
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseExportService;
+import com.smarthouseholdaccountbook.backend.application.service.ImportBatchService;
 import com.smarthouseholdaccountbook.backend.application.service.MonthlyReportService;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvFormat;
+import com.smarthouseholdaccountbook.backend.application.service.export.ExpenseExportFormat;
+import com.smarthouseholdaccountbook.backend.application.service.export.ExpenseExportRequest;
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
 import com.smarthouseholdaccountbook.backend.entity.MonthlyReport;
+import com.smarthouseholdaccountbook.backend.exception.CsvUploadException;
 import com.smarthouseholdaccountbook.backend.generated.api.ExpensesApi;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBatchResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkCategoryRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkDeleteRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseCursorPageDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpensePageDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ImportBatchDto;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlyReportResponse;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseCursor;
 import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
 
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +68,9 @@ public class ExpenseController implements ExpensesApi {
     private static final String CSV_FORMAT_PATTERN = "MITSUISUMITOMO_OLD_FORMAT|MITSUISUMITOMO_NEW_FORMAT";  //csvFormatで許可する値の正規表現
     private final ExpenseApplicationService expenseApplicationService;
     private final CsvExpenseService csvExpenseService;
+    private final ExpenseBatchImportService expenseBatchImportService;
+    private final ExpenseExportService expenseExportService;
+    private final ImportBatchService importBatchService;
     private final ExpenseMapper expenseMapper;
     private final MonthlyReportService monthlyReportService;
 
@@ -47,16 +79,25 @@ public class ExpenseController implements ExpensesApi {
      *
      * @param expenseApplicationService 支出アプリケーションサービス
      * @param csvExpenseService         CSV支出処理サービス
+     * @param expenseBatchImportService 支出一括登録サービス
+     * @param expenseExportService      支出エクスポートサービス
+     * @param importBatchService        取り込みバッチサービス
      * @param expenseMapper             支出マッパー
      * @param monthlyReportService      月次レポートサービス
      */
     public ExpenseController(
             ExpenseApplicationService expenseApplicationService,
             CsvExpenseService csvExpenseService,
+            ExpenseBatchImportService expenseBatchImportService,
+            ExpenseExportService expenseExportService,
+            ImportBatchService importBatchService,
             ExpenseMapper expenseMapper,
             MonthlyReportService monthlyReportService) {
         this.expenseApplicationService = expenseApplicationService;
         this.csvExpenseService = csvExpenseService;
+        this.expenseBatchImportService = expenseBatchImportService;
+        this.expenseExportService = expenseExportService;
+        this.importBatchService = importBatchService;
         this.expenseMapper = expenseMapper;
         this.monthlyReportService = monthlyReportService;
     }
@@ -73,7 +114,7 @@ public class ExpenseController implements ExpensesApi {
     @Override
     public ResponseEntity<ExpensePageDto> apiExpensesGet(String month, Integer page, Integer size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Expense> expensePage = expenseApplicationService.getExpensesByMonth(month, pageable);
+        Page<ExpenseListItem> expensePage = expenseApplicationService.getExpensesByMonth(month, pageable);
 
         List<ExpenseDto> content = expensePage.getContent().stream()
                 .map(expenseMapper::toDto)
@@ -88,6 +129,37 @@ public class ExpenseController implements ExpensesApi {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * 支出一覧取得エンドポイント（カーソル方式）
+     * 前ページの nextCursor を受け取り、その続きから取得する。件数は includeTotal=true のときだけ返す。
+     *
+     * @param month        対象月（YYYY-MM形式、必須）
+     * @param cursor       前回レスポンスの nextCursor（省略時は先頭から）
+     * @param size         1ページあたりの件数（最大50）
+     * @param includeTotal trueのとき月全体の件数を含める
+     * @return 支出のカーソルページDTO
+     */
+    @Override
+    public ResponseEntity<ExpenseCursorPageDto> apiExpensesScrollGet(
+            String month, String cursor, Integer size, Boolean includeTotal) {
+        ExpenseCursor after = cursor == null || cursor.isBlank() ? null : ExpenseCursor.decode(cursor);
+        ExpenseApplicationService.ExpenseSlice slice =
+                expenseApplicationService.getExpensesByMonthAfter(month, after, size);
+
+        List<ExpenseDto> content = slice.content().stream()
+                .map(expenseMapper::toDto)
+                .collect(Collectors.toList());
+
+        ExpenseCursorPageDto dto = new ExpenseCursorPageDto(content, size, slice.hasNext());
+        if (slice.hasNext()) {
+            dto.setNextCursor(slice.nextCursor().encode());
+        }
+        if (Boolean.TRUE.equals(includeTotal)) {
+            dto.setTotalElements(expenseApplicationService.countExpensesByMonth(month));
+        }
+        return ResponseEntity.ok(dto);
+    }
+
     /**
      * 支出追加エンドポイント
      * 
@@ -127,6 +199,118 @@ public class ExpenseController implements ExpensesApi {
         return ResponseEntity.ok(expenseMapper.toDto(expense));
     }
 
+    /**
+     * 支出一括登録エンドポイント（JSON配列 / NDJSON）
+     *
+     * 本文は {@link Resource} としてストリームのまま受け取り、全体をメモリに読み込まずにサービスへ渡す
+     * （StreamingResourceHttpMessageConverter。既定のコンバーターは本文をすべて読み込んでしまう）。
+     *
+     * @param body JSON配列または NDJSON のリクエスト本文
+     * @return 一括登録結果（成功件数、スキップ件数、エラー件数、エラー詳細）
+     */
+    @Override
+    public ResponseEntity<ExpenseBatchResultDto> apiExpensesBatchPost(Resource body) {
+        ExpenseBatchImportService.ExpenseBatchImportResult result;
+        try (InputStream in = body.getInputStream()) {
+            result = expenseBatchImportService.importExpenses(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("リクエスト本文の読み込みに失敗しました", e);
+        }
+        return ResponseEntity.ok(expenseMapper.toDto(result));
+    }
+
+    /**
+     * 支出エクスポートエンドポイント
+     *
+     * 本文を {@link Resource} に溜めずにレスポンスへ直接書き込むため、戻り値は常に null
+     * （レスポンス処理済み）になる。条件の検証はレスポンスを書き始める前に行い、不正な場合は400を返す。
+     *
+     * @param format    出力形式（csv / ndjson。省略時は csv）
+     * @param startDate 開始日（含む。省略時は制限なし）
+     * @param endDate   終了日（含む。省略時は制限なし）
+     * @param gzip      trueの場合、gzip 圧縮して出力する
+     * @return null（本文はレスポンスに書き込み済み）
+     */
+    @Override
+    public ResponseEntity<Resource> apiExpensesExportGet(
+            String format, LocalDate startDate, LocalDate endDate, Boolean gzip) {
+        ExpenseExportRequest request = new ExpenseExportRequest(
+                ExpenseExportFormat.fromValue(format != null ? format : ExpenseExportFormat.CSV.name()),
+                startDate,
+                endDate,
+                Boolean.TRUE.equals(gzip));
+
+        HttpServletResponse response =
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        response.setContentType(request.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(request.fileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        try (OutputStream out = request.gzip()
+                ? new GZIPOutputStream(response.getOutputStream())
+                : response.getOutputStream()) {
+            expenseExportService.export(request, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("エクスポートの書き込みに失敗しました", e);
+        }
+        return null;
+    }
+
+    /**
+     * CSV取り込み履歴取得エンドポイント
+     *
+     * @return 取り込みバッチのリスト（新しい順、取り消し済みも含む）
+     */
+    @Override
+    public ResponseEntity<List<ImportBatchDto>> apiExpensesImportsGet() {
+        List<ImportBatchDto> dtos = importBatchService.getRecentImportBatches().stream()
+                .map(expenseMapper::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * CSV取り込み取り消しエンドポイント
+     *
+     * @param id 取り込みバッチID
+     * @return 削除件数（取り消し済みのバッチの場合は0）
+     */
+    @Override
+    public ResponseEntity<ExpenseBulkResultDto> apiExpensesImportsIdDelete(Long id) {
+        int deleted = importBatchService.rollbackImportBatch(id);
+        return ResponseEntity.ok(new ExpenseBulkResultDto(deleted));
+    }
+
+    /**
+     * 支出一括削除エンドポイント
+     *
+     * @param expenseBulkDeleteRequestDto 削除する支出IDのリスト
+     * @return 削除件数（他ユーザーのIDや存在しないIDは含まない）
+     */
+    @Override
+    public ResponseEntity<ExpenseBulkResultDto> apiExpensesBulkDeletePost(
+            ExpenseBulkDeleteRequestDto expenseBulkDeleteRequestDto) {
+        int deleted = expenseApplicationService.deleteExpenses(expenseBulkDeleteRequestDto.getIds());
+        return ResponseEntity.ok(new ExpenseBulkResultDto(deleted));
+    }
+
+    /**
+     * 支出カテゴリ一括変更エンドポイント
+     *
+     * @param expenseBulkCategoryRequestDto 変更する支出IDのリストと変更後のカテゴリ
+     * @return 対象件数（他ユーザーのIDや存在しないIDは含まない）
+     */
+    @Override
+    public ResponseEntity<ExpenseBulkResultDto> apiExpensesBulkCategoryPost(
+            ExpenseBulkCategoryRequestDto expenseBulkCategoryRequestDto) {
+        CategoryType category = CategoryType.fromDisplayName(expenseBulkCategoryRequestDto.getCategory());
+        int updated = expenseApplicationService.updateExpenseCategories(
+                expenseBulkCategoryRequestDto.getIds(), category);
+        return ResponseEntity.ok(new ExpenseBulkResultDto(updated));
+    }
+
     /**
      * 月別サマリー取得エンドポイント
      * 
@@ -211,7 +395,7 @@ public class ExpenseController implements ExpensesApi {
      *                  Spring が {@link MultipartFile} にバインドする。
      * @param csvFormat CSV形式（MITSUISUMITOMO_OLD_FORMAT: 三井住友カード 確定月、
      *                  MITSUISUMITOMO_NEW_FORMAT: 三井住友カード 未確定月）
-     * @return CSVアップロード結果（成功件数、エラー件数、エラー詳細）
+     * @return CSVアップロード結果（成功件数、エラー件数、エラー詳細、取り込みバッチID）
      */
     @Override
     public ResponseEntity<CsvUploadResponseDto> apiExpensesUploadCsvPost(
@@ -230,6 +414,38 @@ public class ExpenseController implements ExpensesApi {
         return ResponseEntity.ok(response);
     }
   
+    /**
+     * CSVストリーミングアップロードエンドポイント
+     *
+     * 本文は {@link Resource} としてストリームのまま受け取り、受信しながらサービスで解析する。
+     * CSV形式と Content-Length（送られている場合）は本文を読み始める前に検証し、
+     * 上限を超える本文は受信せずに413を返す。
+     *
+     * @param csvFormat CSV形式（MITSUISUMITOMO_OLD_FORMAT: 三井住友カード 確定月、
+     *                  MITSUISUMITOMO_NEW_FORMAT: 三井住友カード 未確定月）
+     * @param body      CSVファイルの内容
+     * @return CSVアップロード結果（成功件数、エラー件数、エラー詳細、取り込みバッチID）
+     */
+    @Override
+    public ResponseEntity<CsvUploadResponseDto> apiExpensesUploadCsvStreamPost(String csvFormat, Resource body) {
+        validateCsvFormat(csvFormat);
+        long contentLength = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                .getRequest().getContentLengthLong();
+        if (contentLength > CsvExpenseService.MAX_STREAM_UPLOAD_BYTES) {
+            throw new CsvUploadException(
+                    "ファイルサイズが上限（" + CsvExpenseService.MAX_STREAM_UPLOAD_BYTES + "バイト）を超えています",
+                    HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        CsvExpenseService.CsvUploadResult result;
+        try (InputStream in = body.getInputStream()) {
+            result = csvExpenseService.uploadCsvStreamAndAddExpenses(in, CsvFormat.valueOf(csvFormat));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("リクエスト本文の読み込みに失敗しました", e);
+        }
+        return ResponseEntity.ok(expenseMapper.toDto(result));
+    }
+
     /**
      * CSVアップロードのリクエストを検証する。
      * インターフェースのバリデーションのオーバライドができないので、メソッド内で追加で検証する。
@@ -246,6 +462,16 @@ public class ExpenseController implements ExpensesApi {
         if (originalFilename == null || !originalFilename.toLowerCase().endsWith(".csv")) {
             throw new IllegalArgumentException("CSVファイルを選択してください");
         }
+        validateCsvFormat(csvFormat);
+    }
+
+    /**
+     * CSV形式の指定を検証する。
+     *
+     * @param csvFormat CSV形式
+     * @throws IllegalArgumentException 検証エラー時（GlobalExceptionHandlerで400に変換される）
+     */
+    private void validateCsvFormat(String csvFormat) {
         if (csvFormat.isBlank()) {
             throw new IllegalArgumentException("CSV形式を指定してください");
         }
@@ -0,0 +1,101 @@
+package com.smarthouseholdaccountbook.backend.controller.interceptor;
+
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
+import com.smarthouseholdaccountbook.backend.auth.provider.CurrentAuthProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 支出の読み取りAPIに ETag を付与し、If-None-Match が最新なら 304 を返すインターセプター。
+ *
+ * ETag は {@link ExpenseVersionStore} のメモリ上のバージョンから作るため、検証にSQLは発生しない。
+ * コントローラーより前（preHandle）で判定し、304 の場合はリポジトリもJSONシリアライズも実行しない。
+ * <p>
+ * ETag にはユーザーのハッシュを含め、{@code Vary: Authorization} でユーザーごとにキャッシュを分ける。
+ * ETag はデータ読み取りより前に確定させる。読み取り中に更新がコミットされても、
+ * 返すのは「新しいデータ + 古い ETag」であり、次回の条件付きリクエストで必ず再取得される。
+ */
+@Component
+public class ExpenseETagInterceptor implements HandlerInterceptor {
+    /** 一覧（month 単位） */
+    public static final String EXPENSES_PATH = "/api/expenses";
+    /** 一覧・カーソル方式（month 単位） */
+    public static final String EXPENSES_SCROLL_PATH = "/api/expenses/scroll";
+    /** 月別サマリー（month 単位） */
+    public static final String SUMMARY_PATH = "/api/expenses/summary";
+    /** 範囲指定の月別サマリー（ユーザー単位） */
+    public static final String SUMMARY_RANGE_PATH = "/api/expenses/summary/range";
+    /** 利用可能な月のリスト（ユーザー単位） */
+    public static final String MONTHS_PATH = "/api/expenses/months";
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    /** ブラウザに保存はさせるが、使う前に必ず再検証させる */
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final ExpenseVersionStore expenseVersionStore;
+    private final CurrentAuthProvider currentAuthProvider;
+
+    public ExpenseETagInterceptor(ExpenseVersionStore expenseVersionStore, CurrentAuthProvider currentAuthProvider) {
+        this.expenseVersionStore = expenseVersionStore;
+        this.currentAuthProvider = currentAuthProvider;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String sub = currentAuthProvider.getCurrentSub();
+        if (sub == null) {
+            return true;
+        }
+        String eTag = resolveETag(request, sub);
+        if (eTag == null) {
+            // パラメータ不正などはコントローラー側のバリデーションに任せる
+            return true;
+        }
+        // Spring Security の既定（no-store）より先に設定し、ブラウザが条件付きリクエストを送れるようにする
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // 同じブラウザで別ユーザーがログインした場合に、前のユーザーの保存済みレスポンスを使わせない
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        // ETag ヘッダーを設定し、If-None-Match と一致すれば 304 をセットして true を返す
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+    /**
+     * マッチしたエンドポイントに応じて ETag を決める。対象外・パラメータ不正の場合は null。
+     */
+    private String resolveETag(HttpServletRequest request, String sub) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (EXPENSES_PATH.equals(pattern) || EXPENSES_SCROLL_PATH.equals(pattern) || SUMMARY_PATH.equals(pattern)) {
+            YearMonth month = parseMonth(request.getParameter("month"));
+            return month == null ? null : expenseVersionStore.monthETag(sub, month);
+        }
+        if (SUMMARY_RANGE_PATH.equals(pattern) || MONTHS_PATH.equals(pattern)) {
+            return expenseVersionStore.userETag(sub);
+        }
+        return null;
+    }
+
+    private static YearMonth parseMonth(String month) {
+        if (month == null) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(month, MONTH_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Index;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -39,8 +40,17 @@ import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-// user_idとdateの複合インデックス。user_idで等価検索を行った後、dateで範囲検索やソートを行う際に効率化できる。
-@Table(name = "expenses", indexes = { @Index(name = "idx_expenses_user_id_and_date", columnList = "user_id, date") })
+// user_idで等価検索を行った後、date, idで範囲検索やソートを行うためのカバリングインデックス（V2マイグレーション）。
+// 一覧表示に使う列（amount, category, description）も含め、一覧クエリをインデックスのみで完結させる。
+// user_idとexpense_monthの複合インデックス。利用可能な月の一覧を月単位でDISTINCTする際に使う（V3マイグレーション）。
+// user_idとimport_fingerprintの一意制約。同じ明細の二重取り込みをDBで防ぐ（V4マイグレーション）。
+// import_batch_idのインデックス。取り込みバッチ単位の取り消しを1回のDELETE文で行う（V5マイグレーション）。
+@Table(name = "expenses", indexes = {
+        @Index(name = "idx_expenses_user_id_date_covering", columnList = "user_id, date, id, amount, category, description"),
+        @Index(name = "idx_expenses_user_id_expense_month", columnList = "user_id, expense_month"),
+        @Index(name = "idx_expenses_import_batch_id", columnList = "import_batch_id") },
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_expenses_user_id_import_fingerprint", columnNames = { "user_id", "import_fingerprint" }))
 public class Expense {
 
     @Id
@@ -58,11 +68,29 @@ public class Expense {
     @Embedded
     private ExpenseDate date;
 
+    // 支出月（yyyyMM形式の整数。例: 2024年1月 → 202401）。日付から導出し、日付の変更時に必ず更新する。
+    @Column(name = "expense_month", nullable = false)
+    private Integer expenseMonth;
+
     // 支出カテゴリ
     @Enumerated(EnumType.STRING)
     @Column(name = "category", nullable = false, length = 50)
     private CategoryType category;
 
+    // 取り込み指紋（ExpenseDuplicateKey#fingerprint()）。CSVインポート・一括登録で作成した行だけが持ち、手動登録はnull。
+    // 取り込み元の明細を表すため、取り込み後に内容を編集しても変更しない。
+    @Column(name = "import_fingerprint")
+    private Long importFingerprint;
+
+    // 取り込み指紋の確認値（ExpenseDuplicateKey#importFingerprint()）。指紋が一致した行が同じ明細か、指紋の衝突かを区別する。
+    // V6マイグレーションより前に取り込んだ行はnull（同じ明細として扱う）。
+    @Column(name = "import_fingerprint_check")
+    private Long importFingerprintCheck;
+
+    // 取り込みバッチID（ImportBatch#getId()）。CSVインポートで作成した行だけが持ち、バッチの取り消しで行ごと削除する。
+    @Column(name = "import_batch_id")
+    private Long importBatchId;
+
     // ユーザー
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -87,6 +115,7 @@ public class Expense {
         this.description = description;
         this.amount = Objects.requireNonNull(amount, "金額はnullであってはなりません。");
         this.date = Objects.requireNonNull(date, "日付はnullであってはなりません。");
+        this.expenseMonth = toExpenseMonth(date);
         this.category = Objects.requireNonNull(category, "カテゴリーはnullであってはなりません。");
         this.user = Objects.requireNonNull(user, "ユーザーはnullであってはなりません。");
     }
@@ -100,6 +129,17 @@ public class Expense {
         this.description = update.description();
         this.amount = update.amount();
         this.date = update.date();
+        this.expenseMonth = toExpenseMonth(update.date());
         this.category = update.category();
     }
+
+    /**
+     * 日付から支出月（yyyyMM形式の整数）を求める
+     * 
+     * @param date 日付
+     * @return 支出月（例: 2024-01-15 → 202401）
+     */
+    public static int toExpenseMonth(ExpenseDate date) {
+        return date.getDate().getYear() * 100 + date.getDate().getMonthValue();
+    }
 }
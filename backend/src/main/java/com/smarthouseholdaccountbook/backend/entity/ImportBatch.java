@@ -0,0 +1,104 @@
+package com.smarthouseholdaccountbook.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 取り込みバッチエンティティ
+ *
+ * CSVアップロード1回分の取り込み元（ファイルのハッシュ、CSV形式）と結果（件数、日時）を記録します。
+ * 取り込んだ支出は import_batch_id でこのバッチを参照し、バッチ単位でまとめて取り消せます。
+ * 取り消したバッチの行は削除せず、取り消し日時を設定して履歴として残します。
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+// user_idとactive_file_hashの一意制約。取り消されていない同じファイルのバッチを1つに限り、
+// 同じファイルの同時アップロードによる二重取り込みを防ぐ。再アップロードの判定にも使う（V7マイグレーション）。
+@Table(name = "import_batches",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_import_batches_user_id_active_file_hash", columnNames = { "user_id", "active_file_hash" }))
+public class ImportBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // アップロードされたファイル全体のSHA-256（16進数64文字）
+    @Column(nullable = false, length = 64)
+    private String fileHash;
+
+    // 取り消されていないバッチのファイルハッシュ（file_hashと同じ値）。取り消したバッチはnull（一意制約の対象外）
+    @Column(length = 64)
+    private String activeFileHash;
+
+    // CSV形式（CsvFormatの列挙子名）
+    @Column(nullable = false, length = 50)
+    private String csvFormat;
+
+    @Column(nullable = false)
+    private int successCount;
+
+    @Column(nullable = false)
+    private int skippedCount;
+
+    @Column(nullable = false)
+    private int errorCount;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    private Instant rolledBackAt;
+
+    public ImportBatch(User user, String fileHash, String csvFormat) {
+        this.user = Objects.requireNonNull(user, "ユーザーはnullであってはなりません。");
+        this.fileHash = Objects.requireNonNull(fileHash, "ファイルハッシュはnullであってはなりません。");
+        this.activeFileHash = fileHash;
+        this.csvFormat = Objects.requireNonNull(csvFormat, "CSV形式はnullであってはなりません。");
+        this.startedAt = Instant.now();
+    }
+
+    /**
+     * 取り込み結果を記録する
+     */
+    public void complete(int successCount, int skippedCount, int errorCount) {
+        this.successCount = successCount;
+        this.skippedCount = skippedCount;
+        this.errorCount = errorCount;
+        this.completedAt = Instant.now();
+    }
+
+    /**
+     * 取り消し済みにする（取り込んだ支出の削除は呼び出し元で行う）
+     *
+     * 同じファイルを再び取り込めるよう、有効なファイルハッシュを外す。
+     */
+    public void markRolledBack() {
+        this.rolledBackAt = Instant.now();
+        this.activeFileHash = null;
+    }
+
+    public boolean isRolledBack() {
+        return rolledBackAt != null;
+    }
+}
@@ -31,6 +31,12 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(e.getMessage(), Instant.now().atOffset(ZoneOffset.UTC)));
     }
 
+    @ExceptionHandler(ImportBatchNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportBatchNotFoundException(ImportBatchNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage(), Instant.now().atOffset(ZoneOffset.UTC)));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
         logger.warn("不正な引数が渡されました: {}", e.getMessage());
@@ -0,0 +1,13 @@
+package com.smarthouseholdaccountbook.backend.exception;
+/**
+ * 取り込みバッチが見つからない場合の例外
+ * 404 Not Foundのステータスコードを返す
+ */
+public class ImportBatchNotFoundException extends RuntimeException {
+    /**
+     * @param id 見つからない取り込みバッチのID
+     */
+    public ImportBatchNotFoundException(Long id) {
+        super("ID: " + id + " の取り込みバッチが見つかりませんでした。");
+    }
+}
@@ -0,0 +1,215 @@
+package com.smarthouseholdaccountbook.backend.repository;
+
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey.ImportFingerprint;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 支出の一括登録用の JDBC リポジトリ
+ *
+ * JPA の saveAll はIDENTITY採番のため1行ずつINSERTされ、エンティティも永続化コンテキストに溜まる。
+ * 大量行の登録ではエンティティを作らず、複数行の INSERT 文でまとめて送る。
+ * <p>
+ * 各行には取り込み指紋（import_fingerprint）と確認値（import_fingerprint_check）を設定する。
+ * 指紋が一致する既存行があり確認値も一致する行は、取り込み済みの明細としてスキップする。
+ * 指紋は64bitのため異なる明細が同じ値になりうるが、確認値が異なる場合は衝突とみなし、指紋なしで登録する。
+ * <p>
+ * (user_id, import_fingerprint) の一意制約により、同じ明細を同時に取り込んでも、後から来た側の INSERT は
+ * 先の行のコミットを待ってから一意制約違反になる。その場合だけ1行ずつ登録し直し、違反した行を既存行と照合する。
+ * INSERT IGNORE は使わないため、一意制約以外のエラー（説明の長さなど）は例外になる。
+ * CSVインポートでは取り込みバッチID（import_batch_id）も設定し、バッチ単位で取り消せるようにする。
+ * <p>
+ * 呼び出し元のトランザクション（JpaTransactionManager）と同じ接続を使うため、
+ * 同じトランザクション内のJPQLクエリからも登録した行が見える。
+ */
+@Repository
+public class ExpenseJdbcRepository {
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseJdbcRepository.class);
+
+    /** 1つの INSERT 文にまとめる行数 */
+    static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT_SQL_PREFIX = "INSERT INTO expenses "
+            + "(description, amount, date, expense_month, category, import_fingerprint, import_fingerprint_check,"
+            + " import_batch_id, user_id) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS_PER_ROW = 9;
+
+    private static final String SELECT_CHECKS_SQL_PREFIX = "SELECT import_fingerprint, import_fingerprint_check"
+            + " FROM expenses WHERE user_id = ? AND import_fingerprint IN ";
+    // 一意制約違反の直後に、同時に取り込まれてコミット済みの行を読むため、ロック読み取り（最新の値）にする
+    private static final String SELECT_CHECK_FOR_UPDATE_SQL = "SELECT import_fingerprint_check"
+            + " FROM expenses WHERE user_id = ? AND import_fingerprint = ? FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExpenseJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 支出を複数行INSERTで登録し、取り込み済みの明細（同じ取り込み指紋と確認値）の行はスキップする
+     *
+     * 呼び出し元は列の制約（説明の長さなど）を検証済みの行を渡すこと。違反した場合は例外になる。
+     *
+     * @param userId        ユーザーID
+     * @param importBatchId 取り込みバッチID（バッチに属さない一括登録の場合はnull）
+     * @param expenses      登録する支出の内容（検証済み）
+     * @return 実際に登録した行数（スキップした行は含まない）
+     */
+    public int insertIgnoringDuplicates(Long userId, Long importBatchId, List<ExpenseUpdate> expenses) {
+        int inserted = 0;
+        for (int from = 0; from < expenses.size(); from += ROWS_PER_STATEMENT) {
+            List<ExpenseUpdate> rows = expenses.subList(from, Math.min(from + ROWS_PER_STATEMENT, expenses.size()));
+            inserted += insertRows(userId, importBatchId, rows);
+        }
+        return inserted;
+    }
+
+    private int insertRows(Long userId, Long importBatchId, List<ExpenseUpdate> rows) {
+        List<ImportRow> newRows = excludeImportedRows(userId, rows);
+        if (newRows.isEmpty()) {
+            return 0;
+        }
+        try {
+            return insert(userId, importBatchId, newRows);
+        } catch (DuplicateKeyException e) {
+            // 確認の後に、同時に取り込まれた同じ指紋の行がコミットされた（失敗した INSERT 文だけが取り消される）
+            int inserted = 0;
+            for (ImportRow row : newRows) {
+                inserted += insertOne(userId, importBatchId, row);
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * 指紋が一致する既存行と確認値を照合し、取り込み済みの明細を除いた登録行を返す
+     *
+     * 確認値が異なる（指紋の衝突）行は、一意制約に掛からないよう指紋なしの登録行にする。
+     * 同じ呼び出し内で先に登録する行の指紋も既存行として扱う。
+     */
+    private List<ImportRow> excludeImportedRows(Long userId, List<ExpenseUpdate> rows) {
+        List<ImportFingerprint> fingerprints = rows.stream()
+                .map(expense -> ExpenseDuplicateKey.from(expense).importFingerprint())
+                .toList();
+        Map<Long, Long> knownChecks = findChecksByFingerprints(userId, fingerprints);
+
+        List<ImportRow> newRows = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportFingerprint fingerprint = fingerprints.get(i);
+            if (!knownChecks.containsKey(fingerprint.value())) {
+                knownChecks.put(fingerprint.value(), fingerprint.check());
+                newRows.add(new ImportRow(rows.get(i), fingerprint));
+            } else if (!isSameImport(knownChecks.get(fingerprint.value()), fingerprint)) {
+                logCollision(userId, fingerprint);
+                newRows.add(new ImportRow(rows.get(i), null));
+            }
+        }
+        return newRows;
+    }
+
+    /**
+     * 一意制約違反になった登録を1行ずつやり直す
+     *
+     * 違反した行は、同時に取り込まれた既存行と確認値を照合し、同じ明細ならスキップ、衝突なら指紋なしで登録する。
+     */
+    private int insertOne(Long userId, Long importBatchId, ImportRow row) {
+        try {
+            return insert(userId, importBatchId, List.of(row));
+        } catch (DuplicateKeyException e) {
+            ImportFingerprint fingerprint = row.fingerprint();
+            List<Long> checks = jdbcTemplate.queryForList(
+                    SELECT_CHECK_FOR_UPDATE_SQL, Long.class, userId, fingerprint.value());
+            if (checks.stream().anyMatch(check -> isSameImport(check, fingerprint))) {
+                return 0;
+            }
+            logCollision(userId, fingerprint);
+            return insert(userId, importBatchId, List.of(new ImportRow(row.expense(), null)));
+        }
+    }
+
+    /**
+     * 指紋ごとの既存行の確認値を取得する（確認値のない既存行はnull）
+     */
+    private Map<Long, Long> findChecksByFingerprints(Long userId, List<ImportFingerprint> fingerprints) {
+        String sql = SELECT_CHECKS_SQL_PREFIX
+                + "(" + String.join(", ", Collections.nCopies(fingerprints.size(), "?")) + ")";
+        Object[] args = new Object[fingerprints.size() + 1];
+        args[0] = userId;
+        for (int i = 0; i < fingerprints.size(); i++) {
+            args[i + 1] = fingerprints.get(i).value();
+        }
+        Map<Long, Long> checks = new HashMap<>();
+        RowCallbackHandler handler = rs -> checks.put(rs.getLong(1), rs.getObject(2, Long.class));
+        jdbcTemplate.query(sql, handler, args);
+        return checks;
+    }
+
+    private int insert(Long userId, Long importBatchId, List<ImportRow> rows) {
+        String sql = INSERT_SQL_PREFIX + String.join(", ", Collections.nCopies(rows.size(), ROW_PLACEHOLDERS));
+        return jdbcTemplate.update(sql, ps -> {
+            int index = 0;
+            for (ImportRow row : rows) {
+                ExpenseUpdate expense = row.expense();
+                int base = index * COLUMNS_PER_ROW;
+                ps.setString(base + 1, expense.description());
+                ps.setInt(base + 2, expense.amount().getAmount());
+                ps.setObject(base + 3, expense.date().getDate());
+                ps.setInt(base + 4, Expense.toExpenseMonth(expense.date()));
+                ps.setString(base + 5, expense.category().name());
+                if (row.fingerprint() != null) {
+                    ps.setLong(base + 6, row.fingerprint().value());
+                    ps.setLong(base + 7, row.fingerprint().check());
+                } else {
+                    ps.setNull(base + 6, Types.BIGINT);
+                    ps.setNull(base + 7, Types.BIGINT);
+                }
+                if (importBatchId != null) {
+                    ps.setLong(base + 8, importBatchId);
+                } else {
+                    ps.setNull(base + 8, Types.BIGINT);
+                }
+                ps.setLong(base + 9, userId);
+                index++;
+            }
+        });
+    }
+
+    /**
+     * 既存行の確認値から、同じ明細の取り込みかどうかを判定する（確認値のない既存行は同じ明細とみなす）
+     */
+    private static boolean isSameImport(Long existingCheck, ImportFingerprint fingerprint) {
+        return existingCheck == null || existingCheck == fingerprint.check();
+    }
+
+    private static void logCollision(Long userId, ImportFingerprint fingerprint) {
+        logger.warn("取り込み指紋が別の明細と衝突したため、指紋なしで登録します: userId={}, fingerprint={}",
+                userId, fingerprint.value());
+    }
+
+    /**
+     * 登録する1行（fingerprint がnullの行は取り込み指紋なしで登録する）
+     */
+    private record ImportRow(ExpenseUpdate expense, ImportFingerprint fingerprint) {
+        ImportRow {
+            Objects.requireNonNull(expense, "expenseはnullであってはなりません");
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.smarthouseholdaccountbook.backend.repository;
 
 import com.smarthouseholdaccountbook.backend.entity.Expense;
-import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 支出エンティティのリポジトリインターフェース
@@ -22,63 +32,280 @@ import java.util.Optional;
  */
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     /**
-     * ユーザーを指定して支出を取得
+     * ユーザーIDを指定して支出を取得
      * 
-     * @param user ユーザーエンティティ
+     * @param userId ユーザーID
      * @return 該当ユーザーの支出リスト
      */
-    List<Expense> findByUser(User user);
+    List<Expense> findByUserId(Long userId);
     
     /**
-     * ユーザーとIDを指定して支出を取得
+     * ユーザーIDと支出IDを指定して支出を取得
+     * 
+     * user_id 列との比較になり、users テーブルの結合やユーザーの読み込みは発生しない。
      * 
      * @param id 支出ID
-     * @param user ユーザーエンティティ
+     * @param userId ユーザーID
      * @return 該当ユーザーの支出（存在しない場合は空）
      */
-    Optional<Expense> findByIdAndUser(Long id, User user);
+    Optional<Expense> findByIdAndUserId(Long id, Long userId);
 
     /**
-     * ユーザーと日付範囲を指定して支出を取得
+     * ユーザーIDと日付範囲を指定して支出を取得
      * 
-     * @param user ユーザーエンティティ
+     * @param userId ユーザーID
      * @param start 開始日（含む）
      * @param end 終了日（含む）
      * @return 該当ユーザーの指定期間内の支出リスト(降順でソート)
      */
-    @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.date.date >= :start AND e.date.date <= :end ORDER BY e.date.date DESC")
-    List<Expense> findByUserAndDateBetween(
-        @Param("user") User user,
+    @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.date.date >= :start AND e.date.date <= :end ORDER BY e.date.date DESC")
+    List<Expense> findByUserIdAndDateBetween(
+        @Param("userId") Long userId,
         @Param("start") LocalDate start,
         @Param("end") LocalDate end
     );
 
     /**
-     * ユーザーを指定して、利用可能な日付のリストを取得
+     * ユーザーIDを指定して、支出がある月のリストを取得
+     * 
+     * 日付ではなく支出月（yyyyMM形式の整数）単位で DISTINCT するため、
+     * 結果とスキャン量は日数ではなく月数に比例する。(user_id, expense_month) インデックスだけで完結する。
+     * 
+     * @param userId ユーザーID
+     * @return 支出月のリスト（yyyyMM形式の整数、降順でソート済み、重複なし）
+     */
+    @Query("SELECT DISTINCT e.expenseMonth FROM Expense e WHERE e.user.id = :userId ORDER BY e.expenseMonth DESC")
+    List<Integer> findDistinctExpenseMonthsByUserId(@Param("userId") Long userId);
+
+    /**
+     * ユーザーIDと日付のリストを指定して、重複判定キーを取得
+     * 
+     * 一括登録の重複チェック用。キーの列はすべてカバリングインデックス
+     * {@code idx_expenses_user_id_date_covering} に含まれるため、エンティティを生成せずインデックスのみで完結する。
      * 
-     * @param user ユーザーエンティティ
-     * @return 利用可能な日付のリスト（降順でソート済み、重複なし）
+     * @param userId ユーザーID
+     * @param dates 日付のリスト
+     * @return 該当ユーザーの指定日の支出の重複判定キー
+     */
+    @Query("SELECT new com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey("
+            + "e.date.date, e.amount.amount, e.description) FROM Expense e WHERE e.user.id = :userId AND e.date.date IN :dates")
+    List<ExpenseDuplicateKey> findDuplicateKeysByUserIdAndDateIn(
+        @Param("userId") Long userId,
+        @Param("dates") Collection<LocalDate> dates
+    );
+
+    /**
+     * ストリームで返すクエリ（エクスポート・重複チェック）で1回にDBから取り出す行数。
+     * MySQL では接続プロパティ useCursorFetch=true と組み合わせてサーバーサイドカーソルになり、
+     * 結果セット全体をクライアント側に読み込まない。
      */
-    @Query("SELECT DISTINCT e.date.date FROM Expense e WHERE e.user = :user ORDER BY e.date.date DESC")
-    List<LocalDate> findDistinctDatesByUser(@Param("user") User user);
+    String STREAM_FETCH_SIZE = "1000";
 
     /**
-     * ユーザーと月を指定して支出を取得（ページネーション対応）
+     * ユーザーIDと日付範囲を指定して、重複判定キーをストリームとして取得
+     * 
+     * CSVインポートの重複チェック用。エンティティを生成せず、カバリングインデックスの範囲走査だけで完結する。
+     * 呼び出し側は1行ずつ指紋に変換して捨てるため、期間内の件数が多くてもキーを溜め込まない。
+     * 呼び出し側はトランザクション内で使用し、使用後にストリームをクローズすること。
+     * 
+     * @param userId ユーザーID
+     * @param start 開始日（含む）
+     * @param end 終了日（含む）
+     * @return 該当ユーザーの指定期間内の支出の重複判定キー
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT new com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey("
+            + "e.date.date, e.amount.amount, e.description) FROM Expense e"
+            + " WHERE e.user.id = :userId AND e.date.date >= :start AND e.date.date <= :end")
+    Stream<ExpenseDuplicateKey> streamDuplicateKeysByUserIdAndDateBetween(
+        @Param("userId") Long userId,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    /**
+     * ユーザーIDと支出IDのリストを指定して、対象の支出がある月のリストを取得
+     * 
+     * 一括操作の前に呼び、キャッシュを無効化する月を求める。行そのものは読み込まない。
+     * 
+     * @param userId ユーザーID
+     * @param ids 支出IDのリスト
+     * @return 支出月のリスト（yyyyMM形式の整数、重複なし。他ユーザーの支出は含まない）
+     */
+    @Query("SELECT DISTINCT e.expenseMonth FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    List<Integer> findDistinctExpenseMonthsByUserIdAndIdIn(
+        @Param("userId") Long userId,
+        @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * ユーザーIDと支出IDのリストを指定して、支出を1回のDELETE文で一括削除
+     * 
+     * エンティティを読み込まない集合指向の削除のため、永続化コンテキストは自動でクリアする。
+     * 他ユーザーの支出は条件に一致しないため削除されない。
+     * 
+     * @param userId ユーザーID
+     * @param ids 支出IDのリスト
+     * @return 削除件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.user.id = :userId AND e.id IN :ids")
+    int deleteByUserIdAndIdIn(
+        @Param("userId") Long userId,
+        @Param("ids") Collection<Long> ids
+    );
+
+    /**
+     * ユーザーIDと取り込みバッチIDを指定して、対象の支出がある月のリストを取得
+     * 
+     * 取り込みバッチの取り消しの前に呼び、キャッシュを無効化する月を求める。行そのものは読み込まない。
+     * 
+     * @param userId ユーザーID
+     * @param importBatchId 取り込みバッチID
+     * @return 支出月のリスト（yyyyMM形式の整数、重複なし）
+     */
+    @Query("SELECT DISTINCT e.expenseMonth FROM Expense e WHERE e.user.id = :userId AND e.importBatchId = :importBatchId")
+    List<Integer> findDistinctExpenseMonthsByUserIdAndImportBatchId(
+        @Param("userId") Long userId,
+        @Param("importBatchId") Long importBatchId
+    );
+
+    /**
+     * ユーザーIDと取り込みバッチIDを指定して、バッチで取り込んだ支出を1回のDELETE文で一括削除
+     * 
+     * import_batch_id のインデックスで対象行を絞り込む集合指向の削除のため、永続化コンテキストは自動でクリアする。
+     * 
+     * @param userId ユーザーID
+     * @param importBatchId 取り込みバッチID
+     * @return 削除件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.user.id = :userId AND e.importBatchId = :importBatchId")
+    int deleteByUserIdAndImportBatchId(
+        @Param("userId") Long userId,
+        @Param("importBatchId") Long importBatchId
+    );
+
+    /**
+     * ユーザーIDと支出IDのリストを指定して、カテゴリを1回のUPDATE文で一括変更
+     * 
+     * エンティティを読み込まない集合指向の更新のため、永続化コンテキストは自動でクリアする。
+     * 他ユーザーの支出は条件に一致しないため変更されない。
+     * 
+     * @param userId ユーザーID
+     * @param ids 支出IDのリスト
+     * @param category 変更後のカテゴリ
+     * @return 対象件数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Expense e SET e.category = :category WHERE e.user.id = :userId AND e.id IN :ids")
+    int updateCategoryByUserIdAndIdIn(
+        @Param("userId") Long userId,
+        @Param("ids") Collection<Long> ids,
+        @Param("category") CategoryType category
+    );
+
+    /**
+     * 一覧表示用プロジェクションのSELECT句。
+     * エンティティを経由せずに {@link ExpenseListItem} を直接生成する。
+     */
+    String LIST_ITEM_SELECT = "SELECT new com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem("
+            + "e.id, e.date.date, e.category, e.amount.amount, e.description) FROM Expense e";
+
+    /**
+     * 一覧の対象行（ユーザー・月の範囲）の条件。
+     * e.user.id は user_id 列との比較になり、users テーブルとの結合は発生しない。
+     */
+    String LIST_ITEM_RANGE = " WHERE e.user.id = :userId AND e.date.date >= :startDate AND e.date.date <= :endDate";
+
+    /**
+     * 一覧の並び順。カバリングインデックス (user_id, date, id, ...) の逆順走査になる。
+     */
+    String LIST_ITEM_ORDER = " ORDER BY e.date.date DESC, e.id DESC";
+
+    /**
+     * ユーザーIDと月を指定して支出一覧を取得（ページネーション対応）
      * 
      * H2とMySQLの両方で動作するように、日付範囲を使用してクエリします。
+     * 一覧表示用のプロジェクションで返すため、エンティティは生成されません。
      * 
-     * @param user ユーザーエンティティ
+     * @param userId ユーザーID
      * @param startDate 月の開始日（含む）
      * @param endDate 月の終了日（含む）
      * @param pageable ページネーション情報
-     * @return 該当ユーザーの指定月の支出ページ
+     * @return 該当ユーザーの指定月の支出一覧ページ
      */
-    @Query("SELECT e FROM Expense e WHERE e.user = :user AND e.date.date >= :startDate AND e.date.date <= :endDate ORDER BY e.date.date DESC, e.id DESC")
-    Page<Expense> findByUserAndDateRange(
-        @Param("user") User user,
+    @Query(value = LIST_ITEM_SELECT + LIST_ITEM_RANGE + LIST_ITEM_ORDER,
+            countQuery = "SELECT COUNT(e) FROM Expense e" + LIST_ITEM_RANGE)
+    Page<ExpenseListItem> findByUserIdAndDateRange(
+        @Param("userId") Long userId,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate,
         Pageable pageable
     );
-}
 
+    /**
+     * ユーザーIDと月を指定して支出一覧の先頭ページを取得（キーセットページネーション）
+     * 
+     * 並び順は {@link #findByUserIdAndDateRange} と同じ (date DESC, id DESC)。COUNTクエリは発行しない。
+     * 
+     * @param userId ユーザーID
+     * @param startDate 月の開始日（含む）
+     * @param endDate 月の終了日（含む）
+     * @param limit 取得件数の上限
+     * @return 該当ユーザーの指定月の支出一覧
+     */
+    @Query(LIST_ITEM_SELECT + LIST_ITEM_RANGE + LIST_ITEM_ORDER)
+    List<ExpenseListItem> findFirstPageByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        Limit limit
+    );
+
+    /**
+     * ユーザーIDと月を指定して、カーソル位置より後ろの支出一覧を取得（キーセットページネーション）
+     * 
+     * カバリングインデックス (user_id, date, id, ...) 上でカーソル位置までシークするため、
+     * OFFSET と違ってページが深くなっても読み飛ばす行が増えない。
+     * 
+     * @param userId ユーザーID
+     * @param startDate 月の開始日（含む）
+     * @param endDate 月の終了日（含む）
+     * @param cursorDate 前ページ最後の行の日付
+     * @param cursorId 前ページ最後の行のID
+     * @param limit 取得件数の上限
+     * @return 該当ユーザーの指定月の、カーソルより後ろの支出一覧
+     */
+    @Query(LIST_ITEM_SELECT + LIST_ITEM_RANGE
+            + " AND (e.date.date < :cursorDate OR (e.date.date = :cursorDate AND e.id < :cursorId))"
+            + LIST_ITEM_ORDER)
+    List<ExpenseListItem> findPageAfterCursorByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("cursorDate") LocalDate cursorDate,
+        @Param("cursorId") Long cursorId,
+        Limit limit
+    );
+
+    /**
+     * ユーザーIDと日付範囲を指定して、支出を日付の昇順でストリームとして取得（エクスポート用）
+     * 
+     * 一覧表示用のプロジェクションを1行ずつ返すため、エンティティは生成されず永続化コンテキストも増えない。
+     * カバリングインデックス (user_id, date, id, ...) の順方向走査になる。
+     * 呼び出し側はトランザクション内で使用し、使用後にストリームをクローズすること。
+     * 
+     * @param userId ユーザーID
+     * @param startDate 開始日（含む）
+     * @param endDate 終了日（含む）
+     * @return 該当ユーザーの指定期間内の支出（date ASC, id ASC）
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(LIST_ITEM_SELECT + LIST_ITEM_RANGE + " ORDER BY e.date.date ASC, e.id ASC")
+    Stream<ExpenseListItem> streamByUserIdAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+}
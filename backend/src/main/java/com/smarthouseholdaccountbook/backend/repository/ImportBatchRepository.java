@@ -0,0 +1,43 @@
+package com.smarthouseholdaccountbook.backend.repository;
+
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 取り込みバッチエンティティのリポジトリインターフェース
+ */
+public interface ImportBatchRepository extends JpaRepository<ImportBatch, Long> {
+
+    /**
+     * ユーザーIDとファイルハッシュを指定して、取り消されていないバッチを取得する
+     *
+     * (user_id, active_file_hash) の一意制約により、該当するバッチは多くても1つ。
+     *
+     * @param userId   ユーザーID
+     * @param fileHash ファイルのSHA-256（16進数）
+     * @return 取り込みバッチ（存在しない場合は空）
+     */
+    Optional<ImportBatch> findByUserIdAndActiveFileHash(Long userId, String fileHash);
+
+    /**
+     * ユーザーIDとバッチIDを指定して取り込みバッチを取得する
+     *
+     * @param id     バッチID
+     * @param userId ユーザーID
+     * @return 該当ユーザーの取り込みバッチ（存在しない場合は空）
+     */
+    Optional<ImportBatch> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * ユーザーIDを指定して、新しい順に取り込みバッチを取得する
+     *
+     * @param userId ユーザーID
+     * @param limit  取得件数の上限
+     * @return 該当ユーザーの取り込みバッチのリスト（IDの降順）
+     */
+    List<ImportBatch> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+}
@@ -0,0 +1,26 @@
+package com.smarthouseholdaccountbook.backend.repository.projection;
+
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+
+import java.time.LocalDate;
+
+/**
+ * 支出一覧表示用の読み取り専用プロジェクション
+ *
+ * JPQL のコンストラクタ式で直接生成するため、エンティティ・値オブジェクト・User プロキシを生成せず、
+ * 永続化コンテキストにも載らない。列はすべてカバリングインデックス
+ * {@code idx_expenses_user_id_date_covering} に含まれるため、一覧クエリはインデックスのみで完結する。
+ *
+ * @param id          支出ID
+ * @param date        支出日
+ * @param category    カテゴリ
+ * @param amount      金額
+ * @param description 説明
+ */
+public record ExpenseListItem(
+        Long id,
+        LocalDate date,
+        CategoryType category,
+        Integer amount,
+        String description) {
+}
@@ -0,0 +1,57 @@
+package com.smarthouseholdaccountbook.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 のハッシュ計算
+ *
+ * ファイルハッシュ・キャッシュキー・ETag や JFR イベントのユーザー識別子など、SHA-256 を使う箇所で共通に使います。
+ * 文字列は UTF-8 でハッシュします。
+ */
+public final class Sha256 {
+
+    private Sha256() {
+    }
+
+    /**
+     * 新しい SHA-256 の {@link MessageDigest} を返す（スレッドセーフではないため、呼び出し元で使い分けること）
+     *
+     * @return SHA-256 の MessageDigest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 は Java SE の実装に必ず含まれる
+            throw new IllegalStateException("SHA-256が利用できません", e);
+        }
+    }
+
+    /**
+     * 文字列の SHA-256 を16進数文字列で求める
+     *
+     * @param value ハッシュする文字列
+     * @return SHA-256（16進数64文字）
+     */
+    public static String hex(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * ソルトを前に付けた文字列の SHA-256 の先頭を16進数文字列で求める
+     *
+     * @param salt      ソルト
+     * @param value     ハッシュする文字列
+     * @param hexLength 返す桁数（16進数。偶数で64以下）
+     * @return ソルト付き SHA-256 の先頭 hexLength 桁（16進数）
+     */
+    public static String saltedHexPrefix(byte[] salt, String value, int hexLength) {
+        MessageDigest digest = newDigest();
+        digest.update(salt);
+        byte[] hashed = digest.digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hashed, 0, hexLength / 2);
+    }
+}
@@ -0,0 +1,64 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * 支出一覧のキーセットページネーション用カーソル
+ *
+ * 一覧の並び順 (date DESC, id DESC) における「前ページ最後の行」の位置を表します。
+ * クライアントには内部構造を意識させないよう、Base64URL でエンコードした不透明な文字列として渡します。
+ *
+ * @param date 最後の行の日付
+ * @param id   最後の行のID
+ */
+public record ExpenseCursor(LocalDate date, long id) {
+    private static final char SEPARATOR = ':';
+
+    public ExpenseCursor {
+        Objects.requireNonNull(date, "dateはnullであってはなりません");
+    }
+
+    /**
+     * ページ最後の支出からカーソルを生成する
+     */
+    public static ExpenseCursor of(ExpenseListItem item) {
+        Objects.requireNonNull(item, "itemはnullであってはなりません");
+        return new ExpenseCursor(item.date(), item.id());
+    }
+
+    /**
+     * クライアントから受け取ったカーソル文字列を復元する
+     *
+     * @param encoded {@link #encode()} で生成した文字列
+     * @return カーソル
+     * @throws IllegalArgumentException 形式が不正な場合（GlobalExceptionHandlerで400に変換される）
+     */
+    public static ExpenseCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("カーソルの形式が不正です");
+            }
+            return new ExpenseCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("カーソルの形式が不正です", e);
+        }
+    }
+
+    /**
+     * クライアントに返す不透明なカーソル文字列に変換する
+     */
+    public String encode() {
+        String raw = date.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,21 +2,36 @@ package com.smarthouseholdaccountbook.backend.valueobject;
 
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParsedExpense;
 import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.util.Sha256;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.util.Objects;
 
 /**
- * CSVインポート時の重複判定用キー
+ * CSVインポート・一括登録時の重複判定用キー
  *
  * 日付・金額・説明の組み合わせで「同じ取引」かどうかを判定します。
  * record の equals/hashCode により Set での重複チェックに利用します。
+ * 大量の既存データと比較するときは、文字列を保持しない64bitの指紋（{@link #fingerprint()}）で先に絞り込みます。
  */
 public record ExpenseDuplicateKey(
         LocalDate date,
         int amount,
         String description) {
 
+    /** 指紋の計算に使う SHA-256 と作業用バッファ（スレッドごとに使い回す） */
+    private static final ThreadLocal<FingerprintDigest> FINGERPRINT_DIGEST =
+            ThreadLocal.withInitial(FingerprintDigest::new);
+
     /**
      * CSV解析結果から重複判定キーを生成する
      */
@@ -25,6 +40,14 @@ public record ExpenseDuplicateKey(
         return new ExpenseDuplicateKey(parsed.date(), parsed.amount(), parsed.description());
     }
 
+    /**
+     * 一括登録の支出の内容から重複判定キーを生成する
+     */
+    public static ExpenseDuplicateKey from(ExpenseUpdate expense) {
+        Objects.requireNonNull(expense, "expenseはnullであってはなりません");
+        return new ExpenseDuplicateKey(expense.date().getDate(), expense.amount().getAmount(), expense.description());
+    }
+
     /**
      * 既存の支出エンティティから重複判定キーを生成する
      */
@@ -35,4 +58,128 @@ public record ExpenseDuplicateKey(
                 expense.getAmount().getAmount(),
                 expense.getDescription());
     }
+
+    /**
+     * 重複判定キーの64bit指紋を返す
+     *
+     * 「日付|金額|説明」の UTF-8 表現の SHA-256 の先頭8バイト。JVM やプロセスによらず同じ値になる。
+     * 同じキーは必ず同じ指紋になるが、異なるキーが同じ指紋になる可能性はゼロではないため、
+     * 指紋が一致した場合はキー同士を比較して確定すること。
+     * <p>
+     * 既存データとの比較では全行について呼ばれるため、連結した文字列は作らず、
+     * スレッドごとの {@link MessageDigest} に各項目を直接書き込む（値は取り込み指紋列に保存済みの値と同じ）。
+     */
+    public long fingerprint() {
+        FingerprintDigest digest = FINGERPRINT_DIGEST.get();
+        digest.digest(date, amount, description != null ? description : "");
+        return digest.readLong(0);
+    }
+
+    /**
+     * 取り込み指紋列に保存する値を返す
+     *
+     * {@link #fingerprint()} と同じ SHA-256 の先頭8バイト（一意制約の対象）に加え、続く8バイトを確認値として返す。
+     * 指紋が一致した既存行と確認値を比べることで、同じ明細の再取り込みと、異なる明細の指紋の衝突を区別できる。
+     */
+    public ImportFingerprint importFingerprint() {
+        FingerprintDigest digest = FINGERPRINT_DIGEST.get();
+        digest.digest(date, amount, description != null ? description : "");
+        return new ImportFingerprint(digest.readLong(0), digest.readLong(Long.BYTES));
+    }
+
+    /**
+     * 取り込み指紋列（import_fingerprint, import_fingerprint_check）に保存する値
+     *
+     * @param value 取り込み指紋（{@link #fingerprint()} と同じ値）
+     * @param check 確認値（SHA-256 の9〜16バイト目）
+     */
+    public record ImportFingerprint(long value, long check) {
+    }
+
+    /**
+     * 「日付|金額|説明」の UTF-8 表現を、文字列を連結せずに SHA-256 へ書き込んでハッシュ値を求める
+     */
+    private static final class FingerprintDigest {
+        private final MessageDigest digest = Sha256.newDigest();
+        // String#getBytes と同じく、符号化できない文字（対になっていないサロゲート）は '?' に置き換える
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer buffer = ByteBuffer.allocate(512);
+        private final byte[] hash = new byte[digest.getDigestLength()];
+
+        void digest(LocalDate date, int amount, String description) {
+            buffer.clear();
+            putDate(date);
+            buffer.put((byte) '|');
+            putDecimal(amount);
+            buffer.put((byte) '|');
+            encoder.reset();
+            CharBuffer chars = CharBuffer.wrap(description);
+            while (encoder.encode(chars, buffer, true) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            while (encoder.flush(buffer) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            drain();
+            try {
+                digest.digest(hash, 0, hash.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("指紋を計算できません", e);
+            }
+        }
+
+        /** 直前に求めたハッシュ値の offset バイト目から8バイトをビッグエンディアンで読む */
+        long readLong(int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + Long.BYTES; i++) {
+                value = (value << 8) | (hash[i] & 0xFF);
+            }
+            return value;
+        }
+
+        private void drain() {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+
+        /** {@link LocalDate#toString()} と同じ表現（yyyy-MM-dd）で書き込む */
+        private void putDate(LocalDate date) {
+            int year = date.getYear();
+            if (year < 0 || year > 9999) {
+                buffer.put(date.toString().getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            putDigits(year, 4);
+            buffer.put((byte) '-');
+            putDigits(date.getMonthValue(), 2);
+            buffer.put((byte) '-');
+            putDigits(date.getDayOfMonth(), 2);
+        }
+
+        /** {@link Integer#toString(int)} と同じ表現で書き込む */
+        private void putDecimal(int value) {
+            long remaining = value;
+            if (remaining < 0) {
+                buffer.put((byte) '-');
+                remaining = -remaining;
+            }
+            int width = 1;
+            for (long limit = 10; width < 10 && remaining >= limit; limit *= 10) {
+                width++;
+            }
+            putDigits(remaining, width);
+        }
+
+        private void putDigits(long value, int width) {
+            int end = buffer.position() + width;
+            for (int i = end - 1; i >= end - width; i--) {
+                buffer.put(i, (byte) ('0' + value % 10));
+                value /= 10;
+            }
+            buffer.position(end);
+        }
+    }
 }
@@ -0,0 +1,12 @@
+-- ========================================
+-- 支出一覧用のカバリングインデックス
+-- 一覧クエリ（user_id で等価検索 → date, id の降順）が参照する列をすべて含め、
+-- テーブル本体を読まずにインデックスだけで結果を返せるようにする。
+-- 既存の (user_id, date) は新インデックスの先頭と重複するため削除する
+-- （外部キー fk_expenses_user は新インデックスで引き続き支えられる）。
+-- ========================================
+
+ALTER TABLE expenses
+    ADD INDEX idx_expenses_user_id_date_covering (user_id, date, id, amount, category, description),
+    DROP INDEX idx_expenses_user_id_and_date,
+    ALGORITHM=INPLACE, LOCK=NONE;
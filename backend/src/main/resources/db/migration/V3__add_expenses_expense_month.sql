@@ -0,0 +1,17 @@
+-- ========================================
+-- 支出月（expense_month）列の追加
+-- 利用可能な月の一覧を日付単位ではなく月単位で DISTINCT できるよう、
+-- 日付から導出した yyyyMM 形式の整数（例: 2024-01-15 → 202401）を保持する。
+-- 値はアプリ（Expense エンティティ）が日付の設定・変更時に更新する。
+-- ========================================
+
+ALTER TABLE expenses
+    ADD COLUMN expense_month INT NULL AFTER date;
+
+UPDATE expenses
+SET expense_month = YEAR(date) * 100 + MONTH(date)
+WHERE expense_month IS NULL;
+
+ALTER TABLE expenses
+    MODIFY COLUMN expense_month INT NOT NULL,
+    ADD INDEX idx_expenses_user_id_expense_month (user_id, expense_month);
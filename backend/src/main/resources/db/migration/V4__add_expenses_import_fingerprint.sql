@@ -0,0 +1,12 @@
+-- ========================================
+-- 取り込み指紋（import_fingerprint）列の追加
+-- CSVインポート・一括登録で作成した行に、取り込み元の行の指紋
+-- （日付・金額・説明から求めた64bit値。ExpenseDuplicateKey#fingerprint()）を保持する。
+-- (user_id, import_fingerprint) の一意制約により、同じ明細を同時に取り込んでも二重登録されない
+-- （INSERT IGNORE で重複行はスキップされる）。
+-- 手動登録の行と既存の行は NULL のまま（一意制約の対象外）。
+-- ========================================
+
+ALTER TABLE expenses
+    ADD COLUMN import_fingerprint BIGINT NULL AFTER category,
+    ADD UNIQUE INDEX uk_expenses_user_id_import_fingerprint (user_id, import_fingerprint);
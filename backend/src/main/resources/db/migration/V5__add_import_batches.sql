@@ -0,0 +1,29 @@
+-- ========================================
+-- 取り込みバッチ（import_batches）テーブルの追加
+-- CSVアップロード1回分の取り込み元（ファイルのSHA-256、CSV形式）と結果（件数、開始・完了日時）を記録する。
+-- 同じハッシュの取り込みが取り消されずに残っていれば、再アップロードは取り込まずに終了する。
+--
+-- expenses.import_batch_id は取り込んだバッチのID（手動登録・一括登録の行と既存の行は NULL）。
+-- 取り消しは import_batch_id の索引を使った1回の DELETE 文で行い、バッチの行は rolled_back_at を設定して残す。
+-- ========================================
+
+CREATE TABLE import_batches (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    file_hash VARCHAR(64) NOT NULL,
+    csv_format VARCHAR(50) NOT NULL,
+    success_count INT NOT NULL DEFAULT 0,
+    skipped_count INT NOT NULL DEFAULT 0,
+    error_count INT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6) NULL,
+    rolled_back_at TIMESTAMP(6) NULL,
+    PRIMARY KEY (id),
+    KEY idx_import_batches_user_id_file_hash (user_id, file_hash),
+    CONSTRAINT fk_import_batches_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE expenses
+    ADD COLUMN import_batch_id BIGINT NULL AFTER import_fingerprint,
+    ADD KEY idx_expenses_import_batch_id (import_batch_id),
+    ADD CONSTRAINT fk_expenses_import_batch FOREIGN KEY (import_batch_id) REFERENCES import_batches (id);
@@ -0,0 +1,11 @@
+-- ========================================
+-- 取り込み指紋の確認値（import_fingerprint_check）列の追加
+-- import_fingerprint は SHA-256 の先頭8バイトのため、異なる明細が同じ指紋になる可能性がある。
+-- 続く8バイト（ExpenseDuplicateKey#importFingerprint()）を確認値として保持し、
+-- 指紋が一致した既存行が同じ明細の再取り込みか、別の明細との衝突かを区別する。
+-- 衝突した明細は指紋なし（NULL）で登録する（ExpenseJdbcRepository）。
+-- 既存の行は NULL のまま（指紋が一致すれば同じ明細として扱う）。
+-- ========================================
+
+ALTER TABLE expenses
+    ADD COLUMN import_fingerprint_check BIGINT NULL AFTER import_fingerprint;
@@ -0,0 +1,25 @@
+-- ========================================
+-- 取り込みバッチの有効なファイルハッシュ（active_file_hash）列と一意制約の追加
+-- 同じファイルが取り込み済みかの判定は読み取り後の登録のため、同じファイルを同時にアップロードすると
+-- 両方が取り込みバッチを作成していた。取り消されていないバッチだけが file_hash と同じ値を持つ列を設け、
+-- (user_id, active_file_hash) の一意制約で、取り消されていない同じファイルのバッチを1つに限る。
+-- 取り消したバッチは NULL にする（一意制約の対象外。取り消した後の再アップロードは再び取り込む）。
+--
+-- 既存の取り消されていないバッチは、同じファイルの最新のバッチだけに設定する
+-- （同時アップロードで重複したバッチが既にあっても一意制約を追加できるようにするため）。
+-- 重複判定は新しい一意制約の索引で行うため、V5 の (user_id, file_hash) の索引は削除する。
+-- ========================================
+
+ALTER TABLE import_batches
+    ADD COLUMN active_file_hash VARCHAR(64) NULL AFTER file_hash;
+
+UPDATE import_batches b
+    JOIN (SELECT MAX(id) AS id
+          FROM import_batches
+          WHERE rolled_back_at IS NULL
+          GROUP BY user_id, file_hash) latest ON b.id = latest.id
+SET b.active_file_hash = b.file_hash;
+
+ALTER TABLE import_batches
+    ADD UNIQUE INDEX uk_import_batches_user_id_active_file_hash (user_id, active_file_hash),
+    DROP INDEX idx_import_batches_user_id_file_hash;
@@ -0,0 +1,104 @@
+package com.smarthouseholdaccountbook.backend.application.mapper;
+
+import com.smarthouseholdaccountbook.backend.benchmark.BenchmarkDatasets;
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
+import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseMapper の JMH ベンチマーク
+ *
+ * 1か月分の支出（10件〜100,000件）について、一覧レスポンスの作成（エンティティ / 一覧用プロジェクションから DTO）、
+ * 一括登録の要素の変換（リクエスト DTO から ExpenseUpdate）、月別サマリーの DTO 変換の時間を測ります。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=ExpenseMapperBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseMapperBenchmark {
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+
+    @Param({"10", "1000", "100000"})
+    private int expenseCount;
+
+    private final ExpenseMapper mapper = new ExpenseMapper();
+    private List<Expense> expenses;
+    private List<ExpenseListItem> listItems;
+    private List<ExpenseRequestDto> requests;
+    private MonthlySummary summary;
+
+    @Setup
+    public void setUp() {
+        expenses = BenchmarkDatasets.monthOfExpenses(MONTH, expenseCount);
+        listItems = new ArrayList<>(expenseCount);
+        requests = new ArrayList<>(expenseCount);
+        long id = 1;
+        for (Expense expense : expenses) {
+            listItems.add(new ExpenseListItem(id++, expense.getDate().getDate(), expense.getCategory(),
+                    expense.getAmount().getAmount(), expense.getDescription()));
+            ExpenseRequestDto request = new ExpenseRequestDto();
+            request.setDescription(expense.getDescription());
+            request.setAmount(expense.getAmount().getAmount());
+            request.setDate(expense.getDate().getDate());
+            request.setCategory(expense.getCategory().getDisplayName());
+            requests.add(request);
+        }
+        summary = MonthlySummary.createMonthlySummaryFromExpenses(expenses, MONTH.toString());
+    }
+
+    @Benchmark
+    public List<ExpenseDto> entitiesToDto() {
+        List<ExpenseDto> dtos = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            dtos.add(mapper.toDto(expense));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ExpenseDto> listItemsToDto() {
+        List<ExpenseDto> dtos = new ArrayList<>(listItems.size());
+        for (ExpenseListItem item : listItems) {
+            dtos.add(mapper.toDto(item));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<ExpenseUpdate> requestsToExpenseUpdate() {
+        List<ExpenseUpdate> updates = new ArrayList<>(requests.size());
+        for (ExpenseRequestDto request : requests) {
+            updates.add(mapper.toExpenseUpdate(request));
+        }
+        return updates;
+    }
+
+    @Benchmark
+    public MonthlySummaryDto monthlySummaryToDto() {
+        return mapper.toDto(summary);
+    }
+}
@@ -7,6 +7,7 @@ import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
 
 import java.util.List;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
@@ -55,6 +56,20 @@ class ExpenseMapperTest {
         assertNull(mapper.toDto((Expense) null));
     }
 
+    @Test
+    void toDto_一覧プロジェクションから変換する() {
+        ExpenseListItem item = new ExpenseListItem(10L, LocalDate.of(2024, 6, 1), CategoryType.FOOD, 1234, "説明");
+
+        ExpenseDto dto = mapper.toDto(item);
+
+        assertEquals(10L, dto.getId());
+        assertEquals("説明", dto.getDescription());
+        assertEquals(1234, dto.getAmount());
+        assertEquals(LocalDate.of(2024, 6, 1), dto.getDate());
+        assertEquals("食費", dto.getCategory());
+        assertNull(mapper.toDto((ExpenseListItem) null));
+    }
+
     @Test
     void toEntity_ExpenseDtoからEntityへ変換() {
         // テストデータの準備
@@ -109,7 +124,7 @@ class ExpenseMapperTest {
     @Test
     void toDto_CsvUploadResult_skippedCountを含めて変換する() {
         CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(
-                3, 1, 20, List.of(new CsvParseError(5, "line", "msg")));
+                3, 1, 20, List.of(new CsvParseError(5, "line", "msg")), 42L, false);
 
         CsvUploadResponseDto dto = mapper.toDto(result);
 
@@ -118,6 +133,8 @@ class ExpenseMapperTest {
         assertEquals(20, dto.getSkippedCount());
         assertEquals(1, dto.getErrorCount());
         assertEquals(1, dto.getErrors().size());
+        assertEquals(42L, dto.getImportBatchId());
+        assertEquals(false, dto.getAlreadyImported());
     }
 
     @Test
@@ -1,16 +1,21 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvFormat;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvParser;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvParserFactory;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParsedExpense;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseResult;
-import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
 import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseJdbcRepository;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
-import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
-import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,22 +23,34 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Collections;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -48,6 +65,12 @@ class CsvExpenseServiceTest {
     @Mock
     private ExpenseRepository expenseRepository;
 
+    @Mock
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Mock
+    private ImportBatchRepository importBatchRepository;
+
     @Mock
     private UserApplicationService userApplicationService;
 
@@ -57,6 +80,15 @@ class CsvExpenseServiceTest {
     @Mock
     private AiCategoryService aiCategoryService;
 
+    @Mock
+    private ExpenseSummaryCache expenseSummaryCache;
+
+    @Mock
+    private ExpenseVersionStore expenseVersionStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @Mock
     private CsvParser csvParser;
 
@@ -66,27 +98,49 @@ class CsvExpenseServiceTest {
     @InjectMocks
     private CsvExpenseService csvExpenseService;
 
-    private User user;
+    private static final Long USER_ID = 1L;
+    /** 空ファイル（テストのアップロード内容）の SHA-256 */
+    private static final String EMPTY_FILE_SHA256 =
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
 
     @BeforeEach
     void setUp() throws IOException {
-        user = new User("cognito-sub", "test@example.com");
-        when(userApplicationService.getUser()).thenReturn(user);
+        when(userApplicationService.getCurrentUser()).thenReturn(new UserPrincipal(USER_ID, "cognito-sub"));
         when(csvParserFactory.getParser(any(CsvFormat.class))).thenReturn(csvParser);
-        when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        // ストリーミングアップロードのテストではファイルを使わないため lenient() にする
+        lenient().when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        // 有効な行がないテストでは取り込みバッチを記録しないため lenient() にする
+        lenient().when(userApplicationService.getUserReference(USER_ID))
+                .thenReturn(new User("cognito-sub", "test@example.com"));
+        lenient().when(importBatchRepository.save(any(ImportBatch.class))).thenAnswer(inv -> inv.getArgument(0));
     }
 
     private CsvParsedExpense expense(String description, LocalDate date, int amount) {
         return new CsvParsedExpense(description, date, amount);
     }
 
-    private Expense existingExpense(String description, LocalDate date, int amount) {
-        return new Expense(
-                description,
-                new ExpenseAmount(amount),
-                new ExpenseDate(date),
-                CategoryType.FOOD,
-                user);
+    private ExpenseDuplicateKey existingKey(String description, LocalDate date, int amount) {
+        return new ExpenseDuplicateKey(date, amount, description);
+    }
+
+    /**
+     * 期間内の既存支出を設定する。指紋が一致した日付の厳密比較でも同じキーを返す。
+     */
+    private void givenExistingKeys(LocalDate start, LocalDate end, ExpenseDuplicateKey... keys) {
+        when(expenseRepository.streamDuplicateKeysByUserIdAndDateBetween(USER_ID, start, end))
+                .thenReturn(Stream.of(keys));
+        if (keys.length > 0) {
+            when(expenseRepository.findDuplicateKeysByUserIdAndDateIn(eq(USER_ID), any()))
+                    .thenReturn(List.of(keys));
+        }
+    }
+
+    /**
+     * 渡した行をすべて登録した（一意制約でスキップされた行はない）ことにする
+     */
+    private void givenAllRowsInserted() {
+        when(expenseJdbcRepository.insertIgnoringDuplicates(eq(USER_ID), any(), any()))
+                .thenAnswer(inv -> inv.<List<?>>getArgument(2).size());
     }
 
     private void givenParseResult(List<CsvParsedExpense> validExpenses) throws IOException {
@@ -104,18 +158,18 @@ class CsvExpenseServiceTest {
                     expense("店A", LocalDate.of(2025, 11, 1), 1000),
                     expense("店B", LocalDate.of(2025, 11, 2), 2000));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2025, 11, 2))))
-                    .thenReturn(Collections.emptyList());
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 2));
             when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
-            when(expenseRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+            givenAllRowsInserted();
 
             CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
                     multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
 
             assertThat(result.successCount()).isEqualTo(2);
             assertThat(result.skippedCount()).isZero();
-            verify(expenseRepository, times(1)).saveAll(any());
+            verify(expenseJdbcRepository, times(1)).insertIgnoringDuplicates(eq(USER_ID), any(), any());
+            // 指紋が一致しなければ厳密比較のクエリは発行しない
+            verify(expenseRepository, never()).findDuplicateKeysByUserIdAndDateIn(any(), any());
         }
 
         @Test
@@ -125,11 +179,9 @@ class CsvExpenseServiceTest {
                     expense("店A", LocalDate.of(2025, 11, 1), 1000),
                     expense("店B", LocalDate.of(2025, 11, 2), 2000));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2025, 11, 2))))
-                    .thenReturn(List.of(
-                            existingExpense("店A", LocalDate.of(2025, 11, 1), 1000),
-                            existingExpense("店B", LocalDate.of(2025, 11, 2), 2000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 2),
+                    existingKey("店A", LocalDate.of(2025, 11, 1), 1000),
+                    existingKey("店B", LocalDate.of(2025, 11, 2), 2000));
 
             CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
                     multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
@@ -137,7 +189,9 @@ class CsvExpenseServiceTest {
             assertThat(result.successCount()).isZero();
             assertThat(result.skippedCount()).isEqualTo(2);
             verify(aiCategoryService, never()).predictCategoriesBatch(any());
-            verify(expenseRepository, never()).saveAll(any());
+            verify(expenseJdbcRepository, never()).insertIgnoringDuplicates(any(), any(), any());
+            verify(expenseSummaryCache, never()).evictAfterCommit(any(), any());
+            verify(expenseVersionStore, never()).bumpAfterCommit(any(), any());
         }
 
         @Test
@@ -148,13 +202,11 @@ class CsvExpenseServiceTest {
                     expense("店B", LocalDate.of(2025, 11, 2), 2000),
                     expense("店C", LocalDate.of(2025, 11, 3), 3000));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2025, 11, 3))))
-                    .thenReturn(List.of(
-                            existingExpense("店A", LocalDate.of(2025, 11, 1), 1000),
-                            existingExpense("店B", LocalDate.of(2025, 11, 2), 2000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 3),
+                    existingKey("店A", LocalDate.of(2025, 11, 1), 1000),
+                    existingKey("店B", LocalDate.of(2025, 11, 2), 2000));
             when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
-            when(expenseRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+            givenAllRowsInserted();
 
             CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
                     multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
@@ -163,10 +215,12 @@ class CsvExpenseServiceTest {
             assertThat(result.skippedCount()).isEqualTo(2);
 
             @SuppressWarnings("unchecked")
-            ArgumentCaptor<List<Expense>> captor = ArgumentCaptor.forClass(List.class);
-            verify(expenseRepository).saveAll(captor.capture());
+            ArgumentCaptor<List<ExpenseUpdate>> captor = ArgumentCaptor.forClass(List.class);
+            verify(expenseJdbcRepository).insertIgnoringDuplicates(eq(USER_ID), any(), captor.capture());
             assertThat(captor.getValue()).hasSize(1);
-            assertThat(captor.getValue().get(0).getDescription()).isEqualTo("店C");
+            assertThat(captor.getValue().get(0).description()).isEqualTo("店C");
+            verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2025, 11)));
+            verify(expenseVersionStore).bumpAfterCommit("cognito-sub", List.of(YearMonth.of(2025, 11)));
         }
 
         @Test
@@ -176,11 +230,9 @@ class CsvExpenseServiceTest {
                     expense("店A", LocalDate.of(2025, 11, 1), 1000),
                     expense("店A", LocalDate.of(2025, 11, 1), 1000));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2025, 11, 1))))
-                    .thenReturn(Collections.emptyList());
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 1));
             when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
-            when(expenseRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+            givenAllRowsInserted();
 
             CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
                     multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
@@ -195,17 +247,72 @@ class CsvExpenseServiceTest {
             List<CsvParsedExpense> parsed = List.of(
                     expense("手動登録店", LocalDate.of(2025, 11, 5), 500));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 5)), eq(LocalDate.of(2025, 11, 5))))
-                    .thenReturn(List.of(
-                            existingExpense("手動登録店", LocalDate.of(2025, 11, 5), 500)));
+            givenExistingKeys(LocalDate.of(2025, 11, 5), LocalDate.of(2025, 11, 5),
+                    existingKey("手動登録店", LocalDate.of(2025, 11, 5), 500));
 
             CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
                     multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
 
             assertThat(result.successCount()).isZero();
             assertThat(result.skippedCount()).isEqualTo(1);
-            verify(expenseRepository, never()).saveAll(any());
+            verify(expenseJdbcRepository, never()).insertIgnoringDuplicates(any(), any(), any());
+        }
+        @Test
+        @DisplayName("指紋が一致しても、厳密比較で既存キーと一致しない行は保存する")
+        void savesRowWhenFingerprintMatchesButKeyDiffers() throws IOException {
+            List<CsvParsedExpense> parsed = List.of(
+                    expense("店A", LocalDate.of(2025, 11, 1), 1000));
+            givenParseResult(parsed);
+            when(expenseRepository.streamDuplicateKeysByUserIdAndDateBetween(
+                    USER_ID, LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 1)))
+                    .thenReturn(Stream.of(existingKey("店A", LocalDate.of(2025, 11, 1), 1000)));
+            // 指紋の衝突を想定し、同じ日付の既存キーは別の内容を返す
+            when(expenseRepository.findDuplicateKeysByUserIdAndDateIn(USER_ID, Set.of(LocalDate.of(2025, 11, 1))))
+                    .thenReturn(List.of(existingKey("店B", LocalDate.of(2025, 11, 1), 1000)));
+            when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
+            givenAllRowsInserted();
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.successCount()).isEqualTo(1);
+            assertThat(result.skippedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("同時に取り込まれた行が一意制約でスキップされたとき、スキップ件数に数える")
+        void countsRowsSkippedByUniqueConstraint() throws IOException {
+            List<CsvParsedExpense> parsed = List.of(
+                    expense("店A", LocalDate.of(2025, 11, 1), 1000),
+                    expense("店B", LocalDate.of(2025, 11, 2), 2000));
+            givenParseResult(parsed);
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 2));
+            when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
+            // 別のアップロードが先に1行を登録していた
+            when(expenseJdbcRepository.insertIgnoringDuplicates(eq(USER_ID), any(), any())).thenReturn(1);
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.successCount()).isEqualTo(1);
+            assertThat(result.skippedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("すべての行が一意制約でスキップされたとき、キャッシュを無効化しない")
+        void doesNotEvictWhenAllRowsSkippedByUniqueConstraint() throws IOException {
+            givenParseResult(List.of(expense("店A", LocalDate.of(2025, 11, 1), 1000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 1));
+            when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
+            when(expenseJdbcRepository.insertIgnoringDuplicates(eq(USER_ID), any(), any())).thenReturn(0);
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.successCount()).isZero();
+            assertThat(result.skippedCount()).isEqualTo(1);
+            verify(expenseSummaryCache, never()).evictAfterCommit(any(), any());
+            verify(expenseVersionStore, never()).bumpAfterCommit(any(), any());
         }
     }
 
@@ -220,18 +327,182 @@ class CsvExpenseServiceTest {
                     expense("既存店", LocalDate.of(2025, 11, 1), 1000),
                     expense("新店", LocalDate.of(2025, 11, 2), 2000));
             givenParseResult(parsed);
-            when(expenseRepository.findByUserAndDateBetween(
-                    eq(user), eq(LocalDate.of(2025, 11, 1)), eq(LocalDate.of(2025, 11, 2))))
-                    .thenReturn(List.of(
-                            existingExpense("既存店", LocalDate.of(2025, 11, 1), 1000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 2),
+                    existingKey("既存店", LocalDate.of(2025, 11, 1), 1000));
             Map<String, CategoryType> categoryMap = new HashMap<>();
             categoryMap.put("新店", CategoryType.FOOD);
             when(aiCategoryService.predictCategoriesBatch(List.of("新店"))).thenReturn(categoryMap);
-            when(expenseRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+            givenAllRowsInserted();
 
             csvExpenseService.uploadCsvAndAddExpenses(multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
 
             verify(aiCategoryService).predictCategoriesBatch(List.of("新店"));
         }
     }
+
+    @Nested
+    @DisplayName("取り込みバッチ")
+    class ImportBatchRecording {
+
+        @Test
+        @DisplayName("取り込みのたびにファイルハッシュと件数を取り込みバッチに記録する")
+        void recordsImportBatchWithHashAndCounts() throws IOException {
+            givenParseResult(List.of(
+                    expense("店A", LocalDate.of(2025, 11, 1), 1000),
+                    expense("店B", LocalDate.of(2025, 11, 2), 2000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 2),
+                    existingKey("店A", LocalDate.of(2025, 11, 1), 1000));
+            when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
+            givenAllRowsInserted();
+
+            csvExpenseService.uploadCsvAndAddExpenses(multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            ArgumentCaptor<ImportBatch> captor = ArgumentCaptor.forClass(ImportBatch.class);
+            verify(importBatchRepository).save(captor.capture());
+            ImportBatch importBatch = captor.getValue();
+            assertThat(importBatch.getFileHash()).isEqualTo(EMPTY_FILE_SHA256);
+            assertThat(importBatch.getCsvFormat()).isEqualTo("MITSUISUMITOMO_OLD_FORMAT");
+            assertThat(importBatch.getSuccessCount()).isEqualTo(1);
+            assertThat(importBatch.getSkippedCount()).isEqualTo(1);
+            assertThat(importBatch.getErrorCount()).isZero();
+            assertThat(importBatch.getCompletedAt()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("同じファイルが取り込み済みのとき、解析・登録を行わずに取り込み済みとして返す")
+        void shortCircuitsWhenSameFileAlreadyImported() throws IOException {
+            ImportBatch imported = mock(ImportBatch.class);
+            when(imported.getId()).thenReturn(7L);
+            when(importBatchRepository.findByUserIdAndActiveFileHash(
+                    USER_ID, EMPTY_FILE_SHA256)).thenReturn(Optional.of(imported));
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.alreadyImported()).isTrue();
+            assertThat(result.importBatchId()).isEqualTo(7L);
+            assertThat(result.successCount()).isZero();
+            verify(csvParser, never()).parse(any());
+            verify(importBatchRepository, never()).save(any());
+            verify(expenseJdbcRepository, never()).insertIgnoringDuplicates(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("同じファイルの同時アップロードで取り込みバッチの登録が一意制約違反になったとき、先に登録されたバッチを取り込み済みとして返す")
+        void returnsConcurrentlyImportedBatchOnUniqueViolation() throws IOException {
+            givenParseResult(List.of(expense("店A", LocalDate.of(2025, 11, 1), 1000)));
+            ImportBatch imported = mock(ImportBatch.class);
+            when(imported.getId()).thenReturn(9L);
+            // 解析前・登録前の判定では未登録、一意制約違反の後には先のバッチがコミット済み
+            when(importBatchRepository.findByUserIdAndActiveFileHash(USER_ID, EMPTY_FILE_SHA256))
+                    .thenReturn(Optional.empty(), Optional.empty(), Optional.of(imported));
+            when(importBatchRepository.save(any(ImportBatch.class)))
+                    .thenThrow(new DataIntegrityViolationException("uk_import_batches_user_id_active_file_hash"));
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.alreadyImported()).isTrue();
+            assertThat(result.importBatchId()).isEqualTo(9L);
+            verify(transactionManager).rollback(any());
+            verify(expenseJdbcRepository, never()).insertIgnoringDuplicates(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("一意制約違反の後も取り込み済みのバッチがないときは、例外をそのまま投げる")
+        void rethrowsIntegrityViolationWhenNoImportedBatch() throws IOException {
+            givenParseResult(List.of(expense("店A", LocalDate.of(2025, 11, 1), 1000)));
+            DataIntegrityViolationException violation = new DataIntegrityViolationException("violation");
+            when(importBatchRepository.save(any(ImportBatch.class))).thenThrow(violation);
+
+            assertThatThrownBy(() -> csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT))
+                    .isSameAs(violation);
+        }
+
+        @Test
+        @DisplayName("有効な行がないとき、取り込みバッチを記録しない")
+        void doesNotRecordImportBatchWhenNoValidRows() throws IOException {
+            givenParseResult(List.of());
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvAndAddExpenses(
+                    multipartFile, CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.importBatchId()).isNull();
+            assertThat(result.alreadyImported()).isFalse();
+            verify(importBatchRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("ストリーミングアップロード")
+    class StreamUpload {
+
+        /** "abc" の SHA-256 */
+        private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+        /**
+         * パーサーが本文を最後まで読み込んだうえで、指定した解析結果を返すようにする
+         */
+        private void givenParserConsumesBody(List<CsvParsedExpense> validExpenses) throws IOException {
+            when(csvParser.parse(any())).thenAnswer(inv -> {
+                inv.<InputStream>getArgument(0).readAllBytes();
+                return new CsvParseResult(validExpenses, List.of());
+            });
+        }
+
+        @Test
+        @DisplayName("解析しながら求めた本文のハッシュで取り込みバッチを記録する")
+        void recordsHashComputedWhileParsing() throws IOException {
+            givenParserConsumesBody(List.of(expense("店A", LocalDate.of(2025, 11, 1), 1000)));
+            givenExistingKeys(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 1));
+            when(aiCategoryService.predictCategoriesBatch(any())).thenReturn(Map.of());
+            givenAllRowsInserted();
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvStreamAndAddExpenses(
+                    new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)),
+                    CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.successCount()).isEqualTo(1);
+            ArgumentCaptor<ImportBatch> captor = ArgumentCaptor.forClass(ImportBatch.class);
+            verify(importBatchRepository).save(captor.capture());
+            assertThat(captor.getValue().getFileHash()).isEqualTo(ABC_SHA256);
+        }
+
+        @Test
+        @DisplayName("本文の受信・解析が終わってからトランザクションを開始する")
+        void beginsTransactionAfterParsing() throws IOException {
+            givenParserConsumesBody(List.of());
+
+            csvExpenseService.uploadCsvStreamAndAddExpenses(
+                    new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)),
+                    CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            InOrder inOrder = inOrder(csvParser, transactionManager, importBatchRepository);
+            inOrder.verify(csvParser).parse(any());
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(importBatchRepository)
+                    .findByUserIdAndActiveFileHash(USER_ID, ABC_SHA256);
+            inOrder.verify(transactionManager).commit(any());
+        }
+
+        @Test
+        @DisplayName("同じ本文が取り込み済みのとき、解析後に登録せず取り込み済みとして返す")
+        void shortCircuitsAfterParsingWhenAlreadyImported() throws IOException {
+            givenParserConsumesBody(List.of(expense("店A", LocalDate.of(2025, 11, 1), 1000)));
+            ImportBatch imported = mock(ImportBatch.class);
+            when(imported.getId()).thenReturn(3L);
+            when(importBatchRepository.findByUserIdAndActiveFileHash(
+                    USER_ID, ABC_SHA256)).thenReturn(Optional.of(imported));
+
+            CsvExpenseService.CsvUploadResult result = csvExpenseService.uploadCsvStreamAndAddExpenses(
+                    new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII)),
+                    CsvFormat.MITSUISUMITOMO_OLD_FORMAT);
+
+            assertThat(result.alreadyImported()).isTrue();
+            assertThat(result.importBatchId()).isEqualTo(3L);
+            verify(importBatchRepository, never()).save(any());
+            verify(aiCategoryService, never()).predictCategoriesBatch(any());
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseVersionStore;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
 import com.smarthouseholdaccountbook.backend.entity.User;
@@ -10,14 +13,22 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import com.smarthouseholdaccountbook.backend.exception.ExpenseNotFoundException;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseCursor;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,12 +41,21 @@ import static org.mockito.Mockito.*;
  */
 @ExtendWith(MockitoExtension.class)
 class ExpenseApplicationServiceTest {
+    private static final Long USER_ID = 1L;
+    private static final UserPrincipal PRINCIPAL = new UserPrincipal(USER_ID, "cognitoSub");
+
     @Mock
     private ExpenseRepository expenseRepository;
 
     @Mock
     private UserApplicationService userApplicationService;
 
+    @Mock
+    private ExpenseSummaryCache expenseSummaryCache;
+
+    @Mock
+    private ExpenseVersionStore expenseVersionStore;
+
     @InjectMocks
     private ExpenseApplicationService expenseApplicationService;
 
@@ -48,7 +68,8 @@ class ExpenseApplicationServiceTest {
                 CategoryType.FOOD);
 
         User user = new User("cognitoSub", "test@example.com");
-        when(userApplicationService.getUser()).thenReturn(user);
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(userApplicationService.getUserReference(USER_ID)).thenReturn(user);
         when(expenseRepository.save(any(Expense.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Expense result = expenseApplicationService.addExpense(creation);
@@ -59,6 +80,8 @@ class ExpenseApplicationServiceTest {
         assertEquals(LocalDate.of(2024, 1, 1), result.getDate().getDate());
         assertEquals(CategoryType.FOOD, result.getCategory());
         verify(expenseRepository, times(1)).save(any(Expense.class));
+        verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 1)));
+        verify(expenseVersionStore).bumpAfterCommit("cognitoSub", List.of(YearMonth.of(2024, 1)));
     }
 
     @Test
@@ -78,8 +101,8 @@ class ExpenseApplicationServiceTest {
                 CategoryType.FOOD,
                 user);
 
-        when(userApplicationService.getUser()).thenReturn(user);
-        when(expenseRepository.findByIdAndUser(expenseId, user)).thenReturn(Optional.of(existingExpense));
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(expenseRepository.findByIdAndUserId(expenseId, USER_ID)).thenReturn(Optional.of(existingExpense));
         when(expenseRepository.save(existingExpense)).thenReturn(existingExpense);
 
         Expense result = expenseApplicationService.updateExpense(expenseId, expenseUpdate);
@@ -89,8 +112,9 @@ class ExpenseApplicationServiceTest {
         assertEquals(1500, result.getAmount().getAmount());
         assertEquals(LocalDate.of(2024, 1, 15), result.getDate().getDate());
         assertEquals(CategoryType.ENTERTAINMENT, result.getCategory());
-        verify(expenseRepository, times(1)).findByIdAndUser(expenseId, user);
+        verify(expenseRepository, times(1)).findByIdAndUserId(expenseId, USER_ID);
         verify(expenseRepository, times(1)).save(existingExpense);
+        verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 1)));
     }
 
     @Test
@@ -102,16 +126,16 @@ class ExpenseApplicationServiceTest {
                 new ExpenseDate(LocalDate.EPOCH),
                 CategoryType.OTHER);
 
-        User user = new User("cognitoSub", "test@example.com");
-        when(userApplicationService.getUser()).thenReturn(user);
-        when(expenseRepository.findByIdAndUser(nonExistentId, user)).thenReturn(Optional.empty());
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(expenseRepository.findByIdAndUserId(nonExistentId, USER_ID)).thenReturn(Optional.empty());
 
         ExpenseNotFoundException exception = assertThrows(ExpenseNotFoundException.class,
                 () -> expenseApplicationService.updateExpense(nonExistentId, update));
 
         assertEquals("ID: " + nonExistentId + " の支出が見つかりませんでした。", exception.getMessage());
-        verify(expenseRepository, times(1)).findByIdAndUser(nonExistentId, user);
+        verify(expenseRepository, times(1)).findByIdAndUserId(nonExistentId, USER_ID);
         verify(expenseRepository, never()).save(any());
+        verify(expenseSummaryCache, never()).evictAfterCommit(any(), any());
     }
 
     @Test
@@ -130,9 +154,10 @@ class ExpenseApplicationServiceTest {
         Expense expense2 = new Expense("支出2", amount2, date2, category2, user);
 
         // モックの設定
-        when(userApplicationService.getUser()).thenReturn(user);
-        when(expenseRepository.findByUserAndDateBetween(
-            eq(user),
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        givenSummaryCacheMiss();
+        when(expenseRepository.findByUserIdAndDateBetween(
+            eq(USER_ID),
             eq(LocalDate.of(2024, 1, 1)),
             eq(LocalDate.of(2024, 1, 31))
         )).thenReturn(Arrays.asList(expense1, expense2));
@@ -163,27 +188,175 @@ class ExpenseApplicationServiceTest {
     @Test
     void getAvailableMonths_正常に取得できる() {
         // テストデータの準備
-        User user = new User("cognitoSub", "test@example.com");
-        // H2とMySQLの両方で動作するように、LocalDateのリストを返すように変更
-        List<LocalDate> distinctDates = Arrays.asList(
-            LocalDate.of(2024, 3, 15),
-            LocalDate.of(2024, 2, 10),
-            LocalDate.of(2024, 1, 5),
-            LocalDate.of(2024, 3, 20) // 同じ月の別の日付（重複除去のテスト用）
-        );
+        // リポジトリは月単位で DISTINCT 済み・降順の支出月（yyyyMM）を返す
+        List<Integer> distinctMonths = Arrays.asList(202403, 202402, 202312);
 
         // モックの設定
-        when(userApplicationService.getUser()).thenReturn(user);
-        when(expenseRepository.findDistinctDatesByUser(user)).thenReturn(distinctDates);
+        when(userApplicationService.getCurrentUserId()).thenReturn(USER_ID);
+        when(expenseSummaryCache.getAvailableMonths(any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<List<String>>>getArgument(1).get());
+        when(expenseRepository.findDistinctExpenseMonthsByUserId(USER_ID)).thenReturn(distinctMonths);
 
         // テスト実行
         List<String> result = expenseApplicationService.getAvailableMonths();
 
         // 検証
-        assertNotNull(result);
-        assertEquals(3, result.size()); // 同じ月の重複が除去されるため、3つになる
-        assertEquals("2024-03", result.get(0));
+        assertEquals(List.of("2024-03", "2024-02", "2023-12"), result);
     }
 
-}
+    @Test
+    void deleteExpense_削除した支出の月のキャッシュを無効化する() {
+        Long expenseId = 1L;
+        User user = new User("cognitoSub", "test@example.com");
+        Expense existingExpense = new Expense(
+                "削除対象",
+                new ExpenseAmount(1000),
+                new ExpenseDate(LocalDate.of(2024, 3, 10)),
+                CategoryType.FOOD,
+                user);
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(expenseRepository.findByIdAndUserId(expenseId, USER_ID)).thenReturn(Optional.of(existingExpense));
+
+        expenseApplicationService.deleteExpense(expenseId);
+
+        verify(expenseRepository).delete(existingExpense);
+        verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    void updateExpense_月をまたぐ更新では更新前後の両方の月を無効化する() {
+        Long expenseId = 1L;
+        User user = new User("cognitoSub", "test@example.com");
+        Expense existingExpense = new Expense(
+                "元の支出",
+                new ExpenseAmount(1000),
+                new ExpenseDate(LocalDate.of(2024, 1, 31)),
+                CategoryType.FOOD,
+                user);
+        ExpenseUpdate update = new ExpenseUpdate(
+                "翌月に移動",
+                new ExpenseAmount(1000),
+                new ExpenseDate(LocalDate.of(2024, 2, 1)),
+                CategoryType.FOOD);
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(expenseRepository.findByIdAndUserId(expenseId, USER_ID)).thenReturn(Optional.of(existingExpense));
+        when(expenseRepository.save(existingExpense)).thenReturn(existingExpense);
+
+        expenseApplicationService.updateExpense(expenseId, update);
+
+        verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+        verify(expenseVersionStore).bumpAfterCommit("cognitoSub", List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+    }
+
+    @Test
+    void deleteExpenses_1回のDELETEで削除し対象の月を1回だけ無効化する() {
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        when(expenseRepository.findDistinctExpenseMonthsByUserIdAndIdIn(USER_ID, ids)).thenReturn(List.of(202401, 202402));
+        when(expenseRepository.deleteByUserIdAndIdIn(USER_ID, ids)).thenReturn(3);
 
+        int result = expenseApplicationService.deleteExpenses(List.of(1L, 2L, 3L, 3L));
+
+        assertEquals(3, result);
+        verify(expenseSummaryCache, times(1)).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+        verify(expenseVersionStore, times(1)).bumpAfterCommit("cognitoSub", List.of(YearMonth.of(2024, 1), YearMonth.of(2024, 2)));
+        verify(expenseRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    @Test
+    void deleteExpenses_自分の支出が含まれなければDELETEも無効化もしない() {
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        when(expenseRepository.findDistinctExpenseMonthsByUserIdAndIdIn(USER_ID, Set.of(99L))).thenReturn(List.of());
+
+        int result = expenseApplicationService.deleteExpenses(List.of(99L));
+
+        assertEquals(0, result);
+        verify(expenseRepository, never()).deleteByUserIdAndIdIn(any(), any());
+        verifyNoInteractions(expenseSummaryCache, expenseVersionStore);
+    }
+
+    @Test
+    void deleteExpenses_IDが空または上限超過なら例外() {
+        List<Long> tooMany = LongStream.rangeClosed(1, ExpenseApplicationService.MAX_BULK_IDS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> expenseApplicationService.deleteExpenses(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> expenseApplicationService.deleteExpenses(tooMany));
+        verifyNoInteractions(expenseRepository, userApplicationService);
+    }
+
+    @Test
+    void updateExpenseCategories_1回のUPDATEで変更し対象の月を無効化する() {
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        Set<Long> ids = Set.of(1L, 2L);
+        when(expenseRepository.findDistinctExpenseMonthsByUserIdAndIdIn(USER_ID, ids)).thenReturn(List.of(202403));
+        when(expenseRepository.updateCategoryByUserIdAndIdIn(USER_ID, ids, CategoryType.TRANSPORT)).thenReturn(2);
+
+        int result = expenseApplicationService.updateExpenseCategories(List.of(1L, 2L), CategoryType.TRANSPORT);
+
+        assertEquals(2, result);
+        verify(expenseSummaryCache).evictAfterCommit(USER_ID, List.of(YearMonth.of(2024, 3)));
+        verify(expenseVersionStore).bumpAfterCommit("cognitoSub", List.of(YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    void getMonthlySummaryRange_各月をキャッシュ経由で取得する() {
+        when(userApplicationService.getCurrentUser()).thenReturn(PRINCIPAL);
+        MonthlySummary january = MonthlySummary.createMonthlySummaryFromExpenses(List.of(), "2024-01");
+        MonthlySummary february = MonthlySummary.createMonthlySummaryFromExpenses(List.of(), "2024-02");
+        when(expenseSummaryCache.getMonthlySummary(any(), eq(YearMonth.of(2024, 1)), any())).thenReturn(january);
+        when(expenseSummaryCache.getMonthlySummary(any(), eq(YearMonth.of(2024, 2)), any())).thenReturn(february);
+
+        List<MonthlySummary> result = expenseApplicationService.getMonthlySummaryRange("2024-01", "2024-02");
+
+        assertEquals(List.of(january, february), result);
+        // キャッシュヒット時はDBを参照しない
+        verify(expenseRepository, never()).findByUserIdAndDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void getExpensesByMonthAfter_1件多く取得して次ページのカーソルを返す() {
+        when(userApplicationService.getCurrentUserId()).thenReturn(USER_ID);
+        List<ExpenseListItem> rows = List.of(
+                listItem(30L, LocalDate.of(2024, 1, 20)),
+                listItem(20L, LocalDate.of(2024, 1, 10)),
+                listItem(10L, LocalDate.of(2024, 1, 5)));
+        when(expenseRepository.findFirstPageByUserIdAndDateRange(
+                USER_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), Limit.of(3))).thenReturn(rows);
+
+        ExpenseApplicationService.ExpenseSlice slice = expenseApplicationService.getExpensesByMonthAfter("2024-01", null, 2);
+
+        assertEquals(rows.subList(0, 2), slice.content());
+        assertTrue(slice.hasNext());
+        assertEquals(new ExpenseCursor(LocalDate.of(2024, 1, 10), 20L), slice.nextCursor());
+    }
+
+    @Test
+    void getExpensesByMonthAfter_カーソル以降をシークし最終ページでは次カーソルなし() {
+        when(userApplicationService.getCurrentUserId()).thenReturn(USER_ID);
+        ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2024, 1, 10), 20L);
+        List<ExpenseListItem> rows = List.of(listItem(10L, LocalDate.of(2024, 1, 5)));
+        when(expenseRepository.findPageAfterCursorByUserIdAndDateRange(
+                USER_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                LocalDate.of(2024, 1, 10), 20L, Limit.of(3))).thenReturn(rows);
+
+        ExpenseApplicationService.ExpenseSlice slice = expenseApplicationService.getExpensesByMonthAfter("2024-01", cursor, 2);
+
+        assertEquals(rows, slice.content());
+        assertFalse(slice.hasNext());
+        assertNull(slice.nextCursor());
+        verify(expenseRepository, never()).findByUserIdAndDateRange(any(), any(), any(), any());
+    }
+
+    private static ExpenseListItem listItem(Long id, LocalDate date) {
+        return new ExpenseListItem(id, date, CategoryType.FOOD, 1000, "支出" + id);
+    }
+
+    /**
+     * サマリーキャッシュがミスした場合の振る舞い（ロード処理をそのまま実行する）を設定する。
+     */
+    private void givenSummaryCacheMiss() {
+        when(expenseSummaryCache.getMonthlySummary(any(), any(), any()))
+                .thenAnswer(inv -> inv.<Supplier<MonthlySummary>>getArgument(2).get());
+    }
+
+}
@@ -1,10 +1,12 @@
 package com.smarthouseholdaccountbook.backend.application.service;
 
 import com.smarthouseholdaccountbook.backend.auth.provider.CurrentAuthProvider;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
 import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.exception.UserNotFoundException;
 import com.smarthouseholdaccountbook.backend.repository.UserRepository;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,8 +28,10 @@ import java.util.concurrent.ConcurrentMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,7 +54,7 @@ public class UserApplicationServiceTest {
     private CacheManager cacheManager;
 
     @Mock
-    private Cache userEnsuredCache;
+    private Cache userPrincipalCache;
 
     @InjectMocks
     // テスト対象のオブジェクトにモックを注入する
@@ -59,41 +67,39 @@ public class UserApplicationServiceTest {
     public void setUp() {
         cognitoSub = "cognitoSub";
         email = "test@example.com";
-        when(currentAuthProvider.getCurrentSub()).thenReturn(cognitoSub);
-        // 「確認済みキャッシュ」のふるまいを ConcurrentHashMap で簡易再現する。
+        // リクエスト属性から解決するテストでは sub を参照しないため lenient() にする
+        lenient().when(currentAuthProvider.getCurrentSub()).thenReturn(cognitoSub);
+        // sub → UserPrincipal のキャッシュのふるまいを ConcurrentHashMap で簡易再現する。
         // これにより「1回目の呼び出しでキャッシュに載り、2回目以降は DB を叩かない」挙動をテストできる。
         ConcurrentMap<Object, Object> backing = new ConcurrentHashMap<>();
         // テストケースの中にこのstubを使わないものがあるのでstubが未使用でも許容されるlenient() を使う。
-        lenient().when(cacheManager.getCache("userEnsured")).thenReturn(userEnsuredCache);
-        lenient().when(userEnsuredCache.get(any())).thenAnswer(inv -> {
-            Object value = backing.get(inv.getArgument(0));
-            if (value == null) {
-                return null;
-            }
-            // Cache#get(Object) は ValueWrapper を返す契約。ラムダに明示的な戻り型を与える
-            Cache.ValueWrapper wrapper = () -> value;
-            return wrapper;
-        });
+        lenient().when(cacheManager.getCache(UserApplicationService.PRINCIPAL_CACHE)).thenReturn(userPrincipalCache);
+        lenient().when(userPrincipalCache.get(any(), eq(UserPrincipal.class)))
+                .thenAnswer(inv -> backing.get(inv.getArgument(0)));
         lenient().doAnswer(inv -> {
             backing.put(inv.getArgument(0), inv.getArgument(1));
             return null;
-        }).when(userEnsuredCache).put(any(), any());
+        }).when(userPrincipalCache).put(any(), any());
     }
 
-    @Test
-    void getUser_ユーザーが存在しない場合はUserNotFoundExceptionをスローする() {
-        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.empty());
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
 
-        assertThrows(UserNotFoundException.class, () -> userApplicationService.getUser());
-        verify(userRepository, never()).save(any(User.class));
+    private User userWithId(Long id) {
+        User user = new User(cognitoSub, email);
+        ReflectionTestUtils.setField(user, "id", id);
+        return user;
     }
 
     @Test
-    void ensureUserExists_ユーザーが存在しない場合は新規作成する() {
+    void resolveCurrentUser_ユーザーが存在しない場合は新規作成する() {
         when(currentAuthProvider.getCurrentEmail()).thenReturn(email);
         when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenReturn(userWithId(1L));
 
-        userApplicationService.ensureUserExists();
+        UserPrincipal result = userApplicationService.resolveCurrentUser();
 
         // save() に渡された User の中身を検証する
         ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
@@ -101,43 +107,73 @@ public class UserApplicationServiceTest {
         User saved = captor.getValue();
         assertEquals(cognitoSub, saved.getCognitoSub());
         assertEquals(email, saved.getEmail());
+        assertEquals(new UserPrincipal(1L, cognitoSub), result);
     }
 
     @Test
-    void ensureUserExists_ユーザーが存在する場合は何もしない() {
-        User existingUser = new User(cognitoSub, email);
-        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(existingUser));
+    void resolveCurrentUser_ユーザーが存在する場合は保存せずIDを返す() {
+        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(userWithId(1L)));
 
-        userApplicationService.ensureUserExists();
+        UserPrincipal result = userApplicationService.resolveCurrentUser();
 
+        assertEquals(new UserPrincipal(1L, cognitoSub), result);
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    void ensureUserExists_2回目以降はキャッシュが効いてDBアクセスしない() {
-        User existingUser = new User(cognitoSub, email);
-        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(existingUser));
+    void resolveCurrentUser_2回目以降はキャッシュが効いてDBアクセスしない() {
+        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(userWithId(1L)));
 
-        // 1回目: DB を引いて「存在」を確認し、キャッシュに載せる
-        userApplicationService.ensureUserExists();
+        // 1回目: DB を引いて解決し、キャッシュに載せる
+        userApplicationService.resolveCurrentUser();
         // 2回目: キャッシュヒットで DB アクセスなし
-        userApplicationService.ensureUserExists();
+        userApplicationService.resolveCurrentUser();
         // 3回目: 同上
-        userApplicationService.ensureUserExists();
+        UserPrincipal result = userApplicationService.resolveCurrentUser();
 
+        assertEquals(new UserPrincipal(1L, cognitoSub), result);
         verify(userRepository, times(1)).findByCognitoSub(cognitoSub);
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    void getUser_ユーザーが存在する場合は既存ユーザーを返し保存しない() {
-        User existingUser = new User(cognitoSub, email);
-        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(existingUser));
+    void getCurrentUserId_リクエスト属性に解決済みの値があればキャッシュもDBも参照しない() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(UserPrincipal.REQUEST_ATTRIBUTE, new UserPrincipal(1L, cognitoSub));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Long result = userApplicationService.getCurrentUserId();
+
+        assertEquals(1L, result);
+        verifyNoInteractions(userRepository, cacheManager, currentAuthProvider);
+    }
+
+    @Test
+    void getCurrentUserId_リクエスト外ではDBから解決してキャッシュする() {
+        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.of(userWithId(1L)));
 
-        User result = userApplicationService.getUser();
+        assertEquals(1L, userApplicationService.getCurrentUserId());
+        assertEquals(1L, userApplicationService.getCurrentUserId());
 
-        assertEquals(existingUser, result);
         verify(userRepository, times(1)).findByCognitoSub(cognitoSub);
-        verify(userRepository, times(0)).save(any(User.class));
+    }
+
+    @Test
+    void getCurrentUserId_ユーザーが存在しない場合はUserNotFoundExceptionをスローする() {
+        when(userRepository.findByCognitoSub(cognitoSub)).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userApplicationService.getCurrentUserId());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void getUserReference_リポジトリの参照プロキシを返しSELECTしない() {
+        User reference = userWithId(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+
+        User result = userApplicationService.getUserReference(1L);
+
+        assertEquals(reference, result);
+        verify(userRepository, never()).findByCognitoSub(any());
     }
 }
@@ -0,0 +1,106 @@
+package com.smarthouseholdaccountbook.backend.application.service.batch;
+
+import com.smarthouseholdaccountbook.backend.application.service.batch.model.ExpenseBatchRow;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 一括登録リーダーのユニットテスト
+ */
+class ExpenseBatchReaderTest {
+
+    private final ExpenseBatchReader reader = new ExpenseBatchReader(JsonMapper.builder().build());
+
+    private List<ExpenseBatchRow> readAll(String body) {
+        InputStream inputStream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        List<ExpenseBatchRow> rows = new ArrayList<>();
+        reader.read(inputStream, rows::add);
+        return rows;
+    }
+
+    @Test
+    @DisplayName("JSON配列の要素を順に読み取れる")
+    void read_JSON配列を読み取れる() {
+        List<ExpenseBatchRow> rows = readAll("""
+                [
+                  {"date": "2024-01-15", "category": "食費", "amount": 1200, "description": "ランチ"},
+                  {"date": "2024-01-16", "category": "交通費", "amount": 300, "description": "バス"}
+                ]
+                """);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).index()).isEqualTo(1);
+        assertThat(rows.get(0).isValid()).isTrue();
+        assertThat(rows.get(0).expense().description()).isEqualTo("ランチ");
+        assertThat(rows.get(0).expense().date().getDate()).isEqualTo(LocalDate.of(2024, 1, 15));
+        assertThat(rows.get(0).expense().amount().getAmount()).isEqualTo(1200);
+        assertThat(rows.get(0).expense().category()).isEqualTo(CategoryType.FOOD);
+        assertThat(rows.get(1).index()).isEqualTo(2);
+        assertThat(rows.get(1).expense().category()).isEqualTo(CategoryType.TRANSPORT);
+    }
+
+    @Test
+    @DisplayName("NDJSONの行を順に読み取れる")
+    void read_NDJSONを読み取れる() {
+        List<ExpenseBatchRow> rows = readAll("""
+                {"date": "2024-01-15", "category": "食費", "amount": 1200, "description": "ランチ"}
+                {"date": "2024-01-16", "category": "交通費", "amount": 300, "description": "バス"}
+                """);
+
+        assertThat(rows).extracting(ExpenseBatchRow::index).containsExactly(1, 2);
+        assertThat(rows).allMatch(ExpenseBatchRow::isValid);
+    }
+
+    @Test
+    @DisplayName("検証エラーの要素はエラーとして返し、後続の要素も読み続ける")
+    void read_検証エラーは要素単位で返す() {
+        List<ExpenseBatchRow> rows = readAll("""
+                {"date": "2024/01/15", "category": "食費", "amount": 1200, "description": "日付不正"}
+                {"date": "2024-01-15", "category": "存在しない", "amount": 1200, "description": "カテゴリ不正"}
+                {"date": "2024-01-15", "category": "食費", "amount": 0, "description": "金額0"}
+                {"date": "2024-01-15", "category": "食費", "amount": 1200}
+                {"date": "2024-01-15", "category": "食費", "amount": 1200, "description": "正常"}
+                """);
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows.subList(0, 4)).noneMatch(ExpenseBatchRow::isValid);
+        assertThat(rows.get(0).error()).contains("日付");
+        assertThat(rows.get(1).error()).contains("カテゴリ");
+        assertThat(rows.get(2).error()).contains("金額");
+        assertThat(rows.get(3).error()).contains("説明");
+        assertThat(rows.get(4).isValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("説明がDBの列長を超える場合はエラーを返す")
+    void read_説明が長すぎる場合はエラーを返す() {
+        String description = "あ".repeat(ExpenseBatchReader.MAX_DESCRIPTION_LENGTH + 1);
+
+        List<ExpenseBatchRow> rows = readAll(
+                "{\"date\": \"2024-01-15\", \"category\": \"食費\", \"amount\": 1200, \"description\": \"" + description + "\"}");
+
+        assertThat(rows).singleElement().satisfies(row -> assertThat(row.error()).contains("説明"));
+    }
+
+    @Test
+    @DisplayName("JSONとして読めない場合はIllegalArgumentExceptionを投げる")
+    void read_JSONが不正な場合は例外() {
+        assertThatThrownBy(() -> readAll("""
+                {"date": "2024-01-15", "category": "食費", "amount": 1200, "description": "正常"}
+                {"date": "2024-01-15", "category": "食費",
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2件目");
+    }
+}
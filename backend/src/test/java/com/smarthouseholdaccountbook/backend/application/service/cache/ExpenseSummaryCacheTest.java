@@ -0,0 +1,121 @@
+package com.smarthouseholdaccountbook.backend.application.service.cache;
+
+import com.smarthouseholdaccountbook.backend.config.cache.CacheConfig;
+import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExpenseSummaryCache のユニットテスト
+ *
+ * 実際の CacheConfig の Caffeine キャッシュを使い、ロードと無効化のタイミングを検証する。
+ */
+class ExpenseSummaryCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    private CacheManager cacheManager;
+    private ExpenseSummaryCache expenseSummaryCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cacheManager = new CacheConfig().cacheManager();
+        ((InitializingBean) cacheManager).afterPropertiesSet();
+        expenseSummaryCache = new ExpenseSummaryCache(cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private MonthlySummary emptySummary(YearMonth month) {
+        return MonthlySummary.createMonthlySummaryFromExpenses(List.of(), month.toString());
+    }
+
+    private boolean isSummaryCached(YearMonth month) {
+        return cacheManager.getCache(ExpenseSummaryCache.SUMMARY_CACHE)
+                .get(new ExpenseSummaryCache.SummaryKey(USER_ID, month)) != null;
+    }
+
+    private boolean isMonthsCached() {
+        return cacheManager.getCache(ExpenseSummaryCache.MONTHS_CACHE).get(USER_ID) != null;
+    }
+
+    @Test
+    @DisplayName("2回目以降はロード処理を呼ばずにキャッシュから返す")
+    void loadsOnlyOnceForSameKey() {
+        AtomicInteger loadCount = new AtomicInteger();
+
+        MonthlySummary first = expenseSummaryCache.getMonthlySummary(USER_ID, JANUARY, () -> {
+            loadCount.incrementAndGet();
+            return emptySummary(JANUARY);
+        });
+        MonthlySummary second = expenseSummaryCache.getMonthlySummary(USER_ID, JANUARY, () -> {
+            loadCount.incrementAndGet();
+            return emptySummary(JANUARY);
+        });
+
+        assertThat(loadCount).hasValue(1);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("トランザクション外では即座に対象月と利用可能月を無効化し、他の月は残す")
+    void evictsImmediatelyWithoutTransaction() {
+        expenseSummaryCache.getMonthlySummary(USER_ID, JANUARY, () -> emptySummary(JANUARY));
+        expenseSummaryCache.getMonthlySummary(USER_ID, FEBRUARY, () -> emptySummary(FEBRUARY));
+        expenseSummaryCache.getAvailableMonths(USER_ID, () -> List.of("2024-02", "2024-01"));
+
+        expenseSummaryCache.evictAfterCommit(USER_ID, List.of(JANUARY));
+
+        assertThat(isSummaryCached(JANUARY)).isFalse();
+        assertThat(isSummaryCached(FEBRUARY)).isTrue();
+        assertThat(isMonthsCached()).isFalse();
+    }
+
+    @Test
+    @DisplayName("トランザクション中はコミット後まで無効化を遅延する")
+    void defersEvictionUntilAfterCommit() {
+        expenseSummaryCache.getMonthlySummary(USER_ID, JANUARY, () -> emptySummary(JANUARY));
+        TransactionSynchronizationManager.initSynchronization();
+
+        expenseSummaryCache.evictAfterCommit(USER_ID, List.of(JANUARY));
+
+        assertThat(isSummaryCached(JANUARY)).isTrue();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(isSummaryCached(JANUARY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("ロールバック時は無効化しない")
+    void doesNotEvictOnRollback() {
+        expenseSummaryCache.getMonthlySummary(USER_ID, JANUARY, () -> emptySummary(JANUARY));
+        TransactionSynchronizationManager.initSynchronization();
+
+        expenseSummaryCache.evictAfterCommit(USER_ID, List.of(JANUARY));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(isSummaryCached(JANUARY)).isTrue();
+    }
+}
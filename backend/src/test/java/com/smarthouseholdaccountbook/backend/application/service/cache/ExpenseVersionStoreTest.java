@@ -0,0 +1,77 @@
+package com.smarthouseholdaccountbook.backend.application.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExpenseVersionStore のユニットテスト
+ */
+class ExpenseVersionStoreTest {
+
+    private static final String SUB = "cognitoSub";
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+
+    private final ExpenseVersionStore expenseVersionStore = new ExpenseVersionStore();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("ETagはダブルクォートで囲まれた強いETagである")
+    void returnsStrongETag() {
+        assertThat(expenseVersionStore.monthETag(SUB, JANUARY)).startsWith("\"").endsWith("\"");
+        assertThat(expenseVersionStore.userETag(SUB)).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("更新した月とユーザー全体のETagだけが変わり、他の月・他のユーザーは変わらない")
+    void changesOnlyAffectedETags() {
+        String january = expenseVersionStore.monthETag(SUB, JANUARY);
+        String february = expenseVersionStore.monthETag(SUB, FEBRUARY);
+        String user = expenseVersionStore.userETag(SUB);
+        String otherUser = expenseVersionStore.userETag("otherSub");
+
+        expenseVersionStore.bumpAfterCommit(SUB, List.of(JANUARY));
+
+        assertThat(expenseVersionStore.monthETag(SUB, JANUARY)).isNotEqualTo(january);
+        assertThat(expenseVersionStore.monthETag(SUB, FEBRUARY)).isEqualTo(february);
+        assertThat(expenseVersionStore.userETag(SUB)).isNotEqualTo(user);
+        assertThat(expenseVersionStore.userETag("otherSub")).isEqualTo(otherUser);
+    }
+
+    @Test
+    @DisplayName("バージョンが同じでもユーザーが異なればETagは一致しない")
+    void differsPerUser() {
+        assertThat(expenseVersionStore.monthETag(SUB, JANUARY))
+                .isNotEqualTo(expenseVersionStore.monthETag("otherSub", JANUARY));
+        assertThat(expenseVersionStore.userETag(SUB)).isNotEqualTo(expenseVersionStore.userETag("otherSub"));
+    }
+
+    @Test
+    @DisplayName("トランザクション中はコミット後までバージョンを進めない")
+    void defersBumpUntilAfterCommit() {
+        String before = expenseVersionStore.monthETag(SUB, JANUARY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        expenseVersionStore.bumpAfterCommit(SUB, List.of(JANUARY));
+
+        assertThat(expenseVersionStore.monthETag(SUB, JANUARY)).isEqualTo(before);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(expenseVersionStore.monthETag(SUB, JANUARY)).isNotEqualTo(before);
+    }
+}
@@ -7,11 +7,14 @@ import com.smarthouseholdaccountbook.backend.application.service.csv.mitsuisumit
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.*;
@@ -238,6 +241,27 @@ class CsvParserTest {
             assertThat(result.validExpenses().get(3).description()).isEqualTo("CURSOR, AI POWERED IDE (CURSOR.COM )");
             assertThat(result.validExpenses().get(3).amount()).isEqualTo(3200);
         }
+
+        @Test
+        @DisplayName("ファイルを指定した場合もストリームと同じ結果と行番号で解析できる")
+        void parse_ファイルを指定した場合も解析できる(@TempDir Path tempDir) throws IOException {
+            String csvContent = """
+                テスト　ユーザー　様,1234-56**-****-****,三井住友ゴールドＶＩＳＡ（ＮＬ）\r
+                2025/11/01,やよい軒大阪店,1220,１,１,1220,\r
+                \r
+                2025-11-02,マクドナルド,630,１,１,630,\r
+                ,,,,,1850,\r
+                """;
+            byte[] bytes = csvContent.getBytes(SHIFT_JIS);
+            Path file = Files.write(tempDir.resolve("expenses.csv"), bytes);
+
+            CsvParseResult result = parser.parse(file);
+
+            assertThat(result).isEqualTo(parser.parse(new ByteArrayInputStream(bytes)));
+            assertThat(result.validExpenses()).hasSize(1);
+            assertThat(result.errors()).hasSize(1);
+            assertThat(result.errors().get(0).lineNumber()).isEqualTo(4);
+        }
     }
 
     @Nested
@@ -0,0 +1,135 @@
+package com.smarthouseholdaccountbook.backend.application.service.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NioLineReader のユニットテスト
+ */
+class NioLineReaderTest {
+
+    private static final Charset SHIFT_JIS = Charset.forName("Shift_JIS");
+
+    private record Line(String text, int lineNumber) {
+    }
+
+    @Test
+    @DisplayName("LF・CRLF・CRのいずれも改行として扱い、空行も行番号に数える")
+    void splitsOnAllLineTerminators() throws IOException {
+        List<Line> lines = readStream("a\nb\r\nc\rd\n\n\r\ne".getBytes(SHIFT_JIS));
+
+        assertThat(lines).containsExactly(
+                new Line("a", 1), new Line("b", 2), new Line("c", 3), new Line("d", 4), new Line("e", 7));
+    }
+
+    @Test
+    @DisplayName("前後の空白を除き、空白だけの行は渡さない")
+    void trimsAndSkipsBlankLines() throws IOException {
+        List<Line> lines = readStream(" \t2025/11/01,店 ,100 \n   \n\tx\t".getBytes(SHIFT_JIS));
+
+        assertThat(lines).containsExactly(new Line("2025/11/01,店 ,100", 1), new Line("x", 3));
+    }
+
+    @Test
+    @DisplayName("2バイト目がASCIIの範囲にあるShift_JIS文字も正しくデコードする")
+    void decodesShiftJisMultibyteCharacters() throws IOException {
+        // 「ソ」「表」「十」は2バイト目が 0x5C（\）、「ー」は 0x5B（[）
+        String text = "2025/11/01,ソフト表示十ー店,1220\r\n2025/11/02,やよい軒大阪店,480";
+
+        List<Line> lines = readStream(text.getBytes(SHIFT_JIS));
+
+        assertThat(lines).containsExactly(
+                new Line("2025/11/01,ソフト表示十ー店,1220", 1), new Line("2025/11/02,やよい軒大阪店,480", 2));
+    }
+
+    @Test
+    @DisplayName("読み込みバッファの境界をまたぐ行やCRLFも BufferedReader と同じ結果になる")
+    void matchesBufferedReaderAcrossBufferBoundaries() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            sb.append("2025/11/").append(i % 28 + 1).append(",三井住友カード利用店").append(i)
+                    .append(",").append(i * 7).append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 100 == 0) {
+                sb.append("   \n");
+            }
+        }
+        byte[] bytes = sb.toString().getBytes(SHIFT_JIS);
+        assertThat(bytes.length).isGreaterThan(NioLineReader.READ_BUFFER_SIZE * 3);
+
+        assertThat(readStream(bytes)).isEqualTo(readWithBufferedReader(bytes));
+    }
+
+    @Test
+    @DisplayName("読み込み用バッファより長い行はバッファを拡張して読み込む")
+    void growsBufferForLongLines() throws IOException {
+        String longLine = "店".repeat(NioLineReader.READ_BUFFER_SIZE);
+
+        List<Line> lines = readStream((longLine + "\n" + longLine).getBytes(SHIFT_JIS));
+
+        assertThat(lines).containsExactly(new Line(longLine, 1), new Line(longLine, 2));
+    }
+
+    @Test
+    @DisplayName("メモリマップしたファイルもストリームと同じ行を返す")
+    void readsMappedFile(@TempDir Path tempDir) throws IOException {
+        byte[] bytes = "2025/11/01,やよい軒大阪店,1220\r\n\r\n2025/11/02,マツモトキヨシ,480\r\n".getBytes(SHIFT_JIS);
+        Path file = Files.write(tempDir.resolve("expenses.csv"), bytes);
+        List<Line> lines = new ArrayList<>();
+
+        new NioLineReader(SHIFT_JIS).read(file, (line, lineNumber) -> lines.add(new Line(line, lineNumber)));
+
+        assertThat(lines).isEqualTo(readStream(bytes));
+    }
+
+    @Test
+    @DisplayName("空のファイルでは何も渡さない")
+    void readsEmptyFile(@TempDir Path tempDir) throws IOException {
+        Path file = Files.write(tempDir.resolve("empty.csv"), new byte[0]);
+        List<Line> lines = new ArrayList<>();
+
+        new NioLineReader(SHIFT_JIS).read(file, (line, lineNumber) -> lines.add(new Line(line, lineNumber)));
+
+        assertThat(lines).isEmpty();
+    }
+
+    private static List<Line> readStream(byte[] bytes) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes))) {
+            new NioLineReader(SHIFT_JIS).read(channel, (line, lineNumber) -> lines.add(new Line(line, lineNumber)));
+        }
+        return lines;
+    }
+
+    private static List<Line> readWithBufferedReader(byte[] bytes) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        try (InputStream in = new ByteArrayInputStream(bytes);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, SHIFT_JIS))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    lines.add(new Line(line, lineNumber));
+                }
+            }
+        }
+        return lines;
+    }
+}
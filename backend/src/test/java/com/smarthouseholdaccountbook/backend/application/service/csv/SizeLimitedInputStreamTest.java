@@ -0,0 +1,48 @@
+package com.smarthouseholdaccountbook.backend.application.service.csv;
+
+import com.smarthouseholdaccountbook.backend.exception.CsvUploadException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SizeLimitedInputStream のユニットテスト
+ */
+class SizeLimitedInputStreamTest {
+
+    @Test
+    @DisplayName("上限ちょうどのバイト数までは読み込める")
+    void readsUpToLimit() throws IOException {
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[10]), 10);
+
+        assertThat(in.readAllBytes()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("上限を超えた時点で413のCsvUploadExceptionを投げる")
+    void throwsWhenLimitExceeded() {
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+        assertThatThrownBy(in::readAllBytes)
+                .isInstanceOfSatisfying(CsvUploadException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+    }
+
+    @Test
+    @DisplayName("1バイトずつの読み込みでも上限を超えた時点で失敗する")
+    void throwsWhenLimitExceededBySingleByteReads() throws IOException {
+        InputStream in = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[3]), 2);
+
+        assertThat(in.read()).isZero();
+        assertThat(in.read()).isZero();
+        assertThatThrownBy(in::read).isInstanceOf(CsvUploadException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.smarthouseholdaccountbook.backend.application.service.csv.mitsuisumitomo;
+
+import com.smarthouseholdaccountbook.backend.benchmark.BenchmarkDatasets;
+import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseError;
+import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseResult;
+import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParsedExpense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 三井住友カードCSVの行読み込み方式を比較する JMH ベンチマーク
+ *
+ * 確定月形式の明細（{@link BenchmarkDatasets#mitsuiSumitomoStatement}）を指定行数ぶん生成し、
+ * 次の3通りで解析全体にかかる時間を比較します。
+ * <ul>
+ *   <li>readerStream: 変更前の {@code InputStreamReader} + {@code BufferedReader.readLine()} による読み込み</li>
+ *   <li>nioStream: {@link MitsuiSumitomoCsvParseUtil#parse(InputStream, MitsuiSumitomoCsvParseUtil.Config, Logger)}
+ *       （アップロードと同じストリーム経由）</li>
+ *   <li>nioMappedFile: {@link MitsuiSumitomoCsvParseUtil#parse(Path, MitsuiSumitomoCsvParseUtil.Config, Logger)}
+ *       （一時ファイルをメモリマップ）</li>
+ * </ul>
+ * 行の解析（{@code parseLine}）は共通のため、差は行の区切り・空白除去・デコードの方式によるものです。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=CsvLineDecodingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvLineDecodingBenchmark {
+    private static final Charset SHIFT_JIS = Charset.forName("Shift_JIS");
+    private static final Logger LOGGER = NOPLogger.NOP_LOGGER;
+    /** MitsuiSumitomoOldCsvParser と同じ列設定 */
+    private static final MitsuiSumitomoCsvParseUtil.Config CONFIG =
+            new MitsuiSumitomoCsvParseUtil.Config(0, 1, 2, 3, 0, true);
+
+    @Param({"10000", "200000"})
+    private int rows;
+
+    private byte[] csvBytes;
+    private Path csvFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        csvBytes = BenchmarkDatasets.mitsuiSumitomoStatement(YearMonth.of(2025, 11), rows);
+        csvFile = Files.createTempFile("csv-line-decoding-benchmark", ".csv");
+        Files.write(csvFile, csvBytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(csvFile);
+    }
+
+    @Benchmark
+    public CsvParseResult readerStream() throws IOException {
+        return parseWithReader(new ByteArrayInputStream(csvBytes));
+    }
+
+    @Benchmark
+    public CsvParseResult nioStream() throws IOException {
+        return MitsuiSumitomoCsvParseUtil.parse(new ByteArrayInputStream(csvBytes), CONFIG, LOGGER);
+    }
+
+    @Benchmark
+    public CsvParseResult nioMappedFile() throws IOException {
+        return MitsuiSumitomoCsvParseUtil.parse(csvFile, CONFIG, LOGGER);
+    }
+
+    /** 比較対象として残した、変更前の Reader による読み込み */
+    private static CsvParseResult parseWithReader(InputStream inputStream) throws IOException {
+        List<CsvParsedExpense> validExpenses = new ArrayList<>();
+        List<CsvParseError> errors = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, SHIFT_JIS))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty()
+                        || MitsuiSumitomoCsvParseUtil.isCardInfoLine(line)
+                        || MitsuiSumitomoCsvParseUtil.isTotalLine(line, CONFIG)) {
+                    continue;
+                }
+                try {
+                    validExpenses.add(MitsuiSumitomoCsvParseUtil.parseLine(line, lineNumber, CONFIG, LOGGER));
+                } catch (IllegalArgumentException e) {
+                    errors.add(new CsvParseError(lineNumber, line, e.getMessage()));
+                }
+            }
+        }
+        return new CsvParseResult(validExpenses, errors);
+    }
+}
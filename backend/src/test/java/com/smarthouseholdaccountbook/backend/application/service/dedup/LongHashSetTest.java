@@ -0,0 +1,69 @@
+package com.smarthouseholdaccountbook.backend.application.service.dedup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LongHashSet のユニットテスト
+ */
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("追加した値だけを含み、同じ値の再追加は false を返す")
+    void addsAndContains() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.add(42L)).isTrue();
+        assertThat(set.add(-7L)).isTrue();
+        assertThat(set.add(42L)).isFalse();
+
+        assertThat(set.contains(42L)).isTrue();
+        assertThat(set.contains(-7L)).isTrue();
+        assertThat(set.contains(43L)).isFalse();
+        assertThat(set.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("空きスロットの印と同じ値 0 も格納できる")
+    void supportsZero() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.add(0L)).isTrue();
+        assertThat(set.add(0L)).isFalse();
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("初期容量を超えて追加しても、すべての値を保持する（HashSet と同じ結果）")
+    void growsBeyondInitialCapacity() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong();
+            assertThat(set.add(value)).isEqualTo(expected.add(value));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(expected).allMatch(set::contains);
+        assertThat(set.contains(random.nextLong())).isFalse();
+    }
+
+    @Test
+    @DisplayName("負の想定件数のとき IllegalArgumentException を投げる")
+    void rejectsNegativeExpectedSize() {
+        assertThatThrownBy(() -> new LongHashSet(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
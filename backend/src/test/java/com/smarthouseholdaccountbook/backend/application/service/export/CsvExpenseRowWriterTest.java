@@ -0,0 +1,48 @@
+package com.smarthouseholdaccountbook.backend.application.service.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CsvExpenseRowWriter のユニットテスト（値のエスケープ）
+ */
+class CsvExpenseRowWriterTest {
+
+    @Test
+    @DisplayName("カンマ・ダブルクォート・改行を含まない値はそのまま出力する")
+    void keepsPlainValue() {
+        assertThat(CsvExpenseRowWriter.escape("ランチ")).isEqualTo("ランチ");
+        assertThat(CsvExpenseRowWriter.escape("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("カンマ・ダブルクォートを含む値はダブルクォートで囲み、ダブルクォートを重ねる")
+    void quotesSpecialCharacters() {
+        assertThat(CsvExpenseRowWriter.escape("昼食, 定食")).isEqualTo("\"昼食, 定食\"");
+        assertThat(CsvExpenseRowWriter.escape("\"特売\"")).isEqualTo("\"\"\"特売\"\"\"");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"=1+1", "+1", "-1", "@SUM(A1)", "\tTAB"})
+    @DisplayName("数式として解釈される文字で始まる値は先頭に ' を付ける")
+    void prefixesFormulaTriggers(String value) {
+        assertThat(CsvExpenseRowWriter.escape(value)).isEqualTo("'" + value);
+    }
+
+    @Test
+    @DisplayName("数式として解釈される値がカンマを含む場合は ' を付けてからダブルクォートで囲む")
+    void prefixesBeforeQuoting() {
+        assertThat(CsvExpenseRowWriter.escape("=HYPERLINK(\"x\",\"y\")"))
+                .isEqualTo("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"");
+    }
+
+    @Test
+    @DisplayName("途中に記号を含む値には ' を付けない")
+    void keepsSymbolsInMiddle() {
+        assertThat(CsvExpenseRowWriter.escape("A=B")).isEqualTo("A=B");
+    }
+}
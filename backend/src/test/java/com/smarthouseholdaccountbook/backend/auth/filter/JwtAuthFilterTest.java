@@ -5,6 +5,7 @@ import com.nimbusds.jose.proc.BadJOSEException;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.smarthouseholdaccountbook.backend.config.cache.CacheConfig;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -55,8 +56,9 @@ class JwtAuthFilterTest {
             mock(ConfigurableJWTProcessor.class);
         mockJwtProcessor = processor;
 
-        // テスト用コンストラクタでフィルターを初期化
-        jwtAuthFilter = new JwtAuthFilter(mockJwtProcessor);
+        // テスト用コンストラクタでフィルターを初期化（検証済みJWTキャッシュは本番と同じ設定のものを使う）
+        jwtAuthFilter = new JwtAuthFilter(mockJwtProcessor,
+                new CacheConfig().cacheManager().getCache(JwtAuthFilter.VERIFIED_JWT_CACHE));
     }
 
     @Test
@@ -186,4 +188,71 @@ class JwtAuthFilterTest {
         // 検証: フィルターチェーンが呼び出されないことを確認
         verify(filterChain, never()).doFilter(request, response);
     }
+
+    @Test
+    @DisplayName("同じJWTトークンでの2回目以降のリクエストは署名検証を行わずキャッシュから認証する")
+    void doFilterInternal_同じトークンはキャッシュから認証する() throws Exception {
+        // テストデータの準備: 有効期限内のJWTクレームセット
+        String validToken = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJ0ZXN0LXN1YiJ9.signature";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(mockJwtProcessor.process(any(com.nimbusds.jwt.SignedJWT.class), any()))
+                .thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3600000)));
+
+        // テスト実行: 同じトークンで2回フィルターを実行
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // 検証: 署名検証は1回だけで、2回目も認証情報が設定されていることを確認
+        verify(mockJwtProcessor, times(1)).process(any(com.nimbusds.jwt.SignedJWT.class), any());
+        JwtAuthenticationToken jwtAuthentication =
+                (JwtAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(jwtAuthentication);
+        assertEquals("test-sub", jwtAuthentication.getToken().getSubject());
+    }
+
+    @Test
+    @DisplayName("トークンが異なれば署名検証を行う（署名部だけ異なるトークンもキャッシュにヒットしない）")
+    void doFilterInternal_異なるトークンは検証する() throws Exception {
+        // テストデータの準備: ヘッダーとクレームが同じで署名部だけ異なる2つのトークン
+        String token = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJ0ZXN0LXN1YiJ9.signature";
+        String tamperedToken = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJ0ZXN0LXN1YiJ9.forged";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token, "Bearer " + tamperedToken);
+        when(mockJwtProcessor.process(any(com.nimbusds.jwt.SignedJWT.class), any()))
+                .thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() + 3600000)))
+                .thenThrow(new JOSEException("Invalid signature"));
+
+        // テスト実行: 1回目は成功、2回目は署名検証エラーになることを確認
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        assertThrows(BadCredentialsException.class,
+                () -> jwtAuthFilter.doFilterInternal(request, response, filterChain));
+
+        // 検証: 2つのトークンそれぞれで署名検証が行われていることを確認
+        verify(mockJwtProcessor, times(2)).process(any(com.nimbusds.jwt.SignedJWT.class), any());
+    }
+
+    @Test
+    @DisplayName("有効期限（exp）を過ぎたトークンはキャッシュされず毎回検証する")
+    void doFilterInternal_期限切れのトークンはキャッシュしない() throws Exception {
+        // テストデータの準備: exp が過去のクレームセット（検証器の許容スキュー内で通過したケースを想定）
+        String token = "eyJhbGciOiJSUzI1NiIsInR5cCI6IkpXVCJ9.eyJzdWIiOiJ0ZXN0LXN1YiJ9.signature";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(mockJwtProcessor.process(any(com.nimbusds.jwt.SignedJWT.class), any()))
+                .thenReturn(claimsExpiringAt(new Date(System.currentTimeMillis() - 1000)));
+
+        // テスト実行: 同じトークンで2回フィルターを実行
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        // 検証: キャッシュされないため2回とも署名検証が行われることを確認
+        verify(mockJwtProcessor, times(2)).process(any(com.nimbusds.jwt.SignedJWT.class), any());
+    }
+
+    private static JWTClaimsSet claimsExpiringAt(Date expiresAt) {
+        return new JWTClaimsSet.Builder()
+                .subject("test-sub")
+                .issueTime(new Date(expiresAt.getTime() - 3600000))
+                .expirationTime(expiresAt)
+                .build();
+    }
 }
@@ -0,0 +1,101 @@
+package com.smarthouseholdaccountbook.backend.auth.filter;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.smarthouseholdaccountbook.backend.config.cache.CacheConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthFilter の検証済みJWTキャッシュの効果を測る JMH ベンチマーク
+ *
+ * 同じIDトークンで繰り返しリクエストされる状況（画面表示で複数APIを呼ぶケース）を想定し、
+ * 毎回RSA署名検証する場合とキャッシュから返す場合の1リクエストあたりの時間を比較します。
+ * JWKセットは実際のCognitoと同じRS256の2048bit鍵をメモリ上に生成して使います（ネットワークアクセスなし）。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=JwtVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    private static final String ISSUER = "https://cognito-idp.ap-northeast-1.amazonaws.com/benchmark";
+    private static final String CLIENT_ID = "benchmark-client";
+
+    private String token;
+    private JwtAuthFilter uncachedFilter;
+    private JwtAuthFilter cachedFilter;
+
+    @Setup
+    public void setUp() throws JOSEException {
+        RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(ISSUER)
+                        .audience(CLIENT_ID)
+                        .subject("benchmark-sub")
+                        .claim("email", "benchmark@example.com")
+                        .claim("token_use", "id")
+                        .issueTime(new Date())
+                        .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                        .build());
+        signedJWT.sign(new RSASSASigner(rsaKey));
+        token = signedJWT.serialize();
+
+        uncachedFilter = new JwtAuthFilter(buildProcessor(rsaKey), new NoOpCache(JwtAuthFilter.VERIFIED_JWT_CACHE));
+        cachedFilter = new JwtAuthFilter(buildProcessor(rsaKey),
+                new CacheConfig().cacheManager().getCache(JwtAuthFilter.VERIFIED_JWT_CACHE));
+    }
+
+    /** 本番の JwtAuthFilter と同じ鍵選択・クレーム検証の設定 */
+    private static DefaultJWTProcessor<SecurityContext> buildProcessor(RSAKey rsaKey) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                JWSAlgorithm.RS256, new ImmutableJWKSet<>(new JWKSet(rsaKey.toPublicJWK()))));
+        processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
+                CLIENT_ID,
+                new JWTClaimsSet.Builder().issuer(ISSUER).claim("token_use", "id").build(),
+                Set.of("sub", "exp", "token_use")));
+        return processor;
+    }
+
+    @Benchmark
+    public Jwt verifyEveryRequest() throws Exception {
+        return uncachedFilter.resolveJwt(token);
+    }
+
+    @Benchmark
+    public Jwt cachedVerification() throws Exception {
+        return cachedFilter.resolveJwt(token);
+    }
+}
@@ -4,16 +4,21 @@ package com.smarthouseholdaccountbook.backend.auth.filter;
 import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
 import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
 import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.application.service.UserApplicationService;
+import com.smarthouseholdaccountbook.backend.auth.provider.UserPrincipal;
 import com.smarthouseholdaccountbook.backend.repository.UserRepository;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
@@ -37,6 +42,15 @@ class UserRegistrationFilterTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        // 他のテストで解決済みの sub → ユーザーID が残っていると登録処理を通らないためクリアする
+        cacheManager.getCache(UserApplicationService.PRINCIPAL_CACHE).clear();
+    }
+
     @Test
     void testUserIsRegisteredInDatabase() throws Exception {
         // TestJwtAuthenticationFilter と同じ sub/email のJWTでリクエストし、フィルターがユーザー登録することを検証する
@@ -45,12 +59,16 @@ class UserRegistrationFilterTest {
         JwtAuthenticationToken authentication = new JwtAuthenticationToken(
                 jwt, null, jwt.getClaimAsString("sub"));
 
-        mockMvc.perform(get("/api/expenses/months")
+        MvcResult result = mockMvc.perform(get("/api/expenses/months")
                 .with(authentication(authentication)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andReturn();
 
         User user = userRepository.findByCognitoSub(TestJwtAuthenticationFilter.TEST_SUB).orElse(null);
         assertThat(user).isNotNull();
         assertThat(user.getEmail()).isEqualTo(TestJwtAuthenticationFilter.TEST_EMAIL);
+        // 解決したユーザーはリクエスト属性に保持され、サービスから再利用される
+        assertThat(result.getRequest().getAttribute(UserPrincipal.REQUEST_ATTRIBUTE))
+                .isEqualTo(new UserPrincipal(user.getId(), TestJwtAuthenticationFilter.TEST_SUB));
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.smarthouseholdaccountbook.backend.auth.jwks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.smarthouseholdaccountbook.backend.config.security.JwksConfig;
+import com.smarthouseholdaccountbook.backend.config.security.JwtProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwksPreloader と JwksHealthIndicator のテスト
+ *
+ * 本番と同じ JwksConfig の設定（キャッシュ・先行更新・障害耐性）で、ローカルのJWKSファイルを読み込みます。
+ */
+class JwksPreloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JwtProperties jwtProperties;
+
+    @BeforeEach
+    void setUp() {
+        jwtProperties = mock(JwtProperties.class);
+        when(jwtProperties.getJwksCacheTtl()).thenReturn(Duration.ofMinutes(15));
+        when(jwtProperties.getJwksRefreshAhead()).thenReturn(Duration.ofMinutes(1));
+        when(jwtProperties.getJwksRefreshTimeout()).thenReturn(Duration.ofSeconds(15));
+        when(jwtProperties.getJwksOutageTolerance()).thenReturn(Duration.ofHours(12));
+        when(jwtProperties.getJwksConnectTimeout()).thenReturn(Duration.ofSeconds(2));
+        when(jwtProperties.getJwksReadTimeout()).thenReturn(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("JWKSを読み込めた場合は先読みが成功し、ヘルスはUPになる")
+    void loadsLocalJwks() throws IOException, JOSEException {
+        // given
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, new JWKSet(new RSAKeyGenerator(2048).keyID("test").generate()).toString());
+        when(jwtProperties.getJwkSetUrl()).thenReturn(jwks.toUri().toString());
+        JwksConfig jwksConfig = new JwksConfig();
+        JwksResourceRetriever retriever = jwksConfig.jwksResourceRetriever(jwtProperties, new SimpleMeterRegistry());
+        JwksPreloader preloader = new JwksPreloader(jwksConfig.jwkSource(jwtProperties, retriever), jwtProperties);
+
+        // when
+        boolean loaded = preloader.load();
+
+        // then
+        assertThat(loaded).isTrue();
+        assertThat(new JwksHealthIndicator(retriever, preloader).health().getStatus().getCode()).isEqualTo("UP");
+    }
+
+    @Test
+    @DisplayName("JWKSを取得できない場合は先読みが失敗し、ヘルスはDOWNになる")
+    void failsWhenJwksIsUnavailable() {
+        // given
+        when(jwtProperties.getJwkSetUrl()).thenReturn(tempDir.resolve("missing.json").toUri().toString());
+        JwksConfig jwksConfig = new JwksConfig();
+        JwksResourceRetriever retriever = jwksConfig.jwksResourceRetriever(jwtProperties, new SimpleMeterRegistry());
+        JwksPreloader preloader = new JwksPreloader(jwksConfig.jwkSource(jwtProperties, retriever), jwtProperties);
+
+        // when
+        boolean loaded = preloader.load();
+
+        // then
+        assertThat(loaded).isFalse();
+        assertThat(new JwksHealthIndicator(retriever, preloader).health().getStatus().getCode()).isEqualTo("DOWN");
+    }
+}
@@ -0,0 +1,67 @@
+package com.smarthouseholdaccountbook.backend.auth.jwks;
+
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * JwksResourceRetriever のユニットテスト
+ */
+class JwksResourceRetrieverTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T00:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResourceRetriever httpRetriever = mock(ResourceRetriever.class);
+    private final JwksResourceRetriever retriever =
+            new JwksResourceRetriever(httpRetriever, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("file: URL のJWKSファイルを読み込み、成功時刻とメトリクスを記録する")
+    void readsLocalFile() throws IOException {
+        // given
+        Path jwks = Files.writeString(tempDir.resolve("jwks.json"), "{\"keys\":[]}");
+
+        // when
+        Resource resource = retriever.retrieveResource(jwks.toUri().toURL());
+
+        // then
+        assertThat(resource.getContent()).isEqualTo("{\"keys\":[]}");
+        assertThat(retriever.getLastSuccessfulFetch()).contains(NOW);
+        assertThat(meterRegistry.get("jwks.fetch").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwks.cache.age").gauge().value()).isZero();
+        verifyNoInteractions(httpRetriever);
+    }
+
+    @Test
+    @DisplayName("取得に失敗した場合は例外をそのまま投げ、失敗のメトリクスだけを記録する")
+    void recordsFailure() {
+        // given
+        Path missing = tempDir.resolve("missing.json");
+
+        // when / then
+        assertThatThrownBy(() -> retriever.retrieveResource(missing.toUri().toURL()))
+                .isInstanceOf(IOException.class);
+        assertThat(retriever.getLastSuccessfulFetch()).isEmpty();
+        assertThat(meterRegistry.get("jwks.fetch").tag("outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwks.cache.age").gauge().value()).isNaN();
+    }
+}
@@ -0,0 +1,95 @@
+package com.smarthouseholdaccountbook.backend.benchmark;
+
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * JMH ベンチマーク（src/test/java の *Benchmark）で共通して使うデータセットの生成
+ *
+ * 実際の明細に近い店名・金額・カテゴリの分布で支出やカード明細CSVを生成します。
+ * 乱数のシードを固定しているため、同じ引数なら実行ごとに同じデータになり、結果を比較できます。
+ */
+public final class BenchmarkDatasets {
+    private static final Charset SHIFT_JIS = Charset.forName("Shift_JIS");
+    private static final long SEED = 20_251_101L;
+
+    /** 店名とカテゴリの組み合わせ（食費・日用品の明細が多い実際の分布に合わせて重複させている） */
+    private static final String[] SHOPS = {
+            "やよい軒大阪店", "マクドナルド", "セブンーイレブン", "ファミリーマート", "ローソン",
+            "スターバックスコーヒー梅田店", "マツモトキヨシ大阪駅前店", "ダイソー", "ＪＲ東日本モバイルＳｕｉｃａ",
+            "ＡＰＰＬＥ  ＣＯＭ  ＢＩＬＬ", "関西電力", "ソフトバンク", "ユニクロ", "大阪クリニック", "Ａｍａｚｏｎ．ｃｏ．ｊｐ",
+    };
+    private static final CategoryType[] SHOP_CATEGORIES = {
+            CategoryType.FOOD, CategoryType.FOOD, CategoryType.FOOD, CategoryType.FOOD, CategoryType.FOOD,
+            CategoryType.FOOD, CategoryType.DAILY_GOODS, CategoryType.DAILY_GOODS, CategoryType.TRANSPORT,
+            CategoryType.ENTERTAINMENT, CategoryType.UTILITIES, CategoryType.COMMUNICATION, CategoryType.CLOTHING,
+            CategoryType.MEDICAL, CategoryType.OTHER,
+    };
+
+    private BenchmarkDatasets() {
+    }
+
+    /**
+     * 指定した月の支出を生成する
+     *
+     * @param month 対象月
+     * @param count 件数
+     * @return 支出のリスト（日付順ではない）
+     */
+    public static List<Expense> monthOfExpenses(YearMonth month, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        User user = new User("benchmark-sub", "benchmark@example.com");
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int shop = random.nextInt(SHOPS.length);
+            expenses.add(new Expense(
+                    SHOPS[shop] + (i % 50 == 0 ? "" : " " + random.nextInt(1_000)),
+                    new ExpenseAmount(amount(random)),
+                    new ExpenseDate(month.atDay(1 + random.nextInt(month.lengthOfMonth()))),
+                    SHOP_CATEGORIES[shop],
+                    user));
+        }
+        return expenses;
+    }
+
+    /**
+     * 三井住友カード 確定月形式の明細CSV（Shift_JIS）を生成する
+     *
+     * カード情報行で始まり、明細行（CRLF区切り、2%は返品のマイナス金額）と合計行が続く。
+     *
+     * @param month 利用月
+     * @param rows  明細行の数
+     * @return Shift_JIS でエンコードしたCSV
+     */
+    public static byte[] mitsuiSumitomoStatement(YearMonth month, int rows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        StringBuilder sb = new StringBuilder(rows * 48);
+        sb.append("テスト　ユーザー　様,1234-56**-****-****,三井住友ゴールドＶＩＳＡ（ＮＬ）\r\n");
+        long total = 0;
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = month.atDay(1 + random.nextInt(month.lengthOfMonth()));
+            int amount = random.nextInt(50) == 0 ? -amount(random) : amount(random);
+            total += amount;
+            sb.append(date.getYear()).append('/').append(date.getMonthValue()).append('/').append(date.getDayOfMonth())
+                    .append(',').append(SHOPS[random.nextInt(SHOPS.length)])
+                    .append(',').append(amount).append(",１,１,").append(amount).append(",\r\n");
+        }
+        sb.append(",,,,,").append(total).append(",\r\n");
+        return sb.toString().getBytes(SHIFT_JIS);
+    }
+
+    /** 数百円の少額が多く、まれに数万円になる金額 */
+    private static int amount(SplittableRandom random) {
+        return (int) Math.round(100 * Math.exp(random.nextDouble() * Math.log(500)));
+    }
+}
@@ -17,19 +17,23 @@ import java.util.Collections;
 /**
  * 統合テスト用フィルター。
  * リクエストごとにセキュリティコンテキストへテスト用JWTを設定し、セキュリティコンテキストにユーザー情報をセットする。
+ * {@link #SUB_HEADER} を指定すると、そのリクエストは別ユーザー（指定した sub）として扱う。
  */
 @Component
 public class TestJwtAuthenticationFilter extends OncePerRequestFilter {
 
     public static final String TEST_SUB = "cognitoSub";
     public static final String TEST_EMAIL = "test@example.com";
+    /** 別ユーザーとしてリクエストする場合に sub を指定するヘッダー */
+    public static final String SUB_HEADER = "X-Test-Sub";
 
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
-        Jwt jwt = createTestJwt();
+        String sub = request.getHeader(SUB_HEADER);
+        Jwt jwt = sub == null ? createTestJwt(TEST_SUB, TEST_EMAIL) : createTestJwt(sub, sub + "@example.com");
         JwtAuthenticationToken authentication = new JwtAuthenticationToken(jwt, Collections.emptyList());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         try {
@@ -39,12 +43,12 @@ public class TestJwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    private static Jwt createTestJwt() {
+    private static Jwt createTestJwt(String sub, String email) {
         Instant now = Instant.now();
         return Jwt.withTokenValue("test-token")
                 .header("alg", "RS256")
-                .claim("sub", TEST_SUB)
-                .claim("email", TEST_EMAIL)
+                .claim("sub", sub)
+                .claim("email", email)
                 .issuedAt(now)
                 .expiresAt(now.plusSeconds(3600))
                 .build();
@@ -0,0 +1,79 @@
+package com.smarthouseholdaccountbook.backend.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CacheConfig.JwtExpiry のユニットテスト（Ticker を進めて失効を確かめる）
+ */
+class JwtExpiryTest {
+
+    private static final Instant NOW = Instant.parse("2025-11-01T00:00:00Z");
+
+    /** 手動で進める Ticker（初期値は 0 以外にして、基準値との差分で換算していることを確かめる） */
+    private final AtomicLong nanos = new AtomicLong(123_456_789L);
+    private final Ticker ticker = nanos::get;
+    private final Cache<Object, Object> cache = Caffeine.newBuilder()
+            .ticker(ticker)
+            .executor(Runnable::run)
+            .expireAfter(new CacheConfig.JwtExpiry(Clock.fixed(NOW, ZoneOffset.UTC), ticker))
+            .build();
+
+    private static Jwt jwtExpiringAt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .claim("sub", "cognitoSub")
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("トークンの exp まではキャッシュから返し、exp を過ぎると失効する")
+    void expiresAtTokenExpiry() {
+        cache.put("key", jwtExpiringAt(NOW.plusSeconds(60)));
+
+        advance(Duration.ofSeconds(59));
+        assertThat(cache.getIfPresent("key")).isNotNull();
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.getIfPresent("key")).isNull();
+    }
+
+    @Test
+    @DisplayName("残り時間は登録時点の Ticker の値から求める")
+    void measuresRemainingLifetimeFromCurrentTime() {
+        advance(Duration.ofSeconds(30));
+        cache.put("key", jwtExpiringAt(NOW.plusSeconds(60)));
+
+        advance(Duration.ofSeconds(31));
+        assertThat(cache.getIfPresent("key")).isNull();
+    }
+
+    @Test
+    @DisplayName("exp を過ぎたトークン・exp の無い値は即時失効する")
+    void expiresImmediatelyWithoutValidExpiry() {
+        cache.put("expired", jwtExpiringAt(NOW.minusSeconds(1)));
+        cache.put("notJwt", "value");
+
+        assertThat(cache.getIfPresent("expired")).isNull();
+        assertThat(cache.getIfPresent("notJwt")).isNull();
+    }
+}
@@ -0,0 +1,167 @@
+package com.smarthouseholdaccountbook.backend.config.jfr;
+
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JfrRecordingEndpoint のテストクラス
+ *
+ * 実際に JFR の記録を開始・終了し、記録ファイルにアプリケーション独自のイベントが含まれることを検証する。
+ */
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        JfrRecordingProperties properties = new JfrRecordingProperties();
+        properties.setDirectory(directory);
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        properties.setMaxRetained(2);
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    private long startRecording() {
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingDescriptor> response =
+                endpoint.start("default", Duration.ofSeconds(30));
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        return response.getBody().id();
+    }
+
+    @Nested
+    @DisplayName("記録の開始")
+    class Start {
+
+        @Test
+        @DisplayName("指定したプロファイル・記録時間で記録を開始する")
+        void startsRecording() {
+            WebEndpointResponse<JfrRecordingEndpoint.RecordingDescriptor> response =
+                    endpoint.start("profile", Duration.ofSeconds(30));
+
+            assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+            assertThat(response.getBody().profile()).isEqualTo("profile");
+            assertThat(response.getBody().state()).isEqualTo(RecordingState.RUNNING);
+            assertThat(response.getBody().duration()).isEqualTo(Duration.ofSeconds(30));
+            assertThat(endpoint.recordings()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("記録中の記録がある場合は409を返す")
+        void rejectsConcurrentRecording() {
+            startRecording();
+
+            assertThat(endpoint.start(null, null).getStatus()).isEqualTo(JfrRecordingEndpoint.STATUS_CONFLICT);
+        }
+
+        @Test
+        @DisplayName("未知のプロファイル・上限を超える記録時間は受け付けない")
+        void rejectsInvalidParameters() {
+            assertThatThrownBy(() -> endpoint.start("unknown", null))
+                    .isInstanceOf(InvalidEndpointRequestException.class);
+            assertThatThrownBy(() -> endpoint.start(null, Duration.ofMinutes(2)))
+                    .isInstanceOf(InvalidEndpointRequestException.class);
+            assertThatThrownBy(() -> endpoint.start(null, Duration.ZERO))
+                    .isInstanceOf(InvalidEndpointRequestException.class);
+            assertThat(endpoint.recordings()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("記録の終了とダウンロード")
+    class StopAndDownload {
+
+        @Test
+        @DisplayName("記録中はダウンロードできず、終了すると独自イベントを含む記録ファイルをダウンロードできる")
+        void downloadsRecordingAfterStop() throws Exception {
+            long id = startRecording();
+            MonthlySummaryEvent event = new MonthlySummaryEvent();
+            event.begin();
+            event.complete("2025-11", 3, "cognito-sub");
+
+            assertThat(endpoint.download(id).getStatus()).isEqualTo(JfrRecordingEndpoint.STATUS_CONFLICT);
+
+            WebEndpointResponse<JfrRecordingEndpoint.RecordingDescriptor> stopped = endpoint.stop(id);
+            assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+            assertThat(stopped.getBody().state()).isEqualTo(RecordingState.CLOSED);
+            assertThat(stopped.getBody().size()).isPositive();
+
+            WebEndpointResponse<Resource> download = endpoint.download(id);
+            assertThat(download.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(download.getBody().getFile().toPath());
+            assertThat(events)
+                    .filteredOn(recorded -> recorded.getEventType().getName().equals(MonthlySummaryEvent.NAME))
+                    .singleElement()
+                    .satisfies(recorded -> {
+                        assertThat(recorded.getString("month")).isEqualTo("2025-11");
+                        assertThat(recorded.getInt("expenseCount")).isEqualTo(3);
+                        assertThat(recorded.getString("subjectHash"))
+                                .hasSize(JfrEventAttributes.HASH_LENGTH)
+                                .isEqualTo(JfrEventAttributes.hashSubject("cognito-sub"));
+                    });
+        }
+
+        @Test
+        @DisplayName("終了済みの記録を削除するとファイルごと破棄する")
+        void discardsStoppedRecording() throws Exception {
+            long id = startRecording();
+            endpoint.stop(id);
+            Path file = endpoint.download(id).getBody().getFile().toPath();
+
+            assertThat(endpoint.stop(id).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NO_CONTENT);
+
+            assertThat(file).doesNotExist();
+            assertThat(endpoint.recordings()).isEmpty();
+            assertThat(endpoint.download(id).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("保持数を超えると古い記録から破棄する")
+        void discardsOldestRecordingsBeyondMaxRetained() throws Exception {
+            long first = startRecording();
+            endpoint.stop(first);
+            Path firstFile = endpoint.download(first).getBody().getFile().toPath();
+            long second = startRecording();
+            endpoint.stop(second);
+            long third = startRecording();
+
+            assertThat(endpoint.recordings())
+                    .extracting(JfrRecordingEndpoint.RecordingDescriptor::id)
+                    .containsExactly(second, third);
+            assertThat(firstFile).doesNotExist();
+            assertThat(endpoint.download(second).getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        }
+
+        @Test
+        @DisplayName("存在しない記録は404を返す")
+        void returnsNotFoundForUnknownRecording() {
+            assertThat(endpoint.download(-1).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+            assertThat(endpoint.stop(-1).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+    }
+}
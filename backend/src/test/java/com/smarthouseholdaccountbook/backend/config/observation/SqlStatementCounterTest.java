@@ -0,0 +1,61 @@
+package com.smarthouseholdaccountbook.backend.config.observation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+
+    @AfterEach
+    void tearDown() {
+        // 失敗したテストで計測が残っても他のテストに影響しないようにする
+        while (SqlStatementCounter.current() != null) {
+            SqlStatementCounter.current().close();
+        }
+    }
+
+    @Test
+    @DisplayName("計測中でなければSQLを数えない")
+    void ignoresStatementsOutsideRecording() {
+        SqlStatementCounter.statementPrepared();
+
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("SQLの件数とJDBCの実行時間を合計する")
+    void countsStatementsAndJdbcTime() {
+        try (SqlStatementCounter.Recording recording = SqlStatementCounter.start()) {
+            SqlStatementCounter.statementPrepared();
+            SqlStatementCounter.jdbcExecuted(1_000_000);
+            SqlStatementCounter.statementPrepared();
+            SqlStatementCounter.jdbcExecuted(2_000_000);
+
+            assertThat(recording.getStatementCount()).isEqualTo(2);
+            assertThat(recording.getJdbcTime()).isEqualTo(Duration.ofMillis(3));
+        }
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("入れ子の計測では内側のSQLを外側にも数え、内側を閉じると外側の計測に戻る")
+    void countsNestedRecordings() {
+        try (SqlStatementCounter.Recording outer = SqlStatementCounter.start()) {
+            SqlStatementCounter.statementPrepared();
+            try (SqlStatementCounter.Recording inner = SqlStatementCounter.start()) {
+                SqlStatementCounter.statementPrepared();
+                SqlStatementCounter.statementPrepared();
+
+                assertThat(inner.getStatementCount()).isEqualTo(2);
+            }
+            assertThat(SqlStatementCounter.current()).isSameAs(outer);
+            SqlStatementCounter.statementPrepared();
+
+            assertThat(outer.getStatementCount()).isEqualTo(4);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.smarthouseholdaccountbook.backend.config.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StreamingResourceHttpMessageConverter のユニットテスト
+ */
+class StreamingResourceHttpMessageConverterTest {
+
+    private final StreamingResourceHttpMessageConverter converter = new StreamingResourceHttpMessageConverter();
+
+    @Test
+    @DisplayName("Resource の本文は読み込まずに、受信中のストリームを包んで返す")
+    void wrapsBodyWithoutReading() throws IOException {
+        byte[] bytes = "[{\"amount\": 300}]".getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream body = new ByteArrayInputStream(bytes);
+
+        Resource resource = converter.read(Resource.class, new MockHttpInputMessage(body));
+
+        assertThat(resource).isInstanceOf(InputStreamResource.class);
+        assertThat(body.available()).isEqualTo(bytes.length);
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Resource 以外の具体的な型は既定どおり読み込む")
+    void delegatesForConcreteResourceTypes() throws IOException {
+        byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+
+        Resource resource = converter.read(ByteArrayResource.class, new MockHttpInputMessage(bytes));
+
+        assertThat(resource).isInstanceOf(ByteArrayResource.class);
+        assertThat(resource.getContentAsByteArray()).isEqualTo(bytes);
+    }
+}
@@ -2,7 +2,10 @@ package com.smarthouseholdaccountbook.backend.controller;
 
 import com.smarthouseholdaccountbook.backend.application.mapper.ExpenseMapper;
 import com.smarthouseholdaccountbook.backend.application.service.CsvExpenseService;
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseBatchImportService;
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseExportService;
 import com.smarthouseholdaccountbook.backend.application.service.ExpenseApplicationService;
+import com.smarthouseholdaccountbook.backend.application.service.ImportBatchService;
 import com.smarthouseholdaccountbook.backend.application.service.csv.CsvFormat;
 import com.smarthouseholdaccountbook.backend.application.service.csv.model.CsvParseError;
 import com.smarthouseholdaccountbook.backend.exception.CsvUploadException;
@@ -11,12 +14,19 @@ import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
 import com.smarthouseholdaccountbook.backend.entity.User;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDtoErrorsInner;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBatchResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkCategoryRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkDeleteRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseCursorPageDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpensePageDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseCursor;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
 import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
 
@@ -27,6 +37,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -59,6 +70,15 @@ class ExpenseControllerTest {
     @Mock
     private CsvExpenseService csvExpenseService;
 
+    @Mock
+    private ExpenseBatchImportService expenseBatchImportService;
+
+    @Mock
+    private ExpenseExportService expenseExportService;
+
+    @Mock
+    private ImportBatchService importBatchService;
+
     @Mock
     private ExpenseMapper expenseMapper;
 
@@ -75,13 +95,13 @@ class ExpenseControllerTest {
         @Test
         @DisplayName("monthを指定したとき、その月のページを200で返す")
         void returnsExpensePageByMonthWhenMonthGiven() {
-            Expense expense = createExpense("月指定ダミー", 1200, LocalDate.of(2024, 1, 20), CategoryType.TRANSPORT);
-            Page<Expense> page = new PageImpl<>(List.of(expense), PageRequest.of(0, 20), 1);
+            ExpenseListItem item = new ExpenseListItem(2L, LocalDate.of(2024, 1, 20), CategoryType.TRANSPORT, 1200, "月指定ダミー");
+            Page<ExpenseListItem> page = new PageImpl<>(List.of(item), PageRequest.of(0, 20), 1);
             when(expenseApplicationService.getExpensesByMonth(eq("2024-01"), any(Pageable.class))).thenReturn(page);
             ExpenseDto expectedDto = new ExpenseDto();
             expectedDto.setId(2L);
             expectedDto.setDescription("月指定");
-            when(expenseMapper.toDto(any(Expense.class))).thenReturn(expectedDto);
+            when(expenseMapper.toDto(item)).thenReturn(expectedDto);
 
             ResponseEntity<ExpensePageDto> response = expenseController.apiExpensesGet("2024-01", 0, 20);
 
@@ -96,6 +116,50 @@ class ExpenseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("apiExpensesScrollGet")
+    class ApiExpensesScrollGet {
+
+        @Test
+        @DisplayName("カーソルをデコードしてサービスに渡し、次ページのカーソルをエンコードして返す")
+        void passesDecodedCursorAndReturnsNextCursor() {
+            ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2024, 1, 20), 30L);
+            ExpenseCursor next = new ExpenseCursor(LocalDate.of(2024, 1, 10), 20L);
+            ExpenseListItem item = new ExpenseListItem(20L, LocalDate.of(2024, 1, 10), CategoryType.FOOD, 1200, "カーソルダミー");
+            when(expenseApplicationService.getExpensesByMonthAfter("2024-01", cursor, 1))
+                    .thenReturn(new ExpenseApplicationService.ExpenseSlice(List.of(item), next));
+            ExpenseDto expectedDto = new ExpenseDto();
+            when(expenseMapper.toDto(item)).thenReturn(expectedDto);
+
+            ResponseEntity<ExpenseCursorPageDto> response =
+                    expenseController.apiExpensesScrollGet("2024-01", cursor.encode(), 1, false);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().getContent()).containsExactly(expectedDto);
+            assertThat(response.getBody().getHasNext()).isTrue();
+            assertThat(ExpenseCursor.decode(response.getBody().getNextCursor())).isEqualTo(next);
+            assertThat(response.getBody().getTotalElements()).isNull();
+            verify(expenseApplicationService, never()).countExpensesByMonth(any());
+        }
+
+        @Test
+        @DisplayName("includeTotal=trueのとき件数を含め、最終ページではnextCursorを返さない")
+        void includesTotalWhenRequested() {
+            when(expenseApplicationService.getExpensesByMonthAfter("2024-01", null, 10))
+                    .thenReturn(new ExpenseApplicationService.ExpenseSlice(List.of(), null));
+            when(expenseApplicationService.countExpensesByMonth("2024-01")).thenReturn(0L);
+
+            ResponseEntity<ExpenseCursorPageDto> response =
+                    expenseController.apiExpensesScrollGet("2024-01", null, 10, true);
+
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().getHasNext()).isFalse();
+            assertThat(response.getBody().getNextCursor()).isNull();
+            assertThat(response.getBody().getTotalElements()).isEqualTo(0L);
+        }
+    }
+
     @Nested
     @DisplayName("apiExpensesPost")
     class ApiExpensesPost {
@@ -140,6 +204,96 @@ class ExpenseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("apiExpensesBatchPost")
+    class ApiExpensesBatchPost {
+
+        @Test
+        @DisplayName("本文をストリームのままサービスに渡し、結果を200で返す")
+        void returnsOkWithResult() {
+            ExpenseBatchImportService.ExpenseBatchImportResult result =
+                    new ExpenseBatchImportService.ExpenseBatchImportResult(2, 0, 0, List.of());
+            when(expenseBatchImportService.importExpenses(any())).thenReturn(result);
+            ExpenseBatchResultDto expectedDto = new ExpenseBatchResultDto(2, 0, 0, List.of());
+            when(expenseMapper.toDto(result)).thenReturn(expectedDto);
+
+            ResponseEntity<ExpenseBatchResultDto> response =
+                    expenseController.apiExpensesBatchPost(new ByteArrayResource("[]".getBytes()));
+
+            assertOkWithBody(response, expectedDto);
+        }
+    }
+
+    @Nested
+    @DisplayName("apiExpensesExportGet")
+    class ApiExpensesExportGet {
+
+        @Test
+        @DisplayName("出力形式が不正なときはレスポンスを書き始めずにIllegalArgumentExceptionを投げる")
+        void throwsWhenFormatInvalid() throws Exception {
+            assertThatThrownBy(() -> expenseController.apiExpensesExportGet("xml", null, null, false))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verify(expenseExportService, never()).export(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("apiExpensesBulkDeletePost")
+    class ApiExpensesBulkDeletePost {
+
+        @Test
+        @DisplayName("IDリストをサービスに渡し、削除件数を200で返す")
+        void returnsDeletedCount() {
+            when(expenseApplicationService.deleteExpenses(List.of(1L, 2L, 3L))).thenReturn(2);
+
+            ResponseEntity<ExpenseBulkResultDto> response =
+                    expenseController.apiExpensesBulkDeletePost(new ExpenseBulkDeleteRequestDto(List.of(1L, 2L, 3L)));
+
+            assertOkWithBody(response, new ExpenseBulkResultDto(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("apiExpensesImportsIdDelete")
+    class ApiExpensesImportsIdDelete {
+
+        @Test
+        @DisplayName("取り込みバッチIDをサービスに渡し、削除件数を200で返す")
+        void returnsDeletedCount() {
+            when(importBatchService.rollbackImportBatch(5L)).thenReturn(12);
+
+            ResponseEntity<ExpenseBulkResultDto> response = expenseController.apiExpensesImportsIdDelete(5L);
+
+            assertOkWithBody(response, new ExpenseBulkResultDto(12));
+        }
+    }
+
+    @Nested
+    @DisplayName("apiExpensesBulkCategoryPost")
+    class ApiExpensesBulkCategoryPost {
+
+        @Test
+        @DisplayName("表示名をカテゴリに変換してサービスに渡し、対象件数を200で返す")
+        void returnsUpdatedCount() {
+            when(expenseApplicationService.updateExpenseCategories(List.of(1L, 2L), CategoryType.FOOD)).thenReturn(2);
+
+            ResponseEntity<ExpenseBulkResultDto> response = expenseController.apiExpensesBulkCategoryPost(
+                    new ExpenseBulkCategoryRequestDto(List.of(1L, 2L), "食費"));
+
+            assertOkWithBody(response, new ExpenseBulkResultDto(2));
+        }
+
+        @Test
+        @DisplayName("無効なカテゴリのときIllegalArgumentExceptionを投げ、サービスを呼ばない")
+        void throwsWhenCategoryInvalid() {
+            assertThatThrownBy(() -> expenseController.apiExpensesBulkCategoryPost(
+                    new ExpenseBulkCategoryRequestDto(List.of(1L), "存在しないカテゴリ")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(expenseApplicationService);
+        }
+    }
+
     @Nested
     @DisplayName("apiExpensesIdPut")
     class ApiExpensesIdPut {
@@ -245,7 +399,7 @@ class ExpenseControllerTest {
         @DisplayName("OLD形式のCSVをアップロードすると、200でアップロード結果を返す")
         void returnsOkWhenValidCsvUploaded() throws IOException {
             givenValidCsvFile();
-            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(2, 0, 0, new ArrayList<>());
+            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(2, 0, 0, new ArrayList<>(), 1L, false);
             when(csvExpenseService.uploadCsvAndAddExpenses(any(MultipartFile.class), eq(CsvFormat.MITSUISUMITOMO_OLD_FORMAT)))
                     .thenReturn(result);
             CsvUploadResponseDto expectedDto = new CsvUploadResponseDto();
@@ -265,7 +419,7 @@ class ExpenseControllerTest {
         @DisplayName("NEW形式のCSVをアップロードすると、200でアップロード結果を返す")
         void returnsOkWhenNewFormatCsvUploaded() throws IOException {
             givenValidCsvFile();
-            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(3, 0, 0, new ArrayList<>());
+            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(3, 0, 0, new ArrayList<>(), 1L, false);
             when(csvExpenseService.uploadCsvAndAddExpenses(any(MultipartFile.class), eq(CsvFormat.MITSUISUMITOMO_NEW_FORMAT)))
                     .thenReturn(result);
             CsvUploadResponseDto expectedDto = new CsvUploadResponseDto();
@@ -287,7 +441,7 @@ class ExpenseControllerTest {
             givenValidCsvFile();
             List<CsvParseError> errors = new ArrayList<>();
             errors.add(new CsvParseError(2, "2024/1/1,テスト店,1000", "日付の形式が不正です"));
-            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(1, 1, 0, errors);
+            CsvExpenseService.CsvUploadResult result = new CsvExpenseService.CsvUploadResult(1, 1, 0, errors, 1L, false);
             when(csvExpenseService.uploadCsvAndAddExpenses(any(MultipartFile.class), eq(CsvFormat.MITSUISUMITOMO_OLD_FORMAT)))
                     .thenReturn(result);
             CsvUploadResponseDto expectedDto = new CsvUploadResponseDto();
@@ -350,6 +504,22 @@ class ExpenseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("apiExpensesUploadCsvStreamPost")
+    class ApiExpensesUploadCsvStreamPost {
+
+        @Test
+        @DisplayName("対応外のCSV形式を指定したとき、本文を読まずにIllegalArgumentExceptionをスローする")
+        void throwsBeforeReadingBodyWhenCsvFormatIsInvalid() {
+            ByteArrayResource body = new ByteArrayResource(new byte[0]);
+
+            assertThatThrownBy(() -> expenseController.apiExpensesUploadCsvStreamPost("INVALID_FORMAT", body))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("無効なCSV形式です");
+            verifyNoInteractions(csvExpenseService);
+        }
+    }
+
     @Nested
     @DisplayName("apiExpensesUploadCsvPost - 例外伝播")
     class ApiExpensesUploadCsvPostException {
@@ -76,6 +76,7 @@ class ExpenseTest {
             assertThat(expense.getDate().getDate()).isEqualTo(TEST_DATE);
             assertThat(expense.getCategory().getDisplayName()).isEqualTo("食費");
             assertThat(expense.getUser()).isEqualTo(user);
+            assertThat(expense.getExpenseMonth()).isEqualTo(202501);
         }
     }
 
@@ -190,6 +191,18 @@ class ExpenseTest {
             assertThat(expense.getDate().getDate()).isEqualTo(newDate);
         }
 
+        @Test
+        @DisplayName("日付の月が変わると支出月も更新される")
+        void updateExpenseMonth() {
+            Expense expense = defaultExpense();
+            ExpenseUpdate update = new ExpenseUpdate(
+                    "テスト支出", defaultAmount(), new ExpenseDate(LocalDate.of(2024, 12, 31)), defaultCategory());
+
+            expense.update(update);
+
+            assertThat(expense.getExpenseMonth()).isEqualTo(202412);
+        }
+
         @Test
         @DisplayName("カテゴリーを変更できる")
         void updateCategory() {
@@ -4,10 +4,19 @@ import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
 import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBatchResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkCategoryRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkDeleteRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseBulkResultDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseCursorPageDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ExpenseDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpensePageDto;
 import com.smarthouseholdaccountbook.backend.generated.model.ExpenseRequestDto;
+import com.smarthouseholdaccountbook.backend.generated.model.ImportBatchDto;
 import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
 import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
 import com.smarthouseholdaccountbook.backend.repository.UserRepository;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
@@ -23,19 +32,31 @@ import org.springframework.cache.CacheManager;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static com.smarthouseholdaccountbook.backend.integrationTest.SqlStatementCountMatchers.statementCountAtMost;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -53,6 +74,9 @@ class ExpenseIntegrationTest {
     @Autowired
     private ExpenseRepository expenseRepository;
 
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -65,14 +89,12 @@ class ExpenseIntegrationTest {
     void setUp() throws Exception {
         // @SpringBootTest では各テストはロールバックは機能しないため、テスト前にデータをクリアする。
         expenseRepository.deleteAll();
+        importBatchRepository.deleteAll();
         userRepository.deleteAll();
 
         user = userRepository.save(new User(TestJwtAuthenticationFilter.TEST_SUB, TestJwtAuthenticationFilter.TEST_EMAIL));
-        // キャッシュをクリアする。
-        var usersCache = cacheManager.getCache("users");
-        if (usersCache != null) {
-            usersCache.clear();
-        }
+        // キャッシュをクリアする（ユーザーを作り直すため、sub → ユーザーID のキャッシュも古くなる）。
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
     private Expense saveExpense(String description, int amount, LocalDate date, CategoryType category) {
@@ -153,6 +175,442 @@ class ExpenseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/expenses/batch")
+    class ApiExpensesBatchPost {
+
+        @Test
+        @DisplayName("JSON配列の支出を一括登録し、既存データとの重複と検証エラーの要素を除外する")
+        void importsJsonArray() throws Exception {
+            // given
+            saveExpense("ランチ", 1200, LocalDate.of(2024, 1, 15), CategoryType.FOOD);
+            String body = """
+                    [
+                      {"date": "2024-01-15", "category": "食費", "amount": 1200, "description": "ランチ"},
+                      {"date": "2024-01-16", "category": "交通費", "amount": 300, "description": "バス"},
+                      {"date": "2024-01-17", "category": "食費", "amount": 0, "description": "金額0"}
+                    ]
+                    """;
+
+            // when
+            String response = mockMvc.perform(post("/api/expenses/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            ExpenseBatchResultDto result = jsonMapper.readValue(response, ExpenseBatchResultDto.class);
+            assertThat(result.getSuccessCount()).isEqualTo(1);
+            assertThat(result.getSkippedCount()).isEqualTo(1);
+            assertThat(result.getErrorCount()).isEqualTo(1);
+            assertThat(result.getErrors()).singleElement().satisfies(error -> assertThat(error.getIndex()).isEqualTo(3));
+            Expense imported = expenseRepository.findAll().stream()
+                    .filter(expense -> expense.getDescription().equals("バス"))
+                    .findFirst().orElseThrow();
+            assertThat(imported.getUser().getId()).isEqualTo(user.getId());
+            assertThat(imported.getCategory()).isEqualTo(CategoryType.TRANSPORT);
+            assertThat(imported.getExpenseMonth()).isEqualTo(202401);
+            assertThat(imported.getImportFingerprint()).isNotNull();
+        }
+
+        @Test
+        @DisplayName("NDJSONをチャンクをまたいで一括登録し、リクエスト内の重複も除外する")
+        void importsNdjsonAcrossChunks() throws Exception {
+            // given: チャンク（500件）をまたぐ件数と、先頭と同じ内容の末尾行
+            StringBuilder body = new StringBuilder();
+            for (int i = 1; i <= 1200; i++) {
+                body.append("{\"date\": \"2024-02-01\", \"category\": \"食費\", \"amount\": ")
+                        .append(i).append(", \"description\": \"支出").append(i).append("\"}\n");
+            }
+            body.append("{\"date\": \"2024-02-01\", \"category\": \"食費\", \"amount\": 1, \"description\": \"支出1\"}\n");
+
+            // when
+            String response = mockMvc.perform(post("/api/expenses/batch")
+                            .contentType("application/x-ndjson")
+                            .content(body.toString()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            ExpenseBatchResultDto result = jsonMapper.readValue(response, ExpenseBatchResultDto.class);
+            assertThat(result.getSuccessCount()).isEqualTo(1200);
+            assertThat(result.getSkippedCount()).isEqualTo(1);
+            assertThat(expenseRepository.count()).isEqualTo(1200);
+        }
+
+        @Test
+        @DisplayName("取り込み後に編集した明細を再度取り込むと、取り込み指紋の一意制約でスキップしてスキップ件数に数える")
+        void skipsRowAlreadyImportedByFingerprint() throws Exception {
+            // given: 取り込んだ明細の金額を編集し、内容による重複チェックでは一致しない状態にする
+            String row = "[{\"date\": \"2024-01-16\", \"category\": \"交通費\", \"amount\": 300, \"description\": \"バス\"}]";
+            mockMvc.perform(post("/api/expenses/batch").contentType(MediaType.APPLICATION_JSON).content(row))
+                    .andExpect(status().isOk());
+            Long id = expenseRepository.findAll().get(0).getId();
+            mockMvc.perform(put("/api/expenses/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(requestDto(LocalDate.of(2024, 1, 16), "交通費", 350, "バス"))))
+                    .andExpect(status().isOk());
+
+            // when
+            String response = mockMvc.perform(post("/api/expenses/batch").contentType(MediaType.APPLICATION_JSON).content(row))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            ExpenseBatchResultDto result = jsonMapper.readValue(response, ExpenseBatchResultDto.class);
+            assertThat(result.getSuccessCount()).isZero();
+            assertThat(result.getSkippedCount()).isEqualTo(1);
+            assertThat(expenseRepository.count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("登録した月のサマリーのキャッシュが無効化される")
+        void evictsSummaryOfImportedMonth() throws Exception {
+            // given
+            mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01"))
+                    .andExpect(status().isOk());
+
+            // when
+            mockMvc.perform(post("/api/expenses/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"date\": \"2024-01-16\", \"category\": \"交通費\", \"amount\": 300, \"description\": \"バス\"}]"))
+                    .andExpect(status().isOk());
+
+            // then
+            String body = mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(jsonMapper.readValue(body, MonthlySummaryDto.class).getCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("JSONとして読めないとき400を返し、読み取り済みの要素も保存しない")
+        void returnsBadRequestAndRollsBackWhenJsonInvalid() throws Exception {
+            // when
+            mockMvc.perform(post("/api/expenses/batch")
+                            .contentType("application/x-ndjson")
+                            .content("{\"date\": \"2024-01-16\", \"category\": \"交通費\", \"amount\": 300, \"description\": \"バス\"}\n{ invalid"))
+                    .andExpect(status().isBadRequest());
+
+            // then
+            assertThat(expenseRepository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("JSONとして読めないとき、それより前のチャンクはコミット済みで、修正して再送すると重複としてスキップする")
+        void keepsCommittedChunksWhenJsonInvalidAndSkipsThemOnRetry() throws Exception {
+            // given: 1チャンク（500件）分の要素と、次のチャンクの要素
+            StringBuilder rows = new StringBuilder();
+            for (int i = 1; i <= 500; i++) {
+                rows.append("{\"date\": \"2024-03-01\", \"category\": \"食費\", \"amount\": ")
+                        .append(i).append(", \"description\": \"支出").append(i).append("\"}\n");
+            }
+            String last = "{\"date\": \"2024-03-02\", \"category\": \"食費\", \"amount\": 1, \"description\": \"最後\"}\n";
+
+            // when: 途中に読めない行
+            mockMvc.perform(post("/api/expenses/batch")
+                            .contentType("application/x-ndjson")
+                            .content(rows + last + "{ invalid"))
+                    .andExpect(status().isBadRequest());
+
+            // then: 最初のチャンクだけ登録済み
+            assertThat(expenseRepository.count()).isEqualTo(500);
+
+            // when: 修正して再送
+            String response = mockMvc.perform(post("/api/expenses/batch")
+                            .contentType("application/x-ndjson")
+                            .content(rows + last))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            ExpenseBatchResultDto result = jsonMapper.readValue(response, ExpenseBatchResultDto.class);
+            assertThat(result.getSuccessCount()).isEqualTo(1);
+            assertThat(result.getSkippedCount()).isEqualTo(500);
+            assertThat(expenseRepository.count()).isEqualTo(501);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/expenses/export")
+    class ApiExpensesExportGet {
+
+        @Test
+        @DisplayName("CSVで期間内の自分の支出を日付の昇順で出力し、カンマやダブルクォートを含む説明を囲む")
+        void exportsCsvWithinRange() throws Exception {
+            // given
+            saveExpense("昼食, 定食", 800, LocalDate.of(2024, 2, 10), CategoryType.FOOD);
+            saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.TRANSPORT);
+            saveExpense("範囲外", 300, LocalDate.of(2024, 3, 1), CategoryType.OTHER);
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            expenseRepository.save(new Expense(
+                    "別ユーザーの支出", new ExpenseAmount(1000), new ExpenseDate(LocalDate.of(2024, 1, 15)),
+                    CategoryType.FOOD, otherUser));
+
+            // when & then
+            String body = mockMvc.perform(get("/api/expenses/export")
+                            .param("format", "csv")
+                            .param("startDate", "2024-01-01")
+                            .param("endDate", "2024-02-29"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                            containsString("expenses_2024-01-01_2024-02-29.csv")))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            assertThat(body).isEqualTo("日付,カテゴリ,金額,説明\r\n"
+                    + "2024-01-10,交通費,500,バス代\r\n"
+                    + "2024-02-10,食費,800,\"昼食, 定食\"\r\n");
+        }
+
+        @Test
+        @DisplayName("NDJSONで1行に1件ずつ出力する")
+        void exportsNdjson() throws Exception {
+            // given
+            saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.TRANSPORT);
+            saveExpense("昼食", 800, LocalDate.of(2024, 2, 10), CategoryType.FOOD);
+
+            // when
+            String body = mockMvc.perform(get("/api/expenses/export").param("format", "ndjson"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // then
+            List<ExpenseDto> rows = body.lines()
+                    .map(line -> jsonMapper.readValue(line, ExpenseDto.class))
+                    .toList();
+            assertThat(rows).extracting(ExpenseDto::getDescription).containsExactly("バス代", "昼食");
+            assertThat(rows.get(1).getCategory()).isEqualTo("食費");
+            assertThat(rows.get(1).getDate()).isEqualTo(LocalDate.of(2024, 2, 10));
+        }
+
+        @Test
+        @DisplayName("gzip=trueのときgzip圧縮したファイルとして出力する")
+        void exportsGzip() throws Exception {
+            // given
+            saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.TRANSPORT);
+
+            // when
+            byte[] body = mockMvc.perform(get("/api/expenses/export").param("gzip", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                    .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                            containsString("expenses.csv.gz")))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // then
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                        .isEqualTo("日付,カテゴリ,金額,説明\r\n2024-01-10,交通費,500,バス代\r\n");
+            }
+        }
+
+        @Test
+        @DisplayName("開始日が終了日より後のとき400を返す")
+        void returnsBadRequestWhenRangeInverted() throws Exception {
+            mockMvc.perform(get("/api/expenses/export")
+                            .param("startDate", "2024-02-01")
+                            .param("endDate", "2024-01-01"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/expenses/bulk-delete")
+    class ApiExpensesBulkDeletePost {
+
+        @Test
+        @DisplayName("自分の支出だけを一括削除し、削除件数を返す")
+        void deletesOwnExpensesAndReturnsCount() throws Exception {
+            // given
+            Expense first = saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.TRANSPORT);
+            Expense second = saveExpense("昼食", 800, LocalDate.of(2024, 2, 10), CategoryType.FOOD);
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            Expense others = expenseRepository.save(new Expense(
+                    "別ユーザーの支出", new ExpenseAmount(1000), new ExpenseDate(LocalDate.of(2024, 1, 10)),
+                    CategoryType.FOOD, otherUser));
+            ExpenseBulkDeleteRequestDto request =
+                    new ExpenseBulkDeleteRequestDto(List.of(first.getId(), second.getId(), others.getId()));
+
+            // when
+            String body = mockMvc.perform(post("/api/expenses/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            assertThat(jsonMapper.readValue(body, ExpenseBulkResultDto.class).getAffectedCount()).isEqualTo(2);
+            assertThat(expenseRepository.findAll()).extracting(Expense::getId).containsExactly(others.getId());
+        }
+
+        @Test
+        @DisplayName("削除した月のサマリーのキャッシュが無効化される")
+        void evictsSummaryOfDeletedMonth() throws Exception {
+            // given
+            Expense expense = saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.TRANSPORT);
+            mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01"))
+                    .andExpect(status().isOk());
+
+            // when
+            mockMvc.perform(post("/api/expenses/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(new ExpenseBulkDeleteRequestDto(List.of(expense.getId())))))
+                    .andExpect(status().isOk());
+
+            // then
+            String body = mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(jsonMapper.readValue(body, MonthlySummaryDto.class).getCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("IDが空のとき400を返す")
+        void returnsBadRequestWhenIdsEmpty() throws Exception {
+            mockMvc.perform(post("/api/expenses/bulk-delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": []}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/expenses/upload-csv と /api/expenses/imports")
+    class ApiExpensesImports {
+
+        /** 三井住友カード 確定月の明細（Shift_JIS） */
+        private final MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "meisai.csv",
+                "text/csv",
+                """
+                        2025/11/01,やよい軒大阪店,1220,１,１,1220,
+                        2025/11/02,ファミリーマート梅田店,540,１,１,540,
+                        """.getBytes(Charset.forName("Shift_JIS")));
+
+        private CsvUploadResponseDto uploadCsv() throws Exception {
+            String body = mockMvc.perform(multipart("/api/expenses/upload-csv")
+                            .file(csvFile)
+                            .param("csvFormat", "MITSUISUMITOMO_OLD_FORMAT"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            return jsonMapper.readValue(body, CsvUploadResponseDto.class);
+        }
+
+        @Test
+        @DisplayName("CSV取り込みを取り消すと、そのバッチで登録した支出だけを削除し、履歴に取り消し日時を残す")
+        void rollbackDeletesOnlyRowsOfBatch() throws Exception {
+            // given
+            Expense manual = saveExpense("手動登録", 800, LocalDate.of(2025, 11, 1), CategoryType.FOOD);
+            CsvUploadResponseDto uploaded = uploadCsv();
+            assertThat(uploaded.getSuccessCount()).isEqualTo(2);
+            assertThat(uploaded.getImportBatchId()).isNotNull();
+            assertThat(expenseRepository.findAll())
+                    .filteredOn(expense -> expense.getImportBatchId() != null)
+                    .hasSize(2)
+                    .allSatisfy(expense -> assertThat(expense.getImportBatchId()).isEqualTo(uploaded.getImportBatchId()));
+
+            // when
+            String body = mockMvc.perform(delete("/api/expenses/imports/{id}", uploaded.getImportBatchId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            assertThat(jsonMapper.readValue(body, ExpenseBulkResultDto.class).getAffectedCount()).isEqualTo(2);
+            assertThat(expenseRepository.findAll()).extracting(Expense::getId).containsExactly(manual.getId());
+            String history = mockMvc.perform(get("/api/expenses/imports"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<ImportBatchDto> batches = jsonMapper.readValue(history, new TypeReference<List<ImportBatchDto>>() {
+            });
+            assertThat(batches).singleElement().satisfies(batch -> {
+                assertThat(batch.getSuccessCount()).isEqualTo(2);
+                assertThat(batch.getCsvFormat()).isEqualTo("MITSUISUMITOMO_OLD_FORMAT");
+                assertThat(batch.getFileHash()).hasSize(64);
+                assertThat(batch.getCompletedAt()).isNotNull();
+                assertThat(batch.getRolledBackAt()).isNotNull();
+            });
+        }
+
+        @Test
+        @DisplayName("同じファイルの再アップロードは取り込まず、取り消した後は再び取り込む")
+        void shortCircuitsReuploadUntilRolledBack() throws Exception {
+            // given
+            CsvUploadResponseDto first = uploadCsv();
+
+            // when
+            CsvUploadResponseDto second = uploadCsv();
+
+            // then
+            assertThat(second.getAlreadyImported()).isTrue();
+            assertThat(second.getImportBatchId()).isEqualTo(first.getImportBatchId());
+            assertThat(second.getSuccessCount()).isZero();
+            assertThat(expenseRepository.count()).isEqualTo(2);
+
+            mockMvc.perform(delete("/api/expenses/imports/{id}", first.getImportBatchId()))
+                    .andExpect(status().isOk());
+            CsvUploadResponseDto third = uploadCsv();
+            assertThat(third.getAlreadyImported()).isFalse();
+            assertThat(third.getSuccessCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("本文をそのまま送るストリーミングアップロードでも取り込み、同じ内容のファイルは取り込み済みになる")
+        void importsStreamedBodyAndSharesHashWithMultipartUpload() throws Exception {
+            // when
+            String body = mockMvc.perform(post("/api/expenses/upload-csv/stream")
+                            .param("csvFormat", "MITSUISUMITOMO_OLD_FORMAT")
+                            .contentType("text/csv")
+                            .content(csvFile.getBytes()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            CsvUploadResponseDto streamed = jsonMapper.readValue(body, CsvUploadResponseDto.class);
+            assertThat(streamed.getSuccessCount()).isEqualTo(2);
+            assertThat(streamed.getImportBatchId()).isNotNull();
+            CsvUploadResponseDto multipartUpload = uploadCsv();
+            assertThat(multipartUpload.getAlreadyImported()).isTrue();
+            assertThat(multipartUpload.getImportBatchId()).isEqualTo(streamed.getImportBatchId());
+        }
+
+        @Test
+        @DisplayName("存在しない取り込みバッチを取り消そうとすると404を返す")
+        void returnsNotFoundWhenBatchMissing() throws Exception {
+            mockMvc.perform(delete("/api/expenses/imports/{id}", 999_999L))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/expenses/bulk-category")
+    class ApiExpensesBulkCategoryPost {
+
+        @Test
+        @DisplayName("指定した支出のカテゴリを一括変更し、対象件数を返す")
+        void updatesCategoriesAndReturnsCount() throws Exception {
+            // given
+            Expense first = saveExpense("バス代", 500, LocalDate.of(2024, 1, 10), CategoryType.FOOD);
+            Expense second = saveExpense("電車代", 300, LocalDate.of(2024, 1, 11), CategoryType.FOOD);
+            ExpenseBulkCategoryRequestDto request =
+                    new ExpenseBulkCategoryRequestDto(List.of(first.getId(), second.getId()), "交通費");
+
+            // when
+            String body = mockMvc.perform(post("/api/expenses/bulk-category")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // then
+            assertThat(jsonMapper.readValue(body, ExpenseBulkResultDto.class).getAffectedCount()).isEqualTo(2);
+            assertThat(expenseRepository.findAll()).extracting(Expense::getCategory)
+                    .containsOnly(CategoryType.TRANSPORT);
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/expenses/{id}")
     class ApiExpensesIdPut {
@@ -200,6 +658,20 @@ class ExpenseIntegrationTest {
             assertThat(dto.getCount()).isEqualTo(2);
             assertThat(dto.getByCategory()).isNotNull().isNotEmpty();
         }
+
+        @Test
+        @DisplayName("SQLはユーザー解決と支出の取得の2件以下で、支出の件数に比例しない")
+        void issuesConstantNumberOfStatements() throws Exception {
+            // given
+            for (int day = 1; day <= 5; day++) {
+                saveExpense("支出" + day, 1000, LocalDate.of(2024, 1, day), CategoryType.FOOD);
+            }
+
+            // when / then
+            mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(statementCountAtMost(2));
+        }
     }
 
     @Nested
@@ -226,6 +698,29 @@ class ExpenseIntegrationTest {
             assertThat(list.get(0).getTotal()).isEqualTo(1000);
             assertThat(list.get(1).getTotal()).isEqualTo(2000);
         }
+
+        @Test
+        @DisplayName("SQLはユーザー解決1件とキャッシュにない月ごとに1件までで、2回目はSQLを発行しない")
+        void issuesAtMostOneStatementPerUncachedMonth() throws Exception {
+            // given
+            for (int month = 1; month <= 3; month++) {
+                saveExpense("支出A", 1000, LocalDate.of(2024, month, 1), CategoryType.FOOD);
+                saveExpense("支出B", 2000, LocalDate.of(2024, month, 2), CategoryType.TRANSPORT);
+            }
+
+            // when / then
+            // 月ごとのサマリーは月単位でキャッシュするため、キャッシュにない月は1か月につき1件ずつ集計する
+            mockMvc.perform(get("/api/expenses/summary/range")
+                            .param("startMonth", "2024-01")
+                            .param("endMonth", "2024-03"))
+                    .andExpect(status().isOk())
+                    .andExpect(statementCountAtMost(1 + 3));
+            mockMvc.perform(get("/api/expenses/summary/range")
+                            .param("startMonth", "2024-01")
+                            .param("endMonth", "2024-03"))
+                    .andExpect(status().isOk())
+                    .andExpect(statementCountAtMost(0));
+        }
     }
 
     @Nested
@@ -248,6 +743,20 @@ class ExpenseIntegrationTest {
             // then
             assertThat(months).containsExactly("2024-02", "2024-01");
         }
+
+        @Test
+        @DisplayName("SQLはユーザー解決と月の取得の2件以下")
+        void issuesConstantNumberOfStatements() throws Exception {
+            // given
+            for (int month = 1; month <= 6; month++) {
+                saveExpense("支出", 1000, LocalDate.of(2024, month, 1), CategoryType.FOOD);
+            }
+
+            // when / then
+            mockMvc.perform(get("/api/expenses/months"))
+                    .andExpect(status().isOk())
+                    .andExpect(statementCountAtMost(2));
+        }
     }
 
     @Nested
@@ -277,5 +786,203 @@ class ExpenseIntegrationTest {
             assertThat(page.getNumber()).isEqualTo(0);
             assertThat(page.getSize()).isEqualTo(10);
         }
+
+        @Test
+        @DisplayName("SQLはユーザー解決・一覧・件数の3件以下で、支出の件数に比例しない")
+        void issuesConstantNumberOfStatements() throws Exception {
+            // given
+            for (int day = 1; day <= 15; day++) {
+                saveExpense("支出" + day, 1000, LocalDate.of(2024, 1, day), CategoryType.FOOD);
+            }
+
+            // when / then
+            mockMvc.perform(get("/api/expenses").param("month", "2024-01"))
+                    .andExpect(status().isOk())
+                    .andExpect(statementCountAtMost(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/expenses/scroll")
+    class ApiExpensesScrollGet {
+
+        private ExpenseCursorPageDto scroll(String cursor, boolean includeTotal) throws Exception {
+            var request = get("/api/expenses/scroll").param("month", "2024-01").param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            if (includeTotal) {
+                request.param("includeTotal", "true");
+            }
+            String responseBody = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            return jsonMapper.readValue(responseBody, ExpenseCursorPageDto.class);
+        }
+
+        @Test
+        @DisplayName("nextCursorを辿ると、日付の降順・同日はIDの降順で全件を1回ずつ返す")
+        void walksAllExpensesWithCursor() throws Exception {
+            // given
+            Expense a = saveExpense("A", 100, LocalDate.of(2024, 1, 10), CategoryType.FOOD);
+            Expense b = saveExpense("B", 200, LocalDate.of(2024, 1, 10), CategoryType.FOOD);
+            Expense c = saveExpense("C", 300, LocalDate.of(2024, 1, 20), CategoryType.FOOD);
+            Expense d = saveExpense("D", 400, LocalDate.of(2024, 1, 5), CategoryType.FOOD);
+            Expense e = saveExpense("E", 500, LocalDate.of(2024, 1, 10), CategoryType.FOOD);
+            saveExpense("2月", 600, LocalDate.of(2024, 2, 1), CategoryType.FOOD);
+
+            // when
+            List<Long> ids = new ArrayList<>();
+            ExpenseCursorPageDto page = scroll(null, false);
+            int pages = 1;
+            ids.addAll(page.getContent().stream().map(ExpenseDto::getId).toList());
+            while (page.getHasNext()) {
+                page = scroll(page.getNextCursor(), false);
+                pages++;
+                ids.addAll(page.getContent().stream().map(ExpenseDto::getId).toList());
+            }
+
+            // then
+            assertThat(pages).isEqualTo(3);
+            assertThat(ids).containsExactly(c.getId(), e.getId(), b.getId(), a.getId(), d.getId());
+            assertThat(page.getNextCursor()).isNull();
+            assertThat(page.getTotalElements()).isNull();
+        }
+
+        @Test
+        @DisplayName("includeTotal=trueのとき月全体の件数を返す")
+        void returnsTotalWhenRequested() throws Exception {
+            // given
+            saveExpense("A", 100, LocalDate.of(2024, 1, 10), CategoryType.FOOD);
+            saveExpense("B", 200, LocalDate.of(2024, 1, 11), CategoryType.FOOD);
+            saveExpense("C", 300, LocalDate.of(2024, 1, 12), CategoryType.FOOD);
+
+            // when
+            ExpenseCursorPageDto page = scroll(null, true);
+
+            // then
+            assertThat(page.getContent()).hasSize(2);
+            assertThat(page.getHasNext()).isTrue();
+            assertThat(page.getTotalElements()).isEqualTo(3L);
+        }
+
+        @Test
+        @DisplayName("不正なカーソルのとき400を返す")
+        void returnsBadRequestWhenCursorInvalid() throws Exception {
+            mockMvc.perform(get("/api/expenses/scroll").param("month", "2024-01").param("cursor", "invalid"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("ETagによる条件付きGET")
+    class ConditionalGet {
+
+        private String postExpense(LocalDate date, int amount) throws Exception {
+            return mockMvc.perform(post("/api/expenses")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(jsonMapper.writeValueAsString(requestDto(date, "食費", amount, "ETagテスト"))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+        }
+
+        private String eTagOf(String path, String... params) throws Exception {
+            var request = get(path);
+            for (int i = 0; i < params.length; i += 2) {
+                request.param(params[i], params[i + 1]);
+            }
+            return mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        }
+
+        @Test
+        @DisplayName("If-None-Matchが最新のETagと一致すると本文なしの304を返す")
+        void returnsNotModifiedWhenETagMatches() throws Exception {
+            // given
+            postExpense(LocalDate.of(2024, 1, 10), 1000);
+            String eTag = eTagOf("/api/expenses/summary", "month", "2024-01");
+
+            // when & then
+            mockMvc.perform(get("/api/expenses/summary").param("month", "2024-01")
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("同じ月の支出を追加するとETagが変わり200を返す。別の月の追加では変わらない")
+        void changesETagOnlyForAffectedMonth() throws Exception {
+            // given
+            postExpense(LocalDate.of(2024, 1, 10), 1000);
+            String januaryETag = eTagOf("/api/expenses", "month", "2024-01");
+
+            // when: 別の月に追加
+            postExpense(LocalDate.of(2024, 2, 10), 2000);
+
+            // then: 1月のETagは有効なまま
+            mockMvc.perform(get("/api/expenses").param("month", "2024-01")
+                            .header(HttpHeaders.IF_NONE_MATCH, januaryETag))
+                    .andExpect(status().isNotModified());
+
+            // when: 同じ月に追加
+            postExpense(LocalDate.of(2024, 1, 20), 3000);
+
+            // then: 1月のETagは無効になり、新しい一覧を返す
+            String body = mockMvc.perform(get("/api/expenses").param("month", "2024-01")
+                            .header(HttpHeaders.IF_NONE_MATCH, januaryETag))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            assertThat(jsonMapper.readValue(body, ExpensePageDto.class).getContent()).hasSize(2);
+            assertThat(eTagOf("/api/expenses", "month", "2024-01")).isNotEqualTo(januaryETag);
+        }
+
+        @Test
+        @DisplayName("支出を削除すると利用可能な月のETagが無効になる")
+        void invalidatesMonthsETagOnDelete() throws Exception {
+            // given
+            String created = postExpense(LocalDate.of(2024, 3, 10), 1000);
+            Long id = jsonMapper.readTree(created).get("id").asLong();
+            String eTag = eTagOf("/api/expenses/months");
+            mockMvc.perform(get("/api/expenses/months").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+
+            // when
+            mockMvc.perform(delete("/api/expenses/{id}", id))
+                    .andExpect(status().isNoContent());
+
+            // then
+            mockMvc.perform(get("/api/expenses/months").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("支出のない別ユーザーが同じURLを取得してもETagは一致せず、前のユーザーのETagでは304にならない")
+        void separatesETagPerUser() throws Exception {
+            // given: どちらのユーザーも起動後に更新していない（バージョンが同じ）
+            String eTag = eTagOf("/api/expenses", "month", "2024-01");
+            String otherETag = mockMvc.perform(get("/api/expenses").param("month", "2024-01")
+                            .header(TestJwtAuthenticationFilter.SUB_HEADER, "otherCognitoSub"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.AUTHORIZATION)))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // then
+            assertThat(otherETag).isNotNull().isNotEqualTo(eTag);
+            mockMvc.perform(get("/api/expenses").param("month", "2024-01")
+                            .header(TestJwtAuthenticationFilter.SUB_HEADER, "otherCognitoSub")
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("月の形式が不正なときはETagを付けずに400を返す")
+        void skipsETagWhenMonthInvalid() throws Exception {
+            mockMvc.perform(get("/api/expenses/summary").param("month", "2024-1"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        }
     }
 }
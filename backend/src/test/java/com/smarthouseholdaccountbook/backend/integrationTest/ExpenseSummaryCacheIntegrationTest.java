@@ -0,0 +1,190 @@
+package com.smarthouseholdaccountbook.backend.integrationTest;
+
+import com.smarthouseholdaccountbook.backend.application.service.ExpenseApplicationService;
+import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
+import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+import com.smarthouseholdaccountbook.backend.repository.UserRepository;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+import com.smarthouseholdaccountbook.backend.valueobject.MonthlySummary;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 月別サマリーキャッシュの整合性テスト
+ *
+ * 書き込みと読み取りを並行させても、最終的にキャッシュから返るサマリーがDBの内容と一致することを検証する。
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class ExpenseSummaryCacheIntegrationTest {
+
+    private static final LocalDate JANUARY_DAY = LocalDate.of(2024, 1, 15);
+    private static final LocalDate FEBRUARY_DAY = LocalDate.of(2024, 2, 15);
+
+    @Autowired
+    private ExpenseApplicationService expenseApplicationService;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository.deleteAll();
+        importBatchRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User(TestJwtAuthenticationFilter.TEST_SUB, TestJwtAuthenticationFilter.TEST_EMAIL));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        authenticate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 現在のスレッドのセキュリティコンテキストにテスト用JWTを設定する。
+     */
+    private static void authenticate() {
+        Instant now = Instant.now();
+        Jwt jwt = Jwt.withTokenValue("test-token")
+                .header("alg", "RS256")
+                .claim("sub", TestJwtAuthenticationFilter.TEST_SUB)
+                .claim("email", TestJwtAuthenticationFilter.TEST_EMAIL)
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, Collections.emptyList()));
+    }
+
+    private static ExpenseUpdate creation(LocalDate date, int amount) {
+        return new ExpenseUpdate("並行テスト", new ExpenseAmount(amount), new ExpenseDate(date), CategoryType.FOOD);
+    }
+
+    private int totalInDb(LocalDate day) {
+        return expenseRepository.findAll().stream()
+                .filter(e -> e.getDate().getDate().getMonth() == day.getMonth())
+                .mapToInt(e -> e.getAmount().getAmount())
+                .sum();
+    }
+
+    @Test
+    @DisplayName("キャッシュ済みのサマリーは追加・更新・削除のたびに最新化される")
+    void summaryReflectsEachWrite() {
+        assertThat(expenseApplicationService.getMonthlySummary("2024-01").total()).isZero();
+        assertThat(expenseApplicationService.getAvailableMonths()).isEmpty();
+
+        Expense added = expenseApplicationService.addExpense(creation(JANUARY_DAY, 1000));
+        assertThat(expenseApplicationService.getMonthlySummary("2024-01").total()).isEqualTo(1000);
+        assertThat(expenseApplicationService.getAvailableMonths()).containsExactly("2024-01");
+
+        // 月をまたぐ更新では旧月・新月の両方が最新化される
+        expenseApplicationService.updateExpense(added.getId(), creation(FEBRUARY_DAY, 3000));
+        assertThat(expenseApplicationService.getMonthlySummary("2024-01").total()).isZero();
+        assertThat(expenseApplicationService.getMonthlySummary("2024-02").total()).isEqualTo(3000);
+        assertThat(expenseApplicationService.getAvailableMonths()).containsExactly("2024-02");
+
+        expenseApplicationService.deleteExpense(added.getId());
+        assertThat(expenseApplicationService.getMonthlySummaryRange("2024-01", "2024-02"))
+                .extracting(MonthlySummary::total)
+                .containsExactly(0, 0);
+        assertThat(expenseApplicationService.getAvailableMonths()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("並行して書き込みと読み取りを行っても、最終的なサマリーはDBと一致する")
+    void summaryIsConsistentUnderConcurrentWrites() throws Exception {
+        int writerCount = 4;
+        int writesPerWriter = 25;
+        int readerCount = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(writerCount + readerCount);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicBoolean writersDone = new AtomicBoolean(false);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < writerCount; w++) {
+                writers.add(pool.submit(() -> {
+                    authenticate();
+                    startSignal.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        LocalDate day = i % 2 == 0 ? JANUARY_DAY : FEBRUARY_DAY;
+                        expenseApplicationService.addExpense(creation(day, 100 + i));
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < readerCount; r++) {
+                readers.add(pool.submit(() -> {
+                    authenticate();
+                    startSignal.await();
+                    while (!writersDone.get()) {
+                        expenseApplicationService.getMonthlySummary("2024-01");
+                        expenseApplicationService.getMonthlySummaryRange("2024-01", "2024-02");
+                        expenseApplicationService.getAvailableMonths();
+                    }
+                    return null;
+                }));
+            }
+
+            startSignal.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writersDone.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<MonthlySummary> cached = expenseApplicationService.getMonthlySummaryRange("2024-01", "2024-02");
+        assertThat(cached.get(0).total()).isEqualTo(totalInDb(JANUARY_DAY));
+        assertThat(cached.get(1).total()).isEqualTo(totalInDb(FEBRUARY_DAY));
+        assertThat(cached.get(0).count() + cached.get(1).count()).isEqualTo(writerCount * writesPerWriter);
+        assertThat(expenseApplicationService.getAvailableMonths()).containsExactly("2024-02", "2024-01");
+    }
+}
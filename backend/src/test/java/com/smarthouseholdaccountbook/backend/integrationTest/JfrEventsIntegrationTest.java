@@ -0,0 +1,134 @@
+package com.smarthouseholdaccountbook.backend.integrationTest;
+
+import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
+import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
+import com.smarthouseholdaccountbook.backend.config.jfr.CsvParseEvent;
+import com.smarthouseholdaccountbook.backend.config.jfr.JfrEventAttributes;
+import com.smarthouseholdaccountbook.backend.config.jfr.JfrRecordingEndpoint;
+import com.smarthouseholdaccountbook.backend.config.jfr.MonthlySummaryEvent;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+import com.smarthouseholdaccountbook.backend.repository.UserRepository;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JFR の独自イベントの記録テスト
+ *
+ * jfr エンドポイントで記録している間の API 呼び出しで、CSV解析・月別サマリーの集計のイベントが
+ * 件数とユーザーIDのハッシュ付きで記録ファイルに書き出されることを検証する。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class JfrEventsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JfrRecordingEndpoint jfrRecordingEndpoint;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository.deleteAll();
+        importBatchRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User(TestJwtAuthenticationFilter.TEST_SUB, TestJwtAuthenticationFilter.TEST_EMAIL));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jfrRecordingEndpoint.close();
+    }
+
+    @Test
+    @DisplayName("記録中のCSVアップロードと月別サマリーの集計がイベントとして記録される")
+    void recordsCsvParseAndMonthlySummaryEvents() throws Exception {
+        // given
+        long id = jfrRecordingEndpoint.start("default", Duration.ofMinutes(1)).getBody().id();
+        MockMultipartFile csvFile = new MockMultipartFile(
+                "file",
+                "meisai.csv",
+                "text/csv",
+                """
+                        2025/11/01,やよい軒大阪店,1220,１,１,1220,
+                        2025/11/02,ファミリーマート梅田店,540,１,１,540,
+                        """.getBytes(Charset.forName("Shift_JIS")));
+
+        // when
+        mockMvc.perform(multipart("/api/expenses/upload-csv")
+                        .file(csvFile)
+                        .param("csvFormat", "MITSUISUMITOMO_OLD_FORMAT"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/summary").param("month", "2025-11"))
+                .andExpect(status().isOk());
+        jfrRecordingEndpoint.stop(id);
+
+        // then
+        WebEndpointResponse<Resource> download = jfrRecordingEndpoint.download(id);
+        assertThat(download.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(download.getBody().getFile().toPath());
+        String subjectHash = JfrEventAttributes.hashSubject(user.getCognitoSub());
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(CsvParseEvent.NAME))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("format")).isEqualTo("MITSUISUMITOMO_OLD_FORMAT");
+                    assertThat(event.getInt("validRows")).isEqualTo(2);
+                    assertThat(event.getInt("errorRows")).isZero();
+                    assertThat(event.getLong("bytesRead")).isEqualTo(csvFile.getSize());
+                    assertThat(event.getString("subjectHash")).isEqualTo(subjectHash);
+                });
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(MonthlySummaryEvent.NAME))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("month")).isEqualTo("2025-11");
+                    assertThat(event.getInt("expenseCount")).isEqualTo(2);
+                    assertThat(event.getString("subjectHash")).isEqualTo(subjectHash);
+                });
+    }
+}
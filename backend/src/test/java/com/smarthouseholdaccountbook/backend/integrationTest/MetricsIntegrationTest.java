@@ -0,0 +1,113 @@
+package com.smarthouseholdaccountbook.backend.integrationTest;
+
+import com.smarthouseholdaccountbook.backend.application.service.cache.ExpenseSummaryCache;
+import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
+import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+import com.smarthouseholdaccountbook.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * メトリクスの登録テスト
+ *
+ * Prometheus で収集するメトリクス（APIごとのレイテンシ、キャッシュ、コネクションプール、非同期実行、JVM）が
+ * MeterRegistry に登録されることを検証する。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository.deleteAll();
+        importBatchRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User(TestJwtAuthenticationFilter.TEST_SUB, TestJwtAuthenticationFilter.TEST_EMAIL));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("APIのレイテンシが operation タグ付きのヒストグラムで記録される")
+    void recordsRequestLatencyHistogramPerOperation() throws Exception {
+        mockMvc.perform(get("/api/expenses/months")).andExpect(status().isOk());
+
+        Timer timer = meterRegistry.find("http.server.requests")
+                .tag("operation", "apiExpensesMonthsGet")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("すべてのキャッシュのヒット数が記録される")
+    void recordsCacheStatsForEveryCache() throws Exception {
+        mockMvc.perform(get("/api/expenses/months")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/expenses/months")).andExpect(status().isOk());
+
+        for (String name : cacheManager.getCacheNames()) {
+            com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                    (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(name).getNativeCache();
+            assertThat(nativeCache.policy().isRecordingStats()).as(name).isTrue();
+            assertThat(meterRegistry.find("cache.gets").tag("cache", name).tag("result", "hit").functionCounter())
+                    .as(name)
+                    .isNotNull();
+        }
+        FunctionCounter monthsHits = meterRegistry.find("cache.gets")
+                .tag("cache", ExpenseSummaryCache.MONTHS_CACHE)
+                .tag("result", "hit")
+                .functionCounter();
+        assertThat(monthsHits.count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("コネクションプール・AIカテゴリ推定の実行キュー・JVMのメトリクスが登録される")
+    void registersPoolExecutorAndJvmMetrics() throws Exception {
+        mockMvc.perform(get("/api/expenses/months")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("executor.queued").tag("name", "aiCategoryTaskExecutor").gauge()).isNotNull();
+        assertThat(meterRegistry.find("jvm.memory.used").gauge()).isNotNull();
+        assertThat(meterRegistry.find("jvm.gc.max.data.size").gauge()).isNotNull();
+    }
+}
@@ -0,0 +1,31 @@
+package com.smarthouseholdaccountbook.backend.integrationTest;
+
+import com.smarthouseholdaccountbook.backend.config.observation.SqlStatementCountFilter;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc のリクエストで発行したSQLの件数を検証する ResultMatcher
+ *
+ * {@link SqlStatementCountFilter} がリクエスト属性に残した件数を読む。
+ * APIごとにSQL件数の上限を固定し、N+1 クエリの混入を検出するために使う。
+ */
+public final class SqlStatementCountMatchers {
+
+    private SqlStatementCountMatchers() {
+    }
+
+    /**
+     * リクエストで発行したSQLが max 件以下であること
+     */
+    public static ResultMatcher statementCountAtMost(int max) {
+        return result -> {
+            Object count = result.getRequest().getAttribute(SqlStatementCountFilter.STATEMENT_COUNT_ATTRIBUTE);
+            String request = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+            assertThat(count).as("%s のSQL件数が記録されていない", request).isInstanceOf(Integer.class);
+            assertThat((Integer) count).as("%s で発行したSQLの件数", request).isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.smarthouseholdaccountbook.backend.integrationTest;
+
+import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
+import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+import com.smarthouseholdaccountbook.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * トレース（Observation）の記録テスト
+ *
+ * 認証フィルター・アプリケーションサービス・リポジトリの呼び出しが Observation として記録されること
+ * （Observation ごとに作られるタイマーで確認する）と、AIカテゴリー推論の Executor に
+ * 呼び出し元の Observation が引き継がれることを検証する。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class TracingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    @Qualifier("aiCategoryTaskExecutor")
+    private Executor aiCategoryTaskExecutor;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository.deleteAll();
+        importBatchRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User(TestJwtAuthenticationFilter.TEST_SUB, TestJwtAuthenticationFilter.TEST_EMAIL));
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    @DisplayName("ユーザー解決・アプリケーションサービス・リポジトリの呼び出しが記録される")
+    void recordsFilterServiceAndRepositoryObservations() throws Exception {
+        mockMvc.perform(get("/api/expenses/months")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("auth.user.registration").timer()).isNotNull();
+        assertThat(meterRegistry.find("application.service")
+                .tag("class", "ExpenseApplicationService")
+                .tag("method", "getAvailableMonths")
+                .timer()).isNotNull();
+        assertThat(meterRegistry.find("repository.query")
+                .tag("repository", "UserRepository")
+                .tag("method", "findByCognitoSub")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("AIカテゴリー推論の Executor のタスクに呼び出し元の Observation が引き継がれる")
+    void propagatesObservationToAiCategoryExecutor() {
+        Observation parent = Observation.start("test.parent", observationRegistry);
+        assertThat(parent.isNoop()).isFalse();
+        try (Observation.Scope scope = parent.openScope()) {
+            Observation inTask = CompletableFuture
+                    .supplyAsync(observationRegistry::getCurrentObservation, aiCategoryTaskExecutor)
+                    .join();
+
+            assertThat(inTask).isSameAs(parent);
+        } finally {
+            parent.stop();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.smarthouseholdaccountbook.backend.repository;
+
+import com.smarthouseholdaccountbook.backend.entity.ExpenseUpdate;
+import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ExpenseJdbcRepositoryのテストクラス
+ */
+@DataJpaTest //各テストはトランザクションで実行され終了後にロールバックされるため、テスト前の明示的なデータクリアは不要。
+@ActiveProfiles("test")
+@Import(ExpenseJdbcRepository.class)
+class ExpenseJdbcRepositoryTest {
+
+    @Autowired
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(new User("cognitoSub", "test@example.com"));
+    }
+
+    private static ExpenseUpdate expense(String description, int amountYen) {
+        return new ExpenseUpdate(
+                description, new ExpenseAmount(amountYen), new ExpenseDate(LocalDate.of(2024, 1, 15)), CategoryType.FOOD);
+    }
+
+    private int countExpenses() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM expenses WHERE user_id = ?", Integer.class, testUser.getId());
+    }
+
+    @Nested
+    @DisplayName("insertIgnoringDuplicates - 取り込み指紋つきの一括登録")
+    class InsertIgnoringDuplicates {
+
+        @Test
+        @DisplayName("取り込み指紋と確認値を設定して登録する")
+        void insertsWithImportFingerprint() {
+            // given
+            ExpenseUpdate lunch = expense("ランチ", 1000);
+            ExpenseDuplicateKey.ImportFingerprint expected = ExpenseDuplicateKey.from(lunch).importFingerprint();
+
+            // when
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(testUser.getId(), null, List.of(lunch));
+
+            // then
+            assertThat(inserted).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForMap(
+                    "SELECT import_fingerprint, import_fingerprint_check FROM expenses WHERE user_id = ?", testUser.getId()))
+                    .containsEntry("import_fingerprint", expected.value())
+                    .containsEntry("import_fingerprint_check", expected.check());
+        }
+
+        @Test
+        @DisplayName("取り込み済みの明細（指紋と確認値が一致）はスキップし、登録件数に含めない")
+        void skipsAlreadyImportedRow() {
+            // given
+            expenseJdbcRepository.insertIgnoringDuplicates(testUser.getId(), null, List.of(expense("ランチ", 1000)));
+
+            // when
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(
+                    testUser.getId(), null, List.of(expense("ランチ", 1000), expense("ディナー", 3000)));
+
+            // then
+            assertThat(inserted).isEqualTo(1);
+            assertThat(countExpenses()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("同じ呼び出し内の同じ明細は1行だけ登録する")
+        void insertsSameRowOnceWithinCall() {
+            // when
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(
+                    testUser.getId(), null, List.of(expense("ランチ", 1000), expense("ランチ", 1000)));
+
+            // then
+            assertThat(inserted).isEqualTo(1);
+            assertThat(countExpenses()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("確認値のない既存行（V6より前の取り込み）と指紋が一致した明細は取り込み済みとしてスキップする")
+        void skipsRowMatchingLegacyFingerprint() {
+            // given
+            expenseJdbcRepository.insertIgnoringDuplicates(testUser.getId(), null, List.of(expense("ランチ", 1000)));
+            jdbcTemplate.update("UPDATE expenses SET import_fingerprint_check = NULL WHERE user_id = ?", testUser.getId());
+
+            // when
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(
+                    testUser.getId(), null, List.of(expense("ランチ", 1000)));
+
+            // then
+            assertThat(inserted).isZero();
+            assertThat(countExpenses()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("指紋が別の明細と衝突した（確認値が異なる）明細は、スキップせず指紋なしで登録する")
+        void insertsCollidingRowWithoutFingerprint() {
+            // given: 既存行の確認値を変え、同じ指紋を持つ別の明細が取り込み済みの状態にする
+            expenseJdbcRepository.insertIgnoringDuplicates(testUser.getId(), null, List.of(expense("ランチ", 1000)));
+            jdbcTemplate.update(
+                    "UPDATE expenses SET description = '別の明細', import_fingerprint_check = import_fingerprint_check + 1"
+                            + " WHERE user_id = ?",
+                    testUser.getId());
+
+            // when
+            int inserted = expenseJdbcRepository.insertIgnoringDuplicates(
+                    testUser.getId(), null, List.of(expense("ランチ", 1000)));
+
+            // then
+            assertThat(inserted).isEqualTo(1);
+            assertThat(countExpenses()).isEqualTo(2);
+            assertThat(jdbcTemplate.queryForList(
+                    "SELECT import_fingerprint FROM expenses WHERE user_id = ? AND description = 'ランチ'",
+                    Long.class, testUser.getId()))
+                    .containsExactly((Long) null);
+        }
+
+        @Test
+        @DisplayName("一意制約以外のエラー（説明の長さ超過）は警告にせず例外にする")
+        void throwsOnNonDuplicateError() {
+            // when & then
+            assertThatThrownBy(() -> expenseJdbcRepository.insertIgnoringDuplicates(
+                    testUser.getId(), null, List.of(expense("あ".repeat(300), 1000))))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.smarthouseholdaccountbook.backend.repository;
 
 import com.smarthouseholdaccountbook.backend.entity.Expense;
 import com.smarthouseholdaccountbook.backend.entity.User;
+import com.smarthouseholdaccountbook.backend.repository.projection.ExpenseListItem;
 import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseAmount;
 import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDuplicateKey;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,14 +14,17 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -55,8 +60,8 @@ class ExpenseRepositoryTest {
     }
 
     @Nested
-    @DisplayName("findByUser - ユーザー指定で支出取得")
-    class FindByUser {
+    @DisplayName("findByUserId - ユーザーID指定で支出取得")
+    class FindByUserId {
 
         @Test
         @DisplayName("指定ユーザーの支出が取得できる")
@@ -66,7 +71,7 @@ class ExpenseRepositoryTest {
             createExpense("支出2", 2000, LocalDate.of(2024, 1, 20), CategoryType.TRANSPORT, testUser);
 
             // when
-            List<Expense> expenses = expenseRepository.findByUser(testUser);
+            List<Expense> expenses = expenseRepository.findByUserId(testUser.getId());
 
             // then
             assertThat(expenses).hasSize(2);
@@ -81,7 +86,7 @@ class ExpenseRepositoryTest {
             createExpense("別ユーザーの支出", 2000, LocalDate.of(2024, 1, 20), CategoryType.TRANSPORT, otherUser);
 
             // when
-            List<Expense> expenses = expenseRepository.findByUser(testUser);
+            List<Expense> expenses = expenseRepository.findByUserId(testUser.getId());
 
             // then
             assertThat(expenses).hasSize(1);
@@ -92,7 +97,7 @@ class ExpenseRepositoryTest {
         @DisplayName("支出が無い場合は空リストを返す")
         void returnsEmptyWhenNoExpenses() {
             // when
-            List<Expense> expenses = expenseRepository.findByUser(testUser);
+            List<Expense> expenses = expenseRepository.findByUserId(testUser.getId());
 
             // then
             assertThat(expenses).isEmpty();
@@ -100,8 +105,34 @@ class ExpenseRepositoryTest {
     }
 
     @Nested
-    @DisplayName("findByUserAndDateBetween - ユーザーと日付範囲指定で取得")
-    class FindByUserAndDateBetween {
+    @DisplayName("findByIdAndUserId - IDとユーザーID指定で支出取得")
+    class FindByIdAndUserId {
+
+        @Test
+        @DisplayName("自分の支出は取得できる")
+        void returnsOwnExpense() {
+            // given
+            Expense expense = createExpense("支出1", 1000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, testUser);
+
+            // when & then
+            assertThat(expenseRepository.findByIdAndUserId(expense.getId(), testUser.getId())).isPresent();
+        }
+
+        @Test
+        @DisplayName("他ユーザーの支出は取得できない")
+        void excludesOtherUsersExpense() {
+            // given
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            Expense expense = createExpense("別ユーザーの支出", 1000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, otherUser);
+
+            // when & then
+            assertThat(expenseRepository.findByIdAndUserId(expense.getId(), testUser.getId())).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("findByUserIdAndDateBetween - ユーザーと日付範囲指定で取得")
+    class FindByUserIdAndDateBetween {
 
         @Test
         @DisplayName("指定期間内の支出のみ取得され、日付降順で返る")
@@ -115,7 +146,7 @@ class ExpenseRepositoryTest {
             LocalDate end = LocalDate.of(2024, 1, 31);
 
             // when
-            List<Expense> expenses = expenseRepository.findByUserAndDateBetween(testUser, start, end);
+            List<Expense> expenses = expenseRepository.findByUserIdAndDateBetween(testUser.getId(), start, end);
 
             // then
             assertThat(expenses).hasSize(2);
@@ -126,29 +157,101 @@ class ExpenseRepositoryTest {
     }
 
     @Nested
-    @DisplayName("findDistinctDatesByUser - 利用可能な日付一覧取得")
-    class FindDistinctDatesByUser {
+    @DisplayName("streamDuplicateKeysByUserIdAndDateBetween - 重複判定キーのストリーム取得")
+    class StreamDuplicateKeysByUserIdAndDateBetween {
 
         @Test
-        @DisplayName("ユーザーの支出がある日付の一覧が日付降順で返る")
-        void returnsDistinctDatesSortedDesc() {
+        @DisplayName("指定期間内の自分の支出の重複判定キーだけを返す")
+        void returnsKeysOfOwnExpensesInRange() {
             // given
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            createExpense("支出1", 1000, LocalDate.of(2024, 1, 10), CategoryType.FOOD, testUser);
+            createExpense("範囲外", 2000, LocalDate.of(2024, 2, 5), CategoryType.FOOD, testUser);
+            createExpense("別ユーザー", 3000, LocalDate.of(2024, 1, 10), CategoryType.FOOD, otherUser);
+
+            // when
+            List<ExpenseDuplicateKey> keys;
+            try (Stream<ExpenseDuplicateKey> stream = expenseRepository.streamDuplicateKeysByUserIdAndDateBetween(
+                    testUser.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31))) {
+                keys = stream.toList();
+            }
+
+            // then
+            assertThat(keys).containsExactly(new ExpenseDuplicateKey(LocalDate.of(2024, 1, 10), 1000, "支出1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("findDistinctExpenseMonthsByUserId - 利用可能な月一覧取得")
+    class FindDistinctExpenseMonthsByUserId {
+
+        @Test
+        @DisplayName("ユーザーの支出がある月の一覧が重複なし・降順で返る")
+        void returnsDistinctMonthsSortedDesc() {
+            // given
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
             createExpense("支出1", 1000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, testUser);
             createExpense("支出2", 2000, LocalDate.of(2024, 2, 10), CategoryType.TRANSPORT, testUser);
             createExpense("支出3", 3000, LocalDate.of(2024, 2, 20), CategoryType.HOUSING, testUser);
+            createExpense("支出4", 4000, LocalDate.of(2023, 12, 31), CategoryType.FOOD, testUser);
+            createExpense("他ユーザー", 5000, LocalDate.of(2024, 3, 1), CategoryType.FOOD, otherUser);
 
             // when
-            List<LocalDate> distinctDates = expenseRepository.findDistinctDatesByUser(testUser);
+            List<Integer> months = expenseRepository.findDistinctExpenseMonthsByUserId(testUser.getId());
 
             // then
-            assertThat(distinctDates).hasSize(3);
-            assertThat(distinctDates).isSortedAccordingTo(Comparator.reverseOrder());
+            assertThat(months).containsExactly(202402, 202401, 202312);
         }
     }
 
     @Nested
-    @DisplayName("findByUserAndDateRange - ユーザー・日付範囲・ページネーションで取得")
-    class FindByUserAndDateRange {
+    @DisplayName("deleteByUserIdAndIdIn / updateCategoryByUserIdAndIdIn - 一括削除・一括カテゴリ変更")
+    class BulkOperations {
+
+        @Test
+        @DisplayName("指定IDのうち自分の支出だけを削除し、削除件数を返す")
+        void deletesOnlyOwnExpenses() {
+            // given
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            Expense own1 = createExpense("支出1", 1000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, testUser);
+            Expense own2 = createExpense("支出2", 2000, LocalDate.of(2024, 2, 20), CategoryType.FOOD, testUser);
+            Expense kept = createExpense("残す支出", 3000, LocalDate.of(2024, 2, 21), CategoryType.FOOD, testUser);
+            Expense others = createExpense("別ユーザーの支出", 4000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, otherUser);
+            List<Long> ids = List.of(own1.getId(), own2.getId(), others.getId());
+
+            // when
+            List<Integer> months = expenseRepository.findDistinctExpenseMonthsByUserIdAndIdIn(testUser.getId(), ids);
+            int deleted = expenseRepository.deleteByUserIdAndIdIn(testUser.getId(), ids);
+
+            // then
+            assertThat(months).containsExactlyInAnyOrder(202401, 202402);
+            assertThat(deleted).isEqualTo(2);
+            assertThat(expenseRepository.findByUserId(testUser.getId())).extracting(Expense::getId).containsExactly(kept.getId());
+            assertThat(expenseRepository.existsById(others.getId())).isTrue();
+        }
+
+        @Test
+        @DisplayName("指定IDのうち自分の支出だけのカテゴリを変更し、対象件数を返す")
+        void updatesCategoryOnlyForOwnExpenses() {
+            // given
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            Expense own = createExpense("支出1", 1000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, testUser);
+            Expense others = createExpense("別ユーザーの支出", 4000, LocalDate.of(2024, 1, 15), CategoryType.FOOD, otherUser);
+
+            // when
+            int updated = expenseRepository.updateCategoryByUserIdAndIdIn(
+                    testUser.getId(), List.of(own.getId(), others.getId()), CategoryType.TRANSPORT);
+
+            // then（永続化コンテキストはクリア済みのため、DBの値を読み直す）
+            assertThat(updated).isEqualTo(1);
+            assertThat(expenseRepository.findById(own.getId()).orElseThrow().getCategory()).isEqualTo(CategoryType.TRANSPORT);
+            assertThat(expenseRepository.findById(others.getId()).orElseThrow().getCategory()).isEqualTo(CategoryType.FOOD);
+        }
+    }
+
+    @Nested
+    @DisplayName("findByUserIdAndDateRange - ユーザー・日付範囲・ページネーションで取得")
+    class FindByUserIdAndDateRange {
 
         @Test
         @DisplayName("ページネーションで取得でき、総件数・総ページ数・内容が正しい")
@@ -162,15 +265,67 @@ class ExpenseRepositoryTest {
             Pageable pageable = PageRequest.of(0, 2);
 
             // when
-            Page<Expense> expensePage = expenseRepository.findByUserAndDateRange(testUser, startDate, endDate, pageable);
+            Page<ExpenseListItem> expensePage = expenseRepository.findByUserIdAndDateRange(testUser.getId(), startDate, endDate, pageable);
 
             // then
             assertThat(expensePage.getTotalElements()).isEqualTo(5);
             assertThat(expensePage.getContent()).hasSize(2);
             assertThat(expensePage.getTotalPages()).isEqualTo(3);
             assertThat(expensePage.getContent())
-                    .extracting(e -> e.getDate().getDate())
+                    .extracting(ExpenseListItem::date)
                     .isSortedAccordingTo(Comparator.reverseOrder());
         }
+
+        @Test
+        @DisplayName("一覧表示に必要な列をプロジェクションとして返す")
+        void returnsListItemProjection() {
+            // given
+            Expense saved = createExpense("ランチ", 1200, LocalDate.of(2024, 1, 10), CategoryType.FOOD, testUser);
+
+            // when
+            Page<ExpenseListItem> expensePage = expenseRepository.findByUserIdAndDateRange(
+                    testUser.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), PageRequest.of(0, 10));
+
+            // then
+            assertThat(expensePage.getContent()).containsExactly(
+                    new ExpenseListItem(saved.getId(), LocalDate.of(2024, 1, 10), CategoryType.FOOD, 1200, "ランチ"));
+        }
+    }
+
+    @Nested
+    @DisplayName("findFirstPageByUserIdAndDateRange / findPageAfterCursorByUserIdAndDateRange - キーセットページネーション")
+    class KeysetPagination {
+
+        @Test
+        @DisplayName("カーソルで辿ると、同日の行も含めてOFFSET方式と同じ順序で漏れなく重複なく取得できる")
+        void walksAllRowsInSameOrderAsOffsetPaging() {
+            // given: 同じ日付の行を含む7件と、範囲外・他ユーザーの行
+            User otherUser = userRepository.save(new User("otherCognitoSub", "other@example.com"));
+            for (int i = 1; i <= 7; i++) {
+                createExpense("支出" + i, 100 * i, LocalDate.of(2024, 1, (i + 1) / 2 * 5), CategoryType.FOOD, testUser);
+            }
+            createExpense("範囲外", 100, LocalDate.of(2024, 2, 1), CategoryType.FOOD, testUser);
+            createExpense("他ユーザー", 100, LocalDate.of(2024, 1, 10), CategoryType.FOOD, otherUser);
+            LocalDate startDate = LocalDate.of(2024, 1, 1);
+            LocalDate endDate = LocalDate.of(2024, 1, 31);
+            List<ExpenseListItem> expected = expenseRepository
+                    .findByUserIdAndDateRange(testUser.getId(), startDate, endDate, PageRequest.of(0, 50))
+                    .getContent();
+
+            // when
+            List<ExpenseListItem> walked = new ArrayList<>();
+            List<ExpenseListItem> page = expenseRepository.findFirstPageByUserIdAndDateRange(
+                    testUser.getId(), startDate, endDate, Limit.of(3));
+            while (!page.isEmpty()) {
+                walked.addAll(page);
+                ExpenseListItem last = page.get(page.size() - 1);
+                page = expenseRepository.findPageAfterCursorByUserIdAndDateRange(
+                        testUser.getId(), startDate, endDate, last.date(), last.id(), Limit.of(3));
+            }
+
+            // then
+            assertThat(walked).hasSize(7);
+            assertThat(walked).containsExactlyElementsOf(expected);
+        }
     }
 }
@@ -0,0 +1,78 @@
+package com.smarthouseholdaccountbook.backend.repository;
+
+import com.smarthouseholdaccountbook.backend.entity.ImportBatch;
+import com.smarthouseholdaccountbook.backend.entity.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ImportBatchRepositoryのテストクラス
+ */
+@DataJpaTest //各テストはトランザクションで実行され終了後にロールバックされるため、テスト前の明示的なデータクリアは不要。
+@ActiveProfiles("test")
+class ImportBatchRepositoryTest {
+
+    private static final String FILE_HASH = "a".repeat(64);
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(new User("cognitoSub", "test@example.com"));
+    }
+
+    @Nested
+    @DisplayName("uk_import_batches_user_id_active_file_hash - 取り消されていない同じファイルのバッチの一意制約")
+    class ActiveFileHashUniqueConstraint {
+
+        @Test
+        @DisplayName("取り消されていない同じファイルのバッチは2つ登録できない")
+        void rejectsSecondActiveBatchForSameFile() {
+            // given
+            importBatchRepository.saveAndFlush(new ImportBatch(testUser, FILE_HASH, "MITSUISUMITOMO_OLD_FORMAT"));
+
+            // when & then
+            assertThatThrownBy(() -> importBatchRepository.saveAndFlush(
+                    new ImportBatch(testUser, FILE_HASH, "MITSUISUMITOMO_OLD_FORMAT")))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+
+        @Test
+        @DisplayName("取り消したバッチと同じファイルのバッチは登録でき、取り消されていない方が取得される")
+        void allowsNewBatchAfterRollback() {
+            // given
+            ImportBatch rolledBack = importBatchRepository.saveAndFlush(
+                    new ImportBatch(testUser, FILE_HASH, "MITSUISUMITOMO_OLD_FORMAT"));
+            rolledBack.markRolledBack();
+            importBatchRepository.flush();
+
+            // when
+            ImportBatch active = importBatchRepository.saveAndFlush(
+                    new ImportBatch(testUser, FILE_HASH, "MITSUISUMITOMO_OLD_FORMAT"));
+
+            // then
+            assertThat(importBatchRepository.findByUserIdAndActiveFileHash(testUser.getId(), FILE_HASH))
+                    .get()
+                    .extracting(ImportBatch::getId)
+                    .isEqualTo(active.getId());
+            assertThat(rolledBack.getActiveFileHash()).isNull();
+            assertThat(rolledBack.getFileHash()).isEqualTo(FILE_HASH);
+        }
+    }
+}
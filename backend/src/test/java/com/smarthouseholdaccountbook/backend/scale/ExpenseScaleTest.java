@@ -0,0 +1,297 @@
+package com.smarthouseholdaccountbook.backend.scale;
+
+import com.smarthouseholdaccountbook.backend.config.TestJwtAuthenticationFilter;
+import com.smarthouseholdaccountbook.backend.config.TestSecurityConfig;
+import com.smarthouseholdaccountbook.backend.generated.model.CsvUploadResponseDto;
+import com.smarthouseholdaccountbook.backend.generated.model.MonthlySummaryDto;
+import com.smarthouseholdaccountbook.backend.repository.ExpenseRepository;
+import com.smarthouseholdaccountbook.backend.repository.ImportBatchRepository;
+import com.smarthouseholdaccountbook.backend.repository.MonthlyReportRepository;
+import com.smarthouseholdaccountbook.backend.repository.UserRepository;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * データ規模テスト
+ *
+ * {@link ScaleDataGenerator} で作った大量データに対して主要なエンドポイントを呼び、
+ * データ量（支出の行数）ごとのレイテンシを記録します。
+ * 規模は段階的に大きくし（段階ごとにデータを作り直す）、各段階で次を測ります。
+ * <ul>
+ *   <li>GET /api/expenses/months（キャッシュなし・あり）</li>
+ *   <li>GET /api/expenses/summary/range の直近12か月・全期間（キャッシュなし・あり）</li>
+ *   <li>GET /api/expenses の直近月の1ページ目</li>
+ *   <li>POST /api/expenses/upload-csv（半分が既存と重複する明細。期間内の全既存行と照合される）</li>
+ * </ul>
+ * 結果は標準出力と target/scale-report.csv（段階・行数・エンドポイント・中央値・最大値）に出力します。
+ * 通常のテストでは実行せず、{@code ./mvnw -Pscale test} で実行します。規模は次のシステムプロパティで変更できます。
+ * <ul>
+ *   <li>scale.users: 計測対象以外のユーザー数（既定 1,000）</li>
+ *   <li>scale.userMonths: 計測対象以外のユーザーの支出の月数（既定 12）</li>
+ *   <li>scale.years: 計測対象ユーザーの支出の年数（既定 10）</li>
+ *   <li>scale.expensesPerMonth: 1か月あたりの変動費の件数の目安（既定 60）</li>
+ *   <li>scale.stages: 各段階の規模の割合（既定 0.1,0.5,1.0）</li>
+ *   <li>scale.iterations: 1つの計測の繰り返し回数（既定 5）</li>
+ * </ul>
+ * ローカルの MySQL で測る場合は spring.datasource.url などもシステムプロパティで上書きします（README 参照）。
+ */
+@Tag("scale")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExpenseScaleTest {
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseScaleTest.class);
+    private static final Charset SHIFT_JIS = Charset.forName("Shift_JIS");
+    private static final long SEED = 20_251_101L;
+    private static final YearMonth LATEST_MONTH = YearMonth.of(2025, 12);
+    private static final int CSV_ROWS = 1_000;
+
+    private final int users = Integer.getInteger("scale.users", 1_000);
+    private final int userMonths = Integer.getInteger("scale.userMonths", 12);
+    private final int years = Integer.getInteger("scale.years", 10);
+    private final int expensesPerMonth = Integer.getInteger("scale.expensesPerMonth", 60);
+    private final int iterations = Integer.getInteger("scale.iterations", 5);
+    private final double[] stages = Arrays.stream(System.getProperty("scale.stages", "0.1,0.5,1.0").split(","))
+            .mapToDouble(Double::parseDouble)
+            .toArray();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ImportBatchRepository importBatchRepository;
+
+    @Autowired
+    private MonthlyReportRepository monthlyReportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<String> report = new ArrayList<>();
+
+    /** 段階ごとの規模 */
+    private record Stage(int number, int months, long totalRows, long userRows) {
+    }
+
+    /** CSVに含める既存支出の明細 */
+    private record StatementRow(String description, int amount, LocalDate date) {
+    }
+
+    @BeforeAll
+    void startReport() {
+        report.add("stage,total_expense_rows,user_expense_rows,endpoint,median_ms,max_ms");
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Path file = Path.of("target", "scale-report.csv");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report);
+        logger.info("データ規模テストの結果を出力しました: {}（{}行）", file.toAbsolutePath(), report.size() - 1);
+    }
+
+    @Test
+    @DisplayName("データ量を段階的に増やし、主要なエンドポイントのレイテンシを記録する")
+    void recordsLatencyAgainstDataVolume() throws Exception {
+        for (int i = 0; i < stages.length; i++) {
+            Stage stage = generate(i + 1, stages[i]);
+            measure(stage);
+        }
+    }
+
+    /**
+     * データを作り直し、割合に応じた規模の段階を生成する
+     */
+    private Stage generate(int number, double ratio) {
+        clearDatabase();
+        ScaleDataGenerator generator = new ScaleDataGenerator(jdbcTemplate, SEED);
+        int stageUsers = (int) Math.round(users * ratio);
+        int months = Math.max(1, (int) Math.round(years * 12 * ratio));
+
+        long userId = generator.insertUser(TestJwtAuthenticationFilter.TEST_SUB);
+        YearMonth from = LATEST_MONTH.minusMonths(months - 1L);
+        long userRows = generator.insertExpenses(userId, from, LATEST_MONTH, expensesPerMonth);
+        generator.insertMonthlyReports(userId, from, LATEST_MONTH);
+
+        long totalRows = userRows;
+        YearMonth othersFrom = LATEST_MONTH.minusMonths(userMonths - 1L);
+        for (Long otherId : generator.insertUsers("scale-user-", stageUsers)) {
+            totalRows += generator.insertExpenses(otherId, othersFrom, LATEST_MONTH, expensesPerMonth / 2);
+            generator.insertMonthlyReports(otherId, LATEST_MONTH, LATEST_MONTH);
+        }
+        return new Stage(number, months, totalRows, userRows);
+    }
+
+    private void measure(Stage stage) throws Exception {
+        String latest = LATEST_MONTH.toString();
+        String first = LATEST_MONTH.minusMonths(stage.months() - 1L).toString();
+        String lastYear = LATEST_MONTH.minusMonths(11).toString();
+
+        List<String> months = readJson(mockMvc.perform(get("/api/expenses/months")).andReturn(), new TypeReference<>() {
+        });
+        assertThat(months).hasSize(stage.months()).first().isEqualTo(latest);
+
+        time(stage, "GET /api/expenses/months (cold)", true, get("/api/expenses/months"));
+        time(stage, "GET /api/expenses/months (cached)", false, get("/api/expenses/months"));
+        time(stage, "GET /api/expenses/summary/range 12 months (cold)", true,
+                get("/api/expenses/summary/range").param("startMonth", lastYear).param("endMonth", latest));
+        time(stage, "GET /api/expenses/summary/range 12 months (cached)", false,
+                get("/api/expenses/summary/range").param("startMonth", lastYear).param("endMonth", latest));
+        time(stage, "GET /api/expenses/summary/range all months (cold)", true,
+                get("/api/expenses/summary/range").param("startMonth", first).param("endMonth", latest));
+        time(stage, "GET /api/expenses?month latest page 0 (cold)", true,
+                get("/api/expenses").param("month", latest).param("page", "0").param("size", "50"));
+
+        List<MonthlySummaryDto> summaries = readJson(mockMvc.perform(get("/api/expenses/summary/range")
+                .param("startMonth", first).param("endMonth", latest)).andReturn(), new TypeReference<>() {
+        });
+        assertThat(summaries.stream().mapToLong(MonthlySummaryDto::getCount).sum()).isEqualTo(stage.userRows());
+
+        measureCsvUpload(stage);
+    }
+
+    /**
+     * 直近月の既存支出と同じ明細を半分含むCSVを取り込み、重複除外を含む取り込み時間を測る。
+     * 取り込んだ分は計測ごとに取り込みバッチの取り消しで元に戻す。
+     */
+    private void measureCsvUpload(Stage stage) throws Exception {
+        byte[] csv = buildStatement();
+        long[] elapsed = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            clearCaches();
+            MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv", csv);
+            long start = System.nanoTime();
+            MvcResult result = mockMvc.perform(multipart("/api/expenses/upload-csv")
+                            .file(file)
+                            .param("csvFormat", "MITSUISUMITOMO_OLD_FORMAT"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            elapsed[i] = System.nanoTime() - start;
+
+            CsvUploadResponseDto response = readJson(result, new TypeReference<>() {
+            });
+            assertThat(response.getErrorCount()).isZero();
+            assertThat(response.getSuccessCount() + response.getSkippedCount()).isEqualTo(CSV_ROWS);
+            assertThat(response.getSkippedCount()).isGreaterThanOrEqualTo(CSV_ROWS / 2);
+            mockMvc.perform(delete("/api/expenses/imports/{id}", response.getImportBatchId()))
+                    .andExpect(status().isOk());
+        }
+        record(stage, "POST /api/expenses/upload-csv " + CSV_ROWS + " rows (half duplicates)", elapsed);
+    }
+
+    /**
+     * 直近月の既存支出から半分、新しい明細から半分を取り、確定月形式のCSVを作る
+     */
+    private byte[] buildStatement() {
+        long userId = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE cognito_sub = ?", Long.class, TestJwtAuthenticationFilter.TEST_SUB);
+        List<StatementRow> existing = jdbcTemplate.query(
+                "SELECT description, amount, date FROM expenses WHERE user_id = ? AND expense_month = ? ORDER BY id",
+                (rs, rowNum) -> new StatementRow(
+                        rs.getString("description"), rs.getInt("amount"), rs.getObject("date", LocalDate.class)),
+                userId, LATEST_MONTH.getYear() * 100 + LATEST_MONTH.getMonthValue());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("テスト　ユーザー　様,1234-56**-****-****,三井住友ゴールドＶＩＳＡ（ＮＬ）\r\n");
+        for (int i = 0; i < CSV_ROWS; i++) {
+            StatementRow row = i % 2 == 0
+                    ? existing.get((i / 2) % existing.size())
+                    : new StatementRow("スケールテスト新規店 " + i, 100 + i,
+                            LATEST_MONTH.atDay(1 + i % LATEST_MONTH.lengthOfMonth()));
+            LocalDate date = row.date();
+            sb.append(date.getYear()).append('/').append(date.getMonthValue()).append('/').append(date.getDayOfMonth())
+                    .append(',').append(row.description()).append(',').append(row.amount())
+                    .append(",１,１,").append(row.amount()).append(",\r\n");
+        }
+        return sb.toString().getBytes(SHIFT_JIS);
+    }
+
+    private void time(Stage stage, String endpoint, boolean cold, RequestBuilder request) throws Exception {
+        if (!cold) {
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        long[] elapsed = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            if (cold) {
+                clearCaches();
+            }
+            long start = System.nanoTime();
+            mockMvc.perform(request).andExpect(status().isOk());
+            elapsed[i] = System.nanoTime() - start;
+        }
+        record(stage, endpoint, elapsed);
+    }
+
+    private void record(Stage stage, String endpoint, long[] elapsedNanos) {
+        long[] sorted = elapsedNanos.clone();
+        Arrays.sort(sorted);
+        report.add(String.format("%d,%d,%d,\"%s\",%.2f,%.2f",
+                stage.number(), stage.totalRows(), stage.userRows(), endpoint,
+                sorted[sorted.length / 2] / 1_000_000.0, sorted[sorted.length - 1] / 1_000_000.0));
+    }
+
+    private <T> T readJson(MvcResult result, TypeReference<T> type) throws Exception {
+        return jsonMapper.readValue(result.getResponse().getContentAsString(), type);
+    }
+
+    private void clearDatabase() {
+        expenseRepository.deleteAllInBatch();
+        importBatchRepository.deleteAllInBatch();
+        monthlyReportRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        clearCaches();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+}
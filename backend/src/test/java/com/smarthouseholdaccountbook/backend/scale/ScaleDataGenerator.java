@@ -0,0 +1,210 @@
+package com.smarthouseholdaccountbook.backend.scale;
+
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import com.smarthouseholdaccountbook.backend.valueobject.CategoryType;
+import com.smarthouseholdaccountbook.backend.valueobject.ExpenseDate;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * データ規模テスト用の合成データ生成
+ *
+ * ユーザー・支出・月次レポートを、JPA を経由せず JDBC のバッチINSERTでまとめて登録します。
+ * 支出は日本語の店名とカテゴリの組み合わせから作り、月ごとの件数と金額に季節変動
+ * （年末・お盆の増加、冬と夏の光熱費の増加など）を付けます。
+ * 乱数のシードを固定しているため、同じ規模を指定すれば毎回同じデータになります。
+ */
+public class ScaleDataGenerator {
+    /** 1回のバッチINSERTで送る行数 */
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users (cognito_sub, email) VALUES (?, ?)";
+    private static final String INSERT_EXPENSE_SQL = "INSERT INTO expenses "
+            + "(description, amount, date, expense_month, category, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_REPORT_SQL = "INSERT INTO monthly_reports "
+            + "(user_id, report_month, summary, suggestions_json, generated_at) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * 店名・カテゴリ・金額の目安（円）。件数の多い食費・日用品は複数並べて出現率を上げている
+     */
+    private record Merchant(String name, CategoryType category, int typicalAmount) {
+    }
+
+    private static final Merchant[] MERCHANTS = {
+            new Merchant("セブンーイレブン", CategoryType.FOOD, 600),
+            new Merchant("ファミリーマート", CategoryType.FOOD, 550),
+            new Merchant("ローソン", CategoryType.FOOD, 500),
+            new Merchant("やよい軒", CategoryType.FOOD, 1_000),
+            new Merchant("マクドナルド", CategoryType.FOOD, 700),
+            new Merchant("スターバックスコーヒー", CategoryType.FOOD, 650),
+            new Merchant("イオン", CategoryType.FOOD, 3_500),
+            new Merchant("ライフ", CategoryType.FOOD, 2_800),
+            new Merchant("マツモトキヨシ", CategoryType.DAILY_GOODS, 1_500),
+            new Merchant("ダイソー", CategoryType.DAILY_GOODS, 550),
+            new Merchant("無印良品", CategoryType.DAILY_GOODS, 2_000),
+            new Merchant("ＪＲ東日本モバイルＳｕｉｃａ", CategoryType.TRANSPORT, 3_000),
+            new Merchant("ＥＴＣ利用料", CategoryType.TRANSPORT, 2_500),
+            new Merchant("ユニクロ", CategoryType.CLOTHING, 4_000),
+            new Merchant("ＺＯＺＯＴＯＷＮ", CategoryType.CLOTHING, 6_000),
+            new Merchant("ＴＯＨＯシネマズ", CategoryType.ENTERTAINMENT, 2_000),
+            new Merchant("Ｎｅｔｆｌｉｘ", CategoryType.ENTERTAINMENT, 1_490),
+            new Merchant("ＡＰＰＬＥ  ＣＯＭ  ＢＩＬＬ", CategoryType.ENTERTAINMENT, 1_200),
+            new Merchant("大阪クリニック", CategoryType.MEDICAL, 2_500),
+            new Merchant("Ａｍａｚｏｎ．ｃｏ．ｊｐ", CategoryType.OTHER, 3_000),
+    };
+
+    /** 毎月1回ずつ発生する固定費 */
+    private static final Merchant[] MONTHLY_BILLS = {
+            new Merchant("関西電力", CategoryType.UTILITIES, 7_000),
+            new Merchant("大阪ガス", CategoryType.UTILITIES, 4_500),
+            new Merchant("ソフトバンク", CategoryType.COMMUNICATION, 5_500),
+            new Merchant("家賃", CategoryType.HOUSING, 75_000),
+    };
+
+    /** 1月〜12月の件数・金額の季節係数（12月の年末、8月のお盆、2月の閑散期） */
+    private static final double[] MONTH_FACTORS = {1.1, 0.85, 1.0, 1.05, 1.0, 0.95, 1.05, 1.2, 0.95, 1.0, 1.0, 1.4};
+    /** 1月〜12月の光熱費の季節係数（冬の暖房と夏の冷房） */
+    private static final double[] UTILITY_FACTORS = {1.6, 1.5, 1.2, 1.0, 0.8, 0.9, 1.3, 1.5, 1.1, 0.9, 1.0, 1.3};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+
+    /**
+     * @param jdbcTemplate 登録先のDB
+     * @param seed         乱数のシード
+     */
+    public ScaleDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+    }
+
+    /**
+     * ユーザーを1人登録する
+     *
+     * @param cognitoSub Cognito のユーザーID（メールアドレスはここから作る）
+     * @return ユーザーID
+     */
+    public long insertUser(String cognitoSub) {
+        jdbcTemplate.update(INSERT_USER_SQL, cognitoSub, cognitoSub + "@example.com");
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE cognito_sub = ?", Long.class, cognitoSub);
+    }
+
+    /**
+     * 連番の Cognito ユーザーID（prefix + 6桁の連番）でユーザーをまとめて登録する
+     *
+     * @param subPrefix Cognito のユーザーIDの接頭辞（既存ユーザーと重ならないこと）
+     * @param count     登録する人数
+     * @return ユーザーIDのリスト（登録順）
+     */
+    public List<Long> insertUsers(String subPrefix, int count) {
+        List<String> subs = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            subs.add(subPrefix + String.format("%06d", i));
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, subs, BATCH_SIZE, (ps, sub) -> {
+            ps.setString(1, sub);
+            ps.setString(2, sub + "@example.com");
+        });
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE cognito_sub LIKE ? ORDER BY id", Long.class, subPrefix + "%");
+    }
+
+    /**
+     * 指定期間の各月の支出を登録する
+     *
+     * @param userId           ユーザーID
+     * @param from             開始月
+     * @param to               終了月（この月を含む）
+     * @param expensesPerMonth 季節係数1.0の月の変動費の件数（固定費は別に毎月加える）
+     * @return 登録した件数
+     */
+    public int insertExpenses(long userId, YearMonth from, YearMonth to, int expensesPerMonth) {
+        SplittableRandom random = new SplittableRandom(seed ^ userId);
+        // ユーザーごとの支出の多さ（0.5倍〜1.5倍）
+        double activity = 0.5 + random.nextDouble();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        int inserted = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            double monthFactor = MONTH_FACTORS[month.getMonthValue() - 1];
+            for (Merchant bill : MONTHLY_BILLS) {
+                double factor = bill.category() == CategoryType.UTILITIES
+                        ? UTILITY_FACTORS[month.getMonthValue() - 1] : 1.0;
+                rows.add(row(userId, bill.name(), amount(random, bill.typicalAmount() * factor, 0.1),
+                        month.atDay(Math.min(27, month.lengthOfMonth())), bill.category()));
+            }
+            int count = (int) Math.round(expensesPerMonth * monthFactor * activity);
+            for (int i = 0; i < count; i++) {
+                Merchant merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+                // 2%は返品・返金（マイナス金額）
+                int amount = amount(random, merchant.typicalAmount() * monthFactor, 0.6);
+                rows.add(row(userId, merchant.name() + " " + (1 + random.nextInt(30)) + "号店",
+                        random.nextInt(50) == 0 ? -amount : amount,
+                        month.atDay(1 + random.nextInt(month.lengthOfMonth())), merchant.category()));
+            }
+            if (rows.size() >= BATCH_SIZE) {
+                inserted += flush(INSERT_EXPENSE_SQL, rows);
+            }
+        }
+        return inserted + flush(INSERT_EXPENSE_SQL, rows);
+    }
+
+    /**
+     * 指定期間の各月の月次レポートを、生成済みの体裁で登録する
+     *
+     * @param userId ユーザーID
+     * @param from   開始月
+     * @param to     終了月（この月を含む）
+     * @return 登録した件数
+     */
+    public int insertMonthlyReports(long userId, YearMonth from, YearMonth to) {
+        Timestamp generatedAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            rows.add(new Object[] {
+                    userId,
+                    month.toString(),
+                    month.getYear() + "年" + month.getMonthValue() + "月は食費と日用品の支出が中心でした。"
+                            + "前月と比べて大きな変化はありません。",
+                    "[\"コンビニの利用回数を週3回以内にしましょう\",\"サブスクリプションを見直しましょう\"]",
+                    generatedAt,
+            });
+        }
+        return flush(INSERT_REPORT_SQL, rows);
+    }
+
+    private int flush(String sql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int size = rows.size();
+        jdbcTemplate.batchUpdate(sql, rows);
+        rows.clear();
+        return size;
+    }
+
+    private static Object[] row(long userId, String description, int amount, LocalDate date, CategoryType category) {
+        return new Object[] {
+                description,
+                amount,
+                Date.valueOf(date),
+                Expense.toExpenseMonth(new ExpenseDate(date)),
+                category.name(),
+                userId,
+        };
+    }
+
+    /** 目安の金額から ±spread の範囲でばらつかせた金額（10円単位、最低10円） */
+    private static int amount(SplittableRandom random, double typical, double spread) {
+        double value = typical * (1 - spread + 2 * spread * random.nextDouble());
+        return Math.max(10, (int) Math.round(value / 10) * 10);
+    }
+}
@@ -0,0 +1,37 @@
+package com.smarthouseholdaccountbook.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sha256 のユニットテスト
+ */
+class Sha256Test {
+
+    /** "abc" の SHA-256 */
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Test
+    @DisplayName("文字列の SHA-256 を16進数64文字で返す")
+    void hexOfString() {
+        assertThat(Sha256.hex("abc")).isEqualTo(ABC_SHA256);
+    }
+
+    @Test
+    @DisplayName("ソルト付きのハッシュは、ソルトと文字列を連結した SHA-256 の先頭を返す")
+    void saltedHexPrefixHashesSaltThenValue() {
+        assertThat(Sha256.saltedHexPrefix("a".getBytes(StandardCharsets.UTF_8), "bc", 16))
+                .isEqualTo(ABC_SHA256.substring(0, 16));
+    }
+
+    @Test
+    @DisplayName("呼び出しごとに新しい MessageDigest を返す")
+    void newDigestReturnsFreshInstance() {
+        assertThat(Sha256.newDigest()).isNotSameAs(Sha256.newDigest());
+        assertThat(Sha256.newDigest().getAlgorithm()).isEqualTo("SHA-256");
+    }
+}
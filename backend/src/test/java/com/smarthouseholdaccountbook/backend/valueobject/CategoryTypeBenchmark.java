@@ -0,0 +1,55 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CategoryType.fromDisplayName の JMH ベンチマーク
+ *
+ * 支出の登録・一括登録・AIカテゴリ提案の結果変換で1件ごとに呼ばれる表示名からの変換について、
+ * 先頭・末尾の定数、前後に空白がある表示名、無効な表示名（例外を経由して既定値を返す）の時間を測ります。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=CategoryTypeBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryTypeBenchmark {
+    // フィールドから読むことで定数畳み込みを防ぐ
+    private String first = CategoryType.FOOD.getDisplayName();
+    private String last = CategoryType.OTHER.getDisplayName();
+    private String padded = " " + CategoryType.DAILY_GOODS.getDisplayName() + " ";
+    private String invalid = "食費（外食）";
+
+    @Benchmark
+    public CategoryType firstConstant() {
+        return CategoryType.fromDisplayName(first);
+    }
+
+    @Benchmark
+    public CategoryType lastConstant() {
+        return CategoryType.fromDisplayName(last);
+    }
+
+    @Benchmark
+    public CategoryType paddedDisplayName() {
+        return CategoryType.fromDisplayName(padded);
+    }
+
+    @Benchmark
+    public CategoryType invalidFallsBackToDefault() {
+        return CategoryType.fromDisplayNameOrDefault(invalid, CategoryType.OTHER);
+    }
+}
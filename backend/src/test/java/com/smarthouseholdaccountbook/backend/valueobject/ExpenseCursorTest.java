@@ -0,0 +1,52 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ExpenseCursor値オブジェクトのテストクラス
+ */
+class ExpenseCursorTest {
+
+    @Test
+    @DisplayName("エンコードした文字列をデコードすると元のカーソルに戻る")
+    void roundTrip() {
+        // given
+        ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2024, 1, 31), 12345L);
+
+        // when
+        String encoded = cursor.encode();
+
+        // then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(ExpenseCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-01-31", "not-a-date:10", "2024-01-31:abc"})
+    @DisplayName("内容が不正なカーソルはIllegalArgumentExceptionになる")
+    void rejectsInvalidContent(String raw) {
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ExpenseCursor.decode(encoded))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("カーソル");
+    }
+
+    @Test
+    @DisplayName("Base64URLとして不正な文字列はIllegalArgumentExceptionになる")
+    void rejectsNonBase64() {
+        assertThatThrownBy(() -> ExpenseCursor.decode("!!!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("カーソル");
+    }
+}
@@ -0,0 +1,92 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import com.smarthouseholdaccountbook.backend.application.service.dedup.LongHashSet;
+import com.smarthouseholdaccountbook.backend.benchmark.BenchmarkDatasets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpenseDuplicateKey による重複判定の JMH ベンチマーク
+ *
+ * CSVインポートと一括登録の重複チェックで使う2つの方式を、既存支出の件数（10件〜100,000件）ごとに比較します。
+ * <ul>
+ *   <li>keyHashSet: record の equals/hashCode でキーを {@link HashSet} に入れて照合する（一括登録のチャンク）</li>
+ *   <li>fingerprintLongHashSet: 64bit指紋を {@link LongHashSet} に入れて照合する（CSVインポート）</li>
+ * </ul>
+ * 照合するのは既存と同じ件数の取り込み行で、半分が既存と重複します。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=ExpenseDuplicateKeyBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseDuplicateKeyBenchmark {
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+
+    @Param({"10", "1000", "100000"})
+    private int expenseCount;
+
+    private List<ExpenseDuplicateKey> existingKeys;
+    private List<ExpenseDuplicateKey> incomingKeys;
+
+    @Setup
+    public void setUp() {
+        existingKeys = BenchmarkDatasets.monthOfExpenses(MONTH, expenseCount).stream()
+                .map(ExpenseDuplicateKey::from)
+                .toList();
+        List<ExpenseDuplicateKey> newKeys = BenchmarkDatasets.monthOfExpenses(MONTH.plusMonths(1), expenseCount)
+                .stream()
+                .map(ExpenseDuplicateKey::from)
+                .toList();
+        incomingKeys = new ArrayList<>(expenseCount);
+        for (int i = 0; i < expenseCount; i++) {
+            incomingKeys.add(i % 2 == 0 ? existingKeys.get(i) : newKeys.get(i));
+        }
+    }
+
+    @Benchmark
+    public int keyHashSet() {
+        Set<ExpenseDuplicateKey> known = new HashSet<>(existingKeys);
+        int newCount = 0;
+        for (ExpenseDuplicateKey key : incomingKeys) {
+            if (known.add(key)) {
+                newCount++;
+            }
+        }
+        return newCount;
+    }
+
+    @Benchmark
+    public int fingerprintLongHashSet() {
+        LongHashSet known = new LongHashSet(existingKeys.size());
+        for (ExpenseDuplicateKey key : existingKeys) {
+            known.add(key.fingerprint());
+        }
+        int suspected = 0;
+        for (ExpenseDuplicateKey key : incomingKeys) {
+            if (known.contains(key.fingerprint())) {
+                suspected++;
+            }
+        }
+        return suspected;
+    }
+}
@@ -0,0 +1,75 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ExpenseDuplicateKey のユニットテスト（指紋）
+ */
+class ExpenseDuplicateKeyTest {
+
+    /**
+     * 取り込み指紋列に保存済みの値と同じ定義（「日付|金額|説明」の UTF-8 の SHA-256 の先頭8バイト）
+     */
+    private static long expectedFingerprint(LocalDate date, int amount, String description) throws Exception {
+        return expectedHash(date, amount, description).getLong(0);
+    }
+
+    private static ByteBuffer expectedHash(LocalDate date, int amount, String description) throws Exception {
+        String canonical = date + "|" + amount + "|" + (description != null ? description : "");
+        return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static Stream<Arguments> keys() {
+        return Stream.of(
+                Arguments.of(LocalDate.of(2025, 11, 1), 1000, "ランチ"),
+                Arguments.of(LocalDate.of(2025, 1, 9), 0, ""),
+                Arguments.of(LocalDate.of(2025, 1, 9), 5, null),
+                Arguments.of(LocalDate.of(2024, 2, 29), Integer.MAX_VALUE, "店|A"),
+                Arguments.of(LocalDate.of(2024, 2, 29), -120, "返金"),
+                Arguments.of(LocalDate.of(1, 1, 1), Integer.MIN_VALUE, "😀 絵文字"),
+                Arguments.of(LocalDate.of(12345, 6, 7), 42, "年が5桁"),
+                Arguments.of(LocalDate.of(2025, 3, 3), 300, "対になっていないサロゲート\uD800"),
+                Arguments.of(LocalDate.of(2025, 3, 3), 300, "あ".repeat(1000)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("keys")
+    @DisplayName("指紋は保存済みの値と同じ定義で求める")
+    void matchesStoredDefinition(LocalDate date, int amount, String description) throws Exception {
+        assertThat(new ExpenseDuplicateKey(date, amount, description).fingerprint())
+                .isEqualTo(expectedFingerprint(date, amount, description));
+    }
+
+    @ParameterizedTest
+    @MethodSource("keys")
+    @DisplayName("取り込み指紋列の値は指紋と、SHA-256 の続く8バイトの確認値になる")
+    void importFingerprintAddsCheck(LocalDate date, int amount, String description) throws Exception {
+        ExpenseDuplicateKey key = new ExpenseDuplicateKey(date, amount, description);
+
+        ExpenseDuplicateKey.ImportFingerprint importFingerprint = key.importFingerprint();
+
+        assertThat(importFingerprint.value()).isEqualTo(key.fingerprint());
+        assertThat(importFingerprint.check()).isEqualTo(expectedHash(date, amount, description).getLong(Long.BYTES));
+    }
+
+    @Test
+    @DisplayName("同じキーは同じ指紋、異なるキーは異なる指紋になる")
+    void equalKeysHaveEqualFingerprints() {
+        ExpenseDuplicateKey key = new ExpenseDuplicateKey(LocalDate.of(2025, 11, 1), 1000, "ランチ");
+
+        assertThat(key.fingerprint()).isEqualTo(new ExpenseDuplicateKey(LocalDate.of(2025, 11, 1), 1000, "ランチ").fingerprint());
+        assertThat(key.fingerprint()).isNotEqualTo(new ExpenseDuplicateKey(LocalDate.of(2025, 11, 1), 1001, "ランチ").fingerprint());
+    }
+}
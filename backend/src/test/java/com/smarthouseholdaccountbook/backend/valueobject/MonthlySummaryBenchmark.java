@@ -0,0 +1,68 @@
+package com.smarthouseholdaccountbook.backend.valueobject;
+
+import com.smarthouseholdaccountbook.backend.benchmark.BenchmarkDatasets;
+import com.smarthouseholdaccountbook.backend.entity.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MonthlySummary の集計とトップN抽出の JMH ベンチマーク
+ *
+ * 1か月分の支出（10件〜100,000件）から月別サマリーを作る処理と、
+ * 月次レポートのプロンプト作成で使うカテゴリ別・全体のトップN抽出の時間を測ります。
+ * <p>
+ * 実行方法: {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.includes=MonthlySummaryBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthlySummaryBenchmark {
+    private static final YearMonth MONTH = YearMonth.of(2025, 11);
+    /** MonthlyReportService と同じ抽出件数 */
+    private static final int TOP_ITEMS_PER_CATEGORY = 3;
+    private static final int TOP_OVERALL_ITEMS = 5;
+
+    @Param({"10", "1000", "100000"})
+    private int expenseCount;
+
+    private List<Expense> expenses;
+    private MonthlySummary summary;
+
+    @Setup
+    public void setUp() {
+        expenses = BenchmarkDatasets.monthOfExpenses(MONTH, expenseCount);
+        summary = MonthlySummary.createMonthlySummaryFromExpenses(expenses, MONTH.toString());
+    }
+
+    @Benchmark
+    public MonthlySummary createFromExpenses() {
+        return MonthlySummary.createMonthlySummaryFromExpenses(expenses, MONTH.toString());
+    }
+
+    @Benchmark
+    public Map<CategoryType, List<Expense>> topExpensesByCategory() {
+        return summary.getTopExpensesByCategory(TOP_ITEMS_PER_CATEGORY);
+    }
+
+    @Benchmark
+    public List<Expense> topExpenses() {
+        return summary.getTopExpenses(TOP_OVERALL_ITEMS);
+    }
+}
@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# 使い方: ./docker/scripts/startup-benchmark.sh [回数]（既定 5）
+#   single-host（local）のバックエンドを起動方式ごとに作り直して起動し、
+#   コンテナの起動から readiness（管理ポート 8081 の /actuator/health/readiness）が UP になるまでの時間を計測する。
+#     jvm       … Spring AOT・AOT キャッシュともに無効
+#     aot       … Spring AOT のみ有効
+#     aot-cache … Spring AOT と AOT キャッシュ（app.aot）を有効（既定の起動方式）
+#   結果は backend/target/startup-benchmark.csv に出力し、方式ごとの中央値・最小・最大を表示する。
+#   事前に ./docker/scripts/stack.sh up single-host-local でイメージの作成と MySQL の起動を済ませておくこと。
+set -e #エラーが発生したらスクリプトを終了させる
+cd "$(dirname "$0")/../.." #ルートディレクトリに移動
+ROOT="$(pwd)"
+
+runs="${1:-5}" #第1引数を計測回数に代入
+if ! [[ "$runs" =~ ^[1-9][0-9]*$ ]]; then
+  echo "使い方: $0 [回数]" >&2
+  exit 1
+fi
+
+CONTAINER=smart_household_backend_single
+READINESS_URL=http://127.0.0.1:8081/actuator/health/readiness
+TIMEOUT_MS=120000
+OUTPUT="$ROOT/backend/target/startup-benchmark.csv"
+
+dc() {
+  docker compose --project-directory "$ROOT" --env-file "$ROOT/.env" \
+    -f docker/compose/docker-compose.single-host.yaml \
+    -f docker/compose/docker-compose.single-host.local.yaml "$@"
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+# 起動方式ごとの環境変数（SPRING_AOT_ENABLED JVM_AOT_CACHE_ENABLED）
+mode_env() {
+  case "$1" in
+    jvm) echo "false false" ;;
+    aot) echo "true false" ;;
+    aot-cache) echo "true true" ;;
+  esac
+}
+
+# バックエンドを作り直して起動し、readiness が UP になるまでのミリ秒を出力する
+measure() {
+  local spring_aot jvm_aot_cache start elapsed
+  read -r spring_aot jvm_aot_cache <<<"$(mode_env "$1")"
+  SPRING_AOT_ENABLED="$spring_aot" JVM_AOT_CACHE_ENABLED="$jvm_aot_cache" \
+    dc up --no-start --no-deps --force-recreate backend >/dev/null 2>&1
+  start="$(now_ms)"
+  docker start "$CONTAINER" >/dev/null
+  while true; do
+    if curl -fs "$READINESS_URL" 2>/dev/null | grep -q '"status":"UP"'; then
+      break
+    fi
+    elapsed=$(( $(now_ms) - start ))
+    if (( elapsed > TIMEOUT_MS )); then
+      echo "エラー: ${1} の起動が ${TIMEOUT_MS}ms 以内に完了しませんでした（docker logs ${CONTAINER} を確認）。" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  echo $(( $(now_ms) - start ))
+}
+
+if [[ "$(docker inspect -f '{{.State.Health.Status}}' smart_household_mysql_single 2>/dev/null)" != "healthy" ]]; then
+  echo "エラー: MySQL が起動していません。先に ./docker/scripts/stack.sh up single-host-local を実行してください。" >&2
+  exit 1
+fi
+
+modes=(jvm aot aot-cache)
+mkdir -p "$(dirname "$OUTPUT")"
+echo "mode,run,readiness_ms" >"$OUTPUT"
+for (( run = 1; run <= runs; run++ )); do
+  # 方式ごとの順番の偏り（ページキャッシュなど）を避けるため、1 回ずつ順番に計測する
+  for mode in "${modes[@]}"; do
+    ms="$(measure "$mode")"
+    echo "[startup-benchmark] ${mode} #${run}: ${ms}ms"
+    echo "${mode},${run},${ms}" >>"$OUTPUT"
+  done
+done
+
+echo
+printf '%-10s %8s %8s %8s\n' mode median min max
+for mode in "${modes[@]}"; do
+  grep "^${mode}," "$OUTPUT" | cut -d, -f3 | sort -n | awk -v mode="$mode" '
+    { v[NR] = $1 }
+    END {
+      median = (NR % 2 == 1) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2
+      printf "%-10s %8d %8d %8d\n", mode, median, v[1], v[NR]
+    }'
+done
+echo "[startup-benchmark] 結果: ${OUTPUT}"
+
+# 計測後は既定の起動方式で起動し直す
+dc up -d --no-deps --force-recreate backend >/dev/null 2>&1
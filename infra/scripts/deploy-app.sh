@@ -36,6 +36,7 @@ if [[ -z "${ECR_URI}" || "${ECR_URI}" == "None" ]]; then
 fi
 
 # EC2 が t4g (ARM64) のため、ローカルが x86 でも ARM 向けにビルドする
+# （Dockerfile の学習実行で作る AOT キャッシュもアーキテクチャに依存するため、実行環境と合わせる必要がある）
 DOCKER_PLATFORM="${DOCKER_PLATFORM:-linux/arm64}"
 
 echo "[deploy-app] Building backend image for ${DOCKER_PLATFORM}..."